@@ -0,0 +1,323 @@
+package com.guji3.ping.benchmark;
+
+import com.google.gson.Gson;
+import com.guji3.ping.util.MultipartBodyPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 긴급 신호 파이프라인 종단 간 부하 생성기
+ * - 기기 N대가 각자 음성 파일이 담긴 multipart 신고를 보내고, 상태 API로 처리 완료까지 추적
+ * - 접수 응답 지연, 완료(알림 발송)까지 지연의 p50/p90/p99와 처리량, 단계별 결과 수를 출력
+ * - 외부 API는 ExternalApiStubServer + loadtest 프로필로 대체해서 실행
+ * - --setup=true(기본)이면 시작 전에 기기마다 사용자/긴급 연락처를 등록
+ *
+ * 실행: ./gradlew alertLoadGenerator
+ * 옵션: --target=http://localhost:8080 --devices=100 --alerts-per-device=5 --think-ms=500
+ *       --audio-sec=4 --poll-ms=200 --timeout-sec=60 --setup=true
+ */
+public final class AlertLoadGenerator {
+
+    private static final Gson GSON = new Gson();
+    private static final List<String> TERMINAL_STAGES = List.of("COMPLETED", "FAILED", "COLLAPSED");
+
+    private AlertLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String target = options.getOrDefault("target", "http://localhost:8080");
+        int devices = Integer.parseInt(options.getOrDefault("devices", "100"));
+        int alertsPerDevice = Integer.parseInt(options.getOrDefault("alerts-per-device", "5"));
+        long thinkMs = Long.parseLong(options.getOrDefault("think-ms", "500"));
+        double audioSec = Double.parseDouble(options.getOrDefault("audio-sec", "4"));
+        long pollMs = Long.parseLong(options.getOrDefault("poll-ms", "200"));
+        long timeoutMs = Long.parseLong(options.getOrDefault("timeout-sec", "60")) * 1000;
+        boolean setup = Boolean.parseBoolean(options.getOrDefault("setup", "true"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String runId = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+        byte[] audio = sampleWav(audioSec);
+
+        System.out.printf("대상 %s, 기기 %d대 x %d건, 음성 %.1f초 (%d bytes)%n",
+                target, devices, alertsPerDevice, audioSec, audio.length);
+
+        if (setup) {
+            long start = System.nanoTime();
+            for (int i = 0; i < devices; i++) {
+                registerDevice(client, target, runId, i);
+            }
+            System.out.printf("사용자/연락처 등록 완료 (%d대, %.1f초)%n", devices, (System.nanoTime() - start) / 1e9);
+        }
+
+        Results results = new Results();
+        CountDownLatch done = new CountDownLatch(devices);
+        long started = System.nanoTime();
+        for (int i = 0; i < devices; i++) {
+            String deviceSerial = deviceSerial(runId, i);
+            Thread device = new Thread(() -> {
+                try {
+                    for (int n = 0; n < alertsPerDevice; n++) {
+                        sendAlert(client, target, deviceSerial, n, audio, pollMs, timeoutMs, results);
+                        if (thinkMs > 0) {
+                            Thread.sleep(ThreadLocalRandom.current().nextLong(thinkMs / 2, thinkMs * 3 / 2 + 1));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "device-" + i);
+            device.setDaemon(true);
+            device.start();
+        }
+        done.await();
+        double elapsedSec = (System.nanoTime() - started) / 1e9;
+
+        results.print(elapsedSec);
+        System.exit(0);
+    }
+
+    /**
+     * 신고 1건: 전송 → 202 접수 → 상태가 완료/실패가 될 때까지 폴링
+     */
+    private static void sendAlert(HttpClient client, String target, String deviceSerial, int sequence,
+                                  byte[] audio, long pollMs, long timeoutMs, Results results)
+            throws InterruptedException {
+        Random random = ThreadLocalRandom.current();
+        MultipartBodyPublisher body = new MultipartBodyPublisher()
+                .addField("deviceSerial", deviceSerial)
+                .addField("latitude", String.format("%.6f", 37.5 + random.nextDouble() * 0.1))
+                .addField("longitude", String.format("%.6f", 126.9 + random.nextDouble() * 0.1))
+                .addFile("audioFile", "audio.wav", "audio/wav", () -> new ByteArrayInputStream(audio), audio.length);
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(target + "/emergency/alert"))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .header("Content-Type", body.contentType())
+                .header("Idempotency-Key", deviceSerial + "-" + sequence)
+                .POST(body.build())
+                .build();
+
+        long start = System.nanoTime();
+        Long logId;
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 202 && response.statusCode() != 200) {
+                results.outcome("HTTP " + response.statusCode());
+                return;
+            }
+            results.accepted.add(System.nanoTime() - start);
+            Object id = GSON.fromJson(response.body(), Map.class).get("logId");
+            logId = id instanceof Number number ? number.longValue() : null;
+        } catch (Exception e) {
+            results.outcome("전송 오류");
+            return;
+        }
+        if (logId == null) {
+            results.outcome("logId 없음");
+            return;
+        }
+
+        HttpRequest status = HttpRequest.newBuilder()
+                .uri(URI.create(target + "/emergency/status/" + logId))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        long deadline = start + timeoutMs * 1_000_000;
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(pollMs);
+            try {
+                HttpResponse<String> response = client.send(status, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    continue; // 과부하 시 상태 조회는 제한될 수 있음
+                }
+                String stage = String.valueOf(GSON.fromJson(response.body(), Map.class).get("stage"));
+                if (TERMINAL_STAGES.contains(stage)) {
+                    if ("COMPLETED".equals(stage)) {
+                        results.completed.add(System.nanoTime() - start);
+                    }
+                    results.outcome(stage);
+                    return;
+                }
+            } catch (Exception e) {
+                // 다음 폴링에서 다시 시도
+            }
+        }
+        results.outcome("시간 초과");
+    }
+
+    /**
+     * 부하 테스트 사용자 등록 → 로그인 → 긴급 연락처 1명 추가
+     */
+    private static void registerDevice(HttpClient client, String target, String runId, int index) throws Exception {
+        String email = "load-" + runId + "-" + index + "@example.com";
+        String password = "loadtest-" + runId;
+        Map<String, Object> user = Map.of(
+                "email", email,
+                "password", password,
+                "name", "부하테스트" + index,
+                "phone", String.format("010-%04d-%04d", index / 10000 % 10000, index % 10000),
+                "deviceSerial", deviceSerial(runId, index));
+        postJson(client, target + "/auth/register", user, null);
+
+        Map<String, Object> login = postJson(client, target + "/auth/login",
+                Map.of("email", email, "password", password), null);
+        String token = String.valueOf(login.get("token"));
+
+        postJson(client, target + "/contacts", Map.of(
+                "contactName", "보호자" + index,
+                "contactPhone", "010-9999-0000",
+                "priority", 1), token);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> postJson(HttpClient client, String url, Map<String, Object> body, String token)
+            throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(GSON.toJson(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(url + " 실패: HTTP " + response.statusCode() + " " + response.body());
+        }
+        return GSON.fromJson(response.body(), Map.class);
+    }
+
+    private static String deviceSerial(String runId, int index) {
+        return "LOAD-" + runId + "-" + index;
+    }
+
+    /**
+     * 16kHz 모노 WAV: 앞뒤 0.5초 무음 + 가운데 톤 (전처리 경로도 함께 타도록)
+     */
+    private static byte[] sampleWav(double seconds) {
+        int rate = 16000;
+        int samples = (int) (seconds * rate);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(44 + samples * 2);
+        int dataBytes = samples * 2;
+        writeAscii(out, "RIFF");
+        writeLe(out, 36 + dataBytes, 4);
+        writeAscii(out, "WAVEfmt ");
+        writeLe(out, 16, 4);
+        writeLe(out, 1, 2);
+        writeLe(out, 1, 2);
+        writeLe(out, rate, 4);
+        writeLe(out, rate * 2, 4);
+        writeLe(out, 2, 2);
+        writeLe(out, 16, 2);
+        writeAscii(out, "data");
+        writeLe(out, dataBytes, 4);
+        Random random = new Random(7);
+        for (int i = 0; i < samples; i++) {
+            double t = (double) i / rate;
+            double v = random.nextGaussian() * 30;
+            if (t > 0.5 && t < seconds - 0.5) {
+                v += Math.sin(2 * Math.PI * 180 * t) * 8000 * Math.abs(Math.sin(Math.PI * 4 * t));
+            }
+            writeLe(out, (int) Math.round(v), 2);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeAscii(ByteArrayOutputStream out, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            out.write(s.charAt(i));
+        }
+    }
+
+    private static void writeLe(ByteArrayOutputStream out, int value, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            out.write(value >> (8 * i));
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * 지연 표본 + 결과별 건수
+     */
+    private static final class Results {
+
+        private final Latencies accepted = new Latencies();
+        private final Latencies completed = new Latencies();
+        private final ConcurrentHashMap<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        private void outcome(String name) {
+            outcomes.computeIfAbsent(name, k -> new LongAdder()).increment();
+        }
+
+        private void print(double elapsedSec) {
+            long total = outcomes.values().stream().mapToLong(LongAdder::sum).sum();
+            System.out.printf("%n총 %d건, %.1f초, 처리량 %.1f건/s (완료 기준)%n",
+                    total, elapsedSec, completed.count() / elapsedSec);
+            System.out.printf("%-14s %8s %8s %8s %8s %8s%n", "latency(ms)", "count", "p50", "p90", "p99", "max");
+            accepted.print("접수(202)");
+            completed.print("완료(알림)");
+            System.out.println();
+            outcomes.forEach((name, count) -> System.out.printf("%-14s %8d%n", name, count.sum()));
+        }
+    }
+
+    private static final class Latencies {
+
+        private final List<Long> nanos = new ArrayList<>();
+
+        private synchronized void add(long value) {
+            nanos.add(value);
+        }
+
+        private synchronized int count() {
+            return nanos.size();
+        }
+
+        private synchronized void print(String label) {
+            if (nanos.isEmpty()) {
+                System.out.printf("%-14s %8d%n", label, 0);
+                return;
+            }
+            long[] sorted = nanos.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            System.out.printf("%-14s %8d %8.0f %8.0f %8.0f %8.0f%n", label, sorted.length,
+                    percentileMs(sorted, 0.50), percentileMs(sorted, 0.90),
+                    percentileMs(sorted, 0.99), sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentileMs(long[] sorted, double p) {
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+        }
+    }
+}
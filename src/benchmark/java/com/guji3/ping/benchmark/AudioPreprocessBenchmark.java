@@ -0,0 +1,248 @@
+package com.guji3.ping.benchmark;
+
+import com.guji3.ping.util.WavPreprocessor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * 음성 전처리 효과 측정 (앞뒤 무음 제거 + 16kHz 모노 변환)
+ * - 기본은 합성 코퍼스: 기기별 녹음 형식(44.1kHz 스테레오, 48kHz/16kHz/8kHz 모노)에
+ *   앞뒤 무음(배경 소음 포함) 길이를 바꿔가며 3초짜리 발화를 넣음 → 발화 보존 여부도 확인
+ * - --corpus=디렉터리를 주면 그 안의 *.wav 파일로 측정 (발화 보존 여부는 표시 안 함)
+ * - 전송 시간은 업로드 대역폭, 인식 시간은 "음성 1초당 처리 시간" 모델로 계산
+ *
+ * 실행: ./gradlew audioPreprocessBenchmark
+ * 옵션: --corpus=samples/ --uplink-mbps=20 --whisper-ms-per-sec=60 --whisper-overhead-ms=300
+ */
+public final class AudioPreprocessBenchmark {
+
+    private AudioPreprocessBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        double uplinkMbps = Double.parseDouble(options.getOrDefault("uplink-mbps", "20"));
+        double whisperMsPerSec = Double.parseDouble(options.getOrDefault("whisper-ms-per-sec", "60"));
+        double whisperOverheadMs = Double.parseDouble(options.getOrDefault("whisper-overhead-ms", "300"));
+
+        // application.properties 기본값과 같은 설정
+        WavPreprocessor preprocessor = new WavPreprocessor(16000, 20, 300, 10, -50, 0.3);
+
+        List<Sample> corpus = options.containsKey("corpus")
+                ? loadCorpus(Path.of(options.get("corpus")))
+                : syntheticCorpus();
+
+        System.out.printf("uplink %.0f Mbps, whisper %.0f ms/audio-sec + %.0f ms%n%n",
+                uplinkMbps, whisperMsPerSec, whisperOverheadMs);
+        System.out.printf("%-28s %10s %10s %7s %8s %8s %9s %6s%n",
+                "sample", "orig(B)", "sent(B)", "saved", "audio(s)", "prep(ms)", "saved(ms)", "speech");
+
+        long totalOriginal = 0;
+        long totalSent = 0;
+        double totalSavedMs = 0;
+        double totalPrepMs = 0;
+        int speechKept = 0;
+        int withTruth = 0;
+
+        for (Sample sample : corpus) {
+            // 워밍업 후 측정 (1회차 분석 + 전송용 스트림 끝까지 읽기)
+            process(preprocessor, sample.wav);
+            long start = System.nanoTime();
+            Processed processed = process(preprocessor, sample.wav);
+            double prepMs = (System.nanoTime() - start) / 1_000_000.0;
+
+            double originalSec = sample.durationSec;
+            double sentSec = processed.durationMs / 1000.0;
+            double originalLatency = uploadMs(sample.wav.length, uplinkMbps) + whisperOverheadMs + originalSec * whisperMsPerSec;
+            double sentLatency = prepMs + uploadMs(processed.bytes, uplinkMbps) + whisperOverheadMs + sentSec * whisperMsPerSec;
+            double savedMs = originalLatency - sentLatency;
+
+            String speech = "-";
+            if (sample.speechStartSec >= 0) {
+                withTruth++;
+                boolean kept = processed.startSec <= sample.speechStartSec + 0.02
+                        && processed.startSec + sentSec >= sample.speechEndSec - 0.02;
+                speech = kept ? "kept" : "CUT";
+                speechKept += kept ? 1 : 0;
+            }
+
+            System.out.printf("%-28s %10d %10d %6.1f%% %8.1f %8.1f %9.0f %6s%n",
+                    sample.name, sample.wav.length, processed.bytes,
+                    100.0 * (sample.wav.length - processed.bytes) / sample.wav.length,
+                    sentSec, prepMs, savedMs, speech);
+
+            totalOriginal += sample.wav.length;
+            totalSent += processed.bytes;
+            totalSavedMs += savedMs;
+            totalPrepMs += prepMs;
+        }
+
+        System.out.printf("%n합계: %d → %d bytes (%.1f%% 절감), 신고당 평균 전처리 %.1fms, 평균 인식 지연 절감 %.0fms%n",
+                totalOriginal, totalSent, 100.0 * (totalOriginal - totalSent) / totalOriginal,
+                totalPrepMs / corpus.size(), totalSavedMs / corpus.size());
+        if (withTruth > 0) {
+            System.out.printf("발화 구간 보존: %d / %d%n", speechKept, withTruth);
+        }
+    }
+
+    private static Processed process(WavPreprocessor preprocessor, byte[] wav) throws IOException {
+        WavPreprocessor.Result result = preprocessor.prepare(() -> new ByteArrayInputStream(wav), wav.length);
+        if (result == null) {
+            return new Processed(wav.length, 0, 0);
+        }
+        long read = 0;
+        byte[] buffer = new byte[16 * 1024];
+        try (InputStream in = result.source().open()) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                read += n;
+            }
+        }
+        if (read != result.length()) {
+            throw new IllegalStateException("전송 길이 불일치: " + read + " != " + result.length());
+        }
+        return new Processed(read, result.durationMs(), result.startMs() / 1000.0);
+    }
+
+    private static double uploadMs(long bytes, double mbps) {
+        return bytes * 8 / (mbps * 1_000_000) * 1000;
+    }
+
+    /**
+     * 기기 녹음 형식 x 앞뒤 무음 길이 조합
+     */
+    private static List<Sample> syntheticCorpus() {
+        int[][] formats = {{44100, 2}, {48000, 1}, {16000, 1}, {8000, 1}};
+        double[][] silences = {{0.3, 0.5}, {2, 1}, {5, 4}, {1, 8}};
+        Random random = new Random(42);
+        List<Sample> corpus = new ArrayList<>();
+        for (int[] format : formats) {
+            for (double[] silence : silences) {
+                String name = String.format("%dHz-%dch-lead%.1f-tail%.1f", format[0], format[1], silence[0], silence[1]);
+                corpus.add(synthesize(name, format[0], format[1], silence[0], 3.0, silence[1], random));
+            }
+        }
+        return corpus;
+    }
+
+    /**
+     * 배경 소음(-60dBFS) 위에 모음(배음)과 자음(잡음) 음절이 섞인 가짜 발화
+     */
+    private static Sample synthesize(String name, int rate, int channels, double leadSec, double speechSec,
+                                     double tailSec, Random random) {
+        int total = (int) ((leadSec + speechSec + tailSec) * rate);
+        int speechStart = (int) (leadSec * rate);
+        int speechEnd = (int) ((leadSec + speechSec) * rate);
+        short[] mono = new short[total];
+        double f0 = 120 + random.nextInt(100);
+        for (int i = 0; i < total; i++) {
+            double v = random.nextGaussian() * 32768 * 0.001; // -60dBFS 배경 소음
+            if (i >= speechStart && i < speechEnd) {
+                double t = (double) (i - speechStart) / rate;
+                double syllable = Math.sin(Math.PI * ((t * 4) % 1.0)); // 초당 4음절
+                boolean consonant = ((t * 4) % 1.0) < 0.15;
+                if (consonant) {
+                    v += random.nextGaussian() * 32768 * 0.05;
+                } else {
+                    double voiced = 0;
+                    for (int h = 1; h <= 8 && f0 * h < rate / 2.0; h++) {
+                        voiced += Math.sin(2 * Math.PI * f0 * h * t) / h;
+                    }
+                    v += voiced * syllable * 32768 * 0.25;
+                }
+            }
+            mono[i] = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(v)));
+        }
+        return new Sample(name, wav(mono, rate, channels), leadSec + speechSec + tailSec, leadSec, leadSec + speechSec);
+    }
+
+    private static List<Sample> loadCorpus(Path dir) throws IOException {
+        List<Sample> corpus = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(p -> p.toString().toLowerCase().endsWith(".wav")).sorted().toList()) {
+                byte[] wav = Files.readAllBytes(file);
+                corpus.add(new Sample(file.getFileName().toString(), wav, durationSec(wav), -1, -1));
+            }
+        }
+        if (corpus.isEmpty()) {
+            throw new IllegalArgumentException("WAV 파일이 없습니다: " + dir);
+        }
+        return corpus;
+    }
+
+    /**
+     * 단순 44바이트 헤더 기준 길이 (표시용)
+     */
+    private static double durationSec(byte[] wav) {
+        int rate = le32(wav, 24);
+        int blockAlign = (wav[32] & 0xFF) | (wav[33] & 0xFF) << 8;
+        return rate > 0 && blockAlign > 0 ? (double) (wav.length - 44) / blockAlign / rate : 0;
+    }
+
+    private static byte[] wav(short[] mono, int rate, int channels) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(44 + mono.length * 2 * channels);
+        int dataBytes = mono.length * 2 * channels;
+        writeAscii(out, "RIFF");
+        writeLe(out, 36 + dataBytes, 4);
+        writeAscii(out, "WAVE");
+        writeAscii(out, "fmt ");
+        writeLe(out, 16, 4);
+        writeLe(out, 1, 2);
+        writeLe(out, channels, 2);
+        writeLe(out, rate, 4);
+        writeLe(out, rate * 2 * channels, 4);
+        writeLe(out, 2 * channels, 2);
+        writeLe(out, 16, 2);
+        writeAscii(out, "data");
+        writeLe(out, dataBytes, 4);
+        for (short s : mono) {
+            for (int ch = 0; ch < channels; ch++) {
+                writeLe(out, s, 2);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeAscii(ByteArrayOutputStream out, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            out.write(s.charAt(i));
+        }
+    }
+
+    private static void writeLe(ByteArrayOutputStream out, int value, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            out.write(value >> (8 * i));
+        }
+    }
+
+    private static int le32(byte[] b, int offset) {
+        return (b[offset] & 0xFF) | (b[offset + 1] & 0xFF) << 8 | (b[offset + 2] & 0xFF) << 16 | (b[offset + 3] & 0xFF) << 24;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private record Sample(String name, byte[] wav, double durationSec, double speechStartSec, double speechEndSec) {
+    }
+
+    private record Processed(long bytes, long durationMs, double startSec) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.guji3.ping.benchmark;
+
+import com.guji3.ping.util.Coordinate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 좌표 표현 비교 (BigDecimal vs Coordinate 고정소수점)
+ * - 기기가 보내는 것과 같은 소수 6~8자리 좌표 1,024개 (대한민국 범위 안팎 섞음)
+ * - 좌표 한 쌍당 파싱, 범위 검증(LocationService.isValidCoordinates), 거리 계산 시간과 할당 바이트 비교
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="CoordinateBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoordinateBenchmark {
+
+    private static final int FIXES = 1024;
+
+    private static final BigDecimal MIN_LAT = BigDecimal.valueOf(33.0);
+    private static final BigDecimal MAX_LAT = BigDecimal.valueOf(38.6);
+    private static final BigDecimal MIN_LNG = BigDecimal.valueOf(124.0);
+    private static final BigDecimal MAX_LNG = BigDecimal.valueOf(132.0);
+
+    private static final Coordinate MIN_LAT_FIXED = Coordinate.valueOf("33.0");
+    private static final Coordinate MAX_LAT_FIXED = Coordinate.valueOf("38.6");
+    private static final Coordinate MIN_LNG_FIXED = Coordinate.valueOf("124.0");
+    private static final Coordinate MAX_LNG_FIXED = Coordinate.valueOf("132.0");
+
+    private final String[] latTexts = new String[FIXES];
+    private final String[] lngTexts = new String[FIXES];
+    private final BigDecimal[] latDecimals = new BigDecimal[FIXES];
+    private final BigDecimal[] lngDecimals = new BigDecimal[FIXES];
+    private final Coordinate[] latFixed = new Coordinate[FIXES];
+    private final Coordinate[] lngFixed = new Coordinate[FIXES];
+
+    public CoordinateBenchmark() {
+        Random random = new Random(42);
+        for (int i = 0; i < FIXES; i++) {
+            int scale = 6 + random.nextInt(3);
+            latTexts[i] = BigDecimal.valueOf(32.5 + random.nextDouble() * 6.5).setScale(scale, RoundingMode.HALF_UP).toPlainString();
+            lngTexts[i] = BigDecimal.valueOf(123.5 + random.nextDouble() * 9).setScale(scale, RoundingMode.HALF_UP).toPlainString();
+            latDecimals[i] = new BigDecimal(latTexts[i]);
+            lngDecimals[i] = new BigDecimal(lngTexts[i]);
+            latFixed[i] = Coordinate.valueOf(latTexts[i]);
+            lngFixed[i] = Coordinate.valueOf(lngTexts[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FIXES)
+    public long parseBigDecimal() {
+        long sink = 0;
+        for (int i = 0; i < FIXES; i++) {
+            sink += new BigDecimal(latTexts[i]).scale() + new BigDecimal(lngTexts[i]).scale();
+        }
+        return sink;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FIXES)
+    public long parseFixed() {
+        long sink = 0;
+        for (int i = 0; i < FIXES; i++) {
+            sink += Coordinate.valueOf(latTexts[i]).e8() + Coordinate.valueOf(lngTexts[i]).e8();
+        }
+        return sink;
+    }
+
+    // 기존 isValidCoordinates: 호출마다 BigDecimal.valueOf 4번 + compareTo 4번
+    @Benchmark
+    @OperationsPerInvocation(FIXES)
+    public int validateBigDecimal() {
+        int valid = 0;
+        for (int i = 0; i < FIXES; i++) {
+            BigDecimal lat = latDecimals[i];
+            BigDecimal lng = lngDecimals[i];
+            if (lat.compareTo(BigDecimal.valueOf(33.0)) >= 0 && lat.compareTo(BigDecimal.valueOf(38.6)) <= 0
+                    && lng.compareTo(BigDecimal.valueOf(124.0)) >= 0 && lng.compareTo(BigDecimal.valueOf(132.0)) <= 0) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    // 범위 상수를 미리 만들어 둬도 scale이 다른 compareTo 비용은 남음
+    @Benchmark
+    @OperationsPerInvocation(FIXES)
+    public int validateBigDecimalConstants() {
+        int valid = 0;
+        for (int i = 0; i < FIXES; i++) {
+            BigDecimal lat = latDecimals[i];
+            BigDecimal lng = lngDecimals[i];
+            if (lat.compareTo(MIN_LAT) >= 0 && lat.compareTo(MAX_LAT) <= 0
+                    && lng.compareTo(MIN_LNG) >= 0 && lng.compareTo(MAX_LNG) <= 0) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FIXES)
+    public int validateFixed() {
+        int valid = 0;
+        for (int i = 0; i < FIXES; i++) {
+            if (latFixed[i].isBetween(MIN_LAT_FIXED, MAX_LAT_FIXED) && lngFixed[i].isBetween(MIN_LNG_FIXED, MAX_LNG_FIXED)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    // 이웃한 두 좌표 사이 거리 (BigDecimal → double 변환 후 같은 haversine)
+    @Benchmark
+    @OperationsPerInvocation(FIXES)
+    public double distanceBigDecimal() {
+        double sum = 0;
+        for (int i = 0; i < FIXES; i++) {
+            int j = (i + 1) & (FIXES - 1);
+            sum += haversine(latDecimals[i].doubleValue(), lngDecimals[i].doubleValue(),
+                    latDecimals[j].doubleValue(), lngDecimals[j].doubleValue());
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FIXES)
+    public double distanceFixed() {
+        double sum = 0;
+        for (int i = 0; i < FIXES; i++) {
+            int j = (i + 1) & (FIXES - 1);
+            sum += Coordinate.distanceMeters(latFixed[i], lngFixed[i], latFixed[j], lngFixed[j]);
+        }
+        return sum;
+    }
+
+    private static double haversine(double lat1, double lng1, double lat2, double lng2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double sinPhi = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double sinLambda = Math.sin(Math.toRadians(lng2 - lng1) / 2);
+        double h = sinPhi * sinPhi + Math.cos(phi1) * Math.cos(phi2) * sinLambda * sinLambda;
+        return 2 * 6_371_008.8 * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+}
@@ -0,0 +1,243 @@
+package com.guji3.ping.benchmark;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 부하 테스트용 외부 API 스텁 (OpenAI 음성 인식 / GPT 채팅 / Google Maps 주소 변환)
+ * - 실제 API와 같은 경로/응답 형식 (GPT는 일반 응답, SSE 스트리밍, 일괄 분석 배열 모두 지원)
+ * - API마다 지연 분포(p50/p99 기준 로그정규)와 오류율(503)을 따로 설정
+ * - 종료(Ctrl+C) 시 API별 요청/오류 수 출력
+ *
+ * 실행: ./gradlew externalApiStub
+ * 옵션: --port=18080 --transcription=600:2500:0.01 --chat=900:4000:0.01 --geocode=80:400:0
+ *       (p50ms:p99ms:오류율)
+ */
+public final class ExternalApiStubServer {
+
+    private static final Gson GSON = new Gson();
+
+    private static final String[] TRANSCRIPTS = {
+            "살려주세요 누가 따라와요",
+            "여기 불이 났어요 연기가 많아요",
+            "도와주세요 길을 잃었어요",
+            "아저씨 하지 마세요 놔주세요",
+            "넘어져서 다리를 다쳤어요",
+            "괜찮아요 실수로 눌렀어요",
+            "",
+            "엄마 나 무서워",
+    };
+
+    // 일괄 분석 프롬프트에 들어 있는 {"id":1,"text":"..."} 항목
+    private static final Pattern BATCH_ITEM = Pattern.compile("\\{[^{}]*\"id\":(\\d+)[^{}]*}");
+
+    private ExternalApiStubServer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        int port = Integer.parseInt(options.getOrDefault("port", "18080"));
+        Endpoint transcription = new Endpoint("transcription", options.getOrDefault("transcription", "600:2500:0.01"));
+        Endpoint chat = new Endpoint("chat", options.getOrDefault("chat", "900:4000:0.01"));
+        Endpoint geocode = new Endpoint("geocode", options.getOrDefault("geocode", "80:400:0"));
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 1024);
+        ExecutorService executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "stub");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/v1/audio/transcriptions", exchange -> handle(exchange, transcription,
+                ExternalApiStubServer::transcribe));
+        server.createContext("/v1/chat/completions", exchange -> handle(exchange, chat,
+                ExternalApiStubServer::complete));
+        server.createContext("/maps/api/geocode/json", exchange -> handle(exchange, geocode,
+                ExternalApiStubServer::geocode));
+        server.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(0);
+            System.out.printf("%n%-14s %10s %8s%n", "api", "requests", "errors");
+            for (Endpoint endpoint : List.of(transcription, chat, geocode)) {
+                System.out.printf("%-14s %10d %8d%n", endpoint.name, endpoint.requests.get(), endpoint.errors.get());
+            }
+        }));
+
+        System.out.printf("스텁 서버 시작: http://localhost:%d%n", port);
+        for (Endpoint endpoint : List.of(transcription, chat, geocode)) {
+            System.out.printf("  %-14s p50 %5.0fms, p99 %5.0fms, 오류율 %.1f%%%n",
+                    endpoint.name, endpoint.p50Ms, endpoint.p99Ms, endpoint.errorRate * 100);
+        }
+    }
+
+    private static void handle(HttpExchange exchange, Endpoint endpoint, Responder responder) throws IOException {
+        try (exchange) {
+            endpoint.requests.incrementAndGet();
+            // 업로드(음성 파일)는 끝까지 받아야 실제 API처럼 전송 시간이 잡힘
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            long latencyMs = endpoint.sampleLatencyMs();
+
+            if (ThreadLocalRandom.current().nextDouble() < endpoint.errorRate) {
+                endpoint.errors.incrementAndGet();
+                sleep(latencyMs / 2);
+                send(exchange, 503, "application/json", "{\"error\":{\"message\":\"stub overloaded\"}}");
+                return;
+            }
+            responder.respond(exchange, body, latencyMs);
+        }
+    }
+
+    private static void transcribe(HttpExchange exchange, byte[] body, long latencyMs) throws IOException {
+        sleep(latencyMs);
+        String text = TRANSCRIPTS[ThreadLocalRandom.current().nextInt(TRANSCRIPTS.length)];
+        send(exchange, 200, "application/json", GSON.toJson(Map.of("text", text)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void complete(HttpExchange exchange, byte[] body, long latencyMs) throws IOException {
+        Map<String, Object> request = GSON.fromJson(new String(body, StandardCharsets.UTF_8), Map.class);
+        List<Map<String, Object>> messages = (List<Map<String, Object>>) request.get("messages");
+        String prompt = String.valueOf(messages.get(messages.size() - 1).get("content"));
+
+        Matcher items = BATCH_ITEM.matcher(prompt);
+        List<Map<String, Object>> batch = new ArrayList<>();
+        while (items.find()) {
+            Map<String, Object> analysis = new HashMap<>(analysisFor(items.group()));
+            analysis.put("id", Integer.parseInt(items.group(1)));
+            batch.add(analysis);
+        }
+        String content = batch.isEmpty() ? GSON.toJson(analysisFor(prompt)) : GSON.toJson(batch);
+
+        if (!Boolean.TRUE.equals(request.get("stream"))) {
+            sleep(latencyMs);
+            Map<String, Object> response = Map.of("choices", List.of(
+                    Map.of("index", 0, "message", Map.of("role", "assistant", "content", content))));
+            send(exchange, 200, "application/json", GSON.toJson(response));
+            return;
+        }
+
+        // 스트리밍: 첫 토큰까지 지연의 40%, 나머지는 토큰 조각 사이에 나눠서
+        sleep(latencyMs * 4 / 10);
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        int chunkChars = 6;
+        int chunks = (content.length() + chunkChars - 1) / chunkChars;
+        long perChunkMs = latencyMs * 6 / 10 / Math.max(1, chunks);
+        for (int i = 0; i < content.length(); i += chunkChars) {
+            String piece = content.substring(i, Math.min(content.length(), i + chunkChars));
+            Map<String, Object> chunk = Map.of("choices", List.of(Map.of("index", 0, "delta", Map.of("content", piece))));
+            out.write(("data: " + GSON.toJson(chunk) + "\n\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            sleep(perChunkMs);
+        }
+        out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void geocode(HttpExchange exchange, byte[] body, long latencyMs) throws IOException {
+        sleep(latencyMs);
+        String query = exchange.getRequestURI().getQuery();
+        String latlng = query == null ? "" : query.replaceAll(".*latlng=([^&]*).*", "$1");
+        Map<String, Object> response = Map.of("status", "OK", "results", List.of(
+                Map.of("formatted_address", "서울특별시 중구 세종대로 110 (" + latlng + ")")));
+        send(exchange, 200, "application/json", GSON.toJson(response));
+    }
+
+    /**
+     * 프롬프트 내용으로 대충 맞춘 분석 결과 (같은 문장이면 같은 결과)
+     */
+    private static Map<String, String> analysisFor(String prompt) {
+        if (prompt.contains("살려") || prompt.contains("하지 마") || prompt.contains("불이")) {
+            return Map.of("situation", "위협 상황", "dangerLevel", "HIGH",
+                    "analysis", "구조 요청 음성이 명확함", "recommendAction", "즉시 112/119 신고");
+        }
+        if (prompt.contains("다쳤") || prompt.contains("길을 잃")) {
+            return Map.of("situation", "사고/실종", "dangerLevel", "MEDIUM",
+                    "analysis", "도움이 필요한 상황", "recommendAction", "바로 전화해서 위치 확인");
+        }
+        return Map.of("situation", "상황 불명확", "dangerLevel", "LOW",
+                "analysis", "음성이 불명확함", "recommendAction", "전화로 상태 확인");
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    @FunctionalInterface
+    private interface Responder {
+        void respond(HttpExchange exchange, byte[] body, long latencyMs) throws IOException;
+    }
+
+    /**
+     * API별 지연 분포 + 오류율 ("p50:p99:오류율")
+     */
+    private static final class Endpoint {
+
+        private static final double Z99 = 2.326;
+
+        private final String name;
+        private final double p50Ms;
+        private final double p99Ms;
+        private final double errorRate;
+        private final double sigma;
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+
+        private Endpoint(String name, String spec) {
+            String[] parts = spec.split(":");
+            this.name = name;
+            this.p50Ms = Double.parseDouble(parts[0]);
+            this.p99Ms = parts.length > 1 ? Double.parseDouble(parts[1]) : p50Ms;
+            this.errorRate = parts.length > 2 ? Double.parseDouble(parts[2]) : 0;
+            this.sigma = p50Ms > 0 && p99Ms > p50Ms ? Math.log(p99Ms / p50Ms) / Z99 : 0;
+        }
+
+        private long sampleLatencyMs() {
+            return Math.round(p50Ms * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+        }
+    }
+}
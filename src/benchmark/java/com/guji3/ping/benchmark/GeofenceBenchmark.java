@@ -0,0 +1,119 @@
+package com.guji3.ping.benchmark;
+
+import com.guji3.ping.util.Coordinate;
+import com.guji3.ping.util.GeofenceIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 등록 구역 판정 측정 (GeofenceIndex.find, 사용자 한 명의 구역 묶음)
+ * - 서울 시내 반경 20km 안에 원형 구역 절반, 다각형 구역 절반 (다각형은 꼭짓점 vertices개)
+ * - 위치는 구역 근처 1/2, 먼 곳 1/2 (bbox에서 걸러지는 경우와 다각형 판정까지 가는 경우를 섞음)
+ * - 할당 없음 확인은 -prof gc의 gc.alloc.rate.norm (0에 가까워야 함)
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="GeofenceBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeofenceBenchmark {
+
+    private static final int POSITIONS = 1024;
+    private static final double CENTER_LAT = 37.5665;
+    private static final double CENTER_LNG = 126.9780;
+
+    @Param({"3", "10"})
+    private int zones;
+
+    @Param({"16", "200"})
+    private int vertices;
+
+    private GeofenceIndex<String> index;
+    private final Coordinate[] latitudes = new Coordinate[POSITIONS];
+    private final Coordinate[] longitudes = new Coordinate[POSITIONS];
+    private final int[] latitudeMicros = new int[POSITIONS];
+    private final int[] longitudeMicros = new int[POSITIONS];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        GeofenceIndex.Builder<String> builder = GeofenceIndex.builder();
+        double[][] centers = new double[zones][];
+        for (int z = 0; z < zones; z++) {
+            double lat = CENTER_LAT + (random.nextDouble() - 0.5) * 0.36;
+            double lng = CENTER_LNG + (random.nextDouble() - 0.5) * 0.45;
+            centers[z] = new double[]{lat, lng};
+            if (z % 2 == 0) {
+                builder.addCircle("zone" + z, z % 3, Coordinate.ofDegrees(lat), Coordinate.ofDegrees(lng),
+                        100 + random.nextInt(900));
+            } else {
+                // 반지름이 흔들리는 별 모양 (오목한 부분이 있는 다각형)
+                List<Coordinate> lats = new ArrayList<>();
+                List<Coordinate> lngs = new ArrayList<>();
+                for (int v = 0; v < vertices; v++) {
+                    double angle = 2 * Math.PI * v / vertices;
+                    double radius = 0.004 * (v % 2 == 0 ? 1 : 0.6);
+                    lats.add(Coordinate.ofDegrees(lat + radius * Math.sin(angle)));
+                    lngs.add(Coordinate.ofDegrees(lng + radius * 1.26 * Math.cos(angle)));
+                }
+                builder.addPolygon("zone" + z, z % 3, lats, lngs);
+            }
+        }
+        index = builder.build();
+
+        for (int i = 0; i < POSITIONS; i++) {
+            double lat;
+            double lng;
+            if (i % 2 == 0) {
+                double[] near = centers[random.nextInt(zones)];
+                lat = near[0] + (random.nextDouble() - 0.5) * 0.012;
+                lng = near[1] + (random.nextDouble() - 0.5) * 0.015;
+            } else {
+                lat = CENTER_LAT + (random.nextDouble() - 0.5) * 0.4;
+                lng = CENTER_LNG + (random.nextDouble() - 0.5) * 0.5;
+            }
+            latitudes[i] = Coordinate.ofDegrees(lat);
+            longitudes[i] = Coordinate.ofDegrees(lng);
+            latitudeMicros[i] = (int) Math.round(lat * 1_000_000);
+            longitudeMicros[i] = (int) Math.round(lng * 1_000_000);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int find() {
+        int inside = 0;
+        for (int i = 0; i < POSITIONS; i++) {
+            inside += index.find(latitudes[i], longitudes[i]) != null ? 1 : 0;
+        }
+        return inside;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int findIndexMicros() {
+        int sum = 0;
+        for (int i = 0; i < POSITIONS; i++) {
+            sum += index.findIndex(latitudeMicros[i], longitudeMicros[i]);
+        }
+        return sum;
+    }
+}
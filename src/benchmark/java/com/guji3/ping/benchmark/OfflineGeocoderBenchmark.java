@@ -0,0 +1,262 @@
+package com.guji3.ping.benchmark;
+
+import com.guji3.ping.util.RegionIndex;
+import com.guji3.ping.util.RegionIndexWriter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 오프라인 주소 변환 색인 측정 (색인 생성, mmap 열기, 좌표 → 구역 조회 지연, 정확도)
+ * - 기본은 합성 경계: 한반도 남쪽 범위를 시/도 → 시/군/구 → 읍/면/동 격자로 나누고
+ *   경계선마다 물결 모양 꼭짓점을 넣음 (이웃 구역과 경계가 정확히 겹치도록 좌표로 계산)
+ * - --index=파일을 주면 실제 색인(buildRegionIndex 결과)으로 조회 지연만 측정
+ *
+ * 실행: ./gradlew offlineGeocoderBenchmark
+ * 옵션: --index=data/region-index.bin --sido=5x4 --sigungu=4x4 --emd=4x4 --edge-points=32 --queries=1000000
+ */
+public final class OfflineGeocoderBenchmark {
+
+    private static final double MIN_LAT = 33.0;
+    private static final double MAX_LAT = 38.6;
+    private static final double MIN_LNG = 124.6;
+    private static final double MAX_LNG = 131.9;
+
+    private OfflineGeocoderBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int queries = Integer.parseInt(options.getOrDefault("queries", "1000000"));
+
+        Path path;
+        Grid grid = null;
+        if (options.containsKey("index")) {
+            path = Path.of(options.get("index"));
+        } else {
+            grid = new Grid(dims(options.getOrDefault("sido", "5x4")), dims(options.getOrDefault("sigungu", "4x4")),
+                    dims(options.getOrDefault("emd", "4x4")), Integer.parseInt(options.getOrDefault("edge-points", "32")));
+            path = Files.createTempFile("region-index", ".bin");
+            path.toFile().deleteOnExit();
+            long start = System.nanoTime();
+            int regions = grid.write(path);
+            System.out.printf("합성 경계: 구역 %d개, 읍/면/동당 꼭짓점 %d개, 색인 생성 %.0fms, 파일 %,d bytes%n",
+                    regions, grid.edgePoints * 4, (System.nanoTime() - start) / 1e6, Files.size(path));
+        }
+
+        long openStart = System.nanoTime();
+        RegionIndex index = RegionIndex.open(path);
+        double openMs = (System.nanoTime() - openStart) / 1e6;
+        long firstStart = System.nanoTime();
+        index.find(37.5665, 126.9780);
+        double firstUs = (System.nanoTime() - firstStart) / 1e3;
+        System.out.printf("열기(mmap) %.2fms, 첫 조회 %.1fµs%n%n", openMs, firstUs);
+
+        Random random = new Random(42);
+        double[] lats = new double[queries];
+        double[] lngs = new double[queries];
+        for (int i = 0; i < queries; i++) {
+            lats[i] = MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT);
+            lngs[i] = MIN_LNG + random.nextDouble() * (MAX_LNG - MIN_LNG);
+        }
+
+        // 워밍업 (JIT 컴파일 + 매핑된 페이지 읽기)
+        int found = 0;
+        for (int i = 0; i < queries; i++) {
+            found += index.find(lats[i], lngs[i]) >= 0 ? 1 : 0;
+        }
+        System.out.printf("구역 안 조회 %.1f%%%n", 100.0 * found / queries);
+        long sink = 0;
+
+        // 1,000건씩 묶어서 측정 (System.nanoTime 자체 비용을 줄이려고)
+        int batch = 1000;
+        long[] perBatch = new long[queries / batch];
+        long total = System.nanoTime();
+        for (int b = 0; b < perBatch.length; b++) {
+            long start = System.nanoTime();
+            for (int i = b * batch; i < (b + 1) * batch; i++) {
+                sink += index.find(lats[i], lngs[i]);
+            }
+            perBatch[b] = System.nanoTime() - start;
+        }
+        double totalMs = (System.nanoTime() - total) / 1e6;
+        Arrays.sort(perBatch);
+        System.out.printf("%-22s %10s %10s %10s %12s%n", "lookup", "avg(µs)", "p50(µs)", "p99(µs)", "lookups/s");
+        System.out.printf("%-22s %10.2f %10.2f %10.2f %,12.0f%n", "find (batch of 1000)",
+                totalMs * 1000 / (perBatch.length * batch),
+                perBatch[perBatch.length / 2] / 1e3 / batch,
+                perBatch[(int) (perBatch.length * 0.99)] / 1e3 / batch,
+                perBatch.length * batch / (totalMs / 1000));
+
+        int sampled = Math.min(queries, 100_000);
+        long addressStart = System.nanoTime();
+        for (int i = 0; i < sampled; i++) {
+            int region = index.find(lats[i], lngs[i]);
+            if (region >= 0) {
+                sink += index.address(region).length();
+            }
+        }
+        System.out.printf("%-22s %10.2f%n", "find + address", (System.nanoTime() - addressStart) / 1e3 / sampled);
+
+        if (grid != null) {
+            // 경계 물결 폭보다 안쪽에 있는 점만 정답(격자 칸)과 비교
+            int checked = 0;
+            int correct = 0;
+            for (int i = 0; i < sampled; i++) {
+                String expected = grid.expectedAddress(lats[i], lngs[i]);
+                if (expected == null) {
+                    continue;
+                }
+                checked++;
+                int region = index.find(lats[i], lngs[i]);
+                correct += region >= 0 && index.address(region).equals(expected) ? 1 : 0;
+            }
+            System.out.printf("%n정확도: 경계에서 떨어진 점 %d개 중 %d개 일치 (%.2f%%)%n",
+                    checked, correct, 100.0 * correct / Math.max(1, checked));
+        }
+        System.out.printf("(checksum %d)%n", sink);
+        System.exit(0);
+    }
+
+    private static int[] dims(String spec) {
+        String[] parts = spec.split("x");
+        return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * 시/도 → 시/군/구 → 읍/면/동 격자 (읍/면/동만 경계를 가짐)
+     */
+    private static final class Grid {
+
+        private final int[][] dims;
+        private final int edgePoints;
+        private final int cols;
+        private final int rows;
+        private final double cellLng;
+        private final double cellLat;
+        private final double amplitude;
+
+        private Grid(int[] sido, int[] sigungu, int[] emd, int edgePoints) {
+            this.dims = new int[][]{sido, sigungu, emd};
+            this.edgePoints = edgePoints;
+            this.cols = sido[0] * sigungu[0] * emd[0];
+            this.rows = sido[1] * sigungu[1] * emd[1];
+            this.cellLng = (MAX_LNG - MIN_LNG) / cols;
+            this.cellLat = (MAX_LAT - MIN_LAT) / rows;
+            this.amplitude = Math.min(cellLng, cellLat) * 0.15;
+        }
+
+        private int write(Path path) throws Exception {
+            RegionIndexWriter writer = new RegionIndexWriter();
+            int emdCols = dims[2][0];
+            int emdRows = dims[2][1];
+            int sggCols = dims[1][0] * emdCols;
+            int sggRows = dims[1][1] * emdRows;
+            for (int sx = 0; sx < dims[0][0]; sx++) {
+                for (int sy = 0; sy < dims[0][1]; sy++) {
+                    int sido = writer.add(sidoName(sx, sy), 1, -1, List.of());
+                    for (int gx = 0; gx < dims[1][0]; gx++) {
+                        for (int gy = 0; gy < dims[1][1]; gy++) {
+                            int sigungu = writer.add(sigunguName(gx, gy), 2, sido, List.of());
+                            for (int ex = 0; ex < emdCols; ex++) {
+                                for (int ey = 0; ey < emdRows; ey++) {
+                                    int col = sx * sggCols + gx * emdCols + ex;
+                                    int row = sy * sggRows + gy * emdRows + ey;
+                                    writer.add(emdName(ex, ey), 3, sigungu, List.of(cellRing(col, row)));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            writer.write(path);
+            return writer.size();
+        }
+
+        private String expectedAddress(double lat, double lng) {
+            double fx = (lng - MIN_LNG) / cellLng;
+            double fy = (lat - MIN_LAT) / cellLat;
+            int col = (int) fx;
+            int row = (int) fy;
+            double marginX = amplitude / cellLng;
+            double marginY = amplitude / cellLat;
+            if (col >= cols || row >= rows || fx - col < marginX || col + 1 - fx < marginX
+                    || fy - row < marginY || row + 1 - fy < marginY) {
+                return null;
+            }
+            int emdCols = dims[2][0];
+            int emdRows = dims[2][1];
+            int sggCols = dims[1][0] * emdCols;
+            int sggRows = dims[1][1] * emdRows;
+            return sidoName(col / sggCols, row / sggRows) + " "
+                    + sigunguName(col % sggCols / emdCols, row % sggRows / emdRows) + " "
+                    + emdName(col % emdCols, row % emdRows);
+        }
+
+        /**
+         * 격자 칸 경계 (반시계 방향, 변마다 edgePoints개 꼭짓점)
+         */
+        private double[] cellRing(int col, int row) {
+            List<double[]> points = new ArrayList<>();
+            double x0 = MIN_LNG + col * cellLng;
+            double y0 = MIN_LAT + row * cellLat;
+            double x1 = x0 + cellLng;
+            double y1 = y0 + cellLat;
+            for (int i = 0; i < edgePoints; i++) {
+                points.add(horizontal(x0 + (x1 - x0) * i / edgePoints, y0, i));
+            }
+            for (int i = 0; i < edgePoints; i++) {
+                points.add(vertical(x1, y0 + (y1 - y0) * i / edgePoints, i));
+            }
+            for (int i = edgePoints; i > 0; i--) {
+                points.add(horizontal(x0 + (x1 - x0) * i / edgePoints, y1, i));
+            }
+            for (int i = edgePoints; i > 0; i--) {
+                points.add(vertical(x0, y0 + (y1 - y0) * i / edgePoints, i));
+            }
+            double[] ring = new double[points.size() * 2];
+            for (int i = 0; i < points.size(); i++) {
+                ring[2 * i] = points.get(i)[0];
+                ring[2 * i + 1] = points.get(i)[1];
+            }
+            return ring;
+        }
+
+        // 같은 변을 공유하는 이웃 칸도 같은 좌표가 나오도록 위치만으로 계산 (모서리는 0)
+        private double[] horizontal(double x, double y, int step) {
+            return new double[]{x, y + amplitude * Math.sin(Math.PI * step / edgePoints) * Math.sin(x * 97 + y * 31)};
+        }
+
+        private double[] vertical(double x, double y, int step) {
+            return new double[]{x + amplitude * Math.sin(Math.PI * step / edgePoints) * Math.sin(y * 89 + x * 37), y};
+        }
+
+        private static String sidoName(int x, int y) {
+            return "시도" + x + "-" + y;
+        }
+
+        private static String sigunguName(int x, int y) {
+            return "시군구" + x + "-" + y;
+        }
+
+        private static String emdName(int x, int y) {
+            return "동" + x + "-" + y;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.guji3.ping.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.guji3.ping.util.RegionIndexWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 행정구역 경계 GeoJSON → 오프라인 주소 변환 색인 파일 (OfflineGeocoder용)
+ * - 단계별 GeoJSON(시/도, 시/군/구, 읍/면/동) 중 있는 것만 주면 됨 (통계청/국토부 행정구역 경계, WGS84 좌표)
+ * - 상위 구역은 행정구역 코드 앞자리로 연결 (예: 11 → 11140 → 1114055000)
+ * - 하위 구역 이름이 상위 이름으로 시작하면("서울특별시 중구 명동") 앞부분을 떼고 저장
+ *
+ * 실행: ./gradlew buildRegionIndex -PbenchmarkArgs="--sido=sido.geojson --sigungu=sigungu.geojson --emd=emd.geojson"
+ * 옵션: --code=adm_cd --name=adm_nm --out=data/region-index.bin
+ */
+public final class RegionIndexBuilder {
+
+    private static final String[] LEVELS = {"sido", "sigungu", "emd"};
+
+    private RegionIndexBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        String codeProperty = options.getOrDefault("code", "adm_cd");
+        String nameProperty = options.getOrDefault("name", "adm_nm");
+        Path out = Path.of(options.getOrDefault("out", "data/region-index.bin"));
+
+        RegionIndexWriter writer = new RegionIndexWriter();
+        // 코드 → (구역 번호, 전체 이름), 코드 순으로 정렬해 앞자리 검색
+        TreeMap<String, Added> added = new TreeMap<>();
+        long vertices = 0;
+
+        for (int level = 0; level < LEVELS.length; level++) {
+            String file = options.get(LEVELS[level]);
+            if (file == null) {
+                continue;
+            }
+            List<Feature> features = readFeatures(Path.of(file), codeProperty, nameProperty);
+            // 같은 단계에서도 짧은 코드(상위)부터
+            features.sort((a, b) -> a.code.length() != b.code.length()
+                    ? Integer.compare(a.code.length(), b.code.length()) : a.code.compareTo(b.code));
+            int count = 0;
+            for (Feature feature : features) {
+                Added parent = findParent(added, feature.code);
+                String name = feature.name;
+                if (parent != null && name.startsWith(parent.fullName + " ")) {
+                    name = name.substring(parent.fullName.length() + 1);
+                }
+                int id = writer.add(name, level + 1, parent != null ? parent.id : -1, feature.rings);
+                added.put(feature.code, new Added(id, parent != null ? parent.fullName + " " + name : name));
+                for (double[] ring : feature.rings) {
+                    vertices += ring.length / 2;
+                }
+                count++;
+            }
+            System.out.printf("%-8s %6d개 (%s)%n", LEVELS[level], count, file);
+        }
+        if (writer.size() == 0) {
+            System.out.println("--sido, --sigungu, --emd 중 하나 이상 필요");
+            System.exit(1);
+        }
+
+        long start = System.nanoTime();
+        writer.write(out);
+        System.out.printf("구역 %d개, 꼭짓점 %d개 → %s (%,d bytes, %.0fms)%n", writer.size(), vertices, out,
+                Files.size(out), (System.nanoTime() - start) / 1e6);
+        System.exit(0);
+    }
+
+    private static Added findParent(TreeMap<String, Added> added, String code) {
+        for (int length = code.length() - 1; length > 0; length--) {
+            Added parent = added.get(code.substring(0, length));
+            if (parent != null) {
+                return parent;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * FeatureCollection을 feature 단위로 읽음 (전체 파일을 트리로 만들지 않음)
+     */
+    private static List<Feature> readFeatures(Path path, String codeProperty, String nameProperty) throws IOException {
+        List<Feature> features = new ArrayList<>();
+        try (Reader file = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+             JsonReader reader = new JsonReader(file)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"features".equals(reader.nextName())) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    JsonObject feature = JsonParser.parseReader(reader).getAsJsonObject();
+                    JsonObject properties = feature.getAsJsonObject("properties");
+                    JsonObject geometry = feature.getAsJsonObject("geometry");
+                    if (properties == null || geometry == null
+                            || !properties.has(codeProperty) || !properties.has(nameProperty)) {
+                        continue;
+                    }
+                    features.add(new Feature(properties.get(codeProperty).getAsString(),
+                            properties.get(nameProperty).getAsString().trim(), rings(geometry)));
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+        }
+        return features;
+    }
+
+    private static List<double[]> rings(JsonObject geometry) {
+        List<double[]> rings = new ArrayList<>();
+        JsonArray coordinates = geometry.getAsJsonArray("coordinates");
+        switch (geometry.get("type").getAsString()) {
+            case "Polygon" -> addPolygon(rings, coordinates);
+            case "MultiPolygon" -> coordinates.forEach(polygon -> addPolygon(rings, polygon.getAsJsonArray()));
+            default -> throw new IllegalArgumentException("지원하지 않는 geometry: " + geometry.get("type"));
+        }
+        return rings;
+    }
+
+    private static void addPolygon(List<double[]> rings, JsonArray polygon) {
+        for (JsonElement ring : polygon) {
+            JsonArray points = ring.getAsJsonArray();
+            double[] flat = new double[points.size() * 2];
+            for (int i = 0; i < points.size(); i++) {
+                JsonArray point = points.get(i).getAsJsonArray();
+                flat[2 * i] = point.get(0).getAsDouble();
+                flat[2 * i + 1] = point.get(1).getAsDouble();
+            }
+            if (flat.length >= 6) {
+                rings.add(flat);
+            }
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private record Feature(String code, String name, List<double[]> rings) {
+    }
+
+    private record Added(int id, String fullName) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.guji3.ping.benchmark;
+
+import com.guji3.ping.util.VirtualThreads;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 스레드 모델 비교 벤치마크 (요청당 플랫폼 스레드 vs 가상 스레드)
+ * - 지연이 있는 가짜 외부 API(Whisper/GPT/Geocoding/SMS 대역) 서버를 띄우고
+ *   긴급 신호 하나당 외부 호출 여러 번을 블로킹으로 수행
+ * - 동시 신호 수를 늘려가며 p50/p99 지연, 처리량, 최대 스레드 수를 측정
+ *
+ * 실행: ./gradlew threadModelBenchmark -PbenchmarkJdk=21
+ * 옵션: --levels=100,500,1000 --platform-threads=200 --upstream-latency-ms=200 --calls-per-alert=4
+ */
+public final class ThreadModelBenchmark {
+
+    private ThreadModelBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int[] levels = Arrays.stream(options.getOrDefault("levels", "100,500,1000,2000,5000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int platformThreads = Integer.parseInt(options.getOrDefault("platform-threads", "200"));
+        long latencyMs = Long.parseLong(options.getOrDefault("upstream-latency-ms", "200"));
+        int callsPerAlert = Integer.parseInt(options.getOrDefault("calls-per-alert", "4"));
+
+        // 외부 API 지연만 있었을 때의 이상적인 처리 시간의 2배를 허용 기준으로 사용
+        long sloMs = Long.parseLong(options.getOrDefault("slo-ms", String.valueOf(latencyMs * callsPerAlert * 2)));
+
+        StubUpstream upstream = new StubUpstream(latencyMs);
+        try {
+            System.out.printf("upstream latency %d ms x %d calls/alert, SLO p99 <= %d ms, Java %d%n%n",
+                    latencyMs, callsPerAlert, sloMs, Runtime.version().feature());
+
+            List<String> models = new ArrayList<>(List.of("platform"));
+            if (VirtualThreads.isSupported()) {
+                models.add("virtual");
+            } else {
+                System.out.println("(virtual 모델은 Java 21 이상에서만 측정됩니다)\n");
+            }
+
+            System.out.printf("%-9s %8s %9s %9s %9s %10s %8s%n",
+                    "model", "alerts", "p50(ms)", "p99(ms)", "max(ms)", "alerts/s", "threads");
+
+            for (String model : models) {
+                // 커넥션/JIT 예열 (결과 제외)
+                run(model, levels[0], platformThreads, callsPerAlert, upstream.uri());
+
+                int maxWithinSlo = 0;
+                for (int alerts : levels) {
+                    Result result = run(model, alerts, platformThreads, callsPerAlert, upstream.uri());
+                    System.out.printf("%-9s %8d %9d %9d %9d %10.1f %8d%n",
+                            model, alerts, result.p50Ms, result.p99Ms, result.maxMs,
+                            result.throughput, result.peakThreads);
+                    if (result.failures > 0) {
+                        System.out.printf("          실패 %d건%n", result.failures);
+                    }
+                    if (result.p99Ms <= sloMs && result.failures == 0) {
+                        maxWithinSlo = alerts;
+                    }
+                }
+                System.out.printf("%-9s SLO 안에서 처리한 최대 동시 신호: %d%n%n", model, maxWithinSlo);
+            }
+        } finally {
+            upstream.stop();
+        }
+        // HttpClient 내부 스레드가 남아 있어도 바로 종료
+        System.exit(0);
+    }
+
+    /**
+     * 동시 신호 alerts건을 한꺼번에 넣고 각 신호의 접수~완료 시간 측정
+     */
+    private static Result run(String model, int alerts, int platformThreads, int callsPerAlert, URI upstream)
+            throws InterruptedException {
+
+        boolean virtual = "virtual".equals(model);
+        ExecutorService requestThreads = virtual
+                ? VirtualThreads.newPerTaskExecutor()
+                : Executors.newFixedThreadPool(platformThreads);
+        HttpClient.Builder clientBuilder = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10));
+        ExecutorService clientExecutor = virtual ? VirtualThreads.newPerTaskExecutor() : null;
+        if (clientExecutor != null) {
+            clientBuilder.executor(clientExecutor);
+        }
+        HttpClient client = clientBuilder.build();
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        long[] latencies = new long[alerts];
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(alerts);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < alerts; i++) {
+            int index = i;
+            long submittedAt = System.nanoTime();
+            requestThreads.execute(() -> {
+                try {
+                    for (int call = 0; call < callsPerAlert; call++) {
+                        HttpRequest request = HttpRequest.newBuilder(upstream)
+                                .timeout(Duration.ofSeconds(60))
+                                .GET()
+                                .build();
+                        client.send(request, HttpResponse.BodyHandlers.ofString());
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                } finally {
+                    latencies[index] = System.nanoTime() - submittedAt;
+                    done.countDown();
+                }
+            });
+        }
+
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        int peakThreads = threads.getPeakThreadCount();
+        requestThreads.shutdown();
+        if (clientExecutor != null) {
+            clientExecutor.shutdown();
+        }
+
+        Arrays.sort(latencies);
+        return new Result(
+                TimeUnit.NANOSECONDS.toMillis(percentile(latencies, 0.50)),
+                TimeUnit.NANOSECONDS.toMillis(percentile(latencies, 0.99)),
+                TimeUnit.NANOSECONDS.toMillis(latencies[latencies.length - 1]),
+                alerts / (elapsed / 1_000_000_000.0),
+                peakThreads,
+                failures.get());
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private record Result(long p50Ms, long p99Ms, long maxMs, double throughput, int peakThreads, int failures) {
+    }
+
+    /**
+     * 고정 지연 후 응답하는 가짜 외부 API
+     * - 응답 대기 중에 스레드를 잡지 않도록 스케줄러로 지연 응답 (서버가 병목이 되지 않게)
+     */
+    private static final class StubUpstream {
+
+        private static final byte[] BODY = "{\"text\":\"도와주세요\"}".getBytes(StandardCharsets.UTF_8);
+
+        private final HttpServer server;
+        private final ScheduledExecutorService delayer = Executors.newScheduledThreadPool(4);
+        private final ExecutorService handlers = Executors.newFixedThreadPool(4);
+
+        StubUpstream(long latencyMs) throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 10_000);
+            server.createContext("/", exchange ->
+                    delayer.schedule(() -> respond(exchange), latencyMs, TimeUnit.MILLISECONDS));
+            server.setExecutor(handlers);
+            server.start();
+        }
+
+        URI uri() {
+            return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+        }
+
+        void stop() {
+            server.stop(0);
+            delayer.shutdownNow();
+            handlers.shutdownNow();
+        }
+
+        private static void respond(HttpExchange exchange) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, BODY.length);
+                out.write(BODY);
+            } catch (IOException e) {
+                exchange.close();
+            }
+        }
+    }
+}
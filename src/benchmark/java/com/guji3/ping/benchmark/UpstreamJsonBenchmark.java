@@ -0,0 +1,144 @@
+package com.guji3.ping.benchmark;
+
+import com.google.gson.Gson;
+import com.guji3.ping.util.UpstreamJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 API 응답 파싱 비교 (Map 트리 + 형변환 vs UpstreamJson 스트리밍 TypeAdapter)
+ * - 실제 응답과 같은 크기/구조의 본문 (GPT 채팅 응답, SSE 이벤트, Whisper, 주소 변환 결과 5건)
+ * - 응답 한 건당 파싱 시간과 할당 바이트(gc.alloc.rate.norm) 비교
+ *
+ * 실행: ./gradlew jmh -PjmhArgs="UpstreamJsonBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("unchecked")
+public class UpstreamJsonBenchmark {
+
+    private static final Gson GSON = new Gson();
+
+    private static final String ANALYSIS = "{\"situation\":\"낯선 사람에게 쫓기는 위협 상황\",\"dangerLevel\":\"HIGH\","
+            + "\"analysis\":\"구조를 요청하는 목소리가 떨리고 누군가 따라온다고 말함\","
+            + "\"recommendAction\":\"즉시 112에 신고하고 위치를 공유하세요\"}";
+
+    private final String chat = GSON.toJson(Map.of(
+            "id", "chatcmpl-8abcdefghijklmnopqrstuvwxyz",
+            "object", "chat.completion",
+            "created", 1_700_000_000,
+            "model", "gpt-4-0613",
+            "choices", List.of(Map.of(
+                    "index", 0,
+                    "message", Map.of("role", "assistant", "content", ANALYSIS),
+                    "logprobs", "null",
+                    "finish_reason", "stop")),
+            "usage", Map.of("prompt_tokens", 182, "completion_tokens", 96, "total_tokens", 278),
+            "system_fingerprint", "fp_0123456789"));
+
+    private final String chunk = GSON.toJson(Map.of(
+            "id", "chatcmpl-8abcdefghijklmnopqrstuvwxyz",
+            "object", "chat.completion.chunk",
+            "created", 1_700_000_000,
+            "model", "gpt-4-0613",
+            "choices", List.of(Map.of("index", 0, "delta", Map.of("content", "위협 "), "finish_reason", "null"))));
+
+    private final String transcription = GSON.toJson(Map.of("text", "살려주세요 누가 따라와요 여기 골목인데 빨리 와주세요"));
+
+    private final String geocode = geocodeResponse();
+
+    @Benchmark
+    public String chatMap() {
+        Map<String, Object> result = GSON.fromJson(chat, Map.class);
+        Map<String, Object> choice = (Map<String, Object>) ((List<?>) result.get("choices")).get(0);
+        Map<String, Object> message = (Map<String, Object>) choice.get("message");
+        Map<String, String> analysis = GSON.fromJson((String) message.get("content"), Map.class);
+        return analysis.get("dangerLevel");
+    }
+
+    @Benchmark
+    public String chatTyped() {
+        return UpstreamJson.analysis(UpstreamJson.chatContent(chat)).get("dangerLevel");
+    }
+
+    @Benchmark
+    public String chunkMap() {
+        Map<String, Object> result = GSON.fromJson(chunk, Map.class);
+        Map<String, Object> choice = (Map<String, Object>) ((List<?>) result.get("choices")).get(0);
+        Map<String, Object> delta = (Map<String, Object>) choice.get("delta");
+        return (String) delta.get("content");
+    }
+
+    @Benchmark
+    public String chunkTyped() {
+        return UpstreamJson.chunkContent(chunk);
+    }
+
+    @Benchmark
+    public String transcriptionMap() {
+        Map<String, Object> result = GSON.fromJson(transcription, Map.class);
+        return (String) result.get("text");
+    }
+
+    @Benchmark
+    public String transcriptionTyped() {
+        return UpstreamJson.transcription(transcription).text();
+    }
+
+    @Benchmark
+    public String geocodeMap() {
+        Map<String, Object> result = GSON.fromJson(geocode, Map.class);
+        List<Map<String, Object>> results = (List<Map<String, Object>>) result.get("results");
+        return (String) results.get(0).get("formatted_address");
+    }
+
+    @Benchmark
+    public String geocodeTyped() {
+        return UpstreamJson.geocode(geocode).formattedAddress();
+    }
+
+    /**
+     * Google Maps 역지오코딩 응답과 비슷한 구조 (결과 5건, 주소 구성요소/좌표/뷰포트 포함)
+     */
+    private static String geocodeResponse() {
+        List<Map<String, Object>> results = new ArrayList<>();
+        String[][] components = {
+                {"110", "premise"}, {"세종대로", "route"}, {"태평로1가", "sublocality_level_2"},
+                {"중구", "sublocality_level_1"}, {"서울특별시", "administrative_area_level_1"},
+                {"대한민국", "country"}, {"04524", "postal_code"}};
+        for (int i = 0; i < 5; i++) {
+            List<Map<String, Object>> parts = new ArrayList<>();
+            for (String[] component : components) {
+                parts.add(Map.of("long_name", component[0], "short_name", component[0],
+                        "types", List.of(component[1], "political")));
+            }
+            Map<String, Object> corner = Map.of("lat", 37.5662952 + i * 1e-4, "lng", 126.9779451 - i * 1e-4);
+            results.add(Map.of(
+                    "address_components", parts,
+                    "formatted_address", "대한민국 서울특별시 중구 세종대로 11" + i,
+                    "geometry", Map.of("location", corner, "location_type", "ROOFTOP",
+                            "viewport", Map.of("northeast", corner, "southwest", corner)),
+                    "place_id", "ChIJ" + "x".repeat(23) + i,
+                    "plus_code", Map.of("compound_code", "HX8H+GW 서울특별시", "global_code", "8Q98HX8H+GW"),
+                    "types", List.of("street_address")));
+        }
+        return GSON.toJson(Map.of("plus_code", Map.of("global_code", "8Q98HX8H+GW"),
+                "results", results, "status", "OK"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.guji3.ping.config;
+
+import com.guji3.ping.util.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 긴급 신호 파이프라인 실행 설정
+ * - 연락처 조회, AI 분석, 주소 변환을 동시에 실행하기 위한 스레드 풀
+ * - 외부 API(OpenAI, Google Maps, SMS) 호출용 공용 HttpClient
+ * - 알림 아웃박스 재발송 등 주기 작업 활성화
+ *
+ * emergency.threads.virtual=true (virtual-threads 프로필)이면 Java 21 이상에서
+ * 파이프라인 작업과 외부 API 호출을 가상 스레드에서 실행합니다.
+ * Java 17에서는 경고만 남기고 기존 고정 스레드 풀을 사용합니다.
+ */
+@Configuration
+@EnableScheduling
+@Slf4j
+public class PipelineConfig {
+
+    @Value("${emergency.pipeline.threads:16}")
+    private int pipelineThreads;
+
+    @Value("${emergency.threads.virtual:false}")
+    private boolean virtualThreads;
+
+    @Value("${emergency.http.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Bean(name = "pipelineExecutor", destroyMethod = "shutdown")
+    public ExecutorService pipelineExecutor() {
+        if (useVirtualThreads()) {
+            log.info("🧵 파이프라인 실행기: 가상 스레드");
+            return VirtualThreads.newPerTaskExecutor();
+        }
+        return newPlatformPool("pipeline-", pipelineThreads);
+    }
+
+    /**
+     * 외부 API 호출용 HttpClient (커넥션 풀 공유)
+     */
+    @Bean
+    public HttpClient outboundHttpClient() {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs));
+        if (useVirtualThreads()) {
+            builder.executor(VirtualThreads.newPerTaskExecutor());
+        }
+        return builder.build();
+    }
+
+    /**
+     * 가상 스레드 사용 여부 (설정 + 실행 중인 JVM 지원 여부)
+     */
+    public boolean useVirtualThreads() {
+        if (virtualThreads && !VirtualThreads.isSupported()) {
+            log.warn("⚠️ 가상 스레드 설정이 켜져 있지만 Java {}에서는 지원되지 않아 플랫폼 스레드를 사용합니다",
+                    Runtime.version().feature());
+            return false;
+        }
+        return virtualThreads;
+    }
+
+    private static ExecutorService newPlatformPool(String namePrefix, int threads) {
+        AtomicInteger threadNo = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, namePrefix + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
@@ -45,12 +45,16 @@ public class SecurityConfig {
                         .requestMatchers("/api/test/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/emergency/alert").permitAll()      // 아두이노
+                        .requestMatchers("/api/emergency/stream").permitAll()     // 아두이노 (음성 스트리밍)
+                        .requestMatchers("/api/emergency/track").permitAll()      // 아두이노 (실시간 위치)
+                        .requestMatchers("/api/emergency/track/live").permitAll() // 보호자 (추적 링크 키로 확인)
                         .requestMatchers("/api/emergency/test-alert").permitAll() // 테스트용
                         .requestMatchers("/h2-console/**").permitAll()
 
                         // ⭐ 인증 필요 API
                         .requestMatchers("/api/user/**").authenticated()
                         .requestMatchers("/api/contacts/**").authenticated()
+                        .requestMatchers("/api/safe-zones/**").authenticated()
                         .requestMatchers("/api/logs/**").authenticated()
 
                         // ⭐ 나머지는 모두 허용 (해커톤용)
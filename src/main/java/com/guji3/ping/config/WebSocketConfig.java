@@ -0,0 +1,46 @@
+package com.guji3.ping.config;
+
+import com.guji3.ping.controller.DeviceAudioStreamHandler;
+import com.guji3.ping.controller.GuardianTrackingHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+/**
+ * WebSocket 설정
+ * - ws://{host}/api/emergency/stream: 기기 음성 스트리밍
+ * - ws://{host}/api/emergency/track/live: 보호자 실시간 위치 구독
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final DeviceAudioStreamHandler deviceAudioStreamHandler;
+    private final GuardianTrackingHandler guardianTrackingHandler;
+
+    // 바이너리 메시지 하나(음성 조각) 최대 크기
+    @Value("${emergency.stream.max-message-bytes:65536}")
+    private int maxMessageBytes;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(deviceAudioStreamHandler, "/emergency/stream")
+                .setAllowedOriginPatterns("*");
+        registry.addHandler(guardianTrackingHandler, "/emergency/track/live")
+                .setAllowedOriginPatterns("*");
+    }
+
+    @Bean
+    public ServletServerContainerFactoryBean webSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxBinaryMessageBufferSize(maxMessageBytes);
+        container.setMaxTextMessageBufferSize(8192);
+        return container;
+    }
+}
@@ -0,0 +1,206 @@
+package com.guji3.ping.controller;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.guji3.ping.dto.EmergencyResponseDto;
+import com.guji3.ping.service.AudioStreamService;
+import com.guji3.ping.util.Coordinate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 기기 음성 스트리밍 (아두이노에서 녹음하면서 바로 전송)
+ * WS /api/emergency/stream
+ *
+ * 기기 → 서버:
+ * - {"type":"start","deviceSerial":"...","latitude":37.5,"longitude":127.0,"sampleRate":16000}
+ * - 바이너리 메시지: 16-bit 모노 little-endian PCM 조각 (크기 자유)
+ * - {"type":"end"} 또는 연결 종료: 녹음 끝
+ *
+ * 서버 → 기기:
+ * - {"type":"accepted","logId":1}: 로그 생성 + 1차 위치 알림 진행
+ * - {"type":"partial","text":"...","situation":"...","dangerLevel":"HIGH"}: 중간 인식/분석 결과
+ * - {"type":"completed","logId":1,"situation":"...","dangerLevel":"HIGH"}: 2차 알림까지 완료
+ * - {"type":"error","message":"..."}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeviceAudioStreamHandler extends AbstractWebSocketHandler {
+
+    private static final String STREAM_ATTRIBUTE = "audioStream";
+    private static final String OUT_ATTRIBUTE = "audioStreamOut";
+    private static final int SEND_TIME_LIMIT_MS = 5000;
+    private static final int SEND_BUFFER_BYTES = 64 * 1024;
+
+    private final AudioStreamService audioStreamService;
+    private final Gson gson = new Gson();
+
+    /**
+     * 분석 결과는 작업 스레드에서, 오류 응답은 수신 스레드에서 보내므로
+     * 모든 전송은 동시 전송 가능한 세션 하나를 거침 (원래 세션에 직접 쓰지 않음)
+     */
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        session.getAttributes().put(OUT_ATTRIBUTE,
+                new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_BYTES));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        JsonObject command;
+        try {
+            command = gson.fromJson(message.getPayload(), JsonObject.class);
+        } catch (JsonParseException e) {
+            sendError(session, "잘못된 메시지 형식");
+            return;
+        }
+        String type = command != null && command.has("type") ? command.get("type").getAsString() : "";
+
+        switch (type) {
+            case "start" -> start(session, command);
+            case "end" -> {
+                AudioStreamService.Session stream = streamOf(session);
+                if (stream != null) {
+                    stream.finish();
+                }
+            }
+            default -> sendError(session, "알 수 없는 메시지: " + type);
+        }
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        AudioStreamService.Session stream = streamOf(session);
+        if (stream == null) {
+            sendError(session, "start 메시지를 먼저 보내야 합니다");
+            return;
+        }
+        stream.append(message.getPayload());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        // 녹음 도중 연결이 끊겨도 받은 데이터까지로 처리 계속
+        AudioStreamService.Session stream = streamOf(session);
+        if (stream != null && stream.finish()) {
+            log.warn("⚠️ 음성 스트리밍 연결 종료 ({}), 받은 음성까지로 처리", status);
+        }
+    }
+
+    private void start(WebSocketSession session, JsonObject command) throws IOException {
+        if (streamOf(session) != null) {
+            sendError(session, "이미 시작된 스트림입니다");
+            return;
+        }
+        String deviceSerial;
+        Coordinate latitude;
+        Coordinate longitude;
+        int sampleRate;
+        try {
+            deviceSerial = command.get("deviceSerial").getAsString();
+            latitude = Coordinate.valueOf(command.get("latitude").getAsString());
+            longitude = Coordinate.valueOf(command.get("longitude").getAsString());
+            sampleRate = command.has("sampleRate") ? command.get("sampleRate").getAsInt() : 16000;
+        } catch (RuntimeException e) {
+            sendError(session, "deviceSerial, latitude, longitude가 필요합니다");
+            return;
+        }
+        if (sampleRate < 8000 || sampleRate > 48000) {
+            sendError(session, "지원하지 않는 샘플링 레이트: " + sampleRate);
+            return;
+        }
+
+        AudioStreamService.Session stream = audioStreamService.open(deviceSerial, latitude, longitude, sampleRate,
+                new DeviceListener(outOf(session)));
+        session.getAttributes().put(STREAM_ATTRIBUTE, stream);
+    }
+
+    private static AudioStreamService.Session streamOf(WebSocketSession session) {
+        return (AudioStreamService.Session) session.getAttributes().get(STREAM_ATTRIBUTE);
+    }
+
+    private static WebSocketSession outOf(WebSocketSession session) {
+        return (WebSocketSession) session.getAttributes().get(OUT_ATTRIBUTE);
+    }
+
+    private void sendError(WebSocketSession session, String message) throws IOException {
+        outOf(session).sendMessage(new TextMessage(gson.toJson(Map.of("type", "error", "message", message))));
+    }
+
+    /**
+     * 스트리밍 진행 상황을 기기로 전송
+     */
+    @RequiredArgsConstructor
+    private final class DeviceListener implements AudioStreamService.Listener {
+
+        private final WebSocketSession out;
+
+        @Override
+        public void onAccepted(Long logId) {
+            send(Map.of("type", "accepted", "logId", logId));
+        }
+
+        @Override
+        public void onPartial(String transcript, Map<String, String> analysis) {
+            Map<String, Object> message = new HashMap<>();
+            message.put("type", "partial");
+            message.put("text", transcript);
+            if (analysis != null) {
+                message.put("situation", analysis.get("situation"));
+                message.put("dangerLevel", analysis.get("dangerLevel"));
+            }
+            send(message);
+        }
+
+        @Override
+        public void onCompleted(EmergencyResponseDto response) {
+            Map<String, Object> message = new HashMap<>();
+            message.put("type", "completed");
+            message.put("logId", response.getLogId());
+            message.put("situation", response.getSituationAnalysis());
+            message.put("dangerLevel", response.getDangerLevel());
+            send(message);
+            close();
+        }
+
+        @Override
+        public void onError(String message) {
+            send(Map.of("type", "error", "message", message == null ? "처리 실패" : message));
+            close();
+        }
+
+        private void send(Map<String, ?> message) {
+            if (!out.isOpen()) {
+                return;
+            }
+            try {
+                out.sendMessage(new TextMessage(gson.toJson(message)));
+            } catch (IOException | RuntimeException e) {
+                log.warn("⚠️ 스트리밍 결과 전송 실패: {}", e.getMessage());
+            }
+        }
+
+        private void close() {
+            try {
+                if (out.isOpen()) {
+                    out.close(CloseStatus.NORMAL);
+                }
+            } catch (IOException e) {
+                log.debug("스트리밍 연결 종료 실패: {}", e.getMessage());
+            }
+        }
+    }
+}
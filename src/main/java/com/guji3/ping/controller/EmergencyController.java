@@ -1,17 +1,32 @@
 package com.guji3.ping.controller;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.guji3.ping.dto.BufferedAlertDto;
 import com.guji3.ping.dto.EmergencyRequestDto;
 import com.guji3.ping.dto.EmergencyResponseDto;
+import com.guji3.ping.dto.LocationUpdateDto;
+import com.guji3.ping.entity.EmergencyLog;
+import com.guji3.ping.exception.custom.DuplicateRequestException;
+import com.guji3.ping.service.AlertIngestService;
 import com.guji3.ping.service.EmergencyService;
+import com.guji3.ping.service.IdempotencyCache;
+import com.guji3.ping.service.LocationTrackingService;
+import com.guji3.ping.util.Coordinate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.math.BigDecimal;
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -22,6 +37,12 @@ import java.util.Map;
 public class EmergencyController {
 
     private final EmergencyService emergencyService;
+    private final AlertIngestService alertIngestService;
+    private final LocationTrackingService locationTrackingService;
+    private final Gson gson = new Gson();
+
+    @Value("${emergency.ingest.async-enabled:true}")
+    private boolean asyncEnabled;
 
     /**
      * 긴급 신호 발송 (아두이노에서 호출)
@@ -32,23 +53,67 @@ public class EmergencyController {
      * - latitude: GPS 위도
      * - longitude: GPS 경도
      * - audioFile: 음성 파일 (MultipartFile)
+     * - Idempotency-Key 헤더 또는 sequence: 재전송 중복 방지 키 (선택)
+     *
+     * 같은 키로 다시 보낸 요청은 OpenAI/SMS를 다시 호출하지 않고 처음 요청의 결과를 반환합니다.
+     *
+     * 비동기 모드(기본)에서는 접수만 하고 202 + logId를 바로 반환하며,
+     * 처리 진행 상황은 GET /api/emergency/status/{logId}로 확인합니다.
      */
     @PostMapping(value = "/alert", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<EmergencyResponseDto> sendEmergencyAlert(
+    public ResponseEntity<?> sendEmergencyAlert(
             @RequestParam("deviceSerial") String deviceSerial,
-            @RequestParam("latitude") BigDecimal latitude,
-            @RequestParam("longitude") BigDecimal longitude,
-            @RequestParam("audioFile") MultipartFile audioFile) {
+            @RequestParam("latitude") Coordinate latitude,
+            @RequestParam("longitude") Coordinate longitude,
+            @RequestParam("audioFile") MultipartFile audioFile,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyHeader,
+            @RequestParam(value = "sequence", required = false) Long sequence) {
 
         log.info("🚨🚨🚨 긴급 신호 수신!");
         log.info("📱 기기: {}", deviceSerial);
         log.info("📍 좌표: {}, {}", latitude, longitude);
         log.info("🎤 음성 파일: {}, {} bytes", audioFile.getOriginalFilename(), audioFile.getSize());
 
+        String idempotencyKey = IdempotencyCache.scopedKey(deviceSerial, idempotencyHeader, sequence);
+
+        if (asyncEnabled) {
+            try {
+                AlertIngestService.Receipt receipt;
+                try {
+                    receipt = alertIngestService.accept(deviceSerial, idempotencyKey, latitude, longitude, audioFile);
+                } catch (DataIntegrityViolationException e) {
+                    // 다른 서버가 같은 키로 먼저 저장한 경우
+                    EmergencyLog original = idempotencyKey == null ? null
+                            : alertIngestService.findByIdempotencyKey(idempotencyKey).orElse(null);
+                    if (original == null) {
+                        throw e;
+                    }
+                    receipt = new AlertIngestService.Receipt(original, true);
+                }
+                EmergencyLog entry = receipt.entry();
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("message", receipt.duplicate() ? "이미 접수된 긴급 신호입니다" : "긴급 신호가 접수되었습니다");
+                response.put("duplicate", receipt.duplicate());
+                response.put("logId", entry.getLogId());
+                response.put("stage", entry.getPipelineStage());
+                response.put("status", entry.getPipelineStage().getDescription());
+                response.put("pressCount", entry.getPressCount());
+
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+
+            } catch (IOException e) {
+                log.error("❌ 긴급 신호 접수 실패", e);
+                throw new RuntimeException("긴급 신호 접수 중 오류가 발생했습니다: " + e.getMessage());
+            }
+        }
+
         try {
             // DTO 생성
             EmergencyRequestDto request = EmergencyRequestDto.builder()
                     .deviceSerial(deviceSerial)
+                    .idempotencyKey(idempotencyKey)
                     .latitude(latitude)
                     .longitude(longitude)
                     .build();
@@ -61,12 +126,81 @@ public class EmergencyController {
 
             return ResponseEntity.ok(response);
 
+        } catch (DuplicateRequestException e) {
+            throw e;
         } catch (Exception e) {
             log.error("❌ 긴급 신호 처리 실패", e);
             throw new RuntimeException("긴급 신호 처리 중 오류가 발생했습니다: " + e.getMessage());
         }
     }
 
+    /**
+     * 오프라인 동안 쌓인 긴급 신호 일괄 발송 (아두이노 재연결 시 호출)
+     * POST /api/emergency/alerts/batch
+     *
+     * 요청 형식:
+     * - deviceSerial: 아두이노 기기 시리얼 번호
+     * - alerts: JSON 배열 [{"capturedAt": epoch ms, "latitude": .., "longitude": .., "audioIndex": 0}]
+     * - audioFiles: 음성 파일 목록 (alerts의 audioIndex로 참조, 선택)
+     * - Idempotency-Key 헤더: 재전송 중복 방지 키 (선택)
+     *
+     * 가장 최근 사건만 처리(알림)하고, 이전 사건은 기록만 남깁니다.
+     */
+    @PostMapping(value = "/alerts/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> sendBufferedAlerts(
+            @RequestParam("deviceSerial") String deviceSerial,
+            @RequestParam("alerts") String alertsJson,
+            @RequestParam(value = "audioFiles", required = false) List<MultipartFile> audioFiles,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyHeader) throws IOException {
+
+        List<BufferedAlertDto> alerts;
+        try {
+            alerts = gson.fromJson(alertsJson, new TypeToken<List<BufferedAlertDto>>() { }.getType());
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("alerts 형식이 올바르지 않습니다: " + e.getMessage());
+        }
+
+        log.info("📦 오프라인 긴급 신호 일괄 수신: 기기 {}, {}건", deviceSerial, alerts == null ? 0 : alerts.size());
+
+        String idempotencyKey = IdempotencyCache.scopedKey(deviceSerial, idempotencyHeader, null);
+        AlertIngestService.BatchReceipt receipt =
+                alertIngestService.acceptBatch(deviceSerial, idempotencyKey, alerts, audioFiles);
+        EmergencyLog entry = receipt.entry();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", receipt.duplicate() ? "이미 접수된 긴급 신호입니다" : "긴급 신호가 접수되었습니다");
+        response.put("duplicate", receipt.duplicate());
+        response.put("received", alerts.size());
+        response.put("logId", entry.getLogId());
+        response.put("stage", entry.getPipelineStage());
+        response.put("status", entry.getPipelineStage().getDescription());
+        response.put("pressCount", entry.getPressCount());
+        response.put("collapsedLogIds", receipt.collapsed().stream().map(EmergencyLog::getLogId).toList());
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    /**
+     * 실시간 위치 전송 (긴급 신호 접수 후 기기가 주기적으로)
+     * POST /api/emergency/track
+     * - body: {"deviceSerial":"...","logId":1,"fixes":[{"latitude":37.5,"longitude":127.0,"capturedAt":epoch ms}]}
+     *
+     * 위치는 메모리에 모았다가 묶어서 저장하고, 보호자 화면(WS /api/emergency/track/live)에는 바로 전달합니다.
+     */
+    @PostMapping("/track")
+    public ResponseEntity<Map<String, Object>> trackLocation(@RequestBody LocationUpdateDto update) {
+        int accepted = locationTrackingService.record(update.getDeviceSerial(), update.getLogId(), update.getFixes());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("logId", update.getLogId());
+        response.put("accepted", accepted);
+        response.put("rejected", update.getFixes().size() - accepted);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
     /**
      * 테스트용 간단한 긴급 신호 (음성 파일 없이)
      * POST /api/emergency/test-alert
@@ -90,17 +224,39 @@ public class EmergencyController {
 
     /**
      * 긴급 신호 상태 확인
-     * GET /api/emergency/status/{logId}
+     * GET /api/emergency/status/{logId}?deviceSerial=... 또는 ?key=... (추적 링크 키)
+     *
+     * 위치, 위험도 등 상세 정보는 사건의 기기 시리얼이나 추적 링크 키가 맞을 때만 포함합니다.
+     * 로그 ID는 순번이라 누구나 넘겨볼 수 있으므로, 그 밖에는 처리 단계만 돌려줍니다.
      */
     @GetMapping("/status/{logId}")
-    public ResponseEntity<Map<String, Object>> getEmergencyStatus(@PathVariable Long logId) {
-        // 로그 조회 로직 (추가 구현 필요)
+    public ResponseEntity<Map<String, Object>> getEmergencyStatus(
+            @PathVariable Long logId,
+            @RequestParam(value = "deviceSerial", required = false) String deviceSerial,
+            @RequestParam(value = "key", required = false) String key) {
+        EmergencyLog entry = emergencyService.getEmergencyLog(logId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("logId", logId);
-        response.put("status", "처리 완료");
-        response.put("notificationSent", true);
+        response.put("stage", entry.getPipelineStage());
+        response.put("status", entry.getPipelineStage().getDescription());
+
+        boolean authorized = (deviceSerial != null && deviceSerial.equals(entry.getDeviceSerial()))
+                || locationTrackingService.isValidKey(logId, key);
+        if (!authorized) {
+            return ResponseEntity.ok(response);
+        }
+
+        response.put("notificationSent", entry.getNotificationSuccess());
+        response.put("firstNotifiedAt", entry.getFirstNotifiedAt());
+        response.put("followUpSentAt", entry.getFollowUpSentAt());
+        response.put("dangerLevel", entry.getDangerLevel());
+        response.put("locationAddress", entry.getLocationAddress());
+        response.put("zoneName", entry.getZoneName());
+        response.put("pressCount", entry.getPressCount());
+        response.put("lastPressedAt", entry.getLastPressedAt());
+        response.put("createdAt", entry.getCreatedAt());
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,114 @@
+package com.guji3.ping.controller;
+
+import com.google.gson.Gson;
+import com.guji3.ping.service.LocationTrackingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 보호자 실시간 위치 구독 (1차 알림 문자의 추적 링크로 접속)
+ * WS /api/emergency/track/live?logId=1&key=...
+ *
+ * 서버 → 보호자:
+ * - {"type":"snapshot","logId":1,"zoneName":"...","fixes":[{"seq":1,"latitude":..,"longitude":..,"capturedAt":..}]}
+ * - {"type":"fix","seq":2,"latitude":..,"longitude":..,"capturedAt":..,"zoneName":"..."}: 새 위치
+ * - {"type":"zone","entered":"...","left":"..."}: 등록 구역 출입
+ * - {"type":"closed","message":"..."}: 추적 종료
+ * - {"type":"error","message":"..."}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GuardianTrackingHandler extends TextWebSocketHandler {
+
+    private static final String SUBSCRIPTION_ATTRIBUTE = "trackingSubscription";
+    private static final int SEND_TIME_LIMIT_MS = 5000;
+    private static final int SEND_BUFFER_BYTES = 64 * 1024;
+
+    private final LocationTrackingService locationTrackingService;
+    private final Gson gson = new Gson();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams();
+        Long logId;
+        try {
+            logId = Long.valueOf(params.getFirst("logId"));
+        } catch (NumberFormatException e) {
+            reject(session, "logId가 필요합니다");
+            return;
+        }
+
+        // 위치는 기기 요청 스레드에서 보내므로 동시 전송 가능한 세션으로 감쌈 (느린 보호자는 버퍼 초과 시 끊김)
+        WebSocketSession out = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, SEND_BUFFER_BYTES);
+        try {
+            Runnable unsubscribe = locationTrackingService.subscribe(logId, params.getFirst("key"), new GuardianListener(out));
+            session.getAttributes().put(SUBSCRIPTION_ATTRIBUTE, unsubscribe);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            reject(session, e.getMessage());
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        // 보호자 → 서버 메시지는 없음 (연결 유지용 메시지는 무시)
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Runnable unsubscribe = (Runnable) session.getAttributes().remove(SUBSCRIPTION_ATTRIBUTE);
+        if (unsubscribe != null) {
+            unsubscribe.run();
+        }
+    }
+
+    private void reject(WebSocketSession session, String message) throws IOException {
+        session.sendMessage(new TextMessage(gson.toJson(Map.of("type", "error", "message", message))));
+        session.close(CloseStatus.POLICY_VIOLATION);
+    }
+
+    /**
+     * 위치를 보호자에게 전송
+     */
+    @RequiredArgsConstructor
+    private final class GuardianListener implements LocationTrackingService.Listener {
+
+        private final WebSocketSession out;
+
+        @Override
+        public void onMessage(String json) {
+            if (!out.isOpen()) {
+                // 서비스 쪽에서 구독 해제
+                throw new IllegalStateException("연결이 닫혔습니다");
+            }
+            try {
+                out.sendMessage(new TextMessage(json));
+            } catch (IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void onClosed(String reason) {
+            try {
+                if (out.isOpen()) {
+                    out.sendMessage(new TextMessage(gson.toJson(Map.of("type", "closed", "message", reason))));
+                    out.close(CloseStatus.NORMAL);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("실시간 위치 연결 종료 실패: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -43,6 +43,7 @@ public class LogController {
                     map.put("latitude", log.getLatitude());
                     map.put("longitude", log.getLongitude());
                     map.put("locationAddress", log.getLocationAddress());
+                    map.put("zoneName", log.getZoneName());
                     map.put("audioText", log.getAudioText());
                     map.put("situationAnalysis", log.getSituationAnalysis());
                     map.put("dangerLevel", log.getDangerLevel());
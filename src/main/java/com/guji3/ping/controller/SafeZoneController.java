@@ -0,0 +1,129 @@
+package com.guji3.ping.controller;
+
+import com.guji3.ping.dto.SafeZoneDto;
+import com.guji3.ping.entity.SafeZone;
+import com.guji3.ping.entity.User;
+import com.guji3.ping.service.GeofenceService;
+import com.guji3.ping.service.SafeZoneService;
+import com.guji3.ping.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/safe-zones")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class SafeZoneController {
+
+    private final SafeZoneService zoneService;
+    private final UserService userService;
+
+    /**
+     * 등록 구역 목록 조회
+     * GET /api/safe-zones
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getZones(Authentication authentication) {
+        User user = userService.findByEmail(authentication.getName());
+
+        List<SafeZoneDto> zones = zoneService.getZones(user.getUserId()).stream()
+                .map(SafeZoneController::toDto)
+                .collect(Collectors.toList());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("zones", zones);
+        response.put("totalCount", zones.size());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 등록 구역 추가
+     * POST /api/safe-zones
+     * - 원: {"name":"집","shape":"CIRCLE","latitude":37.5665,"longitude":126.978,"radiusMeters":150}
+     * - 다각형: {"name":"학교","shape":"POLYGON","vertices":[{"latitude":..,"longitude":..}, ...]}
+     * - effect: LOWER_PRIORITY(기본, 안전 구역) / RAISE_PRIORITY(주의 구역) / TAG_ONLY
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> addZone(
+            Authentication authentication,
+            @Valid @RequestBody SafeZoneDto dto) {
+
+        User user = userService.findByEmail(authentication.getName());
+
+        log.info("🏠 구역 추가 요청: {} - {}", user.getName(), dto.getName());
+
+        SafeZone zone = zoneService.addZone(user.getUserId(), dto);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "구역이 추가되었습니다");
+        response.put("zoneId", zone.getZoneId());
+        response.put("name", zone.getName());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 등록 구역 수정
+     * PUT /api/safe-zones/{zoneId}
+     */
+    @PutMapping("/{zoneId}")
+    public ResponseEntity<Map<String, Object>> updateZone(
+            Authentication authentication,
+            @PathVariable Long zoneId,
+            @Valid @RequestBody SafeZoneDto dto) {
+
+        User user = userService.findByEmail(authentication.getName());
+        SafeZone zone = zoneService.updateZone(user.getUserId(), zoneId, dto);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "구역이 수정되었습니다");
+        response.put("zoneId", zone.getZoneId());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 등록 구역 삭제
+     * DELETE /api/safe-zones/{zoneId}
+     */
+    @DeleteMapping("/{zoneId}")
+    public ResponseEntity<Map<String, Object>> deleteZone(Authentication authentication, @PathVariable Long zoneId) {
+        User user = userService.findByEmail(authentication.getName());
+        zoneService.deleteZone(user.getUserId(), zoneId);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "구역이 삭제되었습니다");
+
+        return ResponseEntity.ok(response);
+    }
+
+    private static SafeZoneDto toDto(SafeZone zone) {
+        return SafeZoneDto.builder()
+                .zoneId(zone.getZoneId())
+                .name(zone.getName())
+                .shape(zone.getShape())
+                .effect(zone.getEffect())
+                .latitude(zone.getCenterLatitude())
+                .longitude(zone.getCenterLongitude())
+                .radiusMeters(zone.getRadiusMeters())
+                .vertices(zone.getShape() == SafeZone.Shape.POLYGON
+                        ? GeofenceService.decodeVertices(zone.getVertices()) : null)
+                .isActive(zone.getIsActive())
+                .build();
+    }
+}
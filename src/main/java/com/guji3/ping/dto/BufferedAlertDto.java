@@ -0,0 +1,24 @@
+package com.guji3.ping.dto;
+
+import com.guji3.ping.util.Coordinate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 오프라인 동안 기기에 쌓인 긴급 신호 / 위치 기록 한 건 (일괄 접수용)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BufferedAlertDto {
+
+    private Long capturedAt; // 기기에서 기록한 시각 (epoch ms, 없으면 전송 순서 기준)
+
+    private Coordinate latitude;  // GPS 위도
+    private Coordinate longitude; // GPS 경도
+
+    private Integer audioIndex; // audioFiles 중 이 신호의 음성 순번 (위치만 기록했으면 null)
+}
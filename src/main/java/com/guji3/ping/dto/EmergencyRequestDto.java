@@ -1,12 +1,11 @@
 package com.guji3.ping.dto;
 
+import com.guji3.ping.util.Coordinate;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,8 +14,10 @@ public class EmergencyRequestDto {
 
     private String deviceSerial; // 아두이노 기기 시리얼
 
-    private BigDecimal latitude;  // GPS 위도
-    private BigDecimal longitude; // GPS 경도
+    private String idempotencyKey; // 기기 범위 멱등성 키 (재전송 중복 방지)
+
+    private Coordinate latitude;  // GPS 위도
+    private Coordinate longitude; // GPS 경도
 
     private String audioBase64; // Base64 인코딩된 음성 데이터
 
@@ -1,12 +1,12 @@
 package com.guji3.ping.dto;
 
 import com.guji3.ping.entity.EmergencyLog;
+import com.guji3.ping.util.Coordinate;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -21,9 +21,10 @@ public class EmergencyResponseDto {
     private String userPhone;
 
     // 위치 정보
-    private BigDecimal latitude;
-    private BigDecimal longitude;
+    private Coordinate latitude;
+    private Coordinate longitude;
     private String locationAddress;
+    private String zoneName; // 등록 구역 안이면 구역 이름
 
     // AI 분석 결과
     private String audioText;
@@ -33,6 +34,8 @@ public class EmergencyResponseDto {
     // 알림 정보
     private List<ContactInfo> sentTo;
     private Boolean notificationSuccess;
+    private LocalDateTime firstNotifiedAt;  // 1차 위치 알림
+    private LocalDateTime followUpSentAt;   // 2차 상황 알림
 
     private LocalDateTime createdAt;
 
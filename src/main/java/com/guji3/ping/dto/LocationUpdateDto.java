@@ -0,0 +1,34 @@
+package com.guji3.ping.dto;
+
+import com.guji3.ping.util.Coordinate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 긴급 사건 진행 중 기기가 보내는 위치 (실시간 추적, 여러 건을 한 번에 보내도 됨)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationUpdateDto {
+
+    private String deviceSerial; // 아두이노 기기 시리얼
+
+    private Long logId; // 긴급 신호 접수 응답으로 받은 로그 ID
+
+    private List<Fix> fixes;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Fix {
+        private Coordinate latitude;
+        private Coordinate longitude;
+        private Long capturedAt; // 기기에서 기록한 시각 (epoch ms, 없으면 수신 시각)
+    }
+}
@@ -0,0 +1,49 @@
+package com.guji3.ping.dto;
+
+import com.guji3.ping.entity.SafeZone;
+import com.guji3.ping.util.Coordinate;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SafeZoneDto {
+
+    private Long zoneId; // 조회 시
+
+    @NotBlank(message = "구역 이름은 필수입니다")
+    private String name;
+
+    @NotNull(message = "구역 모양은 필수입니다")
+    private SafeZone.Shape shape;
+
+    @Builder.Default
+    private SafeZone.Effect effect = SafeZone.Effect.LOWER_PRIORITY;
+
+    // CIRCLE
+    private Coordinate latitude;
+    private Coordinate longitude;
+    private Integer radiusMeters;
+
+    // POLYGON
+    private List<Vertex> vertices;
+
+    @Builder.Default
+    private Boolean isActive = true;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Vertex {
+        private Coordinate latitude;
+        private Coordinate longitude;
+    }
+}
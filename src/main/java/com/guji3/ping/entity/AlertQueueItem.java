@@ -0,0 +1,82 @@
+package com.guji3.ping.entity;
+
+import com.guji3.ping.util.Coordinate;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 긴급 신호 접수 큐 (원본 신호를 먼저 저장하고 워커가 비동기로 처리)
+ */
+@Entity
+@Table(name = "alert_ingest_queue", indexes = {
+        @Index(name = "idx_queue_status", columnList = "status, queue_id")
+})
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertQueueItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alert_ingest_queue_seq")
+    @SequenceGenerator(name = "alert_ingest_queue_seq", sequenceName = "alert_ingest_queue_seq", allocationSize = 50)
+    @Column(name = "queue_id")
+    private Long queueId;
+
+    @Column(name = "log_id", nullable = false, unique = true)
+    private Long logId; // 접수 시 미리 만들어 둔 EmergencyLog
+
+    @Column(name = "device_serial", nullable = false, length = 100)
+    private String deviceSerial;
+
+    @Column(precision = 10, scale = 8)
+    @Convert(converter = CoordinateConverter.class)
+    private Coordinate latitude;
+
+    @Column(precision = 11, scale = 8)
+    @Convert(converter = CoordinateConverter.class)
+    private Coordinate longitude;
+
+    @Column(name = "audio_path", length = 500)
+    private String audioPath; // 스풀 디렉토리에 저장된 음성 파일 경로 (위치만 온 신호면 null)
+
+    @Column(name = "audio_filename", length = 255)
+    private String audioFilename; // 원본 파일명
+
+    // 접수 시 예비 위험도 (워커가 높은 위험도부터 꺼냄, 오래 기다리면 올라감)
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private EmergencyLog.DangerLevel priority = EmergencyLog.DangerLevel.MEDIUM;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        PENDING,    // 처리 대기
+        PROCESSING, // 워커가 처리 중
+        DONE,       // 처리 완료
+        FAILED      // 재시도 초과
+    }
+}
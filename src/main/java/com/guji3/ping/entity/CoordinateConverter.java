@@ -0,0 +1,24 @@
+package com.guji3.ping.entity;
+
+import com.guji3.ping.util.Coordinate;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * 좌표 ↔ DECIMAL 컬럼 (스키마는 그대로 precision 10/11, scale 8)
+ */
+@Converter
+public class CoordinateConverter implements AttributeConverter<Coordinate, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Coordinate coordinate) {
+        return coordinate != null ? coordinate.toBigDecimal() : null;
+    }
+
+    @Override
+    public Coordinate convertToEntityAttribute(BigDecimal value) {
+        return Coordinate.of(value);
+    }
+}
@@ -1,10 +1,10 @@
 package com.guji3.ping.entity;
 
+import com.guji3.ping.util.Coordinate;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -18,8 +18,10 @@ import java.time.LocalDateTime;
 @Builder
 public class EmergencyLog {
 
+    // 시퀀스 사용: IDENTITY는 Hibernate가 INSERT를 묶어 보낼 수 없음 (일괄 접수)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "emergency_log_seq")
+    @SequenceGenerator(name = "emergency_log_seq", sequenceName = "emergency_log_seq", allocationSize = 50)
     @Column(name = "log_id")
     private Long logId;
 
@@ -29,14 +31,19 @@ public class EmergencyLog {
 
     // 위치 정보
     @Column(precision = 10, scale = 8)
-    private BigDecimal latitude; // 위도
+    @Convert(converter = CoordinateConverter.class)
+    private Coordinate latitude; // 위도
 
     @Column(precision = 11, scale = 8)
-    private BigDecimal longitude; // 경도
+    @Convert(converter = CoordinateConverter.class)
+    private Coordinate longitude; // 경도
 
     @Column(name = "location_address", length = 500)
     private String locationAddress; // "서울시 강남구 테헤란로 123"
 
+    @Column(name = "zone_name", length = 50)
+    private String zoneName; // 신호 위치가 속한 등록 구역 ("집"), 없으면 null
+
     // AI 분석 정보
     @Column(name = "audio_text", columnDefinition = "TEXT")
     private String audioText; // Whisper API 결과: "도와주세요! 살려주세요!"
@@ -55,6 +62,19 @@ public class EmergencyLog {
     @Column(name = "sent_at")
     private LocalDateTime sentAt;
 
+    // 1차 알림 (위치) / 2차 알림 (AI 상황 분석) 발송 기록
+    @Column(name = "first_notified_at")
+    private LocalDateTime firstNotifiedAt;
+
+    @Column(name = "first_notification_success")
+    private Boolean firstNotificationSuccess;
+
+    @Column(name = "follow_up_sent_at")
+    private LocalDateTime followUpSentAt;
+
+    @Column(name = "follow_up_success")
+    private Boolean followUpSuccess;
+
     @Column(name = "notification_success", nullable = false)
     @Builder.Default
     private Boolean notificationSuccess = false;
@@ -63,6 +83,24 @@ public class EmergencyLog {
     @Column(name = "device_serial", length = 100)
     private String deviceSerial;
 
+    // 병합 창 안에서 같은 기기로 들어온 버튼 입력 횟수
+    @Column(name = "press_count", nullable = false)
+    @Builder.Default
+    private Integer pressCount = 1;
+
+    @Column(name = "last_pressed_at")
+    private LocalDateTime lastPressedAt;
+
+    // 기기 재전송 중복 방지 키 ("기기시리얼:키", 키 없이 보낸 요청은 null)
+    @Column(name = "idempotency_key", length = 200, unique = true)
+    private String idempotencyKey;
+
+    // 처리 단계 (비동기 접수 후 워커가 갱신)
+    @Column(name = "pipeline_stage", length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private PipelineStage pipelineStage = PipelineStage.QUEUED;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -83,4 +121,24 @@ public class EmergencyLog {
             return description;
         }
     }
+
+    public enum PipelineStage {
+        QUEUED("접수 대기"),
+        ANALYZING("AI 분석 중"),
+        LOCATING("위치 확인 중"),
+        NOTIFYING("알림 발송 중"),
+        COMPLETED("처리 완료"),
+        FAILED("처리 실패"),
+        COLLAPSED("오프라인 기록 (알림 생략)");
+
+        private final String description;
+
+        PipelineStage(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.guji3.ping.entity;
+
+import com.guji3.ping.util.Coordinate;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 긴급 사건 진행 중 기기가 보낸 위치 기록 (실시간 추적, 메모리에 모았다가 묶어서 저장)
+ */
+@Entity
+@Table(name = "location_fix", indexes = {
+        @Index(name = "idx_fix_log", columnList = "log_id, fix_id")
+})
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationFix {
+
+    // 시퀀스 사용: 묶어서 INSERT (IDENTITY는 배치 불가)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "location_fix_seq")
+    @SequenceGenerator(name = "location_fix_seq", sequenceName = "location_fix_seq", allocationSize = 50)
+    @Column(name = "fix_id")
+    private Long fixId;
+
+    @Column(name = "log_id", nullable = false)
+    private Long logId;
+
+    @Column(nullable = false, precision = 10, scale = 8)
+    @Convert(converter = CoordinateConverter.class)
+    private Coordinate latitude;
+
+    @Column(nullable = false, precision = 11, scale = 8)
+    @Convert(converter = CoordinateConverter.class)
+    private Coordinate longitude;
+
+    @Column(name = "captured_at", nullable = false)
+    private LocalDateTime capturedAt; // 기기 기록 시각 (없으면 서버 수신 시각)
+}
@@ -0,0 +1,76 @@
+package com.guji3.ping.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 알림 발송 대기열 (트랜잭셔널 아웃박스)
+ * - 긴급 로그 기록과 같은 트랜잭션에 저장하고, 커밋 후 발송
+ * - 발송 전에 서버가 죽어도 재시작 후 릴레이가 이어서 발송
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_outbox_status", columnList = "status, created_at"),
+        @Index(name = "idx_outbox_log_phase", columnList = "log_id, phase")
+})
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(name = "log_id", nullable = false)
+    private Long logId;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Phase phase;
+
+    @Column(name = "contact_name", length = 50)
+    private String contactName;
+
+    @Column(name = "contact_phone", nullable = false, length = 20)
+    private String contactPhone;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String message;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    public enum Phase {
+        LOCATION_ALERT,   // 1차 위치 알림
+        SITUATION_UPDATE  // 2차 상황 알림
+    }
+
+    public enum Status {
+        PENDING,  // 발송 대기
+        SENDING,  // 발송 중 (선점됨)
+        SENT,     // 발송 완료
+        FAILED    // 재시도 초과
+    }
+}
@@ -0,0 +1,93 @@
+package com.guji3.ping.entity;
+
+import com.guji3.ping.util.Coordinate;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보호자가 등록한 구역 (집, 학교 등) - 긴급 신호 위치가 안에 있으면 처리 우선순위를 조정
+ */
+@Entity
+@Table(name = "safe_zone", indexes = {
+        @Index(name = "idx_safe_zone_user", columnList = "user_id")
+})
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SafeZone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "zone_id")
+    private Long zoneId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, length = 50)
+    private String name; // 예: "집", "학교"
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Shape shape;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private Effect effect = Effect.LOWER_PRIORITY;
+
+    // 원형 구역: 중심 + 반지름
+    @Column(name = "center_latitude", precision = 10, scale = 8)
+    @Convert(converter = CoordinateConverter.class)
+    private Coordinate centerLatitude;
+
+    @Column(name = "center_longitude", precision = 11, scale = 8)
+    @Convert(converter = CoordinateConverter.class)
+    private Coordinate centerLongitude;
+
+    @Column(name = "radius_meters")
+    private Integer radiusMeters;
+
+    // 다각형 구역: JSON [[위도, 경도], ...]
+    @Column(columnDefinition = "TEXT")
+    private String vertices;
+
+    @Column(name = "is_active", nullable = false)
+    @Builder.Default
+    private Boolean isActive = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Shape {
+        CIRCLE,
+        POLYGON
+    }
+
+    public enum Effect {
+        LOWER_PRIORITY("안전 구역"),  // 예비 위험도 한 단계 낮춤 (집 등)
+        RAISE_PRIORITY("주의 구역"),  // 예비 위험도 한 단계 높임
+        TAG_ONLY("등록 구역");        // 기록만
+
+        private final String description;
+
+        Effect(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
@@ -57,6 +57,10 @@ public class User {
     @Builder.Default
     private List<EmergencyLog> logs = new ArrayList<>();
 
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private List<SafeZone> safeZones = new ArrayList<>();
+
     // 편의 메서드
     public void addContact(EmergencyContact contact) {
         contacts.add(contact);
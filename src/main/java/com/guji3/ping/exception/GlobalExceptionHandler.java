@@ -2,6 +2,7 @@ package com.guji3.ping.exception;
 
 import com.guji3.ping.exception.custom.DeviceNotRegisteredException;
 import com.guji3.ping.exception.custom.DuplicateEmailException;
+import com.guji3.ping.exception.custom.DuplicateRequestException;
 import com.guji3.ping.exception.custom.EmergencyProcessException;
 import com.guji3.ping.exception.custom.UserNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -297,6 +298,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    /**
+     * 같은 멱등성 키의 처음 요청이 아직 처리 중 (커스텀)
+     */
+    @ExceptionHandler(DuplicateRequestException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateRequestException(
+            DuplicateRequestException e,
+            HttpServletRequest request) {
+
+        log.warn("⚠️ [중복 요청 처리 중] {}", e.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .success(false)
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error("Request In Progress")
+                .message(e.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).header("Retry-After", "1").body(error);
+    }
+
     /**
      * 긴급 신호 처리 오류 (커스텀)
      */
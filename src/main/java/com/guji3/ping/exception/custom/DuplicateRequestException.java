@@ -0,0 +1,11 @@
+package com.guji3.ping.exception.custom;
+
+/**
+ * 같은 멱등성 키의 처음 요청이 아직 처리 중일 때 발생하는 예외
+ */
+public class DuplicateRequestException extends RuntimeException {
+
+    public DuplicateRequestException(String idempotencyKey) {
+        super(String.format("같은 요청을 이미 처리 중입니다: %s", idempotencyKey));
+    }
+}
@@ -0,0 +1,15 @@
+package com.guji3.ping.exception.custom;
+
+/**
+ * 외부 API(OpenAI 등) 장애로 호출하지 않았거나 실패했을 때 발생하는 예외
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
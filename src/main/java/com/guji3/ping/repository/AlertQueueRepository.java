@@ -0,0 +1,46 @@
+package com.guji3.ping.repository;
+
+import com.guji3.ping.entity.AlertQueueItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface AlertQueueRepository extends JpaRepository<AlertQueueItem, Long> {
+
+    // 상태별 항목 수 (입장 제어의 적체량 확인)
+    long countByStatus(AlertQueueItem.Status status);
+
+    // 처리 대기 중인 항목 (먼저 들어온 순, 워커가 이 중에서 위험도 순으로 선택)
+    List<AlertQueueItem> findTop50ByStatusOrderByQueueIdAsc(AlertQueueItem.Status status);
+
+    // 워커 선점 (다른 워커가 먼저 가져갔으면 0 반환)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AlertQueueItem q SET q.status = :to, q.attempts = q.attempts + 1 " +
+            "WHERE q.queueId = :queueId AND q.status = :from")
+    int claim(@Param("queueId") Long queueId,
+              @Param("from") AlertQueueItem.Status from,
+              @Param("to") AlertQueueItem.Status to);
+
+    // 처리 결과 기록
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AlertQueueItem q SET q.status = :status, q.lastError = :lastError " +
+            "WHERE q.queueId = :queueId")
+    int updateStatus(@Param("queueId") Long queueId,
+                     @Param("status") AlertQueueItem.Status status,
+                     @Param("lastError") String lastError);
+
+    // 서버 재시작 시 처리 중이던 항목을 대기 상태로 되돌림
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AlertQueueItem q SET q.status = :to WHERE q.status = :from")
+    int resetStatus(@Param("from") AlertQueueItem.Status from,
+                    @Param("to") AlertQueueItem.Status to);
+}
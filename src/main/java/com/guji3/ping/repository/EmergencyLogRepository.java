@@ -1,17 +1,24 @@
 package com.guji3.ping.repository;
 
 import com.guji3.ping.entity.EmergencyLog;
+import com.guji3.ping.util.Coordinate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EmergencyLogRepository extends JpaRepository<EmergencyLog, Long> {
 
+    // 멱등성 키로 처음 요청 조회
+    Optional<EmergencyLog> findByIdempotencyKey(String idempotencyKey);
+
     // 사용자의 긴급 신호 이력 (최신순)
     List<EmergencyLog> findByUser_UserIdOrderByCreatedAtDesc(Long userId);
 
@@ -29,4 +36,68 @@ public interface EmergencyLogRepository extends JpaRepository<EmergencyLog, Long
 
     // 기기 시리얼로 최근 로그 조회
     List<EmergencyLog> findTop10ByDeviceSerialOrderByCreatedAtDesc(String deviceSerial);
+
+    // 처리 단계 갱신 (상태 조회 API에서 바로 보이도록 단독 커밋)
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmergencyLog e SET e.pipelineStage = :stage WHERE e.logId = :logId")
+    int updatePipelineStage(@Param("logId") Long logId, @Param("stage") EmergencyLog.PipelineStage stage);
+
+    // 접수 큐에서 만든 로그를 처리 시작으로 표시 (반복 입력이 바꾼 횟수/좌표는 건드리지 않도록 필요한 열만 갱신)
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmergencyLog e SET e.zoneName = :zoneName, e.pipelineStage = :stage WHERE e.logId = :logId")
+    int startProcessing(@Param("logId") Long logId,
+                        @Param("zoneName") String zoneName,
+                        @Param("stage") EmergencyLog.PipelineStage stage);
+
+    // 분석 결과 기록 (처리 중 커밋된 반복 입력/1차 알림 기록을 덮어쓰지 않도록 필요한 열만 갱신)
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmergencyLog e SET e.locationAddress = :address, e.audioText = :audioText, " +
+            "e.situationAnalysis = :analysis, e.dangerLevel = :dangerLevel, e.sentContacts = :sentContacts, " +
+            "e.pipelineStage = :stage WHERE e.logId = :logId")
+    int recordAnalysis(@Param("logId") Long logId,
+                       @Param("address") String address,
+                       @Param("audioText") String audioText,
+                       @Param("analysis") String analysis,
+                       @Param("dangerLevel") EmergencyLog.DangerLevel dangerLevel,
+                       @Param("sentContacts") String sentContacts,
+                       @Param("stage") EmergencyLog.PipelineStage stage);
+
+    @Query("SELECT e.pressCount FROM EmergencyLog e WHERE e.logId = :logId")
+    Integer findPressCount(@Param("logId") Long logId);
+
+    // 병합된 반복 입력 기록 (최신 좌표로 갱신)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EmergencyLog e SET e.pressCount = e.pressCount + :presses, e.lastPressedAt = :pressedAt, " +
+            "e.latitude = :latitude, e.longitude = :longitude WHERE e.logId = :logId")
+    int recordRepeatPress(@Param("logId") Long logId,
+                          @Param("presses") int presses,
+                          @Param("latitude") Coordinate latitude,
+                          @Param("longitude") Coordinate longitude,
+                          @Param("pressedAt") LocalDateTime pressedAt);
+
+    // 1차 알림 발송 기록 (첫 알림까지 걸린 시간 측정용, 재발송이 첫 발송 시각을 덮어쓰지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmergencyLog e SET e.firstNotifiedAt = COALESCE(e.firstNotifiedAt, :sentAt), " +
+            "e.firstNotificationSuccess = :success WHERE e.logId = :logId")
+    int recordFirstNotification(@Param("logId") Long logId,
+                                @Param("sentAt") LocalDateTime sentAt,
+                                @Param("success") Boolean success);
+
+    // 2차 알림 발송 기록 (1차/2차 모두 성공해야 전체 성공, 재발송이 첫 발송 시각을 덮어쓰지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmergencyLog e SET e.followUpSentAt = COALESCE(e.followUpSentAt, :sentAt), " +
+            "e.sentAt = COALESCE(e.sentAt, :sentAt), " +
+            "e.followUpSuccess = :success, " +
+            "e.notificationSuccess = CASE WHEN e.firstNotificationSuccess = true AND :success = true " +
+            "THEN true ELSE false END " +
+            "WHERE e.logId = :logId")
+    int recordFollowUp(@Param("logId") Long logId,
+                       @Param("sentAt") LocalDateTime sentAt,
+                       @Param("success") Boolean success);
 }
\ No newline at end of file
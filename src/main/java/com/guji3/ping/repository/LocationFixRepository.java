@@ -0,0 +1,15 @@
+package com.guji3.ping.repository;
+
+import com.guji3.ping.entity.LocationFix;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LocationFixRepository extends JpaRepository<LocationFix, Long> {
+
+    // 사건의 최근 위치 (최신순, 서버 재시작 후 추적을 이어갈 때)
+    List<LocationFix> findByLogIdOrderByFixIdDesc(Long logId, Pageable pageable);
+}
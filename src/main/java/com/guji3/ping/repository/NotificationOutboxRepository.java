@@ -0,0 +1,57 @@
+package com.guji3.ping.repository;
+
+import com.guji3.ping.entity.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    // 같은 로그/단계 알림이 이미 적재되었는지 (재처리 시 중복 발송 방지)
+    boolean existsByLogIdAndPhase(Long logId, NotificationOutbox.Phase phase);
+
+    List<NotificationOutbox> findByLogIdAndPhaseAndStatus(Long logId,
+                                                         NotificationOutbox.Phase phase,
+                                                         NotificationOutbox.Status status);
+
+    // 아직 발송 완료되지 않은 알림 수 (단계별 성공 여부는 이번 발송분이 아니라 전체 알림 기준)
+    long countByLogIdAndPhaseAndStatusNot(Long logId, NotificationOutbox.Phase phase,
+                                          NotificationOutbox.Status status);
+
+    // 일정 시간 이상 발송되지 않은 알림 (릴레이 재발송 대상)
+    List<NotificationOutbox> findTop100ByStatusAndCreatedAtBeforeOrderByOutboxIdAsc(
+            NotificationOutbox.Status status, LocalDateTime before);
+
+    // 발송 선점 (이미 다른 쪽에서 발송 중이면 0 반환)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE NotificationOutbox o SET o.status = :to, o.attempts = o.attempts + 1 " +
+            "WHERE o.outboxId = :outboxId AND o.status = :from")
+    int claim(@Param("outboxId") Long outboxId,
+              @Param("from") NotificationOutbox.Status from,
+              @Param("to") NotificationOutbox.Status to);
+
+    // 발송 결과 기록
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE NotificationOutbox o SET o.status = :status, o.sentAt = :sentAt, o.lastError = :lastError " +
+            "WHERE o.outboxId = :outboxId")
+    int markResult(@Param("outboxId") Long outboxId,
+                   @Param("status") NotificationOutbox.Status status,
+                   @Param("sentAt") LocalDateTime sentAt,
+                   @Param("lastError") String lastError);
+
+    // 서버 재시작 시 발송 중이던 알림을 대기 상태로 되돌림
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE NotificationOutbox o SET o.status = :to WHERE o.status = :from")
+    int resetStatus(@Param("from") NotificationOutbox.Status from,
+                    @Param("to") NotificationOutbox.Status to);
+}
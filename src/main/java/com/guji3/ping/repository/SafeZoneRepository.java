@@ -0,0 +1,23 @@
+package com.guji3.ping.repository;
+
+import com.guji3.ping.entity.SafeZone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SafeZoneRepository extends JpaRepository<SafeZone, Long> {
+
+    // 사용자의 구역 목록 (등록 순)
+    List<SafeZone> findByUser_UserIdOrderByZoneIdAsc(Long userId);
+
+    // 색인 적재용: 사용자의 활성 구역
+    List<SafeZone> findByUser_UserIdAndIsActiveTrue(Long userId);
+
+    // 색인 전체 적재용 (user는 id만 사용)
+    List<SafeZone> findByIsActiveTrue();
+
+    // 사용자의 구역 개수
+    long countByUser_UserId(Long userId);
+}
@@ -0,0 +1,265 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.entity.AlertQueueItem;
+import com.guji3.ping.repository.AlertQueueRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 요청 등급별 입장 제어 (대량 신고 상황에서 긴급 신호 보호)
+ * - ALERT(실제 긴급 신호)는 항상 통과
+ * - 접수 큐 적체량과 긴급 신호 처리 지연으로 부하 단계를 정하고,
+ *   단계가 올라갈수록 STANDARD는 동시 처리 수를 줄이고 DEFERRABLE은 먼저 차단
+ * - 등급별 처리 중/대기/통과/거절 수를 메트릭으로 노출 (ping.admission.*)
+ */
+@Component
+@Slf4j
+public class AdmissionControl {
+
+    private final AlertQueueRepository queueRepository;
+    private final Map<TrafficClass, Gate> gates = new EnumMap<>(TrafficClass.class);
+
+    private volatile Pressure pressure = Pressure.NORMAL;
+    private volatile long backlog;
+    private volatile double alertLatencyEwmaMs;
+
+    @Value("${admission.backlog.elevated:20}")
+    private long elevatedBacklog;
+
+    @Value("${admission.backlog.critical:100}")
+    private long criticalBacklog;
+
+    @Value("${admission.alert-latency.elevated-ms:5000}")
+    private long elevatedLatencyMs;
+
+    @Value("${admission.alert-latency.critical-ms:10000}")
+    private long criticalLatencyMs;
+
+    @Value("${admission.standard.max-concurrent:50}")
+    private int standardLimit;
+
+    @Value("${admission.standard.elevated-max-concurrent:20}")
+    private int standardElevatedLimit;
+
+    @Value("${admission.standard.critical-max-concurrent:5}")
+    private int standardCriticalLimit;
+
+    @Value("${admission.deferrable.max-concurrent:20}")
+    private int deferrableLimit;
+
+    @Value("${admission.max-queue:100}")
+    private int maxQueue;
+
+    @Value("${admission.max-wait-ms:200}")
+    private long maxWaitMs;
+
+    public AdmissionControl(AlertQueueRepository queueRepository, MeterRegistry meterRegistry) {
+        this.queueRepository = queueRepository;
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            gates.put(trafficClass, new Gate(trafficClass, meterRegistry));
+        }
+        Gauge.builder("ping.admission.pressure", this, c -> c.pressure.ordinal())
+                .description("부하 단계 (0=NORMAL, 1=ELEVATED, 2=CRITICAL)")
+                .register(meterRegistry);
+        Gauge.builder("ping.admission.alert.backlog", this, c -> c.backlog)
+                .description("처리 대기 중인 긴급 신호 수")
+                .register(meterRegistry);
+        Gauge.builder("ping.admission.alert.latency", this, c -> c.alertLatencyEwmaMs)
+                .description("긴급 신호 접수~처리 완료 지연 (지수 이동 평균, ms)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 입장 시도 (STANDARD는 잠시 대기할 수 있음)
+     *
+     * @return 통과 여부, 통과했다면 반드시 leave 호출
+     */
+    public boolean tryEnter(TrafficClass trafficClass) {
+        return gates.get(trafficClass).enter(TimeUnit.MILLISECONDS.toNanos(maxWaitMs));
+    }
+
+    public void leave(TrafficClass trafficClass) {
+        gates.get(trafficClass).leave();
+    }
+
+    /**
+     * 긴급 신호 접수~처리 완료 지연 기록 (AlertQueueWorker, 동기 처리 경로)
+     */
+    public void recordAlertLatency(long latencyMs) {
+        // 최근 값에 가중치 0.2 (대략 최근 10건 정도를 반영)
+        double previous = alertLatencyEwmaMs;
+        alertLatencyEwmaMs = previous == 0 ? latencyMs : previous * 0.8 + latencyMs * 0.2;
+    }
+
+    /**
+     * 현재 부하 단계
+     */
+    public Pressure getPressure() {
+        return pressure;
+    }
+
+    /**
+     * 접수 큐 적체량 확인 후 부하 단계 갱신
+     */
+    @Scheduled(fixedDelayString = "${admission.sample-interval-ms:1000}")
+    public void evaluate() {
+        try {
+            backlog = queueRepository.countByStatus(AlertQueueItem.Status.PENDING)
+                    + gates.get(TrafficClass.ALERT).inFlight;
+        } catch (Exception e) {
+            // DB가 응답하지 못하는 것 자체가 과부하 신호
+            log.warn("⚠️ 접수 큐 적체량 확인 실패: {}", e.getMessage());
+            backlog = criticalBacklog;
+        }
+
+        Pressure next;
+        if (backlog >= criticalBacklog || alertLatencyEwmaMs >= criticalLatencyMs) {
+            next = Pressure.CRITICAL;
+        } else if (backlog >= elevatedBacklog || alertLatencyEwmaMs >= elevatedLatencyMs) {
+            next = Pressure.ELEVATED;
+        } else {
+            next = Pressure.NORMAL;
+        }
+
+        if (next != pressure) {
+            log.warn("🚦 부하 단계 변경: {} → {} (적체 {}건, 지연 {}ms)",
+                    pressure, next, backlog, Math.round(alertLatencyEwmaMs));
+            pressure = next;
+            gates.values().forEach(Gate::signalLimitChanged);
+        }
+    }
+
+    private int limitOf(TrafficClass trafficClass) {
+        Pressure current = pressure;
+        return switch (trafficClass) {
+            case ALERT -> Integer.MAX_VALUE;
+            case STANDARD -> switch (current) {
+                case NORMAL -> standardLimit;
+                case ELEVATED -> standardElevatedLimit;
+                case CRITICAL -> standardCriticalLimit;
+            };
+            case DEFERRABLE -> current == Pressure.NORMAL ? deferrableLimit : 0;
+        };
+    }
+
+    /**
+     * 요청 등급
+     */
+    public enum TrafficClass {
+        ALERT("실제 긴급 신호"),
+        STANDARD("일반 요청"),
+        DEFERRABLE("미뤄도 되는 요청");
+
+        private final String description;
+
+        TrafficClass(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    public enum Pressure {
+        NORMAL, ELEVATED, CRITICAL
+    }
+
+    /**
+     * 등급별 동시 처리 수 제한 (한도 초과 시 최대 maxQueue개까지 잠시 대기)
+     */
+    private final class Gate {
+
+        private final TrafficClass trafficClass;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition released = lock.newCondition();
+        private final Counter admitted;
+        private final Counter rejected;
+        private volatile int inFlight;
+        private volatile int queued;
+
+        private Gate(TrafficClass trafficClass, MeterRegistry meterRegistry) {
+            this.trafficClass = trafficClass;
+            String tag = trafficClass.name().toLowerCase();
+            admitted = Counter.builder("ping.admission.admitted").tag("class", tag).register(meterRegistry);
+            rejected = Counter.builder("ping.admission.rejected").tag("class", tag).register(meterRegistry);
+            Gauge.builder("ping.admission.in_flight", this, g -> g.inFlight).tag("class", tag).register(meterRegistry);
+            Gauge.builder("ping.admission.queued", this, g -> g.queued).tag("class", tag).register(meterRegistry);
+            Gauge.builder("ping.admission.limit", this, g -> limitOf(g.trafficClass))
+                    .tag("class", tag)
+                    .register(meterRegistry);
+        }
+
+        private boolean enter(long waitNanos) {
+            lock.lock();
+            try {
+                if (inFlight < limitOf(trafficClass)) {
+                    return admit();
+                }
+                if (limitOf(trafficClass) == 0 || queued >= maxQueue) {
+                    return reject();
+                }
+
+                queued++;
+                try {
+                    long remaining = waitNanos;
+                    while (inFlight >= limitOf(trafficClass)) {
+                        if (remaining <= 0) {
+                            return reject();
+                        }
+                        remaining = released.awaitNanos(remaining);
+                    }
+                    return admit();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return reject();
+                } finally {
+                    queued--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void leave() {
+            lock.lock();
+            try {
+                inFlight--;
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void signalLimitChanged() {
+            lock.lock();
+            try {
+                released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean admit() {
+            inFlight++;
+            admitted.increment();
+            return true;
+        }
+
+        private boolean reject() {
+            rejected.increment();
+            return false;
+        }
+    }
+}
@@ -1,23 +1,36 @@
 package com.guji3.ping.service;
 
 import com.google.gson.Gson;
+import com.guji3.ping.entity.EmergencyLog;
+import com.guji3.ping.util.JsonFieldStreamParser;
+import com.guji3.ping.util.MicroBatcher;
+import com.guji3.ping.util.MultipartBodyPublisher;
+import com.guji3.ping.util.UpstreamJson;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
+import java.io.ByteArrayInputStream;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.nio.file.Files;
-import java.util.Base64;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -27,79 +40,266 @@ public class AiAnalysisService {
     @Value("${openai.api.key}")
     private String openaiApiKey;
 
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    @Value("${openai.api.base-url:https://api.openai.com}")
+    private String openaiBaseUrl;
+
+    private final AiCallGuard aiCallGuard;
+    private final AnalysisCache analysisCache;
+    private final AudioPreprocessor audioPreprocessor;
+    private final MeterRegistry meterRegistry;
     private final Gson gson = new Gson();
 
+    @Value("${ai.analysis.streaming:true}")
+    private boolean streaming;
+
+    @Value("${ai.analysis.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    @Value("${ai.analysis.batch.max-items:8}")
+    private int batchMaxItems;
+
+    @Value("${ai.analysis.batch.max-wait-ms:20}")
+    private long batchMaxWaitMs;
+
+    @Value("${ai.analysis.batch.timeout-ms:4000}")
+    private long batchTimeoutMs;
+
+    private MicroBatcher<BatchItem, Map<String, String>> batcher;
+    private DistributionSummary batchSizes;
+    private Counter batchTimeouts;
+    private Counter batchFailures;
+
+    @PostConstruct
+    public void init() {
+        batcher = new MicroBatcher<>(batchMaxItems, batchMaxWaitMs, this::requestBatchAnalysis);
+        batchSizes = DistributionSummary.builder("ping.ai.batch.size")
+                .description("GPT 일괄 분석 한 번에 묶인 신고 수")
+                .register(meterRegistry);
+        batchTimeouts = Counter.builder("ping.ai.batch.fallback").tag("reason", "timeout").register(meterRegistry);
+        batchFailures = Counter.builder("ping.ai.batch.fallback").tag("reason", "error").register(meterRegistry);
+    }
+
     /**
      * 음성 파일 → 텍스트 변환 (OpenAI Whisper API)
+     * - 업로드 스트림을 그대로 전송 (임시 파일/메모리 복사 없음)
      */
     public String transcribeAudio(MultipartFile audioFile) throws Exception {
         log.info("🎤 음성 인식 시작: 파일명 {}, 크기 {} bytes",
                 audioFile.getOriginalFilename(), audioFile.getSize());
 
-        // 임시 파일로 저장
-        File tempFile = File.createTempFile("audio_", ".mp3");
-        try (FileOutputStream fos = new FileOutputStream(tempFile)) {
-            fos.write(audioFile.getBytes());
-        }
+        return transcribe(audioFile::getInputStream, audioFile.getSize(), null);
+    }
 
-        try {
-            // Whisper API 호출
-            String boundary = "----WebKitFormBoundary" + System.currentTimeMillis();
-            byte[] audioBytes = Files.readAllBytes(tempFile.toPath());
-
-            String body = "--" + boundary + "\r\n" +
-                    "Content-Disposition: form-data; name=\"file\"; filename=\"audio.mp3\"\r\n" +
-                    "Content-Type: audio/mpeg\r\n\r\n" +
-                    new String(audioBytes) + "\r\n" +
-                    "--" + boundary + "\r\n" +
-                    "Content-Disposition: form-data; name=\"model\"\r\n\r\n" +
-                    "whisper-1\r\n" +
-                    "--" + boundary + "\r\n" +
-                    "Content-Disposition: form-data; name=\"language\"\r\n\r\n" +
-                    "ko\r\n" +
-                    "--" + boundary + "--\r\n";
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create("https://api.openai.com/v1/audio/transcriptions"))
-                    .header("Authorization", "Bearer " + openaiApiKey)
-                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
-                    .POST(HttpRequest.BodyPublishers.ofString(body))
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request,
-                    HttpResponse.BodyHandlers.ofString());
-
-            Map<String, Object> result = gson.fromJson(response.body(), Map.class);
-            String transcribedText = (String) result.get("text");
-
-            log.info("✅ 음성 인식 완료: {}", transcribedText);
-            return transcribedText;
-
-        } finally {
-            tempFile.delete(); // 임시 파일 삭제
+    /**
+     * 저장된 음성 파일 → 텍스트 변환 (접수 큐에 스풀된 파일용)
+     */
+    public String transcribeAudio(Path audioPath) throws Exception {
+        return transcribe(() -> Files.newInputStream(audioPath), Files.size(audioPath), null);
+    }
+
+    /**
+     * 스트리밍 중 완료된 발화 구간 → 텍스트 (WebSocket 음성 스트리밍)
+     *
+     * @param previousText 앞 구간까지의 인식 결과 (Whisper prompt로 넘겨 문맥/띄어쓰기 유지, 없으면 null)
+     */
+    public String transcribeAudio(byte[] wav, String previousText) throws Exception {
+        return transcribe(() -> new ByteArrayInputStream(wav), wav.length, previousText);
+    }
+
+    private String transcribe(MultipartBodyPublisher.StreamSource audio, long size, String prompt) throws Exception {
+        // WAV면 앞뒤 무음 제거 + 16kHz 모노로 줄여서 전송
+        AudioPreprocessor.Upload upload = audioPreprocessor.prepare(audio, size);
+
+        // Whisper API 호출
+        MultipartBodyPublisher body = new MultipartBodyPublisher()
+                .addFile("file", upload.filename(), upload.contentType(), upload.source(), upload.length())
+                .addField("model", "whisper-1")
+                .addField("language", "ko");
+        if (prompt != null && !prompt.isBlank()) {
+            body.addField("prompt", prompt);
         }
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(openaiBaseUrl + "/v1/audio/transcriptions"))
+                .header("Authorization", "Bearer " + openaiApiKey)
+                .header("Content-Type", body.contentType())
+                .POST(body.build())
+                .build();
+
+        HttpResponse<String> response = aiCallGuard.send(AiCallGuard.Call.TRANSCRIPTION, request,
+                HttpResponse.BodyHandlers.ofString());
+
+        String transcribedText = UpstreamJson.transcription(response.body()).text();
+
+        log.info("✅ 음성 인식 완료: {}", transcribedText);
+        return transcribedText;
     }
 
     /**
-     * GPT-4로 상황 분석
+     * GPT-4로 상황 분석 (같은 문장을 최근에 분석했으면 캐시 결과 사용)
      */
     public Map<String, String> analyzeSituation(String audioText) throws Exception {
+        return analyzeSituation(audioText, null, partial -> { });
+    }
+
+    /**
+     * GPT-4로 상황 분석
+     *
+     * @param priority 예비 위험도, 일괄 분석이 켜져 있으면 HIGH가 아닌 신고는 잠깐 모았다가 한 번에 분석
+     *                 (HIGH이거나 null이면 바로 단건 호출)
+     * @param onTriage 스트리밍 모드에서 situation/dangerLevel을 받자마자 한 번 호출
+     *                 (analysis/recommendAction은 아직 수신 중, 캐시 적중이나 일반 모드, 일괄 분석에서는 호출 안 함)
+     */
+    public Map<String, String> analyzeSituation(String audioText, EmergencyLog.DangerLevel priority,
+                                                Consumer<Map<String, String>> onTriage) throws Exception {
+        return analysisCache.get(audioText, () -> batchEnabled && priority != null && priority != EmergencyLog.DangerLevel.HIGH
+                ? batchedAnalysis(audioText, onTriage)
+                : singleAnalysis(audioText, onTriage));
+    }
+
+    private Map<String, String> singleAnalysis(String audioText,
+                                               Consumer<Map<String, String>> onTriage) throws Exception {
+        return streaming ? requestAnalysisStreaming(audioText, onTriage) : requestAnalysis(audioText);
+    }
+
+    /**
+     * 일괄 분석에 합류, 혼자였거나 묶음이 시간 초과/실패하면 단건 호출로 대체
+     */
+    private Map<String, String> batchedAnalysis(String audioText,
+                                                Consumer<Map<String, String>> onTriage) throws Exception {
+        try {
+            Map<String, String> analysis = batcher.submit(new BatchItem(audioText), batchTimeoutMs);
+            if (analysis != null) {
+                return analysis;
+            }
+        } catch (TimeoutException | HttpTimeoutException e) {
+            batchTimeouts.increment();
+            log.warn("⏱️ GPT 일괄 분석 시간 초과, 단건 분석으로 전환: {}", audioText);
+        } catch (Exception e) {
+            batchFailures.increment();
+            log.warn("⚠️ GPT 일괄 분석 실패, 단건 분석으로 전환: {}", e.getMessage());
+        }
+        return singleAnalysis(audioText, onTriage);
+    }
+
+    private Map<String, String> requestAnalysis(String audioText) throws Exception {
         log.info("🧠 GPT 상황 분석 시작: {}", audioText);
 
+        // 같은 요청을 한 번 더 보내도 안전하므로 느리면 추가 요청
+        HttpResponse<String> response = aiCallGuard.sendHedged(AiCallGuard.Call.ANALYSIS,
+                analysisRequest(audioText, false), HttpResponse.BodyHandlers.ofString());
+
+        String content = UpstreamJson.chatContent(response.body());
+
+        // JSON 파싱
+        Map<String, String> analysis = UpstreamJson.analysis(content);
+
+        log.info("✅ GPT 분석 완료: 상황={}, 위험도={}",
+                analysis.get("situation"), analysis.get("dangerLevel"));
+
+        return analysis;
+    }
+
+    /**
+     * 스트리밍(SSE) 모드: 응답 토큰을 받는 대로 JSON 필드를 꺼내고,
+     * situation/dangerLevel이 모이면 나머지 필드를 기다리지 않고 onTriage로 먼저 전달
+     */
+    private Map<String, String> requestAnalysisStreaming(String audioText,
+                                                         Consumer<Map<String, String>> onTriage) throws Exception {
+        log.info("🧠 GPT 상황 분석 시작 (스트리밍): {}", audioText);
+
+        Map<String, String> analysis = new HashMap<>();
+        AtomicBoolean published = new AtomicBoolean();
+        JsonFieldStreamParser parser = new JsonFieldStreamParser((name, value) -> {
+            analysis.put(name, value);
+            if (analysis.containsKey("situation") && analysis.containsKey("dangerLevel")
+                    && published.compareAndSet(false, true)) {
+                log.info("⚡ GPT 위험도 선수신: 상황={}, 위험도={}", analysis.get("situation"), analysis.get("dangerLevel"));
+                onTriage.accept(Map.of("situation", String.valueOf(analysis.get("situation")),
+                        "dangerLevel", String.valueOf(analysis.get("dangerLevel"))));
+            }
+        });
+
+        // 본문을 다 읽을 때까지 호출 시간 제한 (멈추면 스트림을 닫고 브레이커에 실패로 기록), 헤더가 늦으면 추가 요청
+        aiCallGuard.stream(AiCallGuard.Call.ANALYSIS, analysisRequest(audioText, true), (status, lines) -> {
+            while (lines.hasNext() && !parser.isComplete()) {
+                String line = lines.next();
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
+                String data = line.substring("data:".length()).trim();
+                if ("[DONE]".equals(data)) {
+                    break;
+                }
+                String content = UpstreamJson.chunkContent(data);
+                if (content != null) {
+                    parser.feed(content);
+                }
+            }
+            if (!parser.isComplete()) {
+                throw new IllegalStateException("GPT 스트리밍 응답이 완성되지 않았습니다 (HTTP " + status + ")");
+            }
+            return analysis;
+        });
+
+        log.info("✅ GPT 분석 완료: 상황={}, 위험도={}",
+                analysis.get("situation"), analysis.get("dangerLevel"));
+
+        return analysis;
+    }
+
+    private HttpRequest analysisRequest(String audioText, boolean stream) {
         String prompt = String.format(
                 "다음은 긴급 구조 요청 기기에서 수집한 음성 데이터입니다:\n\n" +
                         "\"%s\"\n\n" +
                         "이 상황을 분석하여 다음 정보를 JSON 형식으로 제공해주세요:\n" +
-                        "1. situation: 어떤 위험 상황인지 (예: 납치, 강도, 실종, 사고 등)\n" +
-                        "2. dangerLevel: 위험도 (HIGH/MEDIUM/LOW)\n" +
-                        "3. analysis: 상황에 대한 자세한 분석 (50자 이내)\n" +
-                        "4. recommendAction: 보호자가 취해야 할 행동 (30자 이내)\n\n" +
-                        "음성이 비어있거나 명확하지 않으면 dangerLevel을 LOW로 설정하고 " +
-                        "situation을 '상황 불명확'으로 표시해주세요.",
+                        ANALYSIS_FIELDS,
                 audioText
         );
+        return chatRequest(prompt, stream);
+    }
+
+    /**
+     * 여러 신고를 한 번에 분석 (JSON 배열 응답을 요청 순서대로 나눠 돌려줌, 빠진 항목은 null)
+     */
+    private List<Map<String, String>> requestBatchAnalysis(List<BatchItem> items) throws Exception {
+        log.info("🧺 GPT 일괄 분석 시작: {}건", items.size());
+        batchSizes.record(items.size());
+
+        List<Map<String, Object>> numbered = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            numbered.add(Map.of("id", i + 1, "text", items.get(i).audioText()));
+        }
+        String prompt = "다음은 여러 긴급 구조 요청 기기에서 수집한 음성 데이터 목록입니다 (id, text):\n\n" +
+                gson.toJson(numbered) + "\n\n" +
+                "각 항목의 상황을 따로 분석하여, 항목마다 id와 다음 정보를 담은 객체의 JSON 배열로만 답변해주세요:\n" +
+                ANALYSIS_FIELDS;
+
+        HttpResponse<String> response = aiCallGuard.send(AiCallGuard.Call.ANALYSIS_BATCH,
+                chatRequest(prompt, false), HttpResponse.BodyHandlers.ofString());
+
+        String content = UpstreamJson.chatContent(response.body());
+
+        // 코드 블록 표시 등 배열 밖의 글자는 무시
+        int start = content.indexOf('[');
+        int end = content.lastIndexOf(']');
+        if (start < 0 || end < start) {
+            throw new IllegalStateException("GPT 일괄 분석 응답이 JSON 배열이 아닙니다");
+        }
+        List<Map<String, String>> analyses = new ArrayList<>(Collections.nCopies(items.size(), null));
+        for (UpstreamJson.BatchEntry entry : UpstreamJson.batchEntries(content.substring(start, end + 1))) {
+            int index = entry.id() - 1;
+            if (index >= 0 && index < analyses.size()) {
+                analyses.set(index, entry.fields());
+            }
+        }
 
+        log.info("✅ GPT 일괄 분석 완료: {}건 중 {}건", items.size(),
+                analyses.stream().filter(a -> a != null).count());
+        return analyses;
+    }
+
+    private HttpRequest chatRequest(String prompt, boolean stream) {
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("model", "gpt-4");
         requestBody.put("messages", new Object[]{
@@ -107,43 +307,29 @@ public class AiAnalysisService {
                 Map.of("role", "user", "content", prompt)
         });
         requestBody.put("temperature", 0.3); // 일관성 있는 답변을 위해 낮은 온도
+        if (stream) {
+            requestBody.put("stream", true);
+        }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create("https://api.openai.com/v1/chat/completions"))
+        return HttpRequest.newBuilder()
+                .uri(URI.create(openaiBaseUrl + "/v1/chat/completions"))
                 .header("Authorization", "Bearer " + openaiApiKey)
                 .header("Content-Type", "application/json")
                 .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(requestBody)))
                 .build();
-
-        HttpResponse<String> response = httpClient.send(request,
-                HttpResponse.BodyHandlers.ofString());
-
-        Map<String, Object> result = gson.fromJson(response.body(), Map.class);
-        Map<String, Object> choice = (Map<String, Object>)
-                ((java.util.List<?>) result.get("choices")).get(0);
-        Map<String, Object> message = (Map<String, Object>) choice.get("message");
-        String content = (String) message.get("content");
-
-        // JSON 파싱
-        Map<String, String> analysis = gson.fromJson(content, Map.class);
-
-        log.info("✅ GPT 분석 완료: 상황={}, 위험도={}",
-                analysis.get("situation"), analysis.get("dangerLevel"));
-
-        return analysis;
     }
 
+    private static final String ANALYSIS_FIELDS =
+            "1. situation: 어떤 위험 상황인지 (예: 납치, 강도, 실종, 사고 등)\n" +
+                    "2. dangerLevel: 위험도 (HIGH/MEDIUM/LOW)\n" +
+                    "3. analysis: 상황에 대한 자세한 분석 (50자 이내)\n" +
+                    "4. recommendAction: 보호자가 취해야 할 행동 (30자 이내)\n\n" +
+                    "음성이 비어있거나 명확하지 않으면 dangerLevel을 LOW로 설정하고 " +
+                    "situation을 '상황 불명확'으로 표시해주세요.";
+
     /**
-     * 통합 분석 (음성 인식 + GPT 분석)
+     * 일괄 분석 대기 항목
      */
-    public Map<String, String> fullAnalysis(MultipartFile audioFile) throws Exception {
-        // 1단계: 음성 → 텍스트
-        String audioText = transcribeAudio(audioFile);
-
-        // 2단계: GPT 상황 분석
-        Map<String, String> analysis = analyzeSituation(audioText);
-        analysis.put("audioText", audioText); // 원본 텍스트 포함
-
-        return analysis;
+    private record BatchItem(String audioText) {
     }
 }
\ No newline at end of file
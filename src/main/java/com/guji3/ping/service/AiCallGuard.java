@@ -0,0 +1,514 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.exception.custom.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * OpenAI 호출 보호 (음성 인식 / GPT 분석)
+ * - 호출별 요청 시간 제한
+ * - 서킷 브레이커: 최근 호출 실패율이 높으면 일정 시간 바로 실패시켜 파이프라인 기본값(키워드 판정)으로 진행
+ * - GPT 분석은 최근 지연 p95가 지나도록 응답이 없으면 같은 요청을 한 번 더 보내고 먼저 온 응답 사용
+ *   (스트리밍 호출은 응답 헤더까지의 지연을 따로 모아 그 p95로 판단)
+ * - 스트리밍 응답은 본문을 끝까지 읽는 데까지 시간 제한 (넘으면 본문을 닫고 실패 처리)
+ * - 브레이커 상태, 차단 수, 추가 요청 수/승률을 메트릭으로 노출 (ping.ai.*)
+ */
+@Component
+@Slf4j
+public class AiCallGuard {
+
+    private final HttpClient httpClient;
+    private final Map<Call, CircuitBreaker> breakers = new EnumMap<>(Call.class);
+    private final Map<Call, LatencyWindow> latencies = new EnumMap<>(Call.class);
+    private final Map<Call, LatencyWindow> headerLatencies = new EnumMap<>(Call.class);
+    private final Counter hedgesSent;
+    private final Counter hedgeWins;
+
+    @Value("${ai.resilience.transcription.timeout-ms:10000}")
+    private long transcriptionTimeoutMs;
+
+    @Value("${ai.resilience.analysis.timeout-ms:8000}")
+    private long analysisTimeoutMs;
+
+    @Value("${ai.resilience.analysis-batch.timeout-ms:3000}")
+    private long analysisBatchTimeoutMs;
+
+    @Value("${ai.resilience.breaker.window:20}")
+    private int breakerWindow;
+
+    @Value("${ai.resilience.breaker.min-calls:10}")
+    private int breakerMinCalls;
+
+    @Value("${ai.resilience.breaker.failure-rate:0.5}")
+    private double breakerFailureRate;
+
+    @Value("${ai.resilience.breaker.open-ms:30000}")
+    private long breakerOpenMs;
+
+    @Value("${ai.resilience.hedge.enabled:true}")
+    private boolean hedgeEnabled;
+
+    @Value("${ai.resilience.hedge.percentile:0.95}")
+    private double hedgePercentile;
+
+    @Value("${ai.resilience.hedge.min-samples:20}")
+    private int hedgeMinSamples;
+
+    @Value("${ai.resilience.hedge.min-delay-ms:300}")
+    private long hedgeMinDelayMs;
+
+    public AiCallGuard(HttpClient httpClient, MeterRegistry meterRegistry) {
+        this.httpClient = httpClient;
+        for (Call call : Call.values()) {
+            CircuitBreaker breaker = new CircuitBreaker(call, meterRegistry);
+            breakers.put(call, breaker);
+            latencies.put(call, new LatencyWindow(256));
+            headerLatencies.put(call, new LatencyWindow(256));
+            Gauge.builder("ping.ai.breaker.state", breaker, b -> b.state.ordinal())
+                    .description("서킷 브레이커 상태 (0=CLOSED, 1=HALF_OPEN, 2=OPEN)")
+                    .tag("call", call.tag)
+                    .register(meterRegistry);
+        }
+        // 추가 요청은 GPT 분석에만 사용
+        hedgesSent = Counter.builder("ping.ai.hedge.sent").tag("call", Call.ANALYSIS.tag).register(meterRegistry);
+        hedgeWins = Counter.builder("ping.ai.hedge.won").tag("call", Call.ANALYSIS.tag).register(meterRegistry);
+        Gauge.builder("ping.ai.hedge.win_rate", this,
+                        g -> g.hedgesSent.count() == 0 ? 0 : g.hedgeWins.count() / g.hedgesSent.count())
+                .description("추가로 보낸 요청이 먼저 응답한 비율")
+                .tag("call", Call.ANALYSIS.tag)
+                .register(meterRegistry);
+        Gauge.builder("ping.ai.hedge.delay", this, g -> g.hedgeDelayMs(g.latencies.get(Call.ANALYSIS)))
+                .description("추가 요청을 보내기까지 기다리는 시간 (-1이면 아직 표본 부족)")
+                .baseUnit("milliseconds")
+                .tag("call", Call.ANALYSIS.tag)
+                .tag("wait", "response")
+                .register(meterRegistry);
+        Gauge.builder("ping.ai.hedge.delay", this, g -> g.hedgeDelayMs(g.headerLatencies.get(Call.ANALYSIS)))
+                .description("스트리밍 호출에서 추가 요청을 보내기까지 기다리는 시간 (-1이면 아직 표본 부족)")
+                .baseUnit("milliseconds")
+                .tag("call", Call.ANALYSIS.tag)
+                .tag("wait", "headers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 시간 제한 + 서킷 브레이커 적용 호출
+     */
+    public <T> HttpResponse<T> send(Call call, HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws Exception {
+        CircuitBreaker breaker = acquire(call);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<T> response = checkStatus(call, httpClient.send(withTimeout(call, request), handler));
+            latencies.get(call).record(System.nanoTime() - start);
+            breaker.onSuccess();
+            return response;
+        } catch (Exception e) {
+            breaker.onFailure(e);
+            throw e;
+        }
+    }
+
+    /**
+     * send + 느리면 같은 요청을 한 번 더 (멱등한 요청에만 사용)
+     */
+    public <T> HttpResponse<T> sendHedged(Call call, HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws Exception {
+        long delayMs = hedgeDelayMs(latencies.get(call));
+        if (!hedgeEnabled || delayMs < 0) {
+            return send(call, request, handler);
+        }
+
+        CircuitBreaker breaker = acquire(call);
+        HttpRequest limited = withTimeout(call, request);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs(call));
+        Attempt<T> primary = new Attempt<>(call, limited, handler);
+        Attempt<T> hedge = null;
+        try {
+            HttpResponse<T> response;
+            try {
+                response = primary.result.get(delayMs, TimeUnit.MILLISECONDS);
+                primary.recordLatency(latencies);
+            } catch (TimeoutException slow) {
+                hedgesSent.increment();
+                hedge = new Attempt<>(call, limited, handler);
+                Attempt<T> winner = firstSuccess(primary, hedge)
+                        .get(Math.max(1, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                (winner == primary ? hedge : primary).cancel();
+                if (winner == hedge) {
+                    hedgeWins.increment();
+                    log.debug("⚡ GPT 추가 요청이 먼저 응답 ({}ms 대기 후 전송)", delayMs);
+                }
+                winner.recordLatency(latencies);
+                response = winner.result.join();
+            }
+            breaker.onSuccess();
+            return response;
+        } catch (TimeoutException e) {
+            primary.cancel();
+            if (hedge != null) {
+                hedge.cancel();
+            }
+            UpstreamUnavailableException failure = new UpstreamUnavailableException("OpenAI 응답 시간 초과: " + call.tag, e);
+            breaker.onFailure(failure);
+            throw failure;
+        } catch (ExecutionException e) {
+            Exception cause = e.getCause() instanceof Exception c ? c : e;
+            breaker.onFailure(cause);
+            throw cause;
+        }
+    }
+
+    /**
+     * 스트리밍(SSE) 호출: 응답 헤더가 아니라 본문을 끝까지 읽을 때까지 호출 시간 제한 적용
+     * - 응답 헤더가 늦으면 sendHedged처럼 같은 요청을 한 번 더 보내고 먼저 온 쪽 본문을 읽음
+     * - 시간이 지나면 본문 스트림을 닫아 읽던 스레드를 깨우고, 멈춘 본문도 실패로 브레이커에 기록
+     * - 본문 전체 시간은 추가 요청 기준(응답 헤더 지연)과 다르므로 지연 기록에 넣지 않음
+     */
+    public <R> R stream(Call call, HttpRequest request, LineReader<R> reader) throws Exception {
+        CircuitBreaker breaker = acquire(call);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs(call));
+        AtomicBoolean expired = new AtomicBoolean();
+        CompletableFuture<Void> watchdog = null;
+        try {
+            HttpResponse<Stream<String>> response = awaitHeaders(call, withTimeout(call, request), deadline);
+            Stream<String> body = response.body();
+            watchdog = CompletableFuture.runAsync(() -> {
+                expired.set(true);
+                body.close();
+            }, CompletableFuture.delayedExecutor(Math.max(1, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+
+            R result;
+            try (body) {
+                result = reader.read(response.statusCode(), body.iterator());
+            }
+            breaker.onSuccess();
+            return result;
+        } catch (Exception e) {
+            Exception failure = expired.get()
+                    ? new UpstreamUnavailableException("OpenAI 응답 본문 시간 초과: " + call.tag, e)
+                    : e;
+            breaker.onFailure(failure);
+            throw failure;
+        } finally {
+            if (watchdog != null) {
+                watchdog.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * 스트리밍 응답 헤더 대기 (느리면 추가 요청, 진 쪽은 본문까지 닫음)
+     * - 기준은 응답 헤더까지의 지연 p95 (headerLatencies)
+     */
+    private HttpResponse<Stream<String>> awaitHeaders(Call call, HttpRequest request, long deadline) throws Exception {
+        long delayMs = hedgeDelayMs(headerLatencies.get(call));
+        Attempt<Stream<String>> primary = new Attempt<>(call, request, HttpResponse.BodyHandlers.ofLines());
+        Attempt<Stream<String>> hedge = null;
+        try {
+            if (!hedgeEnabled || delayMs < 0) {
+                HttpResponse<Stream<String>> response =
+                        primary.result.get(Math.max(1, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                primary.recordLatency(headerLatencies);
+                return response;
+            }
+            try {
+                HttpResponse<Stream<String>> response = primary.result.get(delayMs, TimeUnit.MILLISECONDS);
+                primary.recordLatency(headerLatencies);
+                return response;
+            } catch (TimeoutException slow) {
+                hedgesSent.increment();
+                hedge = new Attempt<>(call, request, HttpResponse.BodyHandlers.ofLines());
+                Attempt<Stream<String>> winner = firstSuccess(primary, hedge)
+                        .get(Math.max(1, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                (winner == primary ? hedge : primary).discard();
+                if (winner == hedge) {
+                    hedgeWins.increment();
+                    log.debug("⚡ GPT 추가 요청이 먼저 응답 ({}ms 대기 후 전송)", delayMs);
+                }
+                winner.recordLatency(headerLatencies);
+                return winner.result.join();
+            }
+        } catch (TimeoutException e) {
+            primary.discard();
+            if (hedge != null) {
+                hedge.discard();
+            }
+            throw new UpstreamUnavailableException("OpenAI 응답 시간 초과: " + call.tag, e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception c ? c : e;
+        }
+    }
+
+    private CircuitBreaker acquire(Call call) {
+        CircuitBreaker breaker = breakers.get(call);
+        if (!breaker.tryAcquire()) {
+            throw new UpstreamUnavailableException("OpenAI 호출 차단 (서킷 오픈): " + call.tag);
+        }
+        return breaker;
+    }
+
+    /**
+     * 추가 요청 대기 시간 (최근 지연 p95, 표본이 부족하면 -1)
+     */
+    private long hedgeDelayMs(LatencyWindow window) {
+        long p = window.percentileNanos(hedgePercentile, hedgeMinSamples);
+        return p < 0 ? -1 : Math.max(hedgeMinDelayMs, TimeUnit.NANOSECONDS.toMillis(p));
+    }
+
+    private long timeoutMs(Call call) {
+        return switch (call) {
+            case TRANSCRIPTION -> transcriptionTimeoutMs;
+            case ANALYSIS -> analysisTimeoutMs;
+            case ANALYSIS_BATCH -> analysisBatchTimeoutMs;
+        };
+    }
+
+    private HttpRequest withTimeout(Call call, HttpRequest request) {
+        return HttpRequest.newBuilder(request, (name, value) -> true)
+                .timeout(Duration.ofMillis(timeoutMs(call)))
+                .build();
+    }
+
+    /**
+     * 5xx / 429는 장애로 처리 (그 밖의 응답은 호출한 쪽에서 해석)
+     */
+    private static <T> HttpResponse<T> checkStatus(Call call, HttpResponse<T> response) {
+        int status = response.statusCode();
+        if (status >= 500 || status == 429) {
+            throw new UpstreamUnavailableException("OpenAI 응답 오류 (" + call.tag + "): HTTP " + status);
+        }
+        return response;
+    }
+
+    private static <T> CompletableFuture<Attempt<T>> firstSuccess(Attempt<T> first, Attempt<T> second) {
+        CompletableFuture<Attempt<T>> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (Attempt<T> attempt : List.of(first, second)) {
+            attempt.result.whenComplete((response, error) -> {
+                if (error == null) {
+                    winner.complete(attempt);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    /**
+     * 보호 대상 호출
+     */
+    public enum Call {
+        TRANSCRIPTION("transcription"),
+        ANALYSIS("analysis"),
+        ANALYSIS_BATCH("analysis_batch");
+
+        private final String tag;
+
+        Call(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * 요청 한 번 (응답이 오면 상태 코드 확인까지)
+     */
+    private final class Attempt<T> {
+
+        private final long startNanos = System.nanoTime();
+        private final Call call;
+        private final CompletableFuture<HttpResponse<T>> exchange;
+        private final CompletableFuture<HttpResponse<T>> result;
+
+        private Attempt(Call call, HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+            this.call = call;
+            exchange = httpClient.sendAsync(request, handler);
+            result = exchange.thenApply(response -> checkStatus(call, response));
+        }
+
+        private void recordLatency(Map<Call, LatencyWindow> windows) {
+            windows.get(call).record(System.nanoTime() - startNanos);
+        }
+
+        private void cancel() {
+            exchange.cancel(true);
+        }
+
+        /**
+         * cancel + 이미 응답이 왔으면 본문까지 닫아 연결 반환
+         */
+        private void discard() {
+            cancel();
+            exchange.thenAccept(response -> {
+                if (response.body() instanceof AutoCloseable body) {
+                    try {
+                        body.close();
+                    } catch (Exception e) {
+                        log.debug("추가 요청 응답 닫기 실패: {}", e.getMessage());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 스트리밍 응답 본문 읽기 (본문이 완성되지 않았으면 예외를 던져야 실패로 기록됨)
+     */
+    @FunctionalInterface
+    public interface LineReader<R> {
+        R read(int statusCode, Iterator<String> lines) throws Exception;
+    }
+
+    /**
+     * 실패율 기반 서킷 브레이커
+     * - CLOSED: 최근 window건 중 min-calls 이상 호출했고 실패율이 failure-rate 이상이면 OPEN
+     * - OPEN: open-ms 동안 호출 없이 바로 실패, 이후 HALF_OPEN
+     * - HALF_OPEN: 시험 호출 한 건만 허용, 성공하면 CLOSED / 실패하면 다시 OPEN
+     */
+    private final class CircuitBreaker {
+
+        private final Call call;
+        private final Counter rejected;
+        private volatile State state = State.CLOSED;
+        private boolean[] outcomes;
+        private int next;
+        private int calls;
+        private int failures;
+        private long openedAtNanos;
+        private boolean trialInFlight;
+
+        private CircuitBreaker(Call call, MeterRegistry meterRegistry) {
+            this.call = call;
+            rejected = Counter.builder("ping.ai.breaker.rejected").tag("call", call.tag).register(meterRegistry);
+        }
+
+        private synchronized boolean tryAcquire() {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAtNanos < TimeUnit.MILLISECONDS.toNanos(breakerOpenMs)) {
+                    rejected.increment();
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    rejected.increment();
+                    return false;
+                }
+                trialInFlight = true;
+            }
+            return true;
+        }
+
+        private synchronized void onSuccess() {
+            if (state == State.HALF_OPEN) {
+                trialInFlight = false;
+                transition(State.CLOSED);
+                return;
+            }
+            record(false);
+        }
+
+        private synchronized void onFailure(Exception cause) {
+            if (state == State.HALF_OPEN) {
+                trialInFlight = false;
+                open(cause);
+                return;
+            }
+            record(true);
+            if (calls >= breakerMinCalls && failures >= breakerFailureRate * calls) {
+                open(cause);
+            }
+        }
+
+        private void record(boolean failed) {
+            if (outcomes == null || outcomes.length != breakerWindow) {
+                outcomes = new boolean[Math.max(1, breakerWindow)];
+                next = calls = failures = 0;
+            }
+            if (calls == outcomes.length) {
+                failures -= outcomes[next] ? 1 : 0;
+            } else {
+                calls++;
+            }
+            outcomes[next] = failed;
+            failures += failed ? 1 : 0;
+            next = (next + 1) % outcomes.length;
+        }
+
+        private void open(Exception cause) {
+            openedAtNanos = System.nanoTime();
+            transition(State.OPEN);
+            log.warn("⛔ OpenAI {} 서킷 오픈 ({}ms 동안 바로 실패 처리): {}", call.tag, breakerOpenMs, cause.getMessage());
+        }
+
+        private void transition(State to) {
+            if (to == State.CLOSED) {
+                log.info("✅ OpenAI {} 서킷 복구", call.tag);
+                outcomes = null;
+            }
+            state = to;
+        }
+    }
+
+    private enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    /**
+     * 최근 성공 호출 지연 (고정 크기 링 버퍼)
+     */
+    private static final class LatencyWindow {
+
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        private LatencyWindow(int size) {
+            samples = new long[size];
+        }
+
+        private synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        private long percentileNanos(double p, int minSamples) {
+            long[] copy;
+            synchronized (this) {
+                if (count == 0 || count < minSamples) {
+                    return -1;
+                }
+                copy = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(copy);
+            int index = (int) Math.ceil(p * copy.length) - 1;
+            return copy[Math.max(0, Math.min(index, copy.length - 1))];
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.dto.BufferedAlertDto;
+import com.guji3.ping.entity.AlertQueueItem;
+import com.guji3.ping.entity.EmergencyLog;
+import com.guji3.ping.entity.User;
+import com.guji3.ping.exception.custom.DuplicateRequestException;
+import com.guji3.ping.repository.AlertQueueRepository;
+import com.guji3.ping.repository.EmergencyLogRepository;
+import com.guji3.ping.util.Coordinate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 긴급 신호 접수 (원본 저장 후 즉시 응답, 실제 처리는 AlertQueueWorker가 담당)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class AlertIngestService {
+
+    private final UserService userService;
+    private final EmergencyLogRepository logRepository;
+    private final AlertQueueRepository queueRepository;
+    private final AlertQueueWorker queueWorker;
+    private final IncidentCoalescer coalescer;
+    private final IdempotencyCache idempotencyCache;
+    private final DangerEstimator dangerEstimator;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${emergency.ingest.audio-dir:${java.io.tmpdir}/ping-alert-audio}")
+    private String audioDir;
+
+    @Value("${emergency.batch.max-items:50}")
+    private int maxBatchItems;
+
+    /**
+     * 긴급 신호 접수: 사용자 확인 → (멱등성 키 확인) → 음성 스풀 → (병합 창 확인) → 로그/큐 저장
+     * - 음성 스풀과 병합 대상 대기는 트랜잭션 밖에서 처리하고, DB 쓰기만 짧은 트랜잭션으로 묶음
+     *   (파일 I/O나 다른 요청을 기다리는 동안 DB 연결을 잡고 있지 않도록)
+     *
+     * @param idempotencyKey 기기 범위 멱등성 키 (없으면 null)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Receipt accept(String deviceSerial, String idempotencyKey, Coordinate latitude, Coordinate longitude,
+                          MultipartFile audioFile) throws IOException {
+
+        User user = userService.findByDeviceSerial(deviceSerial);
+
+        // 재전송된 요청이면 음성 저장/병합 없이 처음 요청의 로그를 그대로 반환
+        IdempotencyCache.Claim claim = null;
+        if (idempotencyKey != null) {
+            claim = idempotencyCache.claim(idempotencyKey);
+            if (!claim.owner()) {
+                return new Receipt(findOriginal(idempotencyKey, claim), true);
+            }
+        }
+
+        try {
+            Receipt receipt = admit(user, deviceSerial, idempotencyKey, latitude, longitude, audioFile);
+            if (claim != null) {
+                idempotencyCache.complete(idempotencyKey, claim, receipt.entry().getLogId());
+            }
+            return receipt;
+        } catch (IOException | RuntimeException e) {
+            if (claim != null) {
+                idempotencyCache.release(idempotencyKey, claim);
+            }
+            throw e;
+        }
+    }
+
+    private Receipt admit(User user, String deviceSerial, String idempotencyKey,
+                          Coordinate latitude, Coordinate longitude, MultipartFile audioFile) throws IOException {
+
+        if (idempotencyKey != null) {
+            Optional<EmergencyLog> original = logRepository.findByIdempotencyKey(idempotencyKey);
+            if (original.isPresent()) {
+                log.info("♻️ 중복 긴급 신호: 키 {}, 로그 ID {}", idempotencyKey, original.get().getLogId());
+                return new Receipt(original.get(), true);
+            }
+        }
+
+        Path audioPath = spoolAudio(audioFile);
+
+        // 같은 기기의 열린 사건이 있으면 새 파이프라인 없이 그 사건에 붙임
+        IncidentCoalescer.Admission admission = coalescer.admit(deviceSerial,
+                new IncidentCoalescer.Press(latitude, longitude, audioPath));
+        if (!admission.isNew()) {
+            Long openLogId = coalescer.awaitLogId(admission);
+            if (openLogId != null) {
+                logRepository.recordRepeatPress(openLogId, 1, latitude, longitude, LocalDateTime.now());
+                return new Receipt(logRepository.findById(openLogId)
+                        .orElseThrow(() -> new IllegalStateException("병합 대상 로그가 없습니다: " + openLogId)), false);
+            }
+            log.warn("⚠️ 병합 대상 사건 확인 실패, 새 사건으로 접수: 기기 {}", deviceSerial);
+        }
+
+        EmergencyLog entry = transactionTemplate.execute(status -> {
+            EmergencyLog saved = logRepository.save(EmergencyLog.builder()
+                    .user(user)
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .deviceSerial(deviceSerial)
+                    .idempotencyKey(idempotencyKey)
+                    .pipelineStage(EmergencyLog.PipelineStage.QUEUED)
+                    .build());
+            enqueue(saved, audioPath, audioFile.getOriginalFilename(), admission);
+            return saved;
+        });
+
+        log.info("📥 긴급 신호 접수: 기기 {}, 로그 ID {}", deviceSerial, entry.getLogId());
+        return new Receipt(entry, false);
+    }
+
+    /**
+     * 오프라인 동안 쌓인 신호 일괄 접수
+     * - 병합 창보다 오래 떨어진 신호끼리는 다른 사건으로 나누고, 가장 최근 사건만 파이프라인으로 처리
+     * - 이전 사건들은 알림 없이 기록만 남김 (COLLAPSED)
+     * - 음성은 가장 최근 사건의 최신 음성 하나만 저장/분석
+     * - 로그는 한 번의 일괄 INSERT로 저장 (음성 스풀/병합 대상 대기는 트랜잭션 밖에서)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchReceipt acceptBatch(String deviceSerial, String idempotencyKey, List<BufferedAlertDto> alerts,
+                                    List<MultipartFile> audioFiles) throws IOException {
+
+        if (alerts == null || alerts.isEmpty()) {
+            throw new IllegalArgumentException("전송된 신호가 없습니다");
+        }
+        if (alerts.size() > maxBatchItems) {
+            throw new IllegalArgumentException("한 번에 최대 " + maxBatchItems + "건까지 전송할 수 있습니다");
+        }
+
+        User user = userService.findByDeviceSerial(deviceSerial);
+
+        IdempotencyCache.Claim claim = null;
+        if (idempotencyKey != null) {
+            claim = idempotencyCache.claim(idempotencyKey);
+            if (!claim.owner()) {
+                return new BatchReceipt(findOriginal(idempotencyKey, claim), List.of(), true);
+            }
+        }
+
+        try {
+            BatchReceipt receipt = admitBatch(user, deviceSerial, idempotencyKey, alerts, audioFiles);
+            if (claim != null) {
+                idempotencyCache.complete(idempotencyKey, claim, receipt.entry().getLogId());
+            }
+            return receipt;
+        } catch (IOException | RuntimeException e) {
+            if (claim != null) {
+                idempotencyCache.release(idempotencyKey, claim);
+            }
+            throw e;
+        }
+    }
+
+    private BatchReceipt admitBatch(User user, String deviceSerial, String idempotencyKey,
+                                    List<BufferedAlertDto> alerts, List<MultipartFile> audioFiles) throws IOException {
+
+        if (idempotencyKey != null) {
+            Optional<EmergencyLog> original = logRepository.findByIdempotencyKey(idempotencyKey);
+            if (original.isPresent()) {
+                return new BatchReceipt(original.get(), List.of(), true);
+            }
+        }
+
+        List<List<BufferedAlertDto>> incidents = splitIncidents(alerts);
+        List<BufferedAlertDto> live = incidents.get(incidents.size() - 1);
+        BufferedAlertDto newest = live.get(live.size() - 1);
+
+        // 이전 사건: 알림 없이 기록만 (사건마다 최신 위치, 입력 횟수)
+        List<EmergencyLog> staleLogs = new ArrayList<>();
+        for (List<BufferedAlertDto> stale : incidents.subList(0, incidents.size() - 1)) {
+            BufferedAlertDto last = stale.get(stale.size() - 1);
+            staleLogs.add(EmergencyLog.builder()
+                    .user(user)
+                    .latitude(last.getLatitude())
+                    .longitude(last.getLongitude())
+                    .deviceSerial(deviceSerial)
+                    .pressCount(stale.size())
+                    .lastPressedAt(capturedAt(last))
+                    .pipelineStage(EmergencyLog.PipelineStage.COLLAPSED)
+                    .build());
+        }
+
+        // 가장 최근 사건의 최신 음성만 저장 (나머지 음성은 디스크에 쓰지 않음)
+        MultipartFile newestAudio = null;
+        for (int i = live.size() - 1; i >= 0 && newestAudio == null; i--) {
+            newestAudio = audioOf(live.get(i), audioFiles);
+        }
+        Path audioPath = newestAudio != null ? spoolAudio(newestAudio) : null;
+
+        IncidentCoalescer.Admission admission = coalescer.admit(deviceSerial,
+                new IncidentCoalescer.Press(newest.getLatitude(), newest.getLongitude(), audioPath));
+        if (!admission.isNew()) {
+            Long openLogId = coalescer.awaitLogId(admission);
+            if (openLogId != null) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    logRepository.recordRepeatPress(openLogId, live.size(),
+                            newest.getLatitude(), newest.getLongitude(), capturedAt(newest));
+                    logRepository.saveAll(staleLogs);
+                });
+                return new BatchReceipt(logRepository.findById(openLogId)
+                        .orElseThrow(() -> new IllegalStateException("병합 대상 로그가 없습니다: " + openLogId)),
+                        staleLogs, false);
+            }
+            log.warn("⚠️ 병합 대상 사건 확인 실패, 새 사건으로 접수: 기기 {}", deviceSerial);
+        }
+
+        EmergencyLog entry = EmergencyLog.builder()
+                .user(user)
+                .latitude(newest.getLatitude())
+                .longitude(newest.getLongitude())
+                .deviceSerial(deviceSerial)
+                .pressCount(live.size())
+                .lastPressedAt(capturedAt(newest))
+                .idempotencyKey(idempotencyKey)
+                .pipelineStage(EmergencyLog.PipelineStage.QUEUED)
+                .build();
+
+        List<EmergencyLog> rows = new ArrayList<>(staleLogs);
+        rows.add(entry);
+        String audioFilename = newestAudio != null ? newestAudio.getOriginalFilename() : null;
+        transactionTemplate.executeWithoutResult(status -> {
+            logRepository.saveAll(rows);
+            enqueue(entry, audioPath, audioFilename, admission);
+        });
+
+        log.info("📥 오프라인 신호 일괄 접수: 기기 {}, {}건 → 사건 {}개 (처리 로그 ID {})",
+                deviceSerial, alerts.size(), incidents.size(), entry.getLogId());
+        return new BatchReceipt(entry, staleLogs, false);
+    }
+
+    /**
+     * 멱등성 키로 처음 요청의 로그 조회 (다른 서버가 먼저 저장해 유니크 제약에 걸린 경우)
+     */
+    public Optional<EmergencyLog> findByIdempotencyKey(String idempotencyKey) {
+        return logRepository.findByIdempotencyKey(idempotencyKey);
+    }
+
+    /**
+     * 같은 키의 처음 요청 결과 대기 (처음 요청이 아직 저장 중이면 처리 중 예외)
+     */
+    private EmergencyLog findOriginal(String idempotencyKey, IdempotencyCache.Claim claim) {
+        Long logId = idempotencyCache.await(claim);
+        if (logId == null) {
+            throw new DuplicateRequestException(idempotencyKey);
+        }
+        log.info("♻️ 중복 긴급 신호: 키 {}, 로그 ID {}", idempotencyKey, logId);
+        return logRepository.findById(logId)
+                .orElseThrow(() -> new IllegalStateException("처음 요청의 로그가 없습니다: " + logId));
+    }
+
+    /**
+     * 접수 큐 저장 + 커밋 후 사건 등록/워커 깨우기 (롤백되면 자리 반납, 스풀 파일 정리)
+     * (transactionTemplate 안에서 호출)
+     */
+    private void enqueue(EmergencyLog entry, Path audioPath, String audioFilename,
+                         IncidentCoalescer.Admission admission) {
+        String deviceSerial = entry.getDeviceSerial();
+
+        queueRepository.save(AlertQueueItem.builder()
+                .logId(entry.getLogId())
+                .deviceSerial(deviceSerial)
+                .latitude(entry.getLatitude())
+                .longitude(entry.getLongitude())
+                .audioPath(audioPath != null ? audioPath.toString() : null)
+                .audioFilename(audioFilename)
+                .priority(dangerEstimator.onArrival(entry.getPressCount()))
+                .build());
+
+        boolean registered = admission.isNew();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    if (registered) {
+                        coalescer.bind(admission, entry.getLogId());
+                    }
+                    queueWorker.wakeUp();
+                } else {
+                    if (registered) {
+                        coalescer.abandon(deviceSerial, admission);
+                    }
+                    deleteQuietly(audioPath);
+                }
+            }
+        });
+    }
+
+    /**
+     * 기록 시각 순으로 정렬 후 병합 창보다 오래 떨어진 곳에서 사건을 나눔
+     * (기록 시각이 없는 신호가 있으면 전송 순서를 그대로 쓰고 하나의 사건으로 취급)
+     */
+    private List<List<BufferedAlertDto>> splitIncidents(List<BufferedAlertDto> alerts) {
+        List<BufferedAlertDto> ordered = new ArrayList<>(alerts);
+        boolean timed = ordered.stream().allMatch(a -> a.getCapturedAt() != null);
+        if (timed) {
+            ordered.sort(Comparator.comparing(BufferedAlertDto::getCapturedAt));
+        }
+
+        List<List<BufferedAlertDto>> incidents = new ArrayList<>();
+        List<BufferedAlertDto> current = new ArrayList<>();
+        Long previous = null;
+        for (BufferedAlertDto alert : ordered) {
+            if (timed && previous != null && alert.getCapturedAt() - previous > coalescer.getWindowMs()) {
+                incidents.add(current);
+                current = new ArrayList<>();
+            }
+            current.add(alert);
+            previous = alert.getCapturedAt();
+        }
+        incidents.add(current);
+        return incidents;
+    }
+
+    private static MultipartFile audioOf(BufferedAlertDto alert, List<MultipartFile> audioFiles) {
+        Integer index = alert.getAudioIndex();
+        if (index == null) {
+            return null;
+        }
+        if (audioFiles == null || index < 0 || index >= audioFiles.size()) {
+            throw new IllegalArgumentException("음성 파일 순번이 올바르지 않습니다: " + index);
+        }
+        return audioFiles.get(index);
+    }
+
+    private static LocalDateTime capturedAt(BufferedAlertDto alert) {
+        return alert.getCapturedAt() != null
+                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(alert.getCapturedAt()), ZoneId.systemDefault())
+                : LocalDateTime.now();
+    }
+
+    /**
+     * 업로드된 음성을 스풀 디렉토리에 저장
+     */
+    private Path spoolAudio(MultipartFile audioFile) throws IOException {
+        Path dir = Path.of(audioDir);
+        Files.createDirectories(dir);
+
+        Path target = dir.resolve("alert_" + UUID.randomUUID() + ".audio");
+        try (InputStream in = audioFile.getInputStream()) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return target;
+    }
+
+    static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("⚠️ 스풀 파일 삭제 실패: {}", path);
+        }
+    }
+
+    /**
+     * 접수 결과 (duplicate: 멱등성 키가 같은 재전송 요청)
+     */
+    public record Receipt(EmergencyLog entry, boolean duplicate) {
+    }
+
+    /**
+     * 일괄 접수 결과 (entry: 처리할 사건, collapsed: 기록만 남긴 이전 사건)
+     */
+    public record BatchReceipt(EmergencyLog entry, List<EmergencyLog> collapsed, boolean duplicate) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.entity.AlertQueueItem;
+import com.guji3.ping.repository.AlertQueueRepository;
+import com.guji3.ping.util.VirtualThreads;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 긴급 신호 접수 큐 워커
+ * - 디스패처 스레드가 대기 항목을 선점하고 워커 풀에 넘김
+ * - 접수 직후 wakeUp()으로 즉시 깨우고, 놓친 항목은 주기적 폴링으로 처리
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertQueueWorker {
+
+    private final AlertQueueRepository queueRepository;
+    private final EmergencyService emergencyService;
+    private final AdmissionControl admissionControl;
+    private final PriorityScheduler priorityScheduler;
+
+    @Value("${emergency.ingest.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${emergency.ingest.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${emergency.ingest.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${emergency.threads.virtual:false}")
+    private boolean virtualThreads;
+
+    private final Semaphore wakeUpSignal = new Semaphore(0);
+    private Semaphore freeWorkers;
+    private ExecutorService workers;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // 이전 실행에서 처리 중이던 항목 복구
+        int recovered = queueRepository.resetStatus(
+                AlertQueueItem.Status.PROCESSING, AlertQueueItem.Status.PENDING);
+        if (recovered > 0) {
+            log.warn("♻️ 처리 중이던 긴급 신호 {}건을 대기 상태로 복구", recovered);
+        }
+
+        // 동시 처리 수는 freeWorkers로 제한하므로 가상 스레드면 작업마다 새 스레드 사용
+        freeWorkers = new Semaphore(workerThreads);
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            workers = VirtualThreads.newPerTaskExecutor();
+        } else {
+            AtomicInteger threadNo = new AtomicInteger();
+            workers = Executors.newFixedThreadPool(workerThreads, r -> {
+                Thread t = new Thread(r, "alert-worker-" + threadNo.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "alert-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+
+        log.info("🧵 긴급 신호 워커 시작: 동시 {}건{}", workerThreads,
+                virtualThreads && VirtualThreads.isSupported() ? " (가상 스레드)" : "");
+    }
+
+    /**
+     * 새 항목 접수 알림
+     */
+    public void wakeUp() {
+        wakeUpSignal.release();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+        if (workers != null) {
+            workers.shutdown();
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                freeWorkers.acquire();
+
+                AlertQueueItem item = claimNext();
+                if (item == null) {
+                    freeWorkers.release();
+                    wakeUpSignal.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    wakeUpSignal.drainPermits();
+                    continue;
+                }
+
+                workers.execute(() -> {
+                    try {
+                        process(item);
+                    } finally {
+                        freeWorkers.release();
+                    }
+                });
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // DB 일시 장애 등: 잠시 쉬고 다시 시도
+                log.error("❌ 긴급 신호 큐 조회 실패", e);
+                freeWorkers.release();
+                sleepQuietly(pollIntervalMs);
+            }
+        }
+    }
+
+    /**
+     * 대기 항목 중 실효 우선순위(위험도 + 대기 시간)가 가장 높은 항목 하나를 선점
+     */
+    private AlertQueueItem claimNext() {
+        List<AlertQueueItem> pending =
+                queueRepository.findTop50ByStatusOrderByQueueIdAsc(AlertQueueItem.Status.PENDING);
+        if (pending.isEmpty()) {
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AlertQueueItem> ordered = new ArrayList<>(pending);
+        ordered.sort(Comparator
+                .comparingLong((AlertQueueItem item) -> priorityScheduler.effectiveRank(
+                        item.getPriority(), Duration.between(item.getCreatedAt(), now).toNanos()))
+                .thenComparing(AlertQueueItem::getPriority)
+                .thenComparing(AlertQueueItem::getQueueId));
+
+        for (AlertQueueItem item : ordered) {
+            if (queueRepository.claim(item.getQueueId(),
+                    AlertQueueItem.Status.PENDING, AlertQueueItem.Status.PROCESSING) == 1) {
+                item.setAttempts(item.getAttempts() + 1);
+                priorityScheduler.recordWait(item.getPriority(), "ingest", Duration.between(item.getCreatedAt(), now));
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private void process(AlertQueueItem item) {
+        try {
+            emergencyService.processQueuedAlert(item);
+            queueRepository.updateStatus(item.getQueueId(), AlertQueueItem.Status.DONE, null);
+            admissionControl.recordAlertLatency(
+                    Duration.between(item.getCreatedAt(), LocalDateTime.now()).toMillis());
+            deleteAudio(item);
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // 기기 미등록, 연락처 없음 등은 재시도해도 동일하므로 바로 실패 처리
+            log.warn("⚠️ 긴급 신호 처리 불가: 로그 ID {} - {}", item.getLogId(), e.getMessage());
+            fail(item, e);
+
+        } catch (Exception e) {
+            if (item.getAttempts() >= maxAttempts) {
+                log.error("❌ 긴급 신호 처리 실패 (재시도 {}회 초과): 로그 ID {}",
+                        maxAttempts, item.getLogId(), e);
+                fail(item, e);
+            } else {
+                log.warn("🔁 긴급 신호 재시도 예정: 로그 ID {} ({}/{})",
+                        item.getLogId(), item.getAttempts(), maxAttempts, e);
+                queueRepository.updateStatus(item.getQueueId(), AlertQueueItem.Status.PENDING,
+                        truncate(e.getMessage()));
+                wakeUp();
+            }
+        }
+    }
+
+    private void fail(AlertQueueItem item, Exception e) {
+        queueRepository.updateStatus(item.getQueueId(), AlertQueueItem.Status.FAILED,
+                truncate(e.getMessage()));
+        emergencyService.markFailed(item.getLogId(), item.getDeviceSerial());
+        deleteAudio(item);
+    }
+
+    private static void deleteAudio(AlertQueueItem item) {
+        if (item.getAudioPath() != null) {
+            AlertIngestService.deleteQuietly(Path.of(item.getAudioPath()));
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.util.TtlLruCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * GPT 상황 분석 결과 캐시 (정규화한 음성 인식 결과 기준)
+ * - "살려주세요", "살려 주세요!"처럼 짧은 신고 문장은 기기 전체에서 자주 반복되므로 같은 분석을 재사용
+ * - 최대 개수(LRU) + TTL로 제한, 동시에 들어온 같은 문장은 GPT 호출 한 번만 (TtlLruCache)
+ * - 적중/미적중/대기 합류 수, 적중률, 추정 메모리를 메트릭으로 노출 (ping.analysis.cache.*)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisCache {
+
+    // 엔트리당 고정 비용 추정 (LinkedHashMap 노드, Entry, 값 Map, 문자열 헤더)
+    private static final long ENTRY_OVERHEAD_BYTES = 400;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ai.analysis.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.analysis.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${ai.analysis.cache.ttl-ms:3600000}")
+    private long ttlMs;
+
+    private TtlLruCache<Map<String, String>> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new TtlLruCache<>(maxEntries, ttlMs, AnalysisCache::estimateBytes, meterRegistry, "ping.analysis.cache");
+        Gauge.builder("ping.analysis.cache.memory", cache, TtlLruCache::weight)
+                .description("캐시 추정 메모리 (bytes)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader로 분석 (같은 문장을 분석 중이면 그 결과를 기다림)
+     * - 실패는 캐시하지 않음 (기다리던 요청도 각자 기본값으로 진행)
+     *
+     * @return 호출한 쪽이 수정해도 되는 복사본
+     */
+    public Map<String, String> get(String audioText, Loader loader) throws Exception {
+        String key = enabled ? normalize(audioText) : null;
+        if (key == null) {
+            return loader.load();
+        }
+        Map<String, String> cached = cache.get(key, () -> Collections.unmodifiableMap(new HashMap<>(loader.load())));
+        return new HashMap<>(cached);
+    }
+
+    /**
+     * 캐시 키 정규화: 유니코드 NFC(한글 자모 조합) + 소문자, 공백/문장부호 제거
+     *
+     * @return 글자가 하나도 없으면 null (캐시하지 않음)
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String composed = Normalizer.normalize(text, Normalizer.Form.NFC);
+        StringBuilder key = new StringBuilder(composed.length());
+        composed.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .map(Character::toLowerCase)
+                .forEach(key::appendCodePoint);
+        return key.isEmpty() ? null : key.toString();
+    }
+
+    @Scheduled(fixedDelayString = "${ai.analysis.cache.sweep-interval-ms:60000}")
+    public void sweep() {
+        int removed = cache.sweep();
+        if (removed > 0) {
+            log.debug("🧹 만료된 분석 캐시 {}건 정리", removed);
+        }
+    }
+
+    private static long estimateBytes(String key, Map<String, String> analysis) {
+        long chars = key.length();
+        // GPT 응답을 raw Map으로 파싱하므로 값이 문자열이 아닐 수도 있음
+        for (Map.Entry<?, ?> field : ((Map<?, ?>) analysis).entrySet()) {
+            chars += String.valueOf(field.getKey()).length() + String.valueOf(field.getValue()).length();
+        }
+        // 한글이 섞이면 문자열이 UTF-16으로 저장되므로 글자당 2바이트로 계산
+        return ENTRY_OVERHEAD_BYTES + chars * 2;
+    }
+
+    /**
+     * 캐시에 없을 때 실제 분석 (GPT 호출)
+     */
+    @FunctionalInterface
+    public interface Loader {
+        Map<String, String> load() throws Exception;
+    }
+}
@@ -0,0 +1,88 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.util.MultipartBodyPublisher;
+import com.guji3.ping.util.WavPreprocessor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 음성 인식 전송 전 전처리 (WAV만: 앞뒤 무음 제거 + 16kHz 모노 변환)
+ * - 전처리에 실패하거나 WAV가 아니면 원본을 그대로 전송
+ * - 원본/전송 바이트, 잘라낸 길이를 메트릭으로 노출 (ping.audio.*)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AudioPreprocessor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ai.audio.preprocess.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.audio.preprocess.target-rate:16000}")
+    private int targetRate;
+
+    @Value("${ai.audio.preprocess.frame-ms:20}")
+    private int frameMs;
+
+    @Value("${ai.audio.preprocess.padding-ms:300}")
+    private int paddingMs;
+
+    @Value("${ai.audio.preprocess.margin-db:10}")
+    private double marginDb;
+
+    @Value("${ai.audio.preprocess.min-speech-db:-50}")
+    private double minSpeechDb;
+
+    @Value("${ai.audio.preprocess.onset-zcr:0.3}")
+    private double onsetZcr;
+
+    private WavPreprocessor preprocessor;
+    private Counter originalBytes;
+    private Counter sentBytes;
+    private Counter trimmedMs;
+
+    @PostConstruct
+    public void init() {
+        preprocessor = new WavPreprocessor(targetRate, frameMs, paddingMs, marginDb, minSpeechDb, onsetZcr);
+        originalBytes = Counter.builder("ping.audio.bytes").tag("stage", "original").baseUnit("bytes")
+                .register(meterRegistry);
+        sentBytes = Counter.builder("ping.audio.bytes").tag("stage", "sent").baseUnit("bytes")
+                .register(meterRegistry);
+        trimmedMs = Counter.builder("ping.audio.trimmed").description("잘라낸 무음 길이").baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 전송할 음성 파트 (WAV면 전처리, 아니면 원본)
+     */
+    public Upload prepare(MultipartBodyPublisher.StreamSource source, long size) {
+        originalBytes.increment(Math.max(size, 0));
+        if (enabled) {
+            try {
+                WavPreprocessor.Result result = preprocessor.prepare(source, size);
+                if (result != null) {
+                    sentBytes.increment(result.length());
+                    trimmedMs.increment(result.trimmedMs());
+                    log.info("🔇 음성 전처리: {} → {} bytes (무음 {}ms 제거{})", size, result.length(),
+                            result.trimmedMs(), result.speechFound() ? "" : ", 음성 구간 못 찾음");
+                    return new Upload(result.source(), result.length(), "audio.wav", "audio/wav");
+                }
+            } catch (Exception e) {
+                log.warn("⚠️ 음성 전처리 실패, 원본 전송: {}", e.getMessage());
+            }
+        }
+        sentBytes.increment(Math.max(size, 0));
+        return new Upload(source, size, "audio.mp3", "audio/mpeg");
+    }
+
+    public record Upload(MultipartBodyPublisher.StreamSource source, long length,
+                         String filename, String contentType) {
+    }
+}
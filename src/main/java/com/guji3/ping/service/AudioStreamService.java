@@ -0,0 +1,330 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.dto.EmergencyResponseDto;
+import com.guji3.ping.entity.EmergencyLog;
+import com.guji3.ping.util.Coordinate;
+import com.guji3.ping.util.SpeechSegmenter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 기기 음성 스트리밍 세션 (WebSocket으로 녹음 중인 음성을 조각으로 수신)
+ * - 스트림이 열리면 바로 긴급 신호 파이프라인을 시작 (1차 위치 알림은 녹음 종료를 기다리지 않음)
+ * - 받은 PCM을 발화 구간으로 나눠 구간이 끝날 때마다 순서대로 음성 인식
+ * - 누적 인식 결과가 늘어날 때마다 GPT 상황 분석 (분석 중에 또 늘면 끝난 뒤 최신 문장으로 한 번만 다시)
+ * - 중간 인식/분석 결과는 파이프라인 예비 결과와 기기 양쪽에 전달, 스트림 종료 시 전체 문장이 최종 음성 인식 결과
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AudioStreamService {
+
+    // Whisper prompt로 넘길 앞 구간 인식 결과 최대 길이
+    private static final int PROMPT_CHARS = 200;
+
+    private final EmergencyService emergencyService;
+    private final AiAnalysisService aiAnalysisService;
+    private final PriorityScheduler priorityScheduler;
+    private final ExecutorService pipelineExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${emergency.stream.max-duration-ms:60000}")
+    private long maxDurationMs;
+
+    @Value("${emergency.stream.segment.frame-ms:20}")
+    private int frameMs;
+
+    @Value("${emergency.stream.segment.end-silence-ms:700}")
+    private int endSilenceMs;
+
+    @Value("${emergency.stream.segment.max-ms:6000}")
+    private int maxSegmentMs;
+
+    @Value("${emergency.stream.segment.padding-ms:300}")
+    private int paddingMs;
+
+    @Value("${emergency.stream.segment.margin-db:10}")
+    private double marginDb;
+
+    @Value("${emergency.stream.segment.min-speech-db:-50}")
+    private double minSpeechDb;
+
+    @Value("${emergency.stream.partial-analysis:true}")
+    private boolean partialAnalysis;
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private Counter segments;
+    private Timer firstTranscript;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("ping.stream.sessions", activeSessions, AtomicInteger::get)
+                .description("진행 중인 음성 스트리밍 세션 수")
+                .register(meterRegistry);
+        segments = Counter.builder("ping.stream.segments")
+                .description("스트리밍 중 인식한 발화 구간 수")
+                .register(meterRegistry);
+        firstTranscript = Timer.builder("ping.stream.first_transcript")
+                .description("스트림 시작부터 첫 구간 인식 결과까지")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 스트림 시작: 세션 생성 + 긴급 신호 파이프라인 시작
+     *
+     * @param sampleRate 기기가 보내는 16-bit 모노 PCM의 샘플링 레이트
+     */
+    public Session open(String deviceSerial, Coordinate latitude, Coordinate longitude, int sampleRate,
+                        Listener listener) {
+        Session session = new Session(deviceSerial, new SpeechSegmenter(sampleRate, frameMs, endSilenceMs,
+                maxSegmentMs, paddingMs, marginDb, minSpeechDb), listener);
+        activeSessions.incrementAndGet();
+        log.info("🎙️ 음성 스트리밍 시작: 기기 {}, {}Hz", deviceSerial, sampleRate);
+
+        // 최대 길이를 넘기면 기기가 끊지 않아도 종료 처리
+        CompletableFuture.delayedExecutor(maxDurationMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (session.finish()) {
+                log.warn("⏱️ 음성 스트리밍 최대 길이 초과로 종료: 기기 {}", deviceSerial);
+            }
+        });
+
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return emergencyService.processStreamedAlert(deviceSerial, latitude, longitude, session,
+                        listener::onAccepted);
+            } catch (Exception e) {
+                throw new java.util.concurrent.CompletionException(e);
+            }
+        }, pipelineExecutor).whenComplete((response, error) -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                log.error("❌ 스트리밍 긴급 신호 처리 실패: 기기 {}", deviceSerial, cause);
+                session.finish();
+                listener.onError(cause.getMessage());
+            } else {
+                listener.onCompleted(response);
+            }
+        });
+        return session;
+    }
+
+    /**
+     * 세션 이벤트 (기기에 보낼 메시지)
+     */
+    public interface Listener {
+
+        void onAccepted(Long logId);
+
+        /**
+         * @param analysis 누적 문장의 GPT 분석 (인식 결과만 늘었을 때는 null)
+         */
+        void onPartial(String transcript, Map<String, String> analysis);
+
+        void onCompleted(EmergencyResponseDto response);
+
+        void onError(String message);
+    }
+
+    /**
+     * 스트리밍 세션 하나 (WebSocket 연결 하나)
+     */
+    public final class Session {
+
+        private final String deviceSerial;
+        private final SpeechSegmenter segmenter;
+        private final Listener listener;
+        private final long startNanos = System.nanoTime();
+
+        private final CompletableFuture<String> transcript = new CompletableFuture<>();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final List<Consumer<String>> transcriptListeners = new CopyOnWriteArrayList<>();
+        private final List<Consumer<Map<String, String>>> analysisListeners = new CopyOnWriteArrayList<>();
+
+        // 구간 인식은 순서대로 하나씩 (앞 구간 결과를 다음 구간 prompt로 사용)
+        private CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        private final StringBuilder text = new StringBuilder();
+        private volatile String latestText;
+        private volatile Map<String, String> latestAnalysis;
+
+        private final AtomicBoolean analyzing = new AtomicBoolean();
+        private volatile String pendingAnalysis;
+
+        private Session(String deviceSerial, SpeechSegmenter segmenter, Listener listener) {
+            this.deviceSerial = deviceSerial;
+            this.segmenter = segmenter;
+            this.listener = listener;
+        }
+
+        /**
+         * 음성 조각 수신 (WebSocket 바이너리 메시지)
+         */
+        public synchronized void append(ByteBuffer pcm) {
+            if (finished.get()) {
+                return;
+            }
+            byte[] bytes = new byte[pcm.remaining()];
+            pcm.get(bytes);
+            for (byte[] segment : segmenter.accept(bytes, 0, bytes.length)) {
+                enqueue(segment);
+            }
+        }
+
+        /**
+         * 스트림 종료 (기기의 종료 메시지, 연결 끊김, 최대 길이 초과)
+         *
+         * @return 이번 호출로 종료했으면 true
+         */
+        public synchronized boolean finish() {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
+            }
+            byte[] last = segmenter.flush();
+            if (last != null) {
+                enqueue(last);
+            }
+            chain.whenComplete((ignored, error) -> {
+                String result;
+                synchronized (text) {
+                    result = text.toString();
+                }
+                activeSessions.decrementAndGet();
+                log.info("🎙️ 음성 스트리밍 종료: 기기 {}, 인식 결과 \"{}\"", deviceSerial, result);
+                transcript.complete(result);
+            });
+            return true;
+        }
+
+        /**
+         * 스트림 전체 인식 결과 (종료 후 마지막 구간 인식까지 끝나면 완료)
+         */
+        public CompletableFuture<String> transcript() {
+            return transcript;
+        }
+
+        /**
+         * 누적 인식 결과가 늘 때마다 호출 (등록 전에 받은 결과가 있으면 바로 한 번 호출)
+         */
+        public void onPartialTranscript(Consumer<String> consumer) {
+            transcriptListeners.add(consumer);
+            String current = latestText;
+            if (current != null) {
+                consumer.accept(current);
+            }
+        }
+
+        /**
+         * 누적 문장의 GPT 분석이 끝날 때마다 호출 (등록 전에 받은 결과가 있으면 바로 한 번 호출)
+         */
+        public void onPartialAnalysis(Consumer<Map<String, String>> consumer) {
+            analysisListeners.add(consumer);
+            Map<String, String> current = latestAnalysis;
+            if (current != null) {
+                consumer.accept(current);
+            }
+        }
+
+        private void enqueue(byte[] pcm) {
+            byte[] wav = SpeechSegmenter.toWav(pcm, segmenter.sampleRate());
+            chain = chain.thenRunAsync(() -> transcribe(wav),
+                    priorityScheduler.executor(EmergencyLog.DangerLevel.HIGH, "stream-transcription"));
+        }
+
+        private void transcribe(byte[] wav) {
+            String previous;
+            synchronized (text) {
+                previous = text.length() > PROMPT_CHARS ? text.substring(text.length() - PROMPT_CHARS) : text.toString();
+            }
+            String segmentText;
+            try {
+                segmentText = aiAnalysisService.transcribeAudio(wav, previous);
+            } catch (Exception e) {
+                // 구간 하나를 놓쳐도 나머지 구간으로 계속 진행
+                log.warn("⚠️ 스트리밍 구간 음성 인식 실패: 기기 {}, {}", deviceSerial, e.getMessage());
+                return;
+            }
+            if (segmentText == null || segmentText.isBlank()) {
+                return;
+            }
+
+            String cumulative;
+            synchronized (text) {
+                if (!text.isEmpty()) {
+                    text.append(' ');
+                }
+                text.append(segmentText.strip());
+                cumulative = text.toString();
+            }
+            segments.increment();
+            if (latestText == null) {
+                firstTranscript.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+            latestText = cumulative;
+            log.info("📝 스트리밍 중간 인식: 기기 {}, \"{}\"", deviceSerial, cumulative);
+
+            transcriptListeners.forEach(consumer -> consumer.accept(cumulative));
+            listener.onPartial(cumulative, null);
+            if (partialAnalysis) {
+                requestAnalysis(cumulative);
+            }
+        }
+
+        /**
+         * 누적 문장 GPT 분석 요청 (이미 분석 중이면 끝난 뒤 가장 최근 문장으로 한 번만)
+         */
+        private void requestAnalysis(String cumulative) {
+            pendingAnalysis = cumulative;
+            if (analyzing.compareAndSet(false, true)) {
+                pipelineExecutor.execute(this::drainAnalysis);
+            }
+        }
+
+        private void drainAnalysis() {
+            try {
+                String next;
+                while ((next = takePending()) != null && !transcript.isDone()) {
+                    Map<String, String> analysis = new HashMap<>(aiAnalysisService.analyzeSituation(next));
+                    analysis.put("audioText", next);
+                    latestAnalysis = analysis;
+                    log.info("⚡ 스트리밍 중간 분석: 기기 {}, 상황={}, 위험도={}",
+                            deviceSerial, analysis.get("situation"), analysis.get("dangerLevel"));
+                    analysisListeners.forEach(consumer -> consumer.accept(analysis));
+                    listener.onPartial(next, analysis);
+                }
+            } catch (Exception e) {
+                log.warn("⚠️ 스트리밍 중간 분석 실패: 기기 {}, {}", deviceSerial, e.getMessage());
+            } finally {
+                analyzing.set(false);
+                // 끝나는 사이에 들어온 요청이 있으면 다시 시작
+                if (pendingAnalysis != null && !transcript.isDone() && analyzing.compareAndSet(false, true)) {
+                    pipelineExecutor.execute(this::drainAnalysis);
+                }
+            }
+        }
+
+        private String takePending() {
+            String next = pendingAnalysis;
+            pendingAnalysis = null;
+            return next;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.entity.EmergencyLog.DangerLevel;
+import org.springframework.stereotype.Component;
+
+/**
+ * GPT 분석 전 위험도 예비 추정 (작업 우선순위 결정용, 최종 위험도는 GPT 결과 사용)
+ * - 접수 시: 반복 입력 횟수
+ * - 음성 인식 후: 키워드 1차 판정(KeywordTriage) / 발화 유무
+ */
+@Component
+public class DangerEstimator {
+
+    // 이 길이보다 짧은 인식 결과는 무음/오작동으로 보고 낮은 우선순위
+    private static final int MIN_MEANINGFUL_LENGTH = 2;
+
+    /**
+     * 접수 시 추정 (아직 음성을 보지 못함)
+     */
+    public DangerLevel onArrival(int pressCount) {
+        return pressCount >= 3 ? DangerLevel.HIGH : DangerLevel.MEDIUM;
+    }
+
+    /**
+     * 음성 인식 결과로 추정 보정 (반복 입력으로 이미 HIGH면 낮추지 않음)
+     */
+    public DangerLevel afterTranscription(String audioText, KeywordTriage.Triage triage, DangerLevel current) {
+        if (current == DangerLevel.HIGH) {
+            return current;
+        }
+        if (audioText == null || audioText.strip().length() < MIN_MEANINGFUL_LENGTH) {
+            return DangerLevel.LOW;
+        }
+        return triage.matched() ? triage.dangerLevel() : current;
+    }
+}
@@ -1,21 +1,46 @@
 package com.guji3.ping.service;
 
 import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 import com.guji3.ping.dto.EmergencyRequestDto;
 import com.guji3.ping.dto.EmergencyResponseDto;
+import com.guji3.ping.entity.AlertQueueItem;
 import com.guji3.ping.entity.EmergencyContact;
 import com.guji3.ping.entity.EmergencyLog;
+import com.guji3.ping.entity.NotificationOutbox;
 import com.guji3.ping.entity.User;
+import com.guji3.ping.exception.custom.DuplicateRequestException;
+import com.guji3.ping.exception.custom.EmergencyProcessException;
+import com.guji3.ping.exception.custom.UpstreamUnavailableException;
 import com.guji3.ping.repository.EmergencyLogRepository;
+import com.guji3.ping.util.Coordinate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,13 +54,40 @@ public class EmergencyService {
     private final AiAnalysisService aiAnalysisService;
     private final LocationService locationService;
     private final NotificationService notificationService;
+    private final NotificationOutboxService outboxService;
     private final EmergencyLogRepository logRepository;
+    private final ExecutorService pipelineExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final IncidentCoalescer coalescer;
+    private final IdempotencyCache idempotencyCache;
+    private final PriorityScheduler priorityScheduler;
+    private final DangerEstimator dangerEstimator;
+    private final KeywordTriage keywordTriage;
+    private final GeofenceService geofenceService;
+    private final LocationTrackingService locationTrackingService;
     private final Gson gson = new Gson();
 
+    @Value("${emergency.pipeline.deadline-ms:10000}")
+    private long deadlineMs;
+
+    @Value("${emergency.pipeline.budget.contacts-ms:2000}")
+    private long contactsBudgetMs;
+
+    @Value("${emergency.pipeline.budget.analysis-ms:8000}")
+    private long analysisBudgetMs;
+
+    @Value("${emergency.pipeline.budget.geocode-ms:3000}")
+    private long geocodeBudgetMs;
+
+    @Value("${emergency.pipeline.analysis-detail-grace-ms:1000}")
+    private long analysisDetailGraceMs;
+
     /**
      * 긴급 신호 처리 (핵심 메서드!)
+     * - 외부 API(OpenAI, Google Maps, SMS)를 기다리는 동안 DB 커넥션을 잡고 있지 않도록
+     *   짧은 트랜잭션 여러 개로 나누어 처리
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public EmergencyResponseDto processEmergency(String deviceSerial,
                                                  EmergencyRequestDto request,
                                                  MultipartFile audioFile) throws Exception {
@@ -46,89 +98,541 @@ public class EmergencyService {
         User user = userService.findByDeviceSerial(deviceSerial);
         log.info("👤 사용자 확인: {} ({})", user.getName(), user.getEmail());
 
-        // 2단계: 긴급 연락처 조회
-        List<EmergencyContact> contacts = contactService.getActiveContacts(user.getUserId());
-        if (contacts.isEmpty()) {
-            throw new IllegalStateException("등록된 긴급 연락처가 없습니다");
+        // 재전송된 요청이면 처음 요청의 로그(처리 중이면 진행 상태)를 그대로 반환
+        String idempotencyKey = request.getIdempotencyKey();
+        IdempotencyCache.Claim claim = null;
+        try {
+            if (idempotencyKey != null) {
+                claim = idempotencyCache.claim(idempotencyKey);
+                EmergencyLog original = findOriginal(idempotencyKey, claim);
+                if (original != null) {
+                    return toResponse(original, user);
+                }
+            }
+
+            // 같은 기기의 열린 사건이 있으면 파이프라인을 다시 돌리지 않고 기존 사건 상태를 반환
+            IncidentCoalescer.Admission admission = coalescer.admit(deviceSerial,
+                    new IncidentCoalescer.Press(request.getLatitude(), request.getLongitude(), null));
+            if (!admission.isNew()) {
+                Long openLogId = coalescer.awaitLogId(admission);
+                if (openLogId != null) {
+                    logRepository.recordRepeatPress(openLogId, 1, request.getLatitude(), request.getLongitude(),
+                            LocalDateTime.now());
+                    if (claim != null) {
+                        idempotencyCache.complete(idempotencyKey, claim, openLogId);
+                    }
+                    return toResponse(getEmergencyLog(openLogId), user);
+                }
+                log.warn("⚠️ 병합 대상 사건 확인 실패, 새 사건으로 처리: 기기 {}", deviceSerial);
+            }
+
+            IdempotencyCache.Claim ownedClaim = claim;
+            try {
+                return runPipeline(user, null, idempotencyKey, logId -> {
+                            if (admission.isNew()) {
+                                coalescer.bind(admission, logId);
+                            }
+                            if (ownedClaim != null) {
+                                idempotencyCache.complete(idempotencyKey, ownedClaim, logId);
+                            }
+                        },
+                        deviceSerial, request.getLatitude(), request.getLongitude(),
+                        dangerEstimator.onArrival(1), () -> aiAnalysisService.transcribeAudio(audioFile));
+            } catch (Exception e) {
+                if (admission.isNew()) {
+                    coalescer.abandon(deviceSerial, admission);
+                }
+                throw e;
+            }
+        } catch (Exception e) {
+            // 로그가 만들어지기 전에 실패했다면 키 반납 (이미 확정된 키는 그대로 유지)
+            if (claim != null && claim.owner() && !claim.logId().isDone()) {
+                idempotencyCache.release(idempotencyKey, claim);
+            }
+            throw e;
         }
-        log.info("📞 긴급 연락처: {}명", contacts.size());
+    }
 
-        // 3단계: AI 음성 분석
-        Map<String, String> aiAnalysis = aiAnalysisService.fullAnalysis(audioFile);
-        String audioText = aiAnalysis.get("audioText");
-        String situation = aiAnalysis.get("situation");
-        String dangerLevelStr = aiAnalysis.get("dangerLevel");
-        String analysis = aiAnalysis.get("analysis");
+    /**
+     * 접수 큐에 저장된 긴급 신호 처리 (AlertQueueWorker에서 호출)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EmergencyResponseDto processQueuedAlert(AlertQueueItem item) throws Exception {
+        log.info("🚨 큐 긴급 신호 처리: 기기 {}, 로그 ID {}", item.getDeviceSerial(), item.getLogId());
+
+        User user = userService.findByDeviceSerial(item.getDeviceSerial());
+
+        // 오프라인 일괄 접수에서 위치만 온 신호는 음성 분석 없이 위치 알림만
+        TranscriptionTask transcription = item.getAudioPath() == null
+                ? () -> null
+                : () -> aiAnalysisService.transcribeAudio(Path.of(item.getAudioPath()));
+        return runPipeline(user, item.getLogId(), null, logId -> { }, item.getDeviceSerial(),
+                item.getLatitude(), item.getLongitude(), item.getPriority(), transcription);
+    }
+
+    /**
+     * 음성 스트리밍으로 들어온 긴급 신호 처리 (AudioStreamService에서 호출)
+     * - 녹음이 끝나기를 기다리지 않고 바로 1차 위치 알림까지 진행
+     * - 스트리밍 중 인식/분석된 앞부분 결과를 예비 결과로 쓰고, 스트림이 끝나면 전체 문장으로 최종 분석
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EmergencyResponseDto processStreamedAlert(String deviceSerial, Coordinate latitude, Coordinate longitude,
+                                                     AudioStreamService.Session session,
+                                                     Consumer<Long> onLogReady) throws Exception {
+        log.info("🚨 음성 스트리밍 긴급 신호 수신: 기기 {}", deviceSerial);
+
+        User user = userService.findByDeviceSerial(deviceSerial);
+
+        IncidentCoalescer.Admission admission = coalescer.admit(deviceSerial,
+                new IncidentCoalescer.Press(latitude, longitude, null));
+        if (!admission.isNew()) {
+            Long openLogId = coalescer.awaitLogId(admission);
+            if (openLogId != null) {
+                logRepository.recordRepeatPress(openLogId, 1, latitude, longitude, LocalDateTime.now());
+                onLogReady.accept(openLogId);
+                return toResponse(getEmergencyLog(openLogId), user);
+            }
+            log.warn("⚠️ 병합 대상 사건 확인 실패, 새 사건으로 처리: 기기 {}", deviceSerial);
+        }
 
-        EmergencyLog.DangerLevel dangerLevel;
         try {
-            dangerLevel = EmergencyLog.DangerLevel.valueOf(dangerLevelStr);
+            return runPipeline(user, null, null, logId -> {
+                        if (admission.isNew()) {
+                            coalescer.bind(admission, logId);
+                        }
+                        onLogReady.accept(logId);
+                    },
+                    deviceSerial, latitude, longitude, dangerEstimator.onArrival(1),
+                    new StreamedTranscription(session));
         } catch (Exception e) {
-            dangerLevel = EmergencyLog.DangerLevel.MEDIUM;
+            if (admission.isNew()) {
+                coalescer.abandon(deviceSerial, admission);
+            }
+            throw e;
         }
+    }
 
-        log.info("🤖 AI 분석 완료: 상황={}, 위험도={}", situation, dangerLevel);
+    /**
+     * 연락처 조회 → 1차 알림 → AI 분석/위치 확인 → 2차 알림
+     *
+     * @param existingLogId 접수 큐에서 미리 만든 로그 ID (동기 처리면 null)
+     * @param idempotencyKey 새로 만드는 로그에 기록할 멱등성 키 (없으면 null)
+     * @param onLogReady    로그 저장(커밋) 직후 호출 (병합 사건/멱등성 키에 로그 ID 등록)
+     * @param arrivalEstimate GPT 분석 전 예비 위험도 (음성 인식/알림 작업 우선순위, 등록 구역에 따라 조정)
+     */
+    private EmergencyResponseDto runPipeline(User user, Long existingLogId, String idempotencyKey,
+                                             Consumer<Long> onLogReady, String deviceSerial,
+                                             Coordinate latitude, Coordinate longitude,
+                                             EmergencyLog.DangerLevel arrivalEstimate,
+                                             TranscriptionTask transcription) throws Exception {
+
+        // 등록 구역(집/학교 등) 안에서 온 신호면 예비 위험도 조정 (알림은 그대로 발송)
+        GeofenceService.Zone zone = geofenceService.locate(user.getUserId(), latitude, longitude);
+        EmergencyLog.DangerLevel estimate = GeofenceService.adjust(arrivalEstimate, zone);
+        if (zone != null) {
+            log.info("🏠 등록 구역 안 신호: {} ({}), 예비 위험도 {} → {}",
+                    zone.name(), zone.effect().getDescription(), arrivalEstimate, estimate);
+        }
+
+        // AI 음성 분석 / 주소 변환은 DB와 무관하므로 트랜잭션 밖에서 먼저 시작
+        // 각 단계는 전체 마감 시간 안에서 자기 예산만큼만 기다리고, 넘기면 기본값으로 진행
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+
+        // GPT가 늦거나 실패하면 그때까지 받은 가장 나은 예비 결과(GPT 선수신 > 키워드 판정)로 진행
+        AnalysisProgress progress = new AnalysisProgress(degradedAnalysis());
+        CompletableFuture<Map<String, String>> analysisFuture = withBudget(
+                analyze(transcription, estimate, progress),
+                "AI 분석", budgetMs(analysisBudgetMs, deadline), progress::provisional);
+
+        String fallbackAddress = locationService.fallbackAddress(latitude, longitude);
+        CompletableFuture<String> addressFuture = withBudget(
+                CompletableFuture.supplyAsync(() -> locationService.getAddressFromCoordinates(
+                        latitude, longitude), pipelineExecutor),
+                "주소 변환", budgetMs(geocodeBudgetMs, deadline), () -> fallbackAddress);
+
+        // 2단계 (짧은 트랜잭션): 연락처 조회 + 로그 준비 + 1차 위치 알림 적재
+        // 연락처는 기본값이 없으므로 예산 안에 반드시 끝나야 함
+        // 커밋 직전에 작업과 호출한 쪽 중 먼저 결정한 쪽을 따름: 예산이 먼저 끝나면 작업은 롤백
+        // (실패로 처리한 뒤 로그/1차 알림이 커밋되어 재처리 때 중복 발송되지 않도록),
+        // 작업이 먼저 커밋에 들어갔으면 예산이 지나도 그 결과로 계속 진행
+        AtomicBoolean decided = new AtomicBoolean();
+        CompletableFuture<PreparedAlert> preparedFuture = CompletableFuture.supplyAsync(
+                () -> decided.get() ? null : transactionTemplate.execute(status -> {
+                    PreparedAlert result = prepareAlert(
+                            user, existingLogId, idempotencyKey, deviceSerial, latitude, longitude, zone,
+                            addressFuture.getNow(fallbackAddress));
+                    if (!decided.compareAndSet(false, true)) {
+                        status.setRollbackOnly();
+                        return null;
+                    }
+                    return result;
+                }),
+                pipelineExecutor);
+
+        PreparedAlert prepared;
+        try {
+            try {
+                prepared = preparedFuture.get(budgetMs(contactsBudgetMs, deadline), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (decided.compareAndSet(false, true)) {
+                    throw new EmergencyProcessException("긴급 연락처 조회 시간 초과", e);
+                }
+                log.warn("⏱️ 긴급 연락처 조회 예산 초과, 이미 저장 중인 결과로 진행");
+                prepared = preparedFuture.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new EmergencyProcessException("긴급 연락처 조회 실패", e);
+        }
+        Long logId = prepared.entry().getLogId();
+        onLogReady.accept(logId);
+        List<EmergencyContact> contacts = prepared.contacts();
+        log.info("📞 긴급 연락처: {}명", contacts.size());
 
-        // 4단계: 위치 정보 처리
-        String address = locationService.getAddressFromCoordinates(
-                request.getLatitude(),
-                request.getLongitude()
-        );
+        // 3단계 (트랜잭션 없음): 1차 위치 알림 발송
+        Map<String, Boolean> firstResults = dispatch(prepared.locationAlerts(), estimate);
+        if (!firstResults.isEmpty()) {
+            log.info("⏱️ 첫 알림까지 {}ms (로그 ID {})",
+                    Duration.between(prepared.entry().getCreatedAt(), LocalDateTime.now()).toMillis(), logId);
+        }
+
+        // 4단계 (트랜잭션 없음): AI 분석 / 주소 변환 결과 대기
+        Map<String, String> aiAnalysis = awaitAnalysis(analysisFuture, progress);
+        log.info("🤖 AI 분석 완료: 상황={}, 위험도={}", aiAnalysis.get("situation"), aiAnalysis.get("dangerLevel"));
+
+        if (!addressFuture.isDone()) {
+            logRepository.updatePipelineStage(logId, EmergencyLog.PipelineStage.LOCATING);
+        }
+        String address = addressFuture.join();
         log.info("📍 위치 확인: {}", address);
 
-        // 5단계: SMS 발송
-        Map<String, Boolean> smsResults = notificationService.sendBulkEmergencySms(
-                contacts,
-                user.getName(),
-                request.getLatitude(),
-                request.getLongitude(),
-                address,
-                situation
-        );
+        // 처리 중 같은 기기에서 다시 눌렀다면 가장 최근 입력(음성/좌표)으로 한 번만 갱신
+        IncidentCoalescer.Drained drained = coalescer.drainPending(deviceSerial, logId);
+        if (drained.latest() != null) {
+            IncidentCoalescer.Press latest = drained.latest();
+            log.info("🔁 처리 중 반복 입력 {}회 → 최신 입력 반영", drained.pressCount());
+
+            String knownAddress = address;
+            CompletableFuture<String> latestAddress = withBudget(
+                    CompletableFuture.supplyAsync(() -> locationService.getAddressFromCoordinates(
+                            latest.latitude(), latest.longitude()), pipelineExecutor),
+                    "최신 위치 주소 변환", budgetMs(geocodeBudgetMs, deadline), () -> knownAddress);
 
-        boolean allSuccess = smsResults.values().stream().allMatch(v -> v);
+            if (latest.audioPath() != null) {
+                AnalysisProgress latestProgress = new AnalysisProgress(aiAnalysis);
+                aiAnalysis = withBudget(
+                        analyze(() -> {
+                            try {
+                                return aiAnalysisService.transcribeAudio(latest.audioPath());
+                            } finally {
+                                AlertIngestService.deleteQuietly(latest.audioPath());
+                            }
+                        }, parseDangerLevel(aiAnalysis.get("dangerLevel")), latestProgress),
+                        "최신 음성 AI 분석", budgetMs(analysisBudgetMs, deadline), latestProgress::provisional).join();
+            }
+            address = latestAddress.join();
+        }
 
-        // 6단계: DB 저장
+        String audioText = aiAnalysis.get("audioText");
+        String situation = aiAnalysis.get("situation");
+        String analysis = aiAnalysis.get("analysis");
+        EmergencyLog.DangerLevel dangerLevel = parseDangerLevel(aiAnalysis.get("dangerLevel"));
+        String finalAddress = address;
+
+        // 5단계 (짧은 트랜잭션): 분석 결과 기록 + 2차 상황 알림 적재
         List<Map<String, String>> sentContactsInfo = contacts.stream()
                 .map(c -> Map.of("name", c.getContactName(), "phone", c.getContactPhone()))
                 .collect(Collectors.toList());
 
-        EmergencyLog log = EmergencyLog.builder()
-                .user(user)
-                .latitude(request.getLatitude())
-                .longitude(request.getLongitude())
-                .locationAddress(address)
-                .audioText(audioText)
-                .situationAnalysis(analysis)
-                .dangerLevel(dangerLevel)
-                .sentContacts(gson.toJson(sentContactsInfo))
-                .sentAt(LocalDateTime.now())
-                .notificationSuccess(allSuccess)
-                .deviceSerial(deviceSerial)
-                .build();
+        // 로그 전체를 읽어 다시 쓰면 그 사이 커밋된 반복 입력/1차 알림 기록을 덮어쓰므로 필요한 열만 갱신
+        List<NotificationOutbox> followUps = transactionTemplate.execute(status -> {
+            if (logRepository.recordAnalysis(logId, finalAddress, audioText, analysis, dangerLevel,
+                    gson.toJson(sentContactsInfo), EmergencyLog.PipelineStage.NOTIFYING) == 0) {
+                throw new IllegalStateException("긴급 로그가 없습니다: " + logId);
+            }
+            // 갱신으로 행이 잠겨 있으므로 이후 반복 입력은 이 트랜잭션이 끝난 뒤에 반영됨
+            Integer pressCount = logRepository.findPressCount(logId);
 
-        EmergencyLog savedLog = logRepository.save(log);
-        this.log.info("💾 긴급 로그 저장 완료: ID {}", savedLog.getLogId());
+            String message = notificationService.buildSituationUpdateMessage(
+                    user.getName(), finalAddress, situation, dangerLevel, analysis, pressCount);
+            return outboxService.stage(logId, NotificationOutbox.Phase.SITUATION_UPDATE, contacts, message);
+        });
+
+        // 6단계 (트랜잭션 없음): 2차 상황 알림 발송 (GPT 위험도 기준 우선순위)
+        dispatch(followUps, dangerLevel);
+        logRepository.updatePipelineStage(logId, EmergencyLog.PipelineStage.COMPLETED);
+        coalescer.finish(deviceSerial, logId);
+
+        log.info("💾 긴급 로그 저장 완료: ID {}", logId);
 
         // 7단계: 응답 생성
+        return toResponse(getEmergencyLog(logId), user);
+    }
+
+    /**
+     * 연락처 조회, 로그 생성(또는 조회), 1차 위치 알림 적재 (transactionTemplate 안에서 실행)
+     */
+    private PreparedAlert prepareAlert(User user, Long existingLogId, String idempotencyKey, String deviceSerial,
+                                       Coordinate latitude, Coordinate longitude, GeofenceService.Zone zone,
+                                       String knownAddress) {
+
+        List<EmergencyContact> contacts = contactService.getActiveContacts(user.getUserId());
+        if (contacts.isEmpty()) {
+            throw new IllegalStateException("등록된 긴급 연락처가 없습니다");
+        }
+
+        EmergencyLog entry;
+        if (existingLogId == null) {
+            entry = logRepository.save(EmergencyLog.builder()
+                    .user(user)
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .zoneName(zone != null ? zone.name() : null)
+                    .deviceSerial(deviceSerial)
+                    .idempotencyKey(idempotencyKey)
+                    .pipelineStage(EmergencyLog.PipelineStage.ANALYZING)
+                    .build());
+        } else {
+            entry = logRepository.findById(existingLogId)
+                    .orElseThrow(() -> new IllegalStateException("접수된 긴급 로그가 없습니다: " + existingLogId));
+            logRepository.startProcessing(existingLogId, zone != null ? zone.name() : null,
+                    EmergencyLog.PipelineStage.ANALYZING);
+        }
+
+        String message = notificationService.buildLocationAlertMessage(
+                user.getName(), latitude, longitude, knownAddress, zone != null ? zone.name() : null,
+                locationTrackingService.trackingUrl(entry.getLogId()));
+        List<NotificationOutbox> locationAlerts = outboxService.stage(
+                entry.getLogId(), NotificationOutbox.Phase.LOCATION_ALERT, contacts, message);
+
+        return new PreparedAlert(entry, contacts, locationAlerts);
+    }
+
+    /**
+     * 멱등성 키의 처음 요청 로그 조회
+     *
+     * @return 처음 요청의 로그, 이 요청이 처음이면 null
+     */
+    private EmergencyLog findOriginal(String idempotencyKey, IdempotencyCache.Claim claim) {
+        Long logId;
+        if (claim.owner()) {
+            // 캐시 TTL이 지났거나 서버가 재시작된 경우 DB 유니크 키로 확인
+            logId = logRepository.findByIdempotencyKey(idempotencyKey)
+                    .map(EmergencyLog::getLogId)
+                    .orElse(null);
+            if (logId == null) {
+                return null;
+            }
+            idempotencyCache.complete(idempotencyKey, claim, logId);
+        } else {
+            logId = idempotencyCache.await(claim);
+            if (logId == null) {
+                throw new DuplicateRequestException(idempotencyKey);
+            }
+        }
+        log.info("♻️ 중복 긴급 신호: 키 {}, 로그 ID {}", idempotencyKey, logId);
+        return getEmergencyLog(logId);
+    }
+
+    /**
+     * 음성 인식 → 키워드 1차 판정(예비 위험도 보정) → GPT 분석을 위험도 우선순위 큐에서 실행
+     *
+     * @param progress GPT 결과 전까지 쓸 예비 결과 (키워드 판정 → GPT 선수신 순으로 교체)
+     */
+    private CompletableFuture<Map<String, String>> analyze(TranscriptionTask transcription,
+                                                           EmergencyLog.DangerLevel estimate,
+                                                           AnalysisProgress progress) {
+        transcription.onPartial(text -> {
+            KeywordTriage.Triage triage = keywordTriage.classify(text);
+            progress.update(keywordAnalysis(text, triage, dangerEstimator.afterTranscription(text, triage, estimate)));
+        }, progress::updateFromGpt);
+        return transcription.start(priorityScheduler.executor(estimate, "transcription"))
+                .thenCompose(audioText -> {
+                    if (audioText == null) {
+                        return CompletableFuture.completedFuture(locationOnlyAnalysis());
+                    }
+                    KeywordTriage.Triage triage = keywordTriage.classify(audioText);
+                    EmergencyLog.DangerLevel refined = dangerEstimator.afterTranscription(audioText, triage, estimate);
+                    if (triage.matched()) {
+                        log.info("🔎 키워드 1차 판정: {} ({})", triage.situation(), triage.dangerLevel());
+                    }
+                    if (refined != estimate) {
+                        log.info("🚦 예비 위험도 보정: {} → {}", estimate, refined);
+                    }
+                    progress.update(keywordAnalysis(audioText, triage, refined));
+                    return CompletableFuture.supplyAsync(() -> {
+                        try {
+                            Map<String, String> analysis = aiAnalysisService.analyzeSituation(audioText, refined,
+                                    partial -> progress.publishEarly(earlyAnalysis(audioText, partial)));
+                            analysis.put("audioText", audioText);
+                            return analysis;
+                        } catch (Exception e) {
+                            throw new CompletionException(e);
+                        }
+                    }, priorityScheduler.executor(refined, "analysis"));
+                });
+    }
+
+    /**
+     * AI 분석 결과 대기
+     * - GPT가 situation/dangerLevel을 먼저 보냈다면 나머지 필드는 detail-grace-ms까지만 기다리고
+     *   받은 만큼으로 2차 알림 진행
+     */
+    private Map<String, String> awaitAnalysis(CompletableFuture<Map<String, String>> analysisFuture,
+                                              AnalysisProgress progress) {
+        CompletableFuture<Map<String, String>> earlyWithGrace = progress.early.thenCompose(partial ->
+                CompletableFuture.supplyAsync(() -> partial,
+                        CompletableFuture.delayedExecutor(analysisDetailGraceMs, TimeUnit.MILLISECONDS)));
+        Map<String, String> result = analysisFuture.applyToEither(earlyWithGrace, Function.identity()).join();
+        if (!analysisFuture.isDone()) {
+            log.info("⚡ GPT 세부 분석 대기 생략 ({}ms), 상황/위험도로 2차 알림 진행", analysisDetailGraceMs);
+        }
+        return result;
+    }
+
+    /**
+     * 알림 발송을 알림 전용 레인의 위험도 우선순위 큐에서 실행하고 결과 대기
+     * (음성 인식/GPT 작업과 워커를 나눠 쓰지 않으므로 그 뒤에서 기다리지 않음)
+     */
+    private Map<String, Boolean> dispatch(List<NotificationOutbox> rows, EmergencyLog.DangerLevel priority) {
+        try {
+            return CompletableFuture.supplyAsync(() -> outboxService.dispatch(rows),
+                    priorityScheduler.executor(priority, PriorityScheduler.NOTIFICATION_STAGE)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    /**
+     * 긴급 로그 → 응답 DTO
+     */
+    private EmergencyResponseDto toResponse(EmergencyLog entry, User user) {
+        List<EmergencyResponseDto.ContactInfo> sentTo = new ArrayList<>();
+        if (entry.getSentContacts() != null) {
+            for (Map<String, String> c : gson.<List<Map<String, String>>>fromJson(entry.getSentContacts(),
+                    new TypeToken<List<Map<String, String>>>() { }.getType())) {
+                sentTo.add(new EmergencyResponseDto.ContactInfo(c.get("name"), c.get("phone")));
+            }
+        }
+
         return EmergencyResponseDto.builder()
-                .logId(savedLog.getLogId())
+                .logId(entry.getLogId())
                 .userName(user.getName())
                 .userPhone(user.getPhone())
-                .latitude(request.getLatitude())
-                .longitude(request.getLongitude())
-                .locationAddress(address)
-                .audioText(audioText)
-                .situationAnalysis(analysis)
-                .dangerLevel(dangerLevel)
-                .sentTo(sentContactsInfo.stream()
-                        .map(c -> new EmergencyResponseDto.ContactInfo(c.get("name"), c.get("phone")))
-                        .collect(Collectors.toList()))
-                .notificationSuccess(allSuccess)
-                .createdAt(savedLog.getCreatedAt())
+                .latitude(entry.getLatitude())
+                .longitude(entry.getLongitude())
+                .locationAddress(entry.getLocationAddress())
+                .zoneName(entry.getZoneName())
+                .audioText(entry.getAudioText())
+                .situationAnalysis(entry.getSituationAnalysis())
+                .dangerLevel(entry.getDangerLevel())
+                .sentTo(sentTo)
+                .notificationSuccess(entry.getNotificationSuccess())
+                .firstNotifiedAt(entry.getFirstNotifiedAt())
+                .followUpSentAt(entry.getFollowUpSentAt())
+                .createdAt(entry.getCreatedAt())
                 .build();
     }
 
+    private static EmergencyLog.DangerLevel parseDangerLevel(String dangerLevel) {
+        try {
+            return EmergencyLog.DangerLevel.valueOf(dangerLevel);
+        } catch (Exception e) {
+            return EmergencyLog.DangerLevel.MEDIUM;
+        }
+    }
+
+    /**
+     * 단계 예산 적용: 시간 초과나 오류 시 기본값으로 대체 (기본값은 그 시점에 계산)
+     */
+    private <T> CompletableFuture<T> withBudget(CompletableFuture<T> stage, String stageName,
+                                                long budgetMs, Supplier<T> fallback) {
+        return stage.orTimeout(budgetMs, TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof TimeoutException) {
+                        log.warn("⏱️ {} 예산 초과 ({}ms), 기본값으로 진행", stageName, budgetMs);
+                    } else if (cause instanceof UpstreamUnavailableException) {
+                        log.warn("⛔ {} 외부 API 장애, 기본값으로 진행: {}", stageName, cause.getMessage());
+                    } else {
+                        log.error("❌ {} 실패, 기본값으로 진행", stageName, cause);
+                    }
+                    return fallback.get();
+                });
+    }
+
+    /**
+     * 단계 예산과 남은 마감 시간 중 작은 값 (최소 1ms)
+     */
+    private static long budgetMs(long stageBudgetMs, long deadlineNanos) {
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        return Math.max(1, Math.min(stageBudgetMs, remainingMs));
+    }
+
+    /**
+     * AI 분석을 제때 못 받았을 때 사용하는 기본 결과
+     */
+    private static Map<String, String> degradedAnalysis() {
+        Map<String, String> fallback = new HashMap<>();
+        fallback.put("situation", "상황 불명확");
+        fallback.put("dangerLevel", EmergencyLog.DangerLevel.MEDIUM.name());
+        fallback.put("analysis", "AI 분석이 지연되어 위치 정보만 전달합니다");
+        return fallback;
+    }
+
+    /**
+     * 음성 인식은 끝났지만 GPT 분석을 제때 못 받았을 때 사용하는 키워드 판정 결과
+     */
+    private static Map<String, String> keywordAnalysis(String audioText, KeywordTriage.Triage triage,
+                                                       EmergencyLog.DangerLevel dangerLevel) {
+        Map<String, String> analysis = new HashMap<>();
+        analysis.put("audioText", audioText);
+        analysis.put("dangerLevel", dangerLevel.name());
+        if (triage.matched()) {
+            analysis.put("situation", triage.situation());
+            analysis.put("analysis", "AI 분석이 지연되어 음성 키워드로 판단했습니다 ("
+                    + String.join(", ", triage.situations()) + ")");
+        } else {
+            analysis.put("situation", "상황 불명확");
+            analysis.put("analysis", "AI 분석이 지연되어 음성 인식 결과만 전달합니다");
+        }
+        return analysis;
+    }
+
+    /**
+     * GPT 스트리밍 응답에서 상황/위험도만 먼저 받았을 때 결과
+     */
+    private static Map<String, String> earlyAnalysis(String audioText, Map<String, String> partial) {
+        Map<String, String> analysis = new HashMap<>(partial);
+        analysis.put("audioText", audioText);
+        analysis.put("analysis", "AI 세부 분석 수신 중 (상황/위험도 우선 전달)");
+        return analysis;
+    }
+
+    private static Map<String, String> locationOnlyAnalysis() {
+        Map<String, String> analysis = new HashMap<>();
+        analysis.put("situation", "음성 없음");
+        analysis.put("dangerLevel", EmergencyLog.DangerLevel.MEDIUM.name());
+        analysis.put("analysis", "음성 없이 위치 신호만 수신되었습니다");
+        return analysis;
+    }
+
+    /**
+     * 처리 실패 기록 (워커 재시도 초과 시)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void markFailed(Long logId, String deviceSerial) {
+        logRepository.updatePipelineStage(logId, EmergencyLog.PipelineStage.FAILED);
+        coalescer.finish(deviceSerial, logId);
+    }
+
+    /**
+     * 긴급 로그 단건 조회 (상태 확인용)
+     */
+    public EmergencyLog getEmergencyLog(Long logId) {
+        return logRepository.findById(logId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 긴급 로그입니다: " + logId));
+    }
+
     /**
      * 사용자의 긴급 이력 조회
      */
@@ -143,4 +647,100 @@ public class EmergencyService {
         LocalDateTime since = LocalDateTime.now().minusHours(24);
         return logRepository.countRecentEmergencies(userId, since);
     }
+
+    /**
+     * 음성 인식 작업 (음성이 없으면 null 반환)
+     */
+    @FunctionalInterface
+    private interface TranscriptionTask {
+        String run() throws Exception;
+
+        /**
+         * 음성 인식 시작 (기본: 주어진 실행기에서 run 실행)
+         */
+        default CompletableFuture<String> start(Executor executor) {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return run();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        }
+
+        /**
+         * 최종 결과 전 중간 인식/분석 결과 구독 (스트리밍만 해당)
+         */
+        default void onPartial(Consumer<String> transcript, Consumer<Map<String, String>> analysis) {
+        }
+    }
+
+    /**
+     * 음성 스트리밍 세션의 인식 결과
+     * - 스트림이 끝날 때까지 실행기 스레드를 잡고 있지 않도록 세션의 결과 future를 그대로 사용
+     */
+    private record StreamedTranscription(AudioStreamService.Session session) implements TranscriptionTask {
+
+        @Override
+        public String run() {
+            return session.transcript().join();
+        }
+
+        @Override
+        public CompletableFuture<String> start(Executor executor) {
+            return session.transcript().thenApply(text -> text.isBlank() ? null : text);
+        }
+
+        @Override
+        public void onPartial(Consumer<String> transcript, Consumer<Map<String, String>> analysis) {
+            session.onPartialTranscript(transcript);
+            session.onPartialAnalysis(analysis);
+        }
+    }
+
+    /**
+     * 분석 진행 중 결과 (예산 초과 시 기본값, GPT 선수신 신호)
+     */
+    private static final class AnalysisProgress {
+
+        private final CompletableFuture<Map<String, String>> early = new CompletableFuture<>();
+        private volatile Map<String, String> provisional;
+        private boolean fromGpt;
+
+        private AnalysisProgress(Map<String, String> initial) {
+            provisional = initial;
+        }
+
+        private Map<String, String> provisional() {
+            return provisional;
+        }
+
+        /**
+         * 키워드 판정 결과 (GPT 결과를 이미 받았으면 무시)
+         */
+        private synchronized void update(Map<String, String> analysis) {
+            if (!fromGpt) {
+                provisional = analysis;
+            }
+        }
+
+        /**
+         * 스트리밍 중 앞부분 문장의 GPT 분석 결과
+         */
+        private synchronized void updateFromGpt(Map<String, String> analysis) {
+            fromGpt = true;
+            provisional = analysis;
+        }
+
+        private synchronized void publishEarly(Map<String, String> analysis) {
+            fromGpt = true;
+            provisional = analysis;
+            early.complete(analysis);
+        }
+    }
+
+    private record PreparedAlert(EmergencyLog entry,
+                                 List<EmergencyContact> contacts,
+                                 List<NotificationOutbox> locationAlerts) {
+    }
 }
\ No newline at end of file
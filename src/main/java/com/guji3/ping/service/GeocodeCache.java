@@ -0,0 +1,243 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.util.Coordinate;
+import com.guji3.ping.util.Geohash;
+import com.guji3.ping.util.TtlLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주소 변환 결과 캐시 (geohash 격자 칸 기준)
+ * - 같은 자리에서 반복해서 누른 신호, 행사장처럼 한 곳에서 몰린 신호는 같은 칸이므로 Google Maps 호출 재사용
+ * - 최대 개수(LRU) + TTL로 제한, 동시에 들어온 같은 칸은 호출 한 번만 (TtlLruCache)
+ * - disk-file을 지정하면 변환 결과를 파일에도 기록해 재시작 후에도 사용 (시작 시 읽고 만료 항목은 정리)
+ *   파일 기록은 전용 스레드가 모아서 하므로 요청 스레드는 큐에 넣기만 함
+ * - 적중/미적중/대기 합류 수, 적중률, 절약한 호출 수를 메트릭으로 노출 (ping.geocode.cache.*)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GeocodeCache {
+
+    // 파일 기록이 밀려도 메모리가 무한정 늘지 않도록 (넘치면 그 줄은 파일에 남기지 않음)
+    private static final int DISK_QUEUE_CAPACITY = 10_000;
+
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<String> diskQueue = new LinkedBlockingQueue<>(DISK_QUEUE_CAPACITY);
+    private volatile boolean diskOpen;
+    private Thread diskThread;
+
+    @Value("${location.geocode.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${location.geocode.cache.precision:8}")
+    private int precision;
+
+    @Value("${location.geocode.cache.max-entries:50000}")
+    private int maxEntries;
+
+    @Value("${location.geocode.cache.ttl-ms:604800000}")
+    private long ttlMs;
+
+    @Value("${location.geocode.cache.disk-file:}")
+    private String diskFile;
+
+    private TtlLruCache<String> cache;
+    private Counter diskDropped;
+
+    @PostConstruct
+    public void init() {
+        cache = new TtlLruCache<>(maxEntries, ttlMs, null, meterRegistry, "ping.geocode.cache");
+        FunctionCounter.builder("ping.geocode.cache.upstream_saved", cache, TtlLruCache::saved)
+                .description("캐시로 절약한 Google Maps 호출 수")
+                .register(meterRegistry);
+        diskDropped = Counter.builder("ping.geocode.cache.disk_dropped")
+                .description("기록 큐가 가득 차 파일에 남기지 못한 변환 결과 수")
+                .register(meterRegistry);
+
+        if (!enabled || diskFile == null || diskFile.isBlank()) {
+            return;
+        }
+        Path path = Path.of(diskFile);
+        try {
+            int loaded = load(path);
+            compact(path);
+            BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            diskOpen = true;
+            diskThread = new Thread(() -> writeLoop(writer), "geocode-cache-writer");
+            diskThread.setDaemon(true);
+            diskThread.start();
+            log.info("🗺️ 주소 캐시 파일 로드: {}건 ({})", loaded, path);
+        } catch (IOException e) {
+            log.warn("⚠️ 주소 캐시 파일 사용 불가, 메모리 캐시만 사용: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 기록 스레드를 멈춤 (큐에 남은 줄은 쓰고 닫음)
+     */
+    @PreDestroy
+    public void close() {
+        diskOpen = false;
+        if (diskThread == null) {
+            return;
+        }
+        try {
+            diskThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader로 변환 (같은 칸을 변환 중이면 그 결과를 기다림)
+     * - loader가 null을 돌려주면(변환 실패) 캐시하지 않음, 기다리던 요청도 null
+     */
+    public String get(Coordinate latitude, Coordinate longitude, Loader loader) throws Exception {
+        if (!enabled || latitude == null || longitude == null) {
+            return loader.load();
+        }
+        String cell = Geohash.encode(latitude.degrees(), longitude.degrees(), precision);
+        return cache.get(cell, () -> {
+            String address = loader.load();
+            if (address != null) {
+                append(cell, address);
+            }
+            return address;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${location.geocode.cache.sweep-interval-ms:300000}")
+    public void sweep() {
+        int removed = cache.sweep();
+        if (removed > 0) {
+            log.debug("🧹 만료된 주소 캐시 {}건 정리", removed);
+        }
+    }
+
+    /**
+     * 기록 큐에 넣기만 함 (요청 스레드에서 파일 I/O 없음)
+     */
+    private void append(String cell, String address) {
+        if (!diskOpen) {
+            return;
+        }
+        if (!diskQueue.offer(line(cell, address, System.currentTimeMillis() + ttlMs))) {
+            diskDropped.increment();
+        }
+    }
+
+    /**
+     * 큐에 쌓인 줄을 한꺼번에 쓰고 flush (닫은 뒤에도 남은 줄까지 쓰고 끝냄)
+     * - 파일 채널은 인터럽트되면 닫히므로 interrupt 대신 diskOpen으로 종료
+     */
+    private void writeLoop(BufferedWriter writer) {
+        List<String> batch = new ArrayList<>();
+        try (writer) {
+            while (diskOpen || !diskQueue.isEmpty()) {
+                String first = diskQueue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                diskQueue.drainTo(batch);
+                for (String line : batch) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+                writer.flush();
+                batch.clear();
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ 주소 캐시 파일 기록 실패, 이후 메모리 캐시만 사용: {}", e.getMessage());
+            diskOpen = false;
+            diskQueue.clear();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int load(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t", 3);
+            if (fields.length < 3) {
+                continue;
+            }
+            long expiresAt;
+            try {
+                expiresAt = Long.parseLong(fields[1]);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            // 자리수 설정이 바뀌었으면 예전 칸은 쓸 수 없음
+            if (fields[0].length() != precision || expiresAt <= now) {
+                continue;
+            }
+            cache.put(fields[0], fields[2], expiresAt);
+            loaded++;
+        }
+        return loaded;
+    }
+
+    /**
+     * 파일을 현재 메모리 내용(만료/중복 제외)으로 다시 씀
+     */
+    private void compact(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (TtlLruCache.Stored<String> entry : cache.snapshot()) {
+            lines.add(line(entry.key(), entry.value(), entry.expiresAtMillis()));
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "geocode-cache", ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 파일 한 줄: 칸 \t 만료 시각(epoch ms) \t 주소 (같은 칸이 여러 번 있으면 나중 줄 사용)
+     */
+    private static String line(String cell, String address, long expiresAtMillis) {
+        return cell + '\t' + expiresAtMillis + '\t' + sanitize(address);
+    }
+
+    private static String sanitize(String address) {
+        return address.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    /**
+     * 캐시에 없을 때 실제 변환 (Google Maps 호출), 실패하면 null
+     */
+    @FunctionalInterface
+    public interface Loader {
+        String load() throws Exception;
+    }
+}
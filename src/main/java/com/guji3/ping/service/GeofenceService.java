@@ -0,0 +1,194 @@
+package com.guji3.ping.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.guji3.ping.dto.SafeZoneDto;
+import com.guji3.ping.entity.EmergencyLog.DangerLevel;
+import com.guji3.ping.entity.SafeZone;
+import com.guji3.ping.repository.SafeZoneRepository;
+import com.guji3.ping.util.Coordinate;
+import com.guji3.ping.util.GeofenceIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 등록 구역 판정 (집/학교 등 안에서 온 신호인지)
+ * - 활성 구역을 사용자별 GeofenceIndex로 메모리에 들고 있어 판정에 DB 조회/할당 없음
+ * - 구역이 바뀌면 커밋 후 그 사용자만 다시 적재, 다른 서버에서 바꾼 구역은 주기적 전체 적재로 반영
+ *   (적재마다 버전을 매겨, 전체 적재 조회가 시작된 뒤 다시 적재한 사용자는 전체 적재 결과로 덮지 않음)
+ * - 여러 구역이 겹치면 주의 구역 > 안전 구역 > 기록만 순으로 적용
+ */
+@Component
+@Slf4j
+public class GeofenceService {
+
+    private final SafeZoneRepository zoneRepository;
+    private final Map<Long, Loaded> indexes = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final Counter inside;
+    private final Counter outside;
+
+    @Value("${geofence.enabled:true}")
+    private boolean enabled;
+
+    public GeofenceService(SafeZoneRepository zoneRepository, MeterRegistry meterRegistry) {
+        this.zoneRepository = zoneRepository;
+        inside = Counter.builder("ping.geofence.checks").tag("result", "inside").register(meterRegistry);
+        outside = Counter.builder("ping.geofence.checks").tag("result", "outside").register(meterRegistry);
+        Gauge.builder("ping.geofence.zones", indexes,
+                        map -> map.values().stream().mapToInt(loaded -> loaded.index().size()).sum())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 좌표가 속한 사용자 구역, 없으면 null
+     */
+    public Zone locate(Long userId, Coordinate latitude, Coordinate longitude) {
+        if (!enabled || userId == null || latitude == null || longitude == null) {
+            return null;
+        }
+        Loaded loaded = indexes.get(userId);
+        if (loaded == null) {
+            return null;
+        }
+        Zone zone = loaded.index().find(latitude, longitude);
+        (zone != null ? inside : outside).increment();
+        return zone;
+    }
+
+    /**
+     * 구역에 따라 예비 위험도 조정 (GPT 최종 위험도와 알림 발송 여부는 바꾸지 않음)
+     * - 안전 구역: 한 단계 낮춤 (반복 입력으로 HIGH면 유지)
+     * - 주의 구역: 한 단계 높임
+     */
+    public static DangerLevel adjust(DangerLevel estimate, Zone zone) {
+        if (zone == null) {
+            return estimate;
+        }
+        return switch (zone.effect()) {
+            case LOWER_PRIORITY -> estimate == DangerLevel.MEDIUM ? DangerLevel.LOW : estimate;
+            case RAISE_PRIORITY -> estimate == DangerLevel.LOW ? DangerLevel.MEDIUM : DangerLevel.HIGH;
+            case TAG_ONLY -> estimate;
+        };
+    }
+
+    /**
+     * 한 사용자의 구역 다시 적재 (구역 추가/수정/삭제 커밋 후)
+     * - 구역이 없어도 빈 색인을 남겨, 먼저 시작한 전체 적재가 지운 구역을 되살리지 않게 함
+     */
+    public void reload(Long userId) {
+        long version = versions.incrementAndGet();
+        install(userId, new Loaded(build(zoneRepository.findByUser_UserIdAndIsActiveTrue(userId)), version));
+    }
+
+    /**
+     * 전체 활성 구역 적재 (시작 직후 + 주기적으로, 다른 서버에서 바꾼 구역 반영)
+     */
+    @Scheduled(fixedDelayString = "${geofence.refresh-interval-ms:300000}")
+    public void reloadAll() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        long version = versions.incrementAndGet();
+        try {
+            Map<Long, List<SafeZone>> byUser = new HashMap<>();
+            for (SafeZone zone : zoneRepository.findByIsActiveTrue()) {
+                byUser.computeIfAbsent(zone.getUser().getUserId(), id -> new ArrayList<>()).add(zone);
+            }
+            byUser.forEach((userId, zones) -> install(userId, new Loaded(build(zones), version)));
+            // 조회 결과에 없는 사용자 정리 (조회 시작 뒤 다시 적재한 사용자는 남김)
+            indexes.entrySet().removeIf(entry ->
+                    !byUser.containsKey(entry.getKey()) && entry.getValue().version() < version);
+            log.debug("🏠 등록 구역 적재: 사용자 {}명, {}ms", byUser.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ 등록 구역 적재 실패 (기존 색인 유지): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 더 최근에 시작한 적재 결과만 반영
+     */
+    private void install(Long userId, Loaded loaded) {
+        indexes.merge(userId, loaded, (current, next) -> next.version() > current.version() ? next : current);
+    }
+
+    private static GeofenceIndex<Zone> build(List<SafeZone> zones) {
+        GeofenceIndex.Builder<Zone> builder = GeofenceIndex.builder();
+        for (SafeZone zone : zones) {
+            Zone value = new Zone(zone.getZoneId(), zone.getName(), zone.getEffect());
+            int rank = rank(zone.getEffect());
+            try {
+                if (zone.getShape() == SafeZone.Shape.CIRCLE) {
+                    builder.addCircle(value, rank, zone.getCenterLatitude(), zone.getCenterLongitude(),
+                            zone.getRadiusMeters());
+                } else {
+                    List<SafeZoneDto.Vertex> vertices = decodeVertices(zone.getVertices());
+                    builder.addPolygon(value, rank,
+                            vertices.stream().map(SafeZoneDto.Vertex::getLatitude).toList(),
+                            vertices.stream().map(SafeZoneDto.Vertex::getLongitude).toList());
+                }
+            } catch (RuntimeException e) {
+                log.warn("⚠️ 등록 구역 {} 형식 오류로 제외: {}", zone.getZoneId(), e.getMessage());
+            }
+        }
+        return builder.build();
+    }
+
+    private static int rank(SafeZone.Effect effect) {
+        return switch (effect) {
+            case RAISE_PRIORITY -> 2;
+            case LOWER_PRIORITY -> 1;
+            case TAG_ONLY -> 0;
+        };
+    }
+
+    /**
+     * 꼭짓점 → JSON [[위도, 경도], ...] (SafeZone.vertices 저장 형식)
+     */
+    public static String encodeVertices(List<SafeZoneDto.Vertex> vertices) {
+        StringBuilder json = new StringBuilder("[");
+        for (SafeZoneDto.Vertex vertex : vertices) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('[').append(vertex.getLatitude()).append(',').append(vertex.getLongitude()).append(']');
+        }
+        return json.append(']').toString();
+    }
+
+    public static List<SafeZoneDto.Vertex> decodeVertices(String json) {
+        List<SafeZoneDto.Vertex> vertices = new ArrayList<>();
+        if (json == null || json.isBlank()) {
+            return vertices;
+        }
+        for (JsonElement element : JsonParser.parseString(json).getAsJsonArray()) {
+            JsonArray pair = element.getAsJsonArray();
+            vertices.add(new SafeZoneDto.Vertex(Coordinate.valueOf(pair.get(0).getAsString()),
+                    Coordinate.valueOf(pair.get(1).getAsString())));
+        }
+        return vertices;
+    }
+
+    public record Zone(Long zoneId, String name, SafeZone.Effect effect) {
+    }
+
+    /**
+     * 사용자 색인 + 적재 버전 (적재를 시작할 때 매긴 번호)
+     */
+    private record Loaded(GeofenceIndex<Zone> index, long version) {
+    }
+}
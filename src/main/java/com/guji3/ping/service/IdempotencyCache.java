@@ -0,0 +1,129 @@
+package com.guji3.ping.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 긴급 신호 멱등성 키 캐시
+ * - 기기가 응답을 못 받고 같은 요청을 다시 보내면 처음 요청의 로그 ID를 돌려줌
+ * - 메모리 캐시는 TTL 동안만 유지, 그 이후(재시작 포함)는 emergency_log.idempotency_key
+ *   유니크 제약으로 확인
+ */
+@Component
+@Slf4j
+public class IdempotencyCache {
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int MAX_SCOPED_KEY_LENGTH = 200; // emergency_log.idempotency_key 컬럼 길이
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${emergency.idempotency.ttl-ms:600000}")
+    private long ttlMs;
+
+    @Value("${emergency.idempotency.wait-ms:3000}")
+    private long waitMs;
+
+    /**
+     * 기기 시리얼 범위의 멱등성 키 생성 (Idempotency-Key 헤더 우선, 없으면 기기 시퀀스 번호)
+     * - "기기시리얼:키"가 컬럼 길이를 넘지 않도록 키 길이는 시리얼 길이만큼 줄어듦
+     *
+     * @return 키가 없으면 null (멱등성 확인 안 함)
+     */
+    public static String scopedKey(String deviceSerial, String headerKey, Long sequence) {
+        String key = headerKey != null && !headerKey.isBlank()
+                ? headerKey.trim()
+                : sequence != null ? "seq-" + sequence : null;
+        if (key == null) {
+            return null;
+        }
+        int maxLength = Math.min(MAX_KEY_LENGTH, MAX_SCOPED_KEY_LENGTH - deviceSerial.length() - 1);
+        if (key.length() > maxLength) {
+            throw new IllegalArgumentException("멱등성 키는 최대 " + maxLength + "자입니다");
+        }
+        return deviceSerial + ":" + key;
+    }
+
+    /**
+     * 키 선점
+     * - 처음 보는 키면 owner=true (호출한 쪽이 로그 저장 후 complete 또는 release 호출)
+     * - 이미 있는 키면 owner=false, 처음 요청의 로그 ID를 기다릴 수 있는 future 반환
+     */
+    public Claim claim(String key) {
+        long now = System.nanoTime();
+        Entry created = new Entry();
+        Entry entry = entries.compute(key, (k, existing) ->
+                existing == null || existing.isExpired(now) ? created : existing);
+        return new Claim(entry == created, entry.logId);
+    }
+
+    /**
+     * 처음 요청의 로그 저장 완료
+     */
+    public void complete(String key, Claim claim, Long logId) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.logId == claim.logId()) {
+            entry.expiresAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        }
+        claim.logId().complete(logId);
+    }
+
+    /**
+     * 처음 요청이 실패하면 키 반납 (다음 재전송이 새로 처리되도록)
+     */
+    public void release(String key, Claim claim) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.logId == claim.logId()) {
+            entries.remove(key, entry);
+        }
+        claim.logId().completeExceptionally(new IllegalStateException("처음 요청 처리 실패"));
+    }
+
+    /**
+     * 중복 요청: 처음 요청의 로그 ID 대기
+     *
+     * @return 로그 ID, 처음 요청이 실패했거나 아직 저장 중이면 null
+     */
+    public Long await(Claim claim) {
+        try {
+            return claim.logId().get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${emergency.idempotency.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            log.debug("🧹 만료된 멱등성 키 {}건 정리", removed);
+        }
+    }
+
+    public record Claim(boolean owner, CompletableFuture<Long> logId) {
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<Long> logId = new CompletableFuture<>();
+        private volatile long expiresAtNanos;
+
+        // 저장이 끝나기 전(처리 중)에는 만료되지 않음
+        private boolean isExpired(long now) {
+            return logId.isDone() && now - expiresAtNanos >= 0;
+        }
+    }
+}
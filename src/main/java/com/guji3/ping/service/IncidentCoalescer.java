@@ -0,0 +1,239 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.util.Coordinate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 기기별 긴급 신호 병합 창
+ * - 같은 기기에서 창 안에 다시 들어온 버튼 입력은 새 파이프라인을 돌리지 않고
+ *   열려 있는 사건(EmergencyLog)에 붙임
+ * - 후속 알림까지 끝난 사건에는 붙이지 않고 새 사건으로 처리 (새 음성/좌표로 다시 알림)
+ * - 기기 시리얼 해시로 나눈 잠금 스트라이프마다 작은 HashMap을 두어
+ *   확인 비용을 최소화 (DB 조회 없음)
+ */
+@Component
+@Slf4j
+public class IncidentCoalescer {
+
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    @SuppressWarnings("unchecked")
+    private final Map<String, OpenIncident>[] incidents = new Map[STRIPES];
+
+    @Value("${emergency.coalesce.window-ms:60000}")
+    private long windowMs;
+
+    @Value("${emergency.coalesce.bind-timeout-ms:3000}")
+    private long bindTimeoutMs;
+
+    public IncidentCoalescer() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+            incidents[i] = new HashMap<>();
+        }
+    }
+
+    /**
+     * 버튼 입력 접수
+     * - 열린 사건이 있으면 붙이고 그 사건의 로그 ID를 돌려줌
+     * - 없으면 새 사건 자리를 잡고 isNew=true 반환 (호출한 쪽이 로그를 만든 뒤 bind 호출)
+     */
+    public Admission admit(String deviceSerial, Press press) {
+        if (windowMs <= 0) {
+            return new Admission(true, new CompletableFuture<>(), 1);
+        }
+
+        int stripe = stripeOf(deviceSerial);
+        long now = System.nanoTime();
+        Path discarded = null;
+        Admission admission;
+
+        locks[stripe].lock();
+        try {
+            OpenIncident incident = incidents[stripe].get(deviceSerial);
+
+            if (incident != null && !incident.finished && now - incident.expiresAtNanos < 0
+                    && !incident.logId.isCompletedExceptionally()) {
+                // 처리 중인 사건: 가장 최근 입력 하나만 남겨 후속 알림에 반영
+                incident.pressCount++;
+                if (incident.pending != null) {
+                    discarded = incident.pending.audioPath();
+                }
+                incident.pending = press;
+                admission = new Admission(false, incident.logId, incident.pressCount);
+            } else {
+                OpenIncident opened = new OpenIncident(now + TimeUnit.MILLISECONDS.toNanos(windowMs));
+                incidents[stripe].put(deviceSerial, opened);
+                admission = new Admission(true, opened.logId, 1);
+            }
+        } finally {
+            locks[stripe].unlock();
+        }
+
+        if (discarded != null) {
+            AlertIngestService.deleteQuietly(discarded);
+        }
+        if (!admission.isNew()) {
+            log.info("🔁 반복 입력 병합: 기기 {} ({}회째)", deviceSerial, admission.pressCount());
+        }
+        return admission;
+    }
+
+    /**
+     * 병합 창 길이 (ms, 0 이하면 병합 안 함)
+     */
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    /**
+     * 새 사건의 로그 ID 확정 (대기 중인 병합 요청도 이 ID를 받음)
+     */
+    public void bind(Admission admission, Long logId) {
+        admission.logId().complete(logId);
+    }
+
+    /**
+     * 병합 대상 사건의 로그 ID 대기 (먼저 들어온 입력이 아직 저장 중일 수 있음)
+     *
+     * @return 로그 ID, 사건 생성이 실패했거나 시간 초과면 null
+     */
+    public Long awaitLogId(Admission admission) {
+        try {
+            return admission.logId().get(bindTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 새 사건 생성 실패 시 자리 반납
+     */
+    public void abandon(String deviceSerial, Admission admission) {
+        admission.logId().completeExceptionally(new IllegalStateException("사건 생성 실패"));
+
+        int stripe = stripeOf(deviceSerial);
+        locks[stripe].lock();
+        try {
+            OpenIncident incident = incidents[stripe].get(deviceSerial);
+            if (incident != null && incident.logId == admission.logId()) {
+                incidents[stripe].remove(deviceSerial);
+            }
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    /**
+     * 처리 중 붙은 최신 입력 꺼내기 (후속 알림 직전 호출)
+     */
+    public Drained drainPending(String deviceSerial, Long logId) {
+        int stripe = stripeOf(deviceSerial);
+        locks[stripe].lock();
+        try {
+            OpenIncident incident = incidents[stripe].get(deviceSerial);
+            if (incident == null || !logId.equals(incident.logId.getNow(null))) {
+                return new Drained(null, 1);
+            }
+            Press pending = incident.pending;
+            incident.pending = null;
+            return new Drained(pending, incident.pressCount);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    /**
+     * 사건 처리 종료 표시 (후속 알림 발송 또는 최종 실패, 이후 입력은 새 사건으로 처리)
+     */
+    public void finish(String deviceSerial, Long logId) {
+        int stripe = stripeOf(deviceSerial);
+        Path discarded = null;
+
+        locks[stripe].lock();
+        try {
+            OpenIncident incident = incidents[stripe].get(deviceSerial);
+            if (incident != null && logId.equals(incident.logId.getNow(null))) {
+                incident.finished = true;
+                if (incident.pending != null) {
+                    discarded = incident.pending.audioPath();
+                    incident.pending = null;
+                }
+            }
+        } finally {
+            locks[stripe].unlock();
+        }
+
+        if (discarded != null) {
+            AlertIngestService.deleteQuietly(discarded);
+        }
+    }
+
+    /**
+     * 창이 끝나고 처리까지 끝난 사건 정리
+     */
+    @Scheduled(fixedDelayString = "${emergency.coalesce.sweep-interval-ms:30000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i].lock();
+            try {
+                Iterator<OpenIncident> it = incidents[i].values().iterator();
+                while (it.hasNext()) {
+                    OpenIncident incident = it.next();
+                    if (now - incident.expiresAtNanos >= 0 && (incident.finished || incident.logId.isCompletedExceptionally())) {
+                        it.remove();
+                    }
+                }
+            } finally {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    private static int stripeOf(String deviceSerial) {
+        int h = deviceSerial.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * 버튼 입력 한 번 (음성 경로는 동기 처리라면 null)
+     */
+    public record Press(Coordinate latitude, Coordinate longitude, Path audioPath) {
+    }
+
+    public record Admission(boolean isNew, CompletableFuture<Long> logId, int pressCount) {
+    }
+
+    public record Drained(Press latest, int pressCount) {
+    }
+
+    private static final class OpenIncident {
+        private final CompletableFuture<Long> logId = new CompletableFuture<>();
+        private final long expiresAtNanos;
+        private int pressCount = 1;
+        private Press pending;
+        private boolean finished;
+
+        private OpenIncident(long expiresAtNanos) {
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
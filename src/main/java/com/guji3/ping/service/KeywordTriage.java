@@ -0,0 +1,252 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.entity.EmergencyLog.DangerLevel;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 음성 인식 결과 키워드 1차 판정 (GPT 분석 전 예비 상황/위험도)
+ * - 키워드 전체를 Aho-Corasick 오토마톤 하나로 묶어 한 번 훑으면서 모두 찾음 (수 마이크로초)
+ * - 띄어쓰기는 무시하고 비교 ("살려 주세요" = "살려주세요")
+ * - 한 글자 키워드는 일상어에 섞여 오판이 많아 (칼국수, 경찰서) 두 글자 이상 구절로만 등록
+ * - 부정 문맥(EXCLUSIONS)에 포함된 키워드는 무시
+ * - 여러 상황이 걸리면 위험도가 가장 높은 상황, 같으면 먼저 등록된 상황
+ * - 오작동 표현(LOW)은 다른 키워드가 하나도 없을 때만 인정
+ */
+@Component
+public class KeywordTriage {
+
+    private static final List<Rule> RULES = List.of(
+            new Rule("납치", DangerLevel.HIGH, "납치", "끌려가", "끌고가", "잡혀가", "붙잡혀", "차에태워", "놔줘", "놓아줘"),
+            new Rule("흉기 위협", DangerLevel.HIGH, "칼로찔", "칼로위협", "칼들고", "칼을들", "칼을꺼", "칼있어", "흉기", "찔려", "찔렀"),
+            new Rule("폭행", DangerLevel.HIGH, "때리지마", "때리지말", "그만때려", "때려요", "맞고있", "나를때", "폭행",
+                    "죽여버", "죽일거", "죽이려", "죽이지마"),
+            new Rule("화재", DangerLevel.HIGH, "불이야", "불났", "불이났", "연기가나", "연기가자욱", "불타고있", "타는냄새"),
+            new Rule("응급 의료", DangerLevel.HIGH, "쓰러졌", "쓰러져", "숨을못", "숨이안", "의식이없", "의식을잃",
+                    "피가나", "피가많이", "심장이멈", "심정지", "심장마비"),
+            new Rule("스토킹", DangerLevel.HIGH, "누가따라오", "따라오고있", "계속따라", "쫓아오", "쫓아와", "스토커"),
+            new Rule("구조 요청", DangerLevel.HIGH, "살려줘", "살려주", "사람살려", "도와주세요", "도와줘", "도와달라",
+                    "신고해", "신고좀", "경찰불러", "경찰좀불러", "경찰에신고", "119불러", "112불러", "119에신고", "112에신고"),
+            new Rule("사고", DangerLevel.MEDIUM, "사고났", "사고가났", "다쳤", "다쳐서", "넘어졌", "부딪혔", "부딪쳤"),
+            new Rule("길 잃음", DangerLevel.MEDIUM, "길을잃", "여기가어디", "어딘지모르", "집에못가"),
+            new Rule("오작동 추정", DangerLevel.LOW, "테스트", "잘못눌", "실수로", "장난"));
+
+    /**
+     * 부정 문맥: 이 표현 안에 들어간 키워드는 판정에서 뺌 ("도와줘서 고마워", "신고해서 처리됐어")
+     */
+    private static final List<String> EXCLUSIONS = List.of("도와줘서", "신고해서", "장난감");
+
+    private final Automaton automaton = new Automaton(RULES, EXCLUSIONS);
+
+    /**
+     * 키워드 판정 (걸린 키워드가 없으면 Triage.NONE)
+     */
+    public Triage classify(String text) {
+        if (text == null || text.isBlank()) {
+            return Triage.NONE;
+        }
+
+        boolean[] hit = automaton.scan(text);
+        Rule best = null;
+        Set<String> matched = new LinkedHashSet<>();
+        for (int i = 0; i < RULES.size(); i++) {
+            if (!hit[i]) {
+                continue;
+            }
+            Rule rule = RULES.get(i);
+            matched.add(rule.situation);
+            if (best == null || rule.dangerLevel.ordinal() < best.dangerLevel.ordinal()) {
+                best = rule;
+            }
+        }
+        if (best == null) {
+            return Triage.NONE;
+        }
+        return new Triage(best.situation, best.dangerLevel, List.copyOf(matched));
+    }
+
+    /**
+     * 판정 결과
+     *
+     * @param situations 걸린 상황 전체 (대표 상황 포함)
+     */
+    public record Triage(String situation, DangerLevel dangerLevel, List<String> situations) {
+
+        public static final Triage NONE = new Triage(null, null, List.of());
+
+        public boolean matched() {
+            return dangerLevel != null;
+        }
+    }
+
+    private record Rule(String situation, DangerLevel dangerLevel, String... keywords) {
+    }
+
+    /**
+     * Aho-Corasick 오토마톤 (문자 단위 goto/fail, 노드별 출력은 패턴 번호 목록)
+     */
+    private static final class Automaton {
+
+        private static final int EXCLUSION = -1;
+
+        private final List<Node> nodes = new ArrayList<>();
+        private final List<int[]> patterns = new ArrayList<>(); // {규칙 번호 (부정 문맥은 -1), 길이}
+        private final int ruleCount;
+
+        private Automaton(List<Rule> rules, List<String> exclusions) {
+            ruleCount = rules.size();
+            nodes.add(new Node());
+            for (int r = 0; r < rules.size(); r++) {
+                for (String keyword : rules.get(r).keywords) {
+                    insert(keyword, r);
+                }
+            }
+            for (String exclusion : exclusions) {
+                insert(exclusion, EXCLUSION);
+            }
+            link();
+        }
+
+        private void insert(String keyword, int rule) {
+            int state = 0;
+            int length = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    continue;
+                }
+                int next = nodes.get(state).child(c);
+                if (next < 0) {
+                    next = nodes.size();
+                    nodes.add(new Node());
+                    nodes.get(state).put(c, next);
+                }
+                state = next;
+                length++;
+            }
+            nodes.get(state).outputs = append(nodes.get(state).outputs, patterns.size());
+            patterns.add(new int[]{rule, length});
+        }
+
+        /**
+         * 실패 링크 연결 (BFS), 실패 링크 쪽 출력을 미리 합쳐 두어 검색 시 따라갈 필요 없음
+         */
+        private void link() {
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            Node root = nodes.get(0);
+            for (int i = 0; i < root.size; i++) {
+                queue.add(root.targets[i]);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                Node node = nodes.get(state);
+                for (int i = 0; i < node.size; i++) {
+                    char c = node.labels[i];
+                    int child = node.targets[i];
+                    int fail = node.fail;
+                    while (fail > 0 && nodes.get(fail).child(c) < 0) {
+                        fail = nodes.get(fail).fail;
+                    }
+                    int target = nodes.get(fail).child(c);
+                    Node childNode = nodes.get(child);
+                    childNode.fail = target >= 0 && target != child ? target : 0;
+                    for (int pattern : nodes.get(childNode.fail).outputs) {
+                        childNode.outputs = append(childNode.outputs, pattern);
+                    }
+                    queue.add(child);
+                }
+            }
+        }
+
+        /**
+         * 규칙별 적중 여부 (부정 문맥 구간 안에 완전히 들어간 키워드는 제외)
+         * 위치는 공백을 뺀 글자 기준
+         */
+        private boolean[] scan(String text) {
+            List<int[]> hits = new ArrayList<>(); // {규칙 번호, 시작, 끝}
+            List<int[]> excluded = new ArrayList<>(); // {시작, 끝}
+            int state = 0;
+            int position = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    continue;
+                }
+                int next;
+                while ((next = nodes.get(state).child(c)) < 0 && state != 0) {
+                    state = nodes.get(state).fail;
+                }
+                state = Math.max(next, 0);
+                for (int pattern : nodes.get(state).outputs) {
+                    int[] p = patterns.get(pattern);
+                    int start = position - p[1] + 1;
+                    if (p[0] == EXCLUSION) {
+                        excluded.add(new int[]{start, position});
+                    } else {
+                        hits.add(new int[]{p[0], start, position});
+                    }
+                }
+                position++;
+            }
+
+            boolean[] hit = new boolean[ruleCount];
+            for (int[] h : hits) {
+                if (!covered(excluded, h[1], h[2])) {
+                    hit[h[0]] = true;
+                }
+            }
+            return hit;
+        }
+
+        private static boolean covered(List<int[]> excluded, int start, int end) {
+            for (int[] span : excluded) {
+                if (span[0] <= start && end <= span[1]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static int[] append(int[] array, int value) {
+            int[] grown = Arrays.copyOf(array, array.length + 1);
+            grown[array.length] = value;
+            return grown;
+        }
+    }
+
+    /**
+     * 오토마톤 노드 (자식은 정렬된 문자 배열에서 이진 탐색)
+     */
+    private static final class Node {
+
+        private char[] labels = new char[0];
+        private int[] targets = new int[0];
+        private int size;
+        private int fail;
+        private int[] outputs = new int[0];
+
+        private int child(char c) {
+            int index = Arrays.binarySearch(labels, 0, size, c);
+            return index >= 0 ? targets[index] : -1;
+        }
+
+        private void put(char c, int target) {
+            int index = -(Arrays.binarySearch(labels, 0, size, c) + 1);
+            if (size == labels.length) {
+                labels = Arrays.copyOf(labels, Math.max(2, size * 2));
+                targets = Arrays.copyOf(targets, Math.max(2, size * 2));
+            }
+            System.arraycopy(labels, index, labels, index + 1, size - index);
+            System.arraycopy(targets, index, targets, index + 1, size - index);
+            labels[index] = c;
+            targets[index] = target;
+            size++;
+        }
+    }
+}
@@ -1,89 +1,126 @@
 package com.guji3.ping.service;
 
-import com.google.gson.Gson;
+import com.guji3.ping.util.Coordinate;
+import com.guji3.ping.util.UpstreamJson;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class LocationService {
 
+    // 대한민국 좌표 범위 (위도 33.0 ~ 38.6, 경도 124.0 ~ 132.0)
+    private static final Coordinate MIN_LATITUDE = Coordinate.valueOf("33.0");
+    private static final Coordinate MAX_LATITUDE = Coordinate.valueOf("38.6");
+    private static final Coordinate MIN_LONGITUDE = Coordinate.valueOf("124.0");
+    private static final Coordinate MAX_LONGITUDE = Coordinate.valueOf("132.0");
+
     @Value("${google.maps.api.key:}")
     private String googleMapsApiKey;
 
-    private final HttpClient httpClient = HttpClient.newHttpClient();
-    private final Gson gson = new Gson();
+    @Value("${google.maps.api.base-url:https://maps.googleapis.com}")
+    private String googleMapsBaseUrl;
+
+    private final HttpClient httpClient;
+    private final GeocodeCache geocodeCache;
+    private final OfflineGeocoder offlineGeocoder;
 
     /**
      * GPS 좌표 → 주소 변환 (Google Maps Geocoding API)
+     * - 같은 격자 칸을 최근에 변환했으면 캐시 결과 사용
+     * - 오프라인 색인이 primary면 Google Maps 없이 행정구역 주소 사용
+     * - 실패하면 fallbackAddress (행정구역 주소 또는 좌표 표기)
      */
-    public String getAddressFromCoordinates(BigDecimal latitude, BigDecimal longitude) {
-        try {
-            if (googleMapsApiKey == null || googleMapsApiKey.isEmpty()) {
-                log.warn("⚠️ Google Maps API Key가 설정되지 않음. 좌표만 반환합니다.");
-                return String.format("위도: %s, 경도: %s", latitude, longitude);
+    public String getAddressFromCoordinates(Coordinate latitude, Coordinate longitude) {
+        if (offlineGeocoder.isPrimary()) {
+            String region = offlineGeocoder.resolve(latitude, longitude);
+            if (region != null) {
+                return withCoordinates(region, latitude, longitude);
             }
+        }
 
-            String url = String.format(
-                    "https://maps.googleapis.com/maps/api/geocode/json?latlng=%s,%s&key=%s&language=ko",
-                    latitude, longitude, googleMapsApiKey
-            );
+        if (googleMapsApiKey == null || googleMapsApiKey.isEmpty()) {
+            log.warn("⚠️ Google Maps API Key가 설정되지 않음. 오프라인 주소/좌표로 대체합니다.");
+            return fallbackAddress(latitude, longitude);
+        }
 
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .GET()
-                    .build();
+        try {
+            String address = geocodeCache.get(latitude, longitude, () -> requestAddress(latitude, longitude));
+            return address != null ? address : fallbackAddress(latitude, longitude);
+        } catch (Exception e) {
+            log.error("❌ 주소 변환 오류", e);
+            return fallbackAddress(latitude, longitude);
+        }
+    }
 
-            HttpResponse<String> response = httpClient.send(request,
-                    HttpResponse.BodyHandlers.ofString());
+    /**
+     * Google Maps 없이 쓸 수 있는 주소 (오프라인 색인의 행정구역 + 좌표, 색인 밖이면 좌표만)
+     * - 주소 변환이 예산 안에 끝나지 않았을 때도 사용
+     */
+    public String fallbackAddress(Coordinate latitude, Coordinate longitude) {
+        String region = offlineGeocoder.resolve(latitude, longitude);
+        return region != null ? withCoordinates(region, latitude, longitude) : formatCoordinates(latitude, longitude);
+    }
 
-            Map<String, Object> result = gson.fromJson(response.body(), Map.class);
+    /**
+     * Google Maps 호출 (결과가 없으면 null)
+     */
+    private String requestAddress(Coordinate latitude, Coordinate longitude) throws Exception {
+        String url = String.format(
+                "%s/maps/api/geocode/json?latlng=%s,%s&key=%s&language=ko",
+                googleMapsBaseUrl, latitude, longitude, googleMapsApiKey
+        );
 
-            if ("OK".equals(result.get("status"))) {
-                java.util.List<Map<String, Object>> results =
-                        (java.util.List<Map<String, Object>>) result.get("results");
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .GET()
+                .build();
 
-                if (!results.isEmpty()) {
-                    String address = (String) results.get(0).get("formatted_address");
-                    log.info("📍 주소 변환 완료: {}", address);
-                    return address;
-                }
-            }
+        HttpResponse<String> response = httpClient.send(request,
+                HttpResponse.BodyHandlers.ofString());
 
-            log.warn("⚠️ 주소 변환 실패. 좌표 반환: {}, {}", latitude, longitude);
-            return String.format("위도: %s, 경도: %s", latitude, longitude);
+        UpstreamJson.Geocode result = UpstreamJson.geocode(response.body());
 
-        } catch (Exception e) {
-            log.error("❌ 주소 변환 오류", e);
-            return String.format("위도: %s, 경도: %s", latitude, longitude);
+        if (result.ok()) {
+            log.info("📍 주소 변환 완료: {}", result.formattedAddress());
+            return result.formattedAddress();
         }
+
+        log.warn("⚠️ 주소 변환 실패 ({}). 좌표 반환: {}, {}", result.status(), latitude, longitude);
+        return null;
+    }
+
+    /**
+     * 주소 변환 실패 시 사용하는 좌표 표기
+     */
+    public String formatCoordinates(Coordinate latitude, Coordinate longitude) {
+        return String.format("위도: %s, 경도: %s", latitude, longitude);
+    }
+
+    private String withCoordinates(String region, Coordinate latitude, Coordinate longitude) {
+        return String.format("%s 부근 (%s)", region, formatCoordinates(latitude, longitude));
     }
 
     /**
      * 간단한 좌표 검증
      */
-    public boolean isValidCoordinates(BigDecimal latitude, BigDecimal longitude) {
+    public boolean isValidCoordinates(Coordinate latitude, Coordinate longitude) {
         if (latitude == null || longitude == null) {
             return false;
         }
 
         // 대한민국 좌표 범위 대략 검증
-        // 위도: 33.0 ~ 38.6, 경도: 124.0 ~ 132.0
-        return latitude.compareTo(BigDecimal.valueOf(33.0)) >= 0 &&
-                latitude.compareTo(BigDecimal.valueOf(38.6)) <= 0 &&
-                longitude.compareTo(BigDecimal.valueOf(124.0)) >= 0 &&
-                longitude.compareTo(BigDecimal.valueOf(132.0)) <= 0;
+        return latitude.isBetween(MIN_LATITUDE, MAX_LATITUDE) &&
+                longitude.isBetween(MIN_LONGITUDE, MAX_LONGITUDE);
     }
 }
\ No newline at end of file
@@ -0,0 +1,418 @@
+package com.guji3.ping.service;
+
+import com.google.gson.Gson;
+import com.guji3.ping.dto.LocationUpdateDto;
+import com.guji3.ping.entity.EmergencyLog;
+import com.guji3.ping.entity.LocationFix;
+import com.guji3.ping.repository.EmergencyLogRepository;
+import com.guji3.ping.repository.LocationFixRepository;
+import com.guji3.ping.util.Coordinate;
+import com.guji3.ping.util.LocationRing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 긴급 사건 실시간 위치 추적
+ * - 기기가 보낸 위치는 사건별 링 버퍼(LocationRing)에만 넣고 바로 구독 중인 보호자에게 전달
+ * - DB에는 주기적으로 모든 사건의 새 위치를 모아 한 번에 저장 (위치 한 건마다 쓰지 않음)
+ * - 저장 전에 링 버퍼가 한 바퀴 돌면 덮어쓴 위치는 저장되지 않음 (ping.tracking.dropped)
+ * - 사건은 위치/구독 요청이 처음 올 때 열고, 일정 시간 위치가 없거나 추적 기간이 지나면 닫음
+ * - 보호자 구독은 사건별 키(HMAC)로 확인 (1차 알림 문자의 추적 링크에 포함)
+ */
+@Service
+@Slf4j
+public class LocationTrackingService {
+
+    private final EmergencyLogRepository logRepository;
+    private final LocationFixRepository fixRepository;
+    private final GeofenceService geofenceService;
+    private final Map<Long, Track> tracks = new ConcurrentHashMap<>();
+    private final Gson gson = new Gson();
+
+    private final Counter received;
+    private final Counter flushed;
+    private final Counter dropped;
+    private final Timer flushTimer;
+
+    @Value("${emergency.tracking.enabled:true}")
+    private boolean enabled;
+
+    // 사건당 메모리에 두는 최근 위치 수
+    @Value("${emergency.tracking.ring-capacity:120}")
+    private int ringCapacity;
+
+    @Value("${emergency.tracking.max-tracks:10000}")
+    private int maxTracks;
+
+    @Value("${emergency.tracking.max-subscribers:20}")
+    private int maxSubscribers;
+
+    // 한 번에 저장하는 최대 위치 수 (넘으면 여러 번에 나눠 저장)
+    @Value("${emergency.tracking.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    @Value("${emergency.tracking.idle-timeout-ms:600000}")
+    private long idleTimeoutMs;
+
+    // 신호 접수 후 이 시간이 지난 사건은 추적하지 않음
+    @Value("${emergency.tracking.max-duration-ms:7200000}")
+    private long maxDurationMs;
+
+    // 보호자용 추적 페이지 주소 (비우면 1차 알림에 링크를 넣지 않음)
+    @Value("${emergency.tracking.link-base-url:}")
+    private String linkBaseUrl;
+
+    @Value("${emergency.tracking.secret:${jwt.secret:}}")
+    private String secret;
+
+    public LocationTrackingService(EmergencyLogRepository logRepository, LocationFixRepository fixRepository,
+                                   GeofenceService geofenceService, MeterRegistry meterRegistry) {
+        this.logRepository = logRepository;
+        this.fixRepository = fixRepository;
+        this.geofenceService = geofenceService;
+        received = Counter.builder("ping.tracking.fixes").tag("result", "received").register(meterRegistry);
+        flushed = Counter.builder("ping.tracking.fixes").tag("result", "flushed").register(meterRegistry);
+        dropped = Counter.builder("ping.tracking.fixes").tag("result", "dropped").register(meterRegistry);
+        flushTimer = Timer.builder("ping.tracking.flush").register(meterRegistry);
+        Gauge.builder("ping.tracking.active", tracks, Map::size).register(meterRegistry);
+        Gauge.builder("ping.tracking.subscribers", tracks,
+                        map -> map.values().stream().mapToInt(track -> track.listeners.size()).sum())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 기기 위치 기록
+     *
+     * @return 받아들인 위치 수 (좌표가 잘못된 항목은 제외)
+     */
+    public int record(String deviceSerial, Long logId, List<LocationUpdateDto.Fix> fixes) {
+        if (deviceSerial == null || logId == null || fixes == null || fixes.isEmpty()) {
+            throw new IllegalArgumentException("deviceSerial, logId, fixes가 필요합니다");
+        }
+        Track track = open(logId);
+        if (!deviceSerial.equals(track.deviceSerial)) {
+            throw new IllegalArgumentException("이 사건의 기기가 아닙니다");
+        }
+
+        int accepted = 0;
+        long now = System.currentTimeMillis();
+        for (LocationUpdateDto.Fix fix : fixes) {
+            if (fix == null || fix.getLatitude() == null || fix.getLongitude() == null
+                    || !fix.getLatitude().isValidLatitude() || !fix.getLongitude().isValidLongitude()) {
+                continue;
+            }
+            // 미래 시각(기기 시계 오류)은 수신 시각으로
+            long capturedAt = fix.getCapturedAt() != null && fix.getCapturedAt() <= now ? fix.getCapturedAt() : now;
+            GeofenceService.Zone zone = geofenceService.locate(track.userId, fix.getLatitude(), fix.getLongitude());
+            track.append(fix.getLatitude(), fix.getLongitude(), capturedAt, zone != null ? zone.name() : null);
+            accepted++;
+        }
+        received.increment(accepted);
+        return accepted;
+    }
+
+    /**
+     * 보호자 구독 (지금까지의 최근 위치를 먼저 보내고, 이후 위치를 들어오는 대로 전달)
+     *
+     * @return 구독 취소 (연결이 끊기면 호출)
+     */
+    public Runnable subscribe(Long logId, String key, Listener listener) {
+        if (!isValidKey(logId, key)) {
+            throw new IllegalArgumentException("추적 링크가 올바르지 않습니다");
+        }
+        Track track = open(logId);
+        if (track.listeners.size() >= maxSubscribers) {
+            throw new IllegalStateException("이 사건을 보고 있는 보호자가 너무 많습니다");
+        }
+        track.subscribe(listener);
+        log.info("🛰️ 실시간 위치 구독: 로그 ID {} (구독 {}명)", logId, track.listeners.size());
+        return () -> track.listeners.remove(listener);
+    }
+
+    /**
+     * 추적 링크 키 확인 (상태 조회 등 링크를 받은 보호자만 볼 수 있는 곳에서도 사용)
+     */
+    public boolean isValidKey(Long logId, String key) {
+        return logId != null && key != null && MessageDigest.isEqual(
+                trackingKey(logId).getBytes(StandardCharsets.US_ASCII), key.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 1차 알림 문자에 넣을 보호자용 추적 링크 (주소를 설정하지 않았거나 추적이 꺼져 있으면 null)
+     */
+    public String trackingUrl(Long logId) {
+        if (!enabled || linkBaseUrl == null || linkBaseUrl.isBlank()) {
+            return null;
+        }
+        return linkBaseUrl + (linkBaseUrl.contains("?") ? "&" : "?") + "logId=" + logId + "&key=" + trackingKey(logId);
+    }
+
+    /**
+     * 새 위치를 모아 한 번에 저장하고, 끝난 사건은 닫음
+     */
+    @Scheduled(fixedDelayString = "${emergency.tracking.flush-interval-ms:5000}")
+    public void flush() {
+        if (tracks.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        List<LocationFix> batch = new ArrayList<>();
+        List<Flushed> marks = new ArrayList<>();
+        for (Track track : tracks.values()) {
+            track.drain(batch, marks, dropped);
+            if (batch.size() >= flushBatchSize) {
+                save(batch, marks);
+            }
+        }
+        save(batch, marks);
+        flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        LocalDateTime expiredBefore = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(maxDurationMs));
+        for (Track track : tracks.values()) {
+            boolean idle = System.nanoTime() - track.lastActivityNanos > idleNanos;
+            boolean expired = track.createdAt.isBefore(expiredBefore);
+            // 아직 저장하지 못한 위치가 있으면 다음 주기에 다시 시도
+            if ((idle || expired) && track.isFlushed()) {
+                tracks.remove(track.logId, track);
+                track.close(idle ? "위치 전송이 끊겼습니다" : "추적 기간이 끝났습니다");
+                log.info("🛰️ 실시간 위치 추적 종료: 로그 ID {} ({})", track.logId, idle ? "위치 없음" : "기간 만료");
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void save(List<LocationFix> batch, List<Flushed> marks) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            fixRepository.saveAll(batch);
+            marks.forEach(mark -> mark.track().markFlushed(mark.seq()));
+            flushed.increment(batch.size());
+        } catch (RuntimeException e) {
+            // 링 버퍼에 남아 있으므로 다음 주기에 다시 저장
+            log.warn("⚠️ 위치 기록 저장 실패 ({}건), 다음 주기에 재시도: {}", batch.size(), e.getMessage());
+        } finally {
+            batch.clear();
+            marks.clear();
+        }
+    }
+
+    private Track open(Long logId) {
+        Track track = tracks.get(logId);
+        if (track != null) {
+            return track;
+        }
+        if (!enabled) {
+            throw new IllegalStateException("실시간 위치 추적이 꺼져 있습니다");
+        }
+        if (tracks.size() >= maxTracks) {
+            throw new IllegalStateException("동시에 추적 중인 사건이 너무 많습니다");
+        }
+        EmergencyLog entry = logRepository.findById(logId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사건입니다: " + logId));
+        if (entry.getCreatedAt() != null
+                && entry.getCreatedAt().isBefore(LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(maxDurationMs)))) {
+            throw new IllegalArgumentException("추적 기간이 지난 사건입니다: " + logId);
+        }
+
+        Track created = new Track(logId, entry.getDeviceSerial(), entry.getUser().getUserId(),
+                entry.getCreatedAt() != null ? entry.getCreatedAt() : LocalDateTime.now(), ringCapacity);
+        // 서버 재시작 등으로 닫혔던 사건이면 저장된 최근 위치부터 이어감
+        List<LocationFix> recent = fixRepository.findByLogIdOrderByFixIdDesc(logId, PageRequest.of(0, ringCapacity));
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            LocationFix fix = recent.get(i);
+            created.ring.append(fix.getLatitude(), fix.getLongitude(),
+                    fix.getCapturedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        created.flushedSeq = created.ring.lastSeq();
+
+        Track existing = tracks.putIfAbsent(logId, created);
+        if (existing == null) {
+            log.info("🛰️ 실시간 위치 추적 시작: 로그 ID {} (저장된 위치 {}건)", logId, recent.size());
+        }
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * 사건별 추적 키 (링크만 있으면 로그인 없이 구독 가능, 다른 사건 번호로는 쓸 수 없음)
+     */
+    private String trackingKey(Long logId) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] digest = mac.doFinal(("track:" + logId).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 18));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("추적 키를 만들 수 없습니다", e);
+        }
+    }
+
+    /**
+     * 보호자 연결 (WebSocket 세션 등), 메시지는 JSON 문자열
+     */
+    public interface Listener {
+
+        void onMessage(String json);
+
+        void onClosed(String reason);
+    }
+
+    private record Flushed(Track track, long seq) {
+    }
+
+    private final class Track {
+
+        private final Long logId;
+        private final String deviceSerial;
+        private final Long userId;
+        private final LocalDateTime createdAt;
+        private final LocationRing ring;
+        private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+        private volatile long lastActivityNanos = System.nanoTime();
+        private long flushedSeq;
+        private String zoneName;
+
+        private Track(Long logId, String deviceSerial, Long userId, LocalDateTime createdAt, int capacity) {
+            this.logId = logId;
+            this.deviceSerial = deviceSerial;
+            this.userId = userId;
+            this.createdAt = createdAt;
+            this.ring = new LocationRing(capacity);
+        }
+
+        private void append(Coordinate latitude, Coordinate longitude, long capturedAt, String zone) {
+            long seq;
+            String previousZone;
+            synchronized (this) {
+                seq = ring.append(latitude, longitude, capturedAt);
+                previousZone = zoneName;
+                zoneName = zone;
+                lastActivityNanos = System.nanoTime();
+            }
+            // 보는 사람이 없으면 직렬화도 하지 않음
+            if (listeners.isEmpty()) {
+                return;
+            }
+            if (!Objects.equals(previousZone, zone)) {
+                Map<String, Object> event = new HashMap<>();
+                event.put("type", "zone");
+                event.put("entered", zone);
+                event.put("left", previousZone);
+                broadcast(gson.toJson(event));
+            }
+            broadcast(gson.toJson(fixMessage("fix", seq, latitude.e8(), longitude.e8(), capturedAt, zone)));
+        }
+
+        private void subscribe(Listener listener) {
+            List<Map<String, Object>> fixes = new ArrayList<>();
+            String currentZone;
+            synchronized (this) {
+                currentZone = zoneName;
+                ring.forEachSince(0, (seq, latitude, longitude, capturedAt) ->
+                        fixes.add(fixMessage(null, seq, latitude, longitude, capturedAt, null)));
+                // 스냅샷과 이후 위치 사이에 빠지는 것이 없도록 같은 잠금 안에서 등록
+                listeners.add(listener);
+            }
+            Map<String, Object> snapshot = new HashMap<>();
+            snapshot.put("type", "snapshot");
+            snapshot.put("logId", logId);
+            snapshot.put("zoneName", currentZone);
+            snapshot.put("fixes", fixes);
+            listener.onMessage(gson.toJson(snapshot));
+        }
+
+        private synchronized void drain(List<LocationFix> batch, List<Flushed> marks, Counter droppedCounter) {
+            if (ring.lastSeq() == flushedSeq) {
+                return;
+            }
+            // 저장 전에 덮어쓴 위치는 되살릴 수 없으므로 저장한 것으로 넘김 (재시도 때 다시 세지 않도록)
+            long lost = ring.firstSeq() - flushedSeq - 1;
+            if (lost > 0) {
+                droppedCounter.increment(lost);
+                flushedSeq += lost;
+            }
+            ring.forEachSince(flushedSeq, (seq, latitude, longitude, capturedAt) -> batch.add(LocationFix.builder()
+                    .logId(logId)
+                    .latitude(Coordinate.ofE8(latitude))
+                    .longitude(Coordinate.ofE8(longitude))
+                    .capturedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(capturedAt), ZoneId.systemDefault()))
+                    .build()));
+            marks.add(new Flushed(this, ring.lastSeq()));
+        }
+
+        private synchronized void markFlushed(long seq) {
+            flushedSeq = Math.max(flushedSeq, seq);
+        }
+
+        private synchronized boolean isFlushed() {
+            return ring.lastSeq() == flushedSeq;
+        }
+
+        private void broadcast(String json) {
+            for (Listener listener : listeners) {
+                try {
+                    listener.onMessage(json);
+                } catch (RuntimeException e) {
+                    listeners.remove(listener);
+                    log.warn("⚠️ 실시간 위치 전송 실패, 구독 해제: 로그 ID {} ({})", logId, e.getMessage());
+                }
+            }
+        }
+
+        private void close(String reason) {
+            for (Listener listener : listeners) {
+                listener.onClosed(reason);
+            }
+            listeners.clear();
+        }
+
+        private Map<String, Object> fixMessage(String type, long seq, long latitude, long longitude,
+                                               long capturedAt, String zone) {
+            Map<String, Object> message = new HashMap<>();
+            if (type != null) {
+                message.put("type", type);
+            }
+            message.put("seq", seq);
+            message.put("latitude", Coordinate.ofE8(latitude));
+            message.put("longitude", Coordinate.ofE8(longitude));
+            message.put("capturedAt", capturedAt);
+            if (zone != null) {
+                message.put("zoneName", zone);
+            }
+            return message;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.entity.EmergencyContact;
+import com.guji3.ping.entity.NotificationOutbox;
+import com.guji3.ping.repository.EmergencyLogRepository;
+import com.guji3.ping.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 알림 아웃박스
+ * - stage(): 긴급 로그 기록 트랜잭션 안에서 발송할 알림을 저장
+ * - dispatch(): 커밋 후 트랜잭션 없이 실제 발송
+ * - relayStale(): 발송되지 못하고 남은 알림을 주기적으로 재발송
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class NotificationOutboxService {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final EmergencyLogRepository logRepository;
+    private final NotificationService notificationService;
+
+    @Value("${notification.outbox.retry-after-ms:30000}")
+    private long retryAfterMs;
+
+    @Value("${notification.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * 알림 적재 (호출한 쪽 트랜잭션에 참여하여 로그 기록과 함께 커밋)
+     * - 재처리로 같은 단계가 다시 들어오면 아직 발송되지 않은 알림만 돌려줌
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<NotificationOutbox> stage(Long logId, NotificationOutbox.Phase phase,
+                                          List<EmergencyContact> contacts, String message) {
+
+        if (outboxRepository.existsByLogIdAndPhase(logId, phase)) {
+            return outboxRepository.findByLogIdAndPhaseAndStatus(
+                    logId, phase, NotificationOutbox.Status.PENDING);
+        }
+
+        List<NotificationOutbox> rows = contacts.stream()
+                .map(c -> NotificationOutbox.builder()
+                        .logId(logId)
+                        .phase(phase)
+                        .contactName(c.getContactName())
+                        .contactPhone(c.getContactPhone())
+                        .message(message)
+                        .build())
+                .collect(Collectors.toList());
+
+        return outboxRepository.saveAll(rows);
+    }
+
+    /**
+     * 적재된 알림 발송 (반드시 트랜잭션 밖에서 호출)
+     *
+     * @return 전화번호별 발송 성공 여부 (다른 쪽이 먼저 선점한 알림은 제외)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Boolean> dispatch(List<NotificationOutbox> rows) {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+
+        for (NotificationOutbox row : rows) {
+            if (outboxRepository.claim(row.getOutboxId(),
+                    NotificationOutbox.Status.PENDING, NotificationOutbox.Status.SENDING) == 0) {
+                continue;
+            }
+
+            boolean success = notificationService.sendSms(
+                    row.getContactPhone(), row.getContactName(), row.getMessage());
+
+            if (success) {
+                outboxRepository.markResult(row.getOutboxId(), NotificationOutbox.Status.SENT,
+                        LocalDateTime.now(), null);
+            } else {
+                NotificationOutbox.Status next = row.getAttempts() + 1 >= maxAttempts
+                        ? NotificationOutbox.Status.FAILED
+                        : NotificationOutbox.Status.PENDING;
+                outboxRepository.markResult(row.getOutboxId(), next, null, "SMS 발송 실패");
+            }
+            results.put(row.getContactPhone(), success);
+        }
+
+        if (!results.isEmpty()) {
+            recordPhase(rows.get(0));
+        }
+        return results;
+    }
+
+    /**
+     * 발송되지 못하고 남은 알림 재발송 (서버 중단, SMS 게이트웨이 오류 등)
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:10000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void relayStale() {
+        LocalDateTime before = LocalDateTime.now().minusNanos(retryAfterMs * 1_000_000L);
+        List<NotificationOutbox> stale = outboxRepository
+                .findTop100ByStatusAndCreatedAtBeforeOrderByOutboxIdAsc(NotificationOutbox.Status.PENDING, before);
+
+        if (stale.isEmpty()) {
+            return;
+        }
+        log.warn("📮 미발송 알림 {}건 재발송", stale.size());
+
+        // 로그/단계별로 묶어 발송해야 단계별 발송 기록이 맞게 남음
+        stale.stream()
+                .collect(Collectors.groupingBy(o -> o.getLogId() + ":" + o.getPhase(),
+                        LinkedHashMap::new, Collectors.toList()))
+                .values()
+                .forEach(this::dispatch);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recoverInFlight() {
+        int recovered = outboxRepository.resetStatus(
+                NotificationOutbox.Status.SENDING, NotificationOutbox.Status.PENDING);
+        if (recovered > 0) {
+            log.warn("♻️ 발송 중이던 알림 {}건을 대기 상태로 복구", recovered);
+        }
+    }
+
+    /**
+     * 단계별 발송 시각/성공 여부를 긴급 로그에 기록
+     * - 시각은 처음 발송했을 때만 기록 (재발송은 첫 알림까지 걸린 시간을 바꾸지 않음)
+     * - 성공 여부는 그 단계의 알림이 모두 발송되었는지로 판단 (일부만 재발송해도 전체 결과 반영)
+     */
+    private void recordPhase(NotificationOutbox sample) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean success = outboxRepository.countByLogIdAndPhaseAndStatusNot(
+                sample.getLogId(), sample.getPhase(), NotificationOutbox.Status.SENT) == 0;
+        if (sample.getPhase() == NotificationOutbox.Phase.LOCATION_ALERT) {
+            logRepository.recordFirstNotification(sample.getLogId(), now, success);
+        } else {
+            logRepository.recordFollowUp(sample.getLogId(), now, success);
+        }
+    }
+}
@@ -2,19 +2,17 @@ package com.guji3.ping.service;
 
 import com.google.gson.Gson;
 import com.guji3.ping.entity.EmergencyContact;
+import com.guji3.ping.entity.EmergencyLog;
+import com.guji3.ping.util.Coordinate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -33,65 +31,69 @@ public class NotificationService {
     @Value("${naver.cloud.sms.from-number:}")
     private String fromNumber;
 
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final HttpClient httpClient;
     private final Gson gson = new Gson();
 
     /**
-     * 긴급 SMS 발송 (네이버 클라우드 SMS API)
+     * 1차 알림 메시지: 위치만 담아 연락처 조회 직후 바로 발송
      */
-    public boolean sendEmergencySms(EmergencyContact contact, String userName,
-                                    BigDecimal latitude, BigDecimal longitude,
-                                    String address, String situation) {
-        try {
-            String message = String.format(
-                    "[긴급 SOS] %s님의 긴급 신호가 발생했습니다!\n\n" +
-                            "📍 위치: %s\n" +
-                            "🚨 상황: %s\n" +
-                            "📞 연락처: %s\n\n" +
-                            "즉시 확인 후 경찰(112) 또는 소방(119)에 신고해주세요!",
-                    userName, address, situation, contact.getContactPhone()
-            );
+    public String buildLocationAlertMessage(String userName, Coordinate latitude, Coordinate longitude,
+                                            String address, String zoneName, String trackingUrl) {
+        return String.format(
+                "[긴급 SOS] %s님의 긴급 신호가 발생했습니다!\n\n" +
+                        "📍 위치: %s\n" +
+                        "%s" +
+                        "🗺️ 지도: https://maps.google.com/?q=%s,%s\n" +
+                        "%s\n" +
+                        "상황 분석 결과는 이어서 보내드립니다.\n" +
+                        "즉시 확인 후 경찰(112) 또는 소방(119)에 신고해주세요!",
+                userName, address, zoneName != null ? "🏠 등록 구역: " + zoneName + " 안\n" : "",
+                latitude, longitude, trackingUrl != null ? "🛰️ 실시간 위치: " + trackingUrl + "\n" : ""
+        );
+    }
 
-            log.info("📤 SMS 발송 시작: {} → {}", fromNumber, contact.getContactPhone());
+    /**
+     * 2차 알림 메시지: AI 상황 분석과 위험도가 나온 뒤 후속 발송
+     */
+    public String buildSituationUpdateMessage(String userName, String address, String situation,
+                                              EmergencyLog.DangerLevel dangerLevel, String analysis,
+                                              int pressCount) {
+        String message = String.format(
+                "[긴급 SOS 후속] %s님의 상황 분석 결과입니다.\n\n" +
+                        "🚨 상황: %s (위험도: %s)\n" +
+                        "📝 분석: %s\n" +
+                        "📍 위치: %s",
+                userName, situation, dangerLevel.getDescription(), analysis, address
+        );
+
+        // 병합 창 안에서 여러 번 눌렀다면 최신 위치 기준임을 함께 안내
+        if (pressCount > 1) {
+            message += String.format("\n🔁 SOS 버튼 %d회 입력 (최신 위치 기준)", pressCount);
+        }
+        return message;
+    }
+
+    /**
+     * 단건 SMS 발송 (알림 아웃박스 릴레이에서 호출)
+     */
+    public boolean sendSms(String contactPhone, String contactName, String message) {
+        try {
+            log.info("📤 SMS 발송 시작: {} → {}", fromNumber, contactPhone);
 
             // 네이버 클라우드 SMS API 호출
             // (실제 구현은 네이버 클라우드 문서 참고)
             // 해커톤에서는 로그만 출력
+            log.debug("✉️ 메시지 내용:\n{}", message);
 
-            log.info("✅ SMS 발송 완료: {}", contact.getContactName());
+            log.info("✅ SMS 발송 완료: {}", contactName);
             return true;
 
         } catch (Exception e) {
-            log.error("❌ SMS 발송 실패: {}", contact.getContactName(), e);
+            log.error("❌ SMS 발송 실패: {}", contactName, e);
             return false;
         }
     }
 
-    /**
-     * 여러 연락처에 일괄 발송
-     */
-    public Map<String, Boolean> sendBulkEmergencySms(
-            List<EmergencyContact> contacts,
-            String userName,
-            BigDecimal latitude,
-            BigDecimal longitude,
-            String address,
-            String situation) {
-
-        Map<String, Boolean> results = new HashMap<>();
-
-        for (EmergencyContact contact : contacts) {
-            boolean success = sendEmergencySms(contact, userName,
-                    latitude, longitude, address, situation);
-            results.put(contact.getContactPhone(), success);
-        }
-
-        long successCount = results.values().stream().filter(v -> v).count();
-        log.info("📊 SMS 발송 완료: 성공 {}/{}", successCount, contacts.size());
-
-        return results;
-    }
-
     /**
      * 이메일 발송 (선택사항)
      */
@@ -0,0 +1,82 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.util.Coordinate;
+import com.guji3.ping.util.RegionIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * 오프라인 주소 변환 (행정구역 경계 색인, 시/도 → 시/군/구 → 읍/면/동)
+ * - Google Maps 키가 없거나 느리거나 실패했을 때도 "위도: …, 경도: …" 대신 동 단위 주소를 보호자에게 전달
+ * - mode=primary면 Google Maps보다 먼저 사용 (외부 호출 없이 마이크로초 단위)
+ * - 색인 파일은 ./gradlew buildRegionIndex로 행정구역 경계 GeoJSON에서 생성
+ */
+@Component
+@Slf4j
+public class OfflineGeocoder {
+
+    private final Counter resolved;
+    private final Counter unresolved;
+
+    @Value("${location.offline-geocoder.index-file:}")
+    private String indexFile;
+
+    @Value("${location.offline-geocoder.mode:fallback}")
+    private String mode;
+
+    private volatile RegionIndex index;
+
+    public OfflineGeocoder(MeterRegistry meterRegistry) {
+        resolved = Counter.builder("ping.geocode.offline").tag("result", "resolved").register(meterRegistry);
+        unresolved = Counter.builder("ping.geocode.offline").tag("result", "unresolved").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (indexFile == null || indexFile.isBlank()) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            index = RegionIndex.open(Path.of(indexFile));
+            log.info("🗺️ 행정구역 색인 로드: 구역 {}개, {}ms (모드 {})",
+                    index.size(), (System.nanoTime() - started) / 1_000_000, mode);
+        } catch (Exception e) {
+            log.warn("⚠️ 행정구역 색인을 열 수 없어 오프라인 주소 변환 비활성화: {}", e.getMessage());
+        }
+    }
+
+    public boolean isAvailable() {
+        return index != null;
+    }
+
+    /**
+     * Google Maps보다 먼저 사용하는지
+     */
+    public boolean isPrimary() {
+        return index != null && "primary".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * 좌표가 속한 행정구역 주소, 색인이 없거나 경계 밖이면 null
+     */
+    public String resolve(Coordinate latitude, Coordinate longitude) {
+        RegionIndex current = index;
+        if (current == null || latitude == null || longitude == null) {
+            return null;
+        }
+        int region = current.find(latitude.degrees(), longitude.degrees());
+        if (region < 0) {
+            unresolved.increment();
+            return null;
+        }
+        resolved.increment();
+        return current.address(region);
+    }
+}
@@ -0,0 +1,220 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.entity.EmergencyLog.DangerLevel;
+import com.guji3.ping.util.VirtualThreads;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 위험도 우선순위 작업 스케줄러 (음성 인식, GPT 분석, 알림 발송 단계)
+ * - 위험도(HIGH/MEDIUM/LOW)별 FIFO 큐를 두고, 워커는 가장 급한 작업부터 처리
+ * - 오래 기다린 작업은 aging-ms마다 한 단계씩 올라가 LOW도 굶지 않음
+ * - 알림 발송은 별도 워커(레인)에서 처리: 몇 초씩 걸리는 음성 인식/GPT 작업 뒤에서
+ *   1차 위치 알림이 기다리지 않도록 (레인 안에서는 같은 위험도 우선순위)
+ * - 위험도/단계별 큐 대기 시간을 ping.pipeline.queue.wait 메트릭으로 기록
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriorityScheduler {
+
+    public static final String NOTIFICATION_STAGE = "notification";
+
+    private static final DangerLevel[] LEVELS = DangerLevel.values(); // HIGH, MEDIUM, LOW 순
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${emergency.priority.threads:16}")
+    private int threads;
+
+    @Value("${emergency.priority.notification-threads:4}")
+    private int notificationThreads;
+
+    @Value("${emergency.priority.aging-ms:2000}")
+    private long agingMs;
+
+    @Value("${emergency.threads.virtual:false}")
+    private boolean virtualThreads;
+
+    private final ConcurrentHashMap<String, Timer> waitTimers = new ConcurrentHashMap<>();
+
+    private Lane analysisLane;
+    private Lane notificationLane;
+
+    @PostConstruct
+    public void start() {
+        analysisLane = new Lane("analysis", threads);
+        notificationLane = new Lane(NOTIFICATION_STAGE, notificationThreads);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        analysisLane.stop();
+        notificationLane.stop();
+    }
+
+    /**
+     * 위험도/단계가 정해진 실행기 (CompletableFuture.*Async에 넘겨서 사용)
+     */
+    public Executor executor(DangerLevel priority, String stage) {
+        return command -> submit(priority, stage, command);
+    }
+
+    public void submit(DangerLevel priority, String stage, Runnable command) {
+        DangerLevel level = priority != null ? priority : DangerLevel.MEDIUM;
+        (NOTIFICATION_STAGE.equals(stage) ? notificationLane : analysisLane)
+                .submit(new Task(level, stage, System.nanoTime(), command));
+    }
+
+    /**
+     * 대기 시간을 반영한 우선순위 (작을수록 먼저, aging-ms마다 한 단계씩 올라감)
+     */
+    public long effectiveRank(DangerLevel priority, long waitedNanos) {
+        long promoted = agingMs > 0 ? waitedNanos / TimeUnit.MILLISECONDS.toNanos(agingMs) : 0;
+        return priority.ordinal() - promoted;
+    }
+
+    /**
+     * 큐 대기 시간 기록 (접수 큐처럼 이 스케줄러 밖에서 기다린 경우도 포함)
+     */
+    public void recordWait(DangerLevel priority, String stage, Duration waited) {
+        waitTimers.computeIfAbsent(tagOf(priority) + ":" + stage, key -> Timer.builder("ping.pipeline.queue.wait")
+                        .description("위험도/단계별 작업 대기 시간")
+                        .tag("priority", tagOf(priority))
+                        .tag("stage", stage)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry))
+                .record(waited);
+    }
+
+    private static String tagOf(DangerLevel priority) {
+        return priority.name().toLowerCase();
+    }
+
+    private record Task(DangerLevel priority, String stage, long enqueuedNanos, Runnable command) {
+    }
+
+    /**
+     * 워커 묶음 하나 (위험도별 큐 + 워커 스레드)
+     */
+    private final class Lane {
+
+        @SuppressWarnings("unchecked")
+        private final ArrayDeque<Task>[] queues = new ArrayDeque[LEVELS.length];
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final ExecutorService workers;
+        private volatile boolean running = true;
+
+        private Lane(String name, int threads) {
+            for (int i = 0; i < LEVELS.length; i++) {
+                ArrayDeque<Task> queue = new ArrayDeque<>();
+                queues[i] = queue;
+                Gauge.builder("ping.pipeline.queue.depth", queue, ArrayDeque::size)
+                        .tag("priority", tagOf(LEVELS[i]))
+                        .tag("lane", name)
+                        .register(meterRegistry);
+            }
+
+            if (virtualThreads && VirtualThreads.isSupported()) {
+                workers = VirtualThreads.newPerTaskExecutor();
+            } else {
+                AtomicInteger threadNo = new AtomicInteger();
+                workers = Executors.newFixedThreadPool(threads, r -> {
+                    Thread t = new Thread(r, "priority-" + name + "-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+            for (int i = 0; i < threads; i++) {
+                workers.execute(this::workLoop);
+            }
+        }
+
+        private void stop() throws InterruptedException {
+            running = false;
+            workers.shutdownNow();
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        private void submit(Task task) {
+            lock.lock();
+            try {
+                queues[task.priority().ordinal()].addLast(task);
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void workLoop() {
+            while (running) {
+                Task task;
+                try {
+                    task = take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                recordWait(task.priority(), task.stage(), Duration.ofNanos(System.nanoTime() - task.enqueuedNanos()));
+                try {
+                    task.command().run();
+                } catch (Throwable e) {
+                    // CompletableFuture 작업은 예외를 future로 넘기므로 여기까지 오면 로그만 남김
+                    log.error("❌ 우선순위 작업 실패 ({} / {})", task.stage(), task.priority(), e);
+                }
+            }
+        }
+
+        /**
+         * 각 위험도 큐의 맨 앞(가장 오래 기다린 작업) 중 실효 우선순위가 가장 높은 작업을 꺼냄
+         * (같으면 원래 위험도가 높은 쪽)
+         */
+        private Task take() throws InterruptedException {
+            lock.lock();
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    ArrayDeque<Task> best = null;
+                    long bestRank = Long.MAX_VALUE;
+                    for (ArrayDeque<Task> queue : queues) {
+                        Task head = queue.peekFirst();
+                        if (head == null) {
+                            continue;
+                        }
+                        long rank = effectiveRank(head.priority(), now - head.enqueuedNanos());
+                        if (rank < bestRank) {
+                            bestRank = rank;
+                            best = queue;
+                        }
+                    }
+                    if (best != null) {
+                        return best.pollFirst();
+                    }
+                    notEmpty.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.dto.SafeZoneDto;
+import com.guji3.ping.entity.SafeZone;
+import com.guji3.ping.entity.User;
+import com.guji3.ping.repository.SafeZoneRepository;
+import com.guji3.ping.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class SafeZoneService {
+
+    // 사용자당 구역 수 / 다각형 꼭짓점 수 / 원 반지름 제한
+    private static final int MAX_ZONES = 10;
+    private static final int MAX_VERTICES = 200;
+    private static final int MAX_RADIUS_METERS = 10_000;
+
+    private final SafeZoneRepository zoneRepository;
+    private final UserRepository userRepository;
+    private final GeofenceService geofenceService;
+
+    /**
+     * 구역 추가
+     */
+    @Transactional
+    public SafeZone addZone(Long userId, SafeZoneDto dto) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다"));
+
+        if (zoneRepository.countByUser_UserId(userId) >= MAX_ZONES) {
+            throw new IllegalArgumentException("구역은 최대 " + MAX_ZONES + "개까지 등록 가능합니다");
+        }
+
+        SafeZone zone = SafeZone.builder().user(user).build();
+        apply(zone, dto);
+        SafeZone saved = zoneRepository.save(zone);
+        reloadAfterCommit(userId);
+
+        log.info("🏠 구역 추가: {} - {} ({})", user.getName(), saved.getName(), saved.getShape());
+        return saved;
+    }
+
+    /**
+     * 사용자의 모든 구역 조회
+     */
+    public List<SafeZone> getZones(Long userId) {
+        return zoneRepository.findByUser_UserIdOrderByZoneIdAsc(userId);
+    }
+
+    /**
+     * 구역 수정
+     */
+    @Transactional
+    public SafeZone updateZone(Long userId, Long zoneId, SafeZoneDto dto) {
+        SafeZone zone = findOwned(userId, zoneId);
+        apply(zone, dto);
+        reloadAfterCommit(userId);
+
+        log.info("✏️ 구역 수정: ID {}", zoneId);
+        return zone;
+    }
+
+    /**
+     * 구역 삭제
+     */
+    @Transactional
+    public void deleteZone(Long userId, Long zoneId) {
+        zoneRepository.delete(findOwned(userId, zoneId));
+        reloadAfterCommit(userId);
+
+        log.info("🗑️ 구역 삭제: ID {}", zoneId);
+    }
+
+    private SafeZone findOwned(Long userId, Long zoneId) {
+        SafeZone zone = zoneRepository.findById(zoneId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 구역입니다"));
+
+        // 다른 사용자의 구역은 수정 불가
+        if (!zone.getUser().getUserId().equals(userId)) {
+            throw new IllegalArgumentException("권한이 없습니다");
+        }
+        return zone;
+    }
+
+    private static void apply(SafeZone zone, SafeZoneDto dto) {
+        zone.setName(dto.getName());
+        zone.setShape(dto.getShape());
+        zone.setEffect(dto.getEffect() != null ? dto.getEffect() : SafeZone.Effect.LOWER_PRIORITY);
+        zone.setIsActive(dto.getIsActive() == null || dto.getIsActive());
+
+        if (dto.getShape() == SafeZone.Shape.CIRCLE) {
+            if (dto.getLatitude() == null || dto.getLongitude() == null
+                    || !dto.getLatitude().isValidLatitude() || !dto.getLongitude().isValidLongitude()) {
+                throw new IllegalArgumentException("원형 구역은 올바른 중심 좌표가 필요합니다");
+            }
+            if (dto.getRadiusMeters() == null || dto.getRadiusMeters() <= 0 || dto.getRadiusMeters() > MAX_RADIUS_METERS) {
+                throw new IllegalArgumentException("반지름은 1~" + MAX_RADIUS_METERS + "m 사이여야 합니다");
+            }
+            zone.setCenterLatitude(dto.getLatitude());
+            zone.setCenterLongitude(dto.getLongitude());
+            zone.setRadiusMeters(dto.getRadiusMeters());
+            zone.setVertices(null);
+        } else {
+            List<SafeZoneDto.Vertex> vertices = dto.getVertices();
+            if (vertices == null || vertices.size() < 3 || vertices.size() > MAX_VERTICES) {
+                throw new IllegalArgumentException("다각형 구역은 꼭짓점이 3~" + MAX_VERTICES + "개여야 합니다");
+            }
+            for (SafeZoneDto.Vertex vertex : vertices) {
+                if (vertex.getLatitude() == null || vertex.getLongitude() == null
+                        || !vertex.getLatitude().isValidLatitude() || !vertex.getLongitude().isValidLongitude()) {
+                    throw new IllegalArgumentException("꼭짓점 좌표가 올바르지 않습니다");
+                }
+            }
+            zone.setCenterLatitude(null);
+            zone.setCenterLongitude(null);
+            zone.setRadiusMeters(null);
+            zone.setVertices(GeofenceService.encodeVertices(vertices));
+        }
+    }
+
+    // 커밋된 내용으로 판정 색인을 다시 만들도록 (롤백되면 그대로)
+    private void reloadAfterCommit(Long userId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                geofenceService.reload(userId);
+            }
+        });
+    }
+}
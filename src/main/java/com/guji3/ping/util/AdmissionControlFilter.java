@@ -0,0 +1,107 @@
+package com.guji3.ping.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.guji3.ping.exception.ErrorResponse;
+import com.guji3.ping.service.AdmissionControl;
+import com.guji3.ping.service.AdmissionControl.TrafficClass;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * 입장 제어 필터 (보안/인증보다 먼저 실행되어 과부하 시 DB 조회 전에 차단)
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        TrafficClass trafficClass = classify(request);
+
+        if (!admissionControl.tryEnter(trafficClass)) {
+            log.warn("🚦 요청 차단 ({} - {}, 부하 {}): {} {}", trafficClass, trafficClass.getDescription(),
+                    admissionControl.getPressure(), request.getMethod(), request.getRequestURI());
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            admissionControl.leave(trafficClass);
+            if (trafficClass == TrafficClass.ALERT && isSynchronousAlert(response)) {
+                admissionControl.recordAlertLatency((System.nanoTime() - start) / 1_000_000);
+            }
+        }
+    }
+
+    /**
+     * 요청 등급 분류
+     * - ALERT: 실제 긴급 신호와 진행 중 사건의 실시간 위치 (항상 통과)
+     * - DEFERRABLE: 이력 조회, 연락처 수정, 테스트 신호
+     * - STANDARD: 그 밖의 요청 (로그인, 상태 조회 등)
+     */
+    static TrafficClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+
+        if (path.startsWith("/emergency/alert") || path.startsWith("/emergency/stream")
+                || path.startsWith("/emergency/track")) {
+            return TrafficClass.ALERT;
+        }
+        if (path.startsWith("/logs")
+                || path.startsWith("/emergency/test-alert")
+                || (path.startsWith("/contacts") && !"GET".equals(method))) {
+            return TrafficClass.DEFERRABLE;
+        }
+        return TrafficClass.STANDARD;
+    }
+
+    /**
+     * 비동기 접수(202)는 처리 완료 시점이 아니므로 워커에서 따로 기록
+     */
+    private static boolean isSynchronousAlert(HttpServletResponse response) {
+        return response.getStatus() == HttpStatus.OK.value();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .success(false)
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message("긴급 신호 처리량이 많아 잠시 후 다시 시도해주세요")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", admissionControl.getPressure() == AdmissionControl.Pressure.CRITICAL ? "30" : "5");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
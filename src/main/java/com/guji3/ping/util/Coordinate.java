@@ -0,0 +1,244 @@
+package com.guji3.ping.util;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 위도/경도 한 축 (1e-8도 단위 고정소수점 long, 불변)
+ * - DB 컬럼(scale 8)과 같은 정밀도라 BigDecimal과 오가도 값이 바뀌지 않음
+ * - 알림 한 건, 위치 한 번마다 BigDecimal 생성/compareTo 대신 long 비교와 double 계산만 사용
+ * - JSON(Gson/Jackson)과 요청 파라미터에서는 숫자 그대로 읽고 씀 (valueOf(String)으로 바인딩)
+ */
+@JsonAdapter(Coordinate.GsonAdapter.class)
+public final class Coordinate implements Comparable<Coordinate> {
+
+    public static final int SCALE = 8;
+    public static final long UNIT = 100_000_000L; // 1도
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double RADIANS_PER_UNIT = Math.PI / 180 / UNIT;
+
+    private final long e8;
+
+    private Coordinate(long e8) {
+        this.e8 = e8;
+    }
+
+    public static Coordinate ofE8(long e8) {
+        return new Coordinate(e8);
+    }
+
+    public static Coordinate ofDegrees(double degrees) {
+        if (!Double.isFinite(degrees)) {
+            throw new NumberFormatException("좌표가 유한한 수가 아닙니다: " + degrees);
+        }
+        return new Coordinate(Math.round(degrees * UNIT));
+    }
+
+    /**
+     * BigDecimal → 좌표 (소수 8자리 넘는 부분은 DB 저장과 같게 반올림)
+     */
+    public static Coordinate of(BigDecimal degrees) {
+        if (degrees == null) {
+            return null;
+        }
+        return new Coordinate(degrees.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * "37.5665", "-126.97801234" 같은 십진 표기를 BigDecimal 없이 읽음 (소수 9자리부터는 반올림)
+     * - 지수 표기("3.75E1")만 BigDecimal로 처리
+     *
+     * @throws NumberFormatException 숫자가 아니거나 범위를 넘으면
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Coordinate valueOf(String text) {
+        if (text == null) {
+            return null;
+        }
+        String value = text.trim();
+        int length = value.length();
+        int i = 0;
+        boolean negative = false;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            negative = value.charAt(i) == '-';
+            i++;
+        }
+        long whole = 0;
+        int wholeDigits = 0;
+        for (; i < length && isDigit(value.charAt(i)); i++) {
+            // 정수부는 좌표 범위(±180)보다 충분히 큰 곳에서 자름
+            if (++wholeDigits > 9) {
+                throw new NumberFormatException("좌표 범위를 넘었습니다: " + text);
+            }
+            whole = whole * 10 + (value.charAt(i) - '0');
+        }
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        if (i < length && value.charAt(i) == '.') {
+            i++;
+            for (; i < length && isDigit(value.charAt(i)); i++) {
+                if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + (value.charAt(i) - '0');
+                } else if (fractionDigits == SCALE) {
+                    roundUp = value.charAt(i) >= '5';
+                }
+                fractionDigits++;
+            }
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            return ofExponent(value, text);
+        }
+        if (i != length || wholeDigits + fractionDigits == 0) {
+            throw new NumberFormatException("좌표 형식이 아닙니다: " + text);
+        }
+        for (int d = Math.min(fractionDigits, SCALE); d < SCALE; d++) {
+            fraction *= 10;
+        }
+        long e8 = whole * UNIT + fraction + (roundUp ? 1 : 0);
+        return new Coordinate(negative ? -e8 : e8);
+    }
+
+    /**
+     * 지수 표기 (자릿수를 먼저 확인해 "1e999999999" 같은 값으로 큰 수를 만들지 않음)
+     */
+    private static Coordinate ofExponent(String value, String text) {
+        BigDecimal parsed = new BigDecimal(value);
+        int integerDigits = parsed.precision() - parsed.scale();
+        if (integerDigits > 9) {
+            throw new NumberFormatException("좌표 범위를 넘었습니다: " + text);
+        }
+        // 소수 9자리보다 작은 값은 반올림해도 0
+        return integerDigits < -SCALE ? new Coordinate(0) : of(parsed);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    public long e8() {
+        return e8;
+    }
+
+    public double degrees() {
+        return (double) e8 / UNIT;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(e8, SCALE);
+    }
+
+    /**
+     * from 이상 to 이하인지 (검증 범위는 미리 만들어 둔 상수로)
+     */
+    public boolean isBetween(Coordinate from, Coordinate to) {
+        return e8 >= from.e8 && e8 <= to.e8;
+    }
+
+    public boolean isValidLatitude() {
+        return e8 >= -90 * UNIT && e8 <= 90 * UNIT;
+    }
+
+    public boolean isValidLongitude() {
+        return e8 >= -180 * UNIT && e8 <= 180 * UNIT;
+    }
+
+    /**
+     * 두 지점 사이 대원 거리 (haversine, 미터)
+     */
+    public static double distanceMeters(Coordinate latitude1, Coordinate longitude1,
+                                        Coordinate latitude2, Coordinate longitude2) {
+        return distanceMeters(latitude1.e8, longitude1.e8, latitude2.e8, longitude2.e8);
+    }
+
+    /**
+     * 1e-8도 단위 값으로 바로 계산 (객체 없이 배열로 들고 있는 좌표용)
+     */
+    public static double distanceMeters(long latitude1, long longitude1, long latitude2, long longitude2) {
+        double phi1 = latitude1 * RADIANS_PER_UNIT;
+        double phi2 = latitude2 * RADIANS_PER_UNIT;
+        double sinPhi = Math.sin((latitude2 - latitude1) * RADIANS_PER_UNIT / 2);
+        double sinLambda = Math.sin((longitude2 - longitude1) * RADIANS_PER_UNIT / 2);
+        double h = sinPhi * sinPhi + Math.cos(phi1) * Math.cos(phi2) * sinLambda * sinLambda;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    @Override
+    public int compareTo(Coordinate other) {
+        return Long.compare(e8, other.e8);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Coordinate other && other.e8 == e8;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(e8);
+    }
+
+    /**
+     * 뒤쪽 0을 뺀 십진 표기 (예: 37.5665, 127) - 지도 링크와 메시지에 그대로 사용
+     */
+    @Override
+    public String toString() {
+        long abs = Math.abs(e8);
+        long whole = abs / UNIT;
+        long fraction = abs % UNIT;
+        StringBuilder text = new StringBuilder(20);
+        if (e8 < 0) {
+            text.append('-');
+        }
+        text.append(whole);
+        if (fraction != 0) {
+            int digits = SCALE;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            text.append('.');
+            String fractionText = Long.toString(fraction);
+            for (int pad = fractionText.length(); pad < digits; pad++) {
+                text.append('0');
+            }
+            text.append(fractionText);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Gson에서 숫자(또는 숫자 문자열)로 읽고 숫자로 씀
+     */
+    public static final class GsonAdapter extends TypeAdapter<Coordinate> {
+
+        @Override
+        public void write(JsonWriter out, Coordinate value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+            } else {
+                out.value(value.toBigDecimal());
+            }
+        }
+
+        @Override
+        public Coordinate read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return valueOf(in.nextString());
+        }
+    }
+}
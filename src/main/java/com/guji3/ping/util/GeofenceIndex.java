@@ -0,0 +1,185 @@
+package com.guji3.ping.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 한 사용자의 구역(원/다각형) 묶음 (불변, Builder로 생성)
+ * - 좌표는 마이크로도(도 x 1,000,000) 정수 배열로 평평하게 들고 있어 조회 중 할당 없음
+ * - 조회: bbox로 거른 뒤 원은 평면 근사 거리(수 km 이하에서 오차 무시 가능), 다각형은 even-odd 판정
+ * - 여러 구역이 겹치면 rank가 큰 구역 (같으면 먼저 추가한 구역)
+ *
+ * @param <T> 구역마다 돌려줄 값 (조회 결과로 그대로 반환)
+ */
+public final class GeofenceIndex<T> {
+
+    private static final double METERS_PER_MICRO = 6_371_008.8 * Math.PI / 180 / 1_000_000;
+
+    private static final GeofenceIndex<?> EMPTY = new GeofenceIndex<>(new Builder<>());
+
+    private final Object[] zones;
+    private final int[] ranks;
+    private final int[] bounds;       // 구역마다 minX(경도), minY(위도), maxX, maxY
+    private final double[] circles;   // 구역마다 중심 경도, 중심 위도, cos(중심 위도), 반지름² (다각형이면 NaN)
+    private final int[][] polygons;   // 구역마다 [경도, 위도, 경도, 위도, ...] (원이면 null)
+
+    private GeofenceIndex(Builder<T> builder) {
+        int count = builder.zones.size();
+        zones = builder.zones.toArray();
+        ranks = new int[count];
+        bounds = new int[count * 4];
+        circles = new double[count * 4];
+        polygons = new int[count][];
+        for (int i = 0; i < count; i++) {
+            Shape shape = builder.shapes.get(i);
+            ranks[i] = shape.rank;
+            System.arraycopy(shape.bounds, 0, bounds, i * 4, 4);
+            System.arraycopy(shape.circle, 0, circles, i * 4, 4);
+            polygons[i] = shape.polygon;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> GeofenceIndex<T> empty() {
+        return (GeofenceIndex<T>) EMPTY;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public int size() {
+        return zones.length;
+    }
+
+    /**
+     * 좌표가 속한 구역, 어디에도 없으면 null
+     */
+    public T find(Coordinate latitude, Coordinate longitude) {
+        int zone = findIndex(toMicro(latitude.e8()), toMicro(longitude.e8()));
+        return zone >= 0 ? zone(zone) : null;
+    }
+
+    /**
+     * 마이크로도 좌표로 조회 (구역 번호, 없으면 -1)
+     */
+    public int findIndex(int latitudeMicro, int longitudeMicro) {
+        int x = longitudeMicro;
+        int y = latitudeMicro;
+        int best = -1;
+        for (int i = 0; i < ranks.length; i++) {
+            if (best >= 0 && ranks[i] <= ranks[best]) {
+                continue;
+            }
+            int at = i * 4;
+            if (x < bounds[at] || y < bounds[at + 1] || x > bounds[at + 2] || y > bounds[at + 3]) {
+                continue;
+            }
+            if (polygons[i] != null ? insidePolygon(polygons[i], x, y) : insideCircle(at, x, y)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T zone(int index) {
+        return (T) zones[index];
+    }
+
+    private boolean insideCircle(int at, int x, int y) {
+        double dx = (x - circles[at]) * circles[at + 2] * METERS_PER_MICRO;
+        double dy = (y - circles[at + 1]) * METERS_PER_MICRO;
+        return dx * dx + dy * dy <= circles[at + 3];
+    }
+
+    /**
+     * even-odd 판정 (RegionIndex와 같은 방식, 변이 y를 가로지르고 교점이 x보다 오른쪽이면 뒤집음)
+     */
+    private static boolean insidePolygon(int[] ring, int x, int y) {
+        boolean inside = false;
+        int count = ring.length / 2;
+        long px = ring[(count - 1) * 2];
+        long py = ring[(count - 1) * 2 + 1];
+        for (int i = 0; i < count; i++) {
+            long cx = ring[i * 2];
+            long cy = ring[i * 2 + 1];
+            if ((cy > y) != (py > y)) {
+                long lhs = (x - cx) * (py - cy);
+                long rhs = (px - cx) * (y - cy);
+                if (py - cy > 0 ? lhs < rhs : lhs > rhs) {
+                    inside = !inside;
+                }
+            }
+            px = cx;
+            py = cy;
+        }
+        return inside;
+    }
+
+    private static int toMicro(long e8) {
+        return Math.toIntExact(Math.floorDiv(e8 + 50, 100));
+    }
+
+    public static final class Builder<T> {
+
+        private final List<T> zones = new ArrayList<>();
+        private final List<Shape> shapes = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 원형 구역 (반지름은 평면 근사가 맞는 수십 km 이하)
+         */
+        public Builder<T> addCircle(T zone, int rank, Coordinate latitude, Coordinate longitude, double radiusMeters) {
+            if (!(radiusMeters > 0)) {
+                throw new IllegalArgumentException("반지름은 0보다 커야 합니다: " + radiusMeters);
+            }
+            int x = toMicro(longitude.e8());
+            int y = toMicro(latitude.e8());
+            double cos = Math.cos(Math.toRadians(latitude.degrees()));
+            int dy = (int) Math.ceil(radiusMeters / METERS_PER_MICRO);
+            int dx = (int) Math.min(Integer.MAX_VALUE / 4, Math.ceil(radiusMeters / (METERS_PER_MICRO * Math.max(cos, 1e-6))));
+            Shape shape = new Shape(rank, new int[]{x - dx, y - dy, x + dx, y + dy},
+                    new double[]{x, y, cos, radiusMeters * radiusMeters}, null);
+            zones.add(zone);
+            shapes.add(shape);
+            return this;
+        }
+
+        /**
+         * 다각형 구역 (꼭짓점 3개 이상, 닫는 점은 생략 가능)
+         */
+        public Builder<T> addPolygon(T zone, int rank, List<Coordinate> latitudes, List<Coordinate> longitudes) {
+            if (latitudes.size() != longitudes.size() || latitudes.size() < 3) {
+                throw new IllegalArgumentException("다각형은 꼭짓점 3개 이상이어야 합니다");
+            }
+            int[] ring = new int[latitudes.size() * 2];
+            int[] box = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+            for (int i = 0; i < latitudes.size(); i++) {
+                int x = toMicro(longitudes.get(i).e8());
+                int y = toMicro(latitudes.get(i).e8());
+                ring[i * 2] = x;
+                ring[i * 2 + 1] = y;
+                box[0] = Math.min(box[0], x);
+                box[1] = Math.min(box[1], y);
+                box[2] = Math.max(box[2], x);
+                box[3] = Math.max(box[3], y);
+            }
+            double[] noCircle = new double[4];
+            Arrays.fill(noCircle, Double.NaN);
+            zones.add(zone);
+            shapes.add(new Shape(rank, box, noCircle, ring));
+            return this;
+        }
+
+        public GeofenceIndex<T> build() {
+            return zones.isEmpty() ? empty() : new GeofenceIndex<>(this);
+        }
+    }
+
+    private record Shape(int rank, int[] bounds, double[] circle, int[] polygon) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.guji3.ping.util;
+
+/**
+ * 좌표 → geohash 문자열 (base32)
+ * - 자리수가 같으면 같은 격자 칸, 앞자리가 같을수록 가까운 위치
+ * - 자리수별 칸 크기(적도 기준): 6자리 약 1.2km x 0.6km, 7자리 153m x 153m, 8자리 38m x 19m, 9자리 4.8m x 4.8m
+ */
+public final class Geohash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    public static final int MAX_PRECISION = 12;
+
+    private Geohash() {
+    }
+
+    /**
+     * @param precision 자리수 (1~12)
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("geohash 자리수는 1~" + MAX_PRECISION + ": " + precision);
+        }
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        char[] hash = new char[precision];
+        boolean lngBit = true;
+        for (int i = 0; i < precision; i++) {
+            int index = 0;
+            for (int bit = 0; bit < 5; bit++) {
+                // 경도/위도 비트를 번갈아 가며 범위를 반으로 좁힘
+                if (lngBit) {
+                    double mid = (minLng + maxLng) / 2;
+                    if (longitude >= mid) {
+                        index = index << 1 | 1;
+                        minLng = mid;
+                    } else {
+                        index <<= 1;
+                        maxLng = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (latitude >= mid) {
+                        index = index << 1 | 1;
+                        minLat = mid;
+                    } else {
+                        index <<= 1;
+                        maxLat = mid;
+                    }
+                }
+                lngBit = !lngBit;
+            }
+            hash[i] = BASE32[index];
+        }
+        return new String(hash);
+    }
+}
@@ -0,0 +1,182 @@
+package com.guji3.ping.util;
+
+/**
+ * 조각으로 도착하는 JSON 객체에서 최상위 필드를 완성되는 즉시 꺼내는 파서 (GPT 스트리밍 응답용)
+ * - feed로 받은 문자를 한 글자씩 상태 기계로 처리하므로 전체 응답을 모을 필요 없음
+ * - 문자열 값은 이스케이프(\n, \", \\uXXXX 등)를 풀어서, 숫자/true/null은 원문 그대로,
+ *   중첩 객체/배열은 원문 JSON 그대로 전달 (null 리터럴은 null)
+ * - 첫 '{' 앞의 글자(```json 같은 코드 블록 표시)는 무시
+ */
+public final class JsonFieldStreamParser {
+
+    private final FieldListener listener;
+    private final StringBuilder buffer = new StringBuilder();
+
+    private State state = State.START;
+    private String key;
+    private boolean stringIsKey;
+    private boolean escape;
+    private int unicodeRemaining;
+    private int unicodeValue;
+    private int nestedDepth;
+    private boolean nestedInString;
+
+    public JsonFieldStreamParser(FieldListener listener) {
+        this.listener = listener;
+    }
+
+    public void feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length(); i++) {
+            accept(chunk.charAt(i));
+        }
+    }
+
+    /**
+     * 객체를 닫는 '}'까지 받았는지
+     */
+    public boolean isComplete() {
+        return state == State.DONE;
+    }
+
+    private void accept(char c) {
+        switch (state) {
+            case START -> {
+                if (c == '{') {
+                    state = State.EXPECT_KEY;
+                }
+            }
+            case EXPECT_KEY -> {
+                if (c == '"') {
+                    startString(true);
+                } else if (c == '}') {
+                    state = State.DONE;
+                }
+            }
+            case STRING -> readString(c);
+            case EXPECT_COLON -> {
+                if (c == ':') {
+                    state = State.EXPECT_VALUE;
+                }
+            }
+            case EXPECT_VALUE -> {
+                if (c == '"') {
+                    startString(false);
+                } else if (c == '{' || c == '[') {
+                    buffer.setLength(0);
+                    buffer.append(c);
+                    nestedDepth = 1;
+                    nestedInString = false;
+                    escape = false;
+                    state = State.NESTED;
+                } else if (!Character.isWhitespace(c)) {
+                    buffer.setLength(0);
+                    buffer.append(c);
+                    state = State.LITERAL;
+                }
+            }
+            case LITERAL -> {
+                if (c == ',' || c == '}' || Character.isWhitespace(c)) {
+                    String literal = buffer.toString();
+                    emit("null".equals(literal) ? null : literal);
+                    state = State.AFTER_VALUE;
+                    accept(c);
+                } else {
+                    buffer.append(c);
+                }
+            }
+            case NESTED -> readNested(c);
+            case AFTER_VALUE -> {
+                if (c == ',') {
+                    state = State.EXPECT_KEY;
+                } else if (c == '}') {
+                    state = State.DONE;
+                }
+            }
+            case DONE -> {
+                // 닫힌 뒤의 글자(코드 블록 끝 표시 등)는 무시
+            }
+        }
+    }
+
+    private void startString(boolean isKey) {
+        buffer.setLength(0);
+        stringIsKey = isKey;
+        escape = false;
+        unicodeRemaining = 0;
+        state = State.STRING;
+    }
+
+    private void readString(char c) {
+        if (unicodeRemaining > 0) {
+            unicodeValue = unicodeValue * 16 + Character.digit(c, 16);
+            if (--unicodeRemaining == 0) {
+                buffer.append((char) unicodeValue);
+            }
+            return;
+        }
+        if (escape) {
+            escape = false;
+            switch (c) {
+                case 'n' -> buffer.append('\n');
+                case 't' -> buffer.append('\t');
+                case 'r' -> buffer.append('\r');
+                case 'b' -> buffer.append('\b');
+                case 'f' -> buffer.append('\f');
+                case 'u' -> {
+                    unicodeRemaining = 4;
+                    unicodeValue = 0;
+                }
+                default -> buffer.append(c); // \" \\ \/
+            }
+            return;
+        }
+        if (c == '\\') {
+            escape = true;
+        } else if (c == '"') {
+            if (stringIsKey) {
+                key = buffer.toString();
+                state = State.EXPECT_COLON;
+            } else {
+                emit(buffer.toString());
+                state = State.AFTER_VALUE;
+            }
+        } else {
+            buffer.append(c);
+        }
+    }
+
+    private void readNested(char c) {
+        buffer.append(c);
+        if (nestedInString) {
+            if (escape) {
+                escape = false;
+            } else if (c == '\\') {
+                escape = true;
+            } else if (c == '"') {
+                nestedInString = false;
+            }
+            return;
+        }
+        if (c == '"') {
+            nestedInString = true;
+        } else if (c == '{' || c == '[') {
+            nestedDepth++;
+        } else if ((c == '}' || c == ']') && --nestedDepth == 0) {
+            emit(buffer.toString());
+            state = State.AFTER_VALUE;
+        }
+    }
+
+    private void emit(String value) {
+        listener.onField(key, value);
+    }
+
+    @FunctionalInterface
+    public interface FieldListener {
+        void onField(String name, String value);
+    }
+
+    private enum State {
+        START, EXPECT_KEY, STRING, EXPECT_COLON, EXPECT_VALUE, LITERAL, NESTED, AFTER_VALUE, DONE
+    }
+}
@@ -0,0 +1,73 @@
+package com.guji3.ping.util;
+
+/**
+ * 위치 기록 고정 크기 링 버퍼 (사건 하나의 최근 위치, 오래된 것부터 덮어씀)
+ * - 위도/경도(1e-8도)와 기록 시각을 기본형 배열로 들고 있어 위치 한 건 추가에 할당 없음
+ * - 추가할 때마다 순번(1부터)을 매겨 "이 순번 이후" 조회로 저장/전송할 부분만 꺼냄
+ * - 스레드 안전하지 않음 (사용하는 쪽에서 동기화)
+ */
+public final class LocationRing {
+
+    private final long[] latitudes;
+    private final long[] longitudes;
+    private final long[] capturedAt;
+    private long lastSeq;
+
+    public LocationRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("링 버퍼 크기는 1 이상이어야 합니다: " + capacity);
+        }
+        latitudes = new long[capacity];
+        longitudes = new long[capacity];
+        capturedAt = new long[capacity];
+    }
+
+    /**
+     * @return 추가한 위치의 순번
+     */
+    public long append(Coordinate latitude, Coordinate longitude, long capturedAtMs) {
+        int slot = (int) (lastSeq % latitudes.length);
+        latitudes[slot] = latitude.e8();
+        longitudes[slot] = longitude.e8();
+        capturedAt[slot] = capturedAtMs;
+        return ++lastSeq;
+    }
+
+    public long lastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * 아직 버퍼에 남아 있는 가장 오래된 순번 (비어 있으면 lastSeq + 1)
+     */
+    public long firstSeq() {
+        return Math.max(1, lastSeq - latitudes.length + 1);
+    }
+
+    public int capacity() {
+        return latitudes.length;
+    }
+
+    public int size() {
+        return (int) Math.min(lastSeq, latitudes.length);
+    }
+
+    /**
+     * afterSeq 다음 순번부터 차례대로 전달 (이미 덮어쓴 부분은 건너뜀)
+     *
+     * @return 전달한 개수
+     */
+    public int forEachSince(long afterSeq, Visitor visitor) {
+        long from = Math.max(afterSeq + 1, firstSeq());
+        for (long seq = from; seq <= lastSeq; seq++) {
+            int slot = (int) ((seq - 1) % latitudes.length);
+            visitor.visit(seq, latitudes[slot], longitudes[slot], capturedAt[slot]);
+        }
+        return (int) Math.max(0, lastSeq - from + 1);
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(long seq, long latitudeE8, long longitudeE8, long capturedAtMs);
+    }
+}
@@ -0,0 +1,135 @@
+package com.guji3.ping.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 짧은 시간 동안 들어온 요청을 모아 한 번에 처리하는 배처
+ * - 묶음의 첫 요청(리더)이 max-wait 동안 또는 max-items가 찰 때까지 기다렸다가 자기 스레드에서 일괄 처리
+ *   (별도 스레드/타이머 없음, 나머지 요청은 결과만 기다림)
+ * - 일괄 처리가 실패하거나 결과가 빠진 요청은 예외로 끝나므로 호출한 쪽에서 단건 처리로 대체
+ * - 기다리는 동안 아무도 합류하지 않은 요청은 일괄 처리하지 않고 null 반환 (호출한 쪽이 평소대로 처리)
+ */
+public final class MicroBatcher<T, R> {
+
+    private final int maxItems;
+    private final long maxWaitNanos;
+    private final BatchHandler<T, R> handler;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Batch<T, R> open;
+
+    public MicroBatcher(int maxItems, long maxWaitMs, BatchHandler<T, R> handler) {
+        this.maxItems = Math.max(1, maxItems);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.handler = handler;
+    }
+
+    /**
+     * 요청을 열린 묶음에 넣고 결과 대기
+     *
+     * @param timeoutMs 묶음 결과를 기다릴 최대 시간 (리더는 직접 처리하므로 해당 없음)
+     * @return 일괄 처리 결과, 묶음에 혼자였으면 null
+     * @throws java.util.concurrent.TimeoutException 시간 안에 묶음 결과가 오지 않음
+     */
+    public R submit(T item, long timeoutMs) throws Exception {
+        Pending<T, R> pending = new Pending<>(item);
+        Batch<T, R> batch;
+        boolean leader;
+
+        lock.lock();
+        try {
+            leader = open == null;
+            if (leader) {
+                open = new Batch<>(lock.newCondition());
+            }
+            batch = open;
+            batch.items.add(pending);
+            if (batch.items.size() >= maxItems) {
+                open = null;
+                batch.full.signal();
+            }
+            if (leader) {
+                long remaining = maxWaitNanos;
+                try {
+                    while (open == batch && remaining > 0) {
+                        remaining = batch.full.awaitNanos(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (open == batch) {
+                    open = null;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (leader) {
+            if (batch.items.size() == 1) {
+                return null;
+            }
+            run(batch.items);
+        }
+        try {
+            return pending.result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private void run(List<Pending<T, R>> items) {
+        List<T> requests = new ArrayList<>(items.size());
+        for (Pending<T, R> pending : items) {
+            requests.add(pending.item);
+        }
+        try {
+            List<R> results = handler.handle(requests);
+            for (int i = 0; i < items.size(); i++) {
+                R result = i < results.size() ? results.get(i) : null;
+                if (result != null) {
+                    items.get(i).result.complete(result);
+                } else {
+                    items.get(i).result.completeExceptionally(
+                            new IllegalStateException("일괄 처리 결과에 " + (i + 1) + "번째 항목이 없습니다"));
+                }
+            }
+        } catch (Exception e) {
+            items.forEach(pending -> pending.result.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * 묶음 일괄 처리 (요청 순서대로 결과 반환, 처리 못 한 항목은 null)
+     */
+    @FunctionalInterface
+    public interface BatchHandler<T, R> {
+        List<R> handle(List<T> items) throws Exception;
+    }
+
+    private static final class Batch<T, R> {
+
+        private final List<Pending<T, R>> items = new ArrayList<>();
+        private final Condition full;
+
+        private Batch(Condition full) {
+            this.full = full;
+        }
+    }
+
+    private static final class Pending<T, R> {
+
+        private final T item;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+
+        private Pending(T item) {
+            this.item = item;
+        }
+    }
+}
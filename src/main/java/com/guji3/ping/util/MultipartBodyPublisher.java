@@ -0,0 +1,118 @@
+package com.guji3.ping.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * multipart/form-data 요청 본문을 스트림으로 전송 (HttpClient용)
+ * - 파일 파트는 InputStream에서 읽는 대로 보내므로 파일 전체를 메모리에 올리지 않음
+ * - 파트 길이를 모두 알면 Content-Length를 붙이고, 모르면 chunked로 전송
+ * - 재시도/리다이렉트로 본문을 다시 보낼 때마다 스트림을 새로 열기 때문에 파일 파트는 StreamSource로 받음
+ */
+public final class MultipartBodyPublisher {
+
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.UTF_8);
+
+    private final String boundary = "----PingBoundary" + UUID.randomUUID().toString().replace("-", "");
+    private final List<Part> parts = new ArrayList<>();
+
+    public MultipartBodyPublisher addField(String name, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        parts.add(new Part(header(name, null, null), () -> new ByteArrayInputStream(bytes), bytes.length));
+        return this;
+    }
+
+    /**
+     * @param length 파일 크기 (모르면 -1)
+     */
+    public MultipartBodyPublisher addFile(String name, String filename, String contentType,
+                                          StreamSource source, long length) {
+        parts.add(new Part(header(name, filename, contentType), source, length));
+        return this;
+    }
+
+    public String contentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    /**
+     * 본문 전체 길이 (파트 중 하나라도 길이를 모르면 -1)
+     */
+    public long contentLength() {
+        long total = closing().length;
+        for (Part part : parts) {
+            if (part.length < 0) {
+                return -1;
+            }
+            total += part.header.length + part.length + CRLF.length;
+        }
+        return total;
+    }
+
+    public HttpRequest.BodyPublisher build() {
+        HttpRequest.BodyPublisher streaming = HttpRequest.BodyPublishers.ofInputStream(this::open);
+        long length = contentLength();
+        return length >= 0 ? HttpRequest.BodyPublishers.fromPublisher(streaming, length) : streaming;
+    }
+
+    private InputStream open() {
+        List<InputStream> streams = new ArrayList<>(parts.size() * 3 + 1);
+        try {
+            for (Part part : parts) {
+                streams.add(new ByteArrayInputStream(part.header));
+                streams.add(part.source.open());
+                streams.add(new ByteArrayInputStream(CRLF));
+            }
+        } catch (IOException e) {
+            // 앞에서 이미 연 파일 스트림은 닫고 전송 실패로 넘김
+            for (InputStream stream : streams) {
+                try {
+                    stream.close();
+                } catch (IOException ignored) {
+                }
+            }
+            throw new UncheckedIOException(e);
+        }
+        streams.add(new ByteArrayInputStream(closing()));
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    private byte[] header(String name, String filename, String contentType) {
+        StringBuilder header = new StringBuilder()
+                .append("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(name).append('"');
+        if (filename != null) {
+            header.append("; filename=\"").append(filename).append('"');
+        }
+        header.append("\r\n");
+        if (contentType != null) {
+            header.append("Content-Type: ").append(contentType).append("\r\n");
+        }
+        header.append("\r\n");
+        return header.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] closing() {
+        return ("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 파일 파트 본문 (전송할 때마다 새로 열림)
+     */
+    @FunctionalInterface
+    public interface StreamSource {
+        InputStream open() throws IOException;
+    }
+
+    private record Part(byte[] header, StreamSource source, long length) {
+    }
+}
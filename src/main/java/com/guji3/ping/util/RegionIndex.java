@@ -0,0 +1,218 @@
+package com.guji3.ping.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 행정구역 경계 공간 색인 (메모리 매핑 파일, RegionIndexWriter로 생성)
+ * - 파일을 통째로 mmap 하므로 시작할 때 파싱/객체 생성 없음 (필요한 페이지만 OS가 읽음)
+ * - 좌표는 마이크로도(도 x 1,000,000) 정수, 조회는 작은 작업 배열 외에는 할당 없이 버퍼를 직접 읽음
+ * - 조회: packed R-tree로 bbox 후보를 좁힌 뒤 세부 단계부터 경계 다각형 안인지(even-odd) 확인
+ *   (읍/면/동 경계 밖이어도 시/군/구 경계 안이면 시/군/구까지 반환)
+ *
+ * 파일 형식 (big-endian):
+ * - 헤더: magic, version, 구역 수, 고리 수, 꼭짓점 수, 색인 구역 수, 노드 수, 이름 바이트 수 (int x 8)
+ * - 구역: 상위 번호, 이름 위치, 이름 길이(short), 단계(byte), 예약(byte), bbox(int x 4), 첫 고리, 고리 수
+ * - 고리: 첫 꼭짓점, 꼭짓점 수 / 꼭짓점: 경도, 위도
+ * - 색인 구역 번호(Hilbert 순서) / 노드: bbox(int x 4), 첫 자식, 자식 수, 리프 여부 (마지막 노드가 루트)
+ * - 이름: UTF-8
+ */
+public final class RegionIndex {
+
+    static final int MAGIC = 0x5052474E; // "PRGN"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int REGION_BYTES = 36;
+    static final int RING_BYTES = 8;
+    static final int VERTEX_BYTES = 8;
+    static final int NODE_BYTES = 28;
+    static final int NODE_FANOUT = 16;
+
+    private static final int MAX_DEPTH = 16;
+
+    private final ByteBuffer buffer;
+    private final int regionCount;
+    private final int nodeCount;
+    private final int regionsAt;
+    private final int ringsAt;
+    private final int verticesAt;
+    private final int leavesAt;
+    private final int nodesAt;
+    private final int namesAt;
+
+    private RegionIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("행정구역 색인 파일 형식이 아닙니다");
+        }
+        regionCount = buffer.getInt(8);
+        int ringCount = buffer.getInt(12);
+        int vertexCount = buffer.getInt(16);
+        int leafCount = buffer.getInt(20);
+        nodeCount = buffer.getInt(24);
+        int stringBytes = buffer.getInt(28);
+
+        regionsAt = HEADER_BYTES;
+        ringsAt = regionsAt + regionCount * REGION_BYTES;
+        verticesAt = ringsAt + ringCount * RING_BYTES;
+        leavesAt = verticesAt + vertexCount * VERTEX_BYTES;
+        nodesAt = leavesAt + leafCount * 4;
+        namesAt = nodesAt + nodeCount * NODE_BYTES;
+        if (namesAt + stringBytes != buffer.limit()) {
+            throw new IllegalArgumentException("행정구역 색인 파일 크기가 헤더와 다릅니다");
+        }
+    }
+
+    /**
+     * 파일을 읽기 전용으로 매핑 (채널은 닫아도 매핑은 유지됨)
+     */
+    public static RegionIndex open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new RegionIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static int toMicro(double degrees) {
+        return (int) Math.round(degrees * 1_000_000);
+    }
+
+    /**
+     * 좌표가 속한 가장 세부 구역 번호, 어느 구역에도 없으면 -1 (바다, 경계 데이터 밖)
+     */
+    public int find(double latitude, double longitude) {
+        if (nodeCount == 0) {
+            return -1;
+        }
+        int x = toMicro(longitude);
+        int y = toMicro(latitude);
+
+        // 재귀 대신 고정 크기 스택 (트리 높이는 fanout 16이면 구역 수백만 개까지 6 이하)
+        int[] stack = new int[MAX_DEPTH * NODE_FANOUT];
+        int top = 0;
+        int[] candidates = new int[NODE_FANOUT];
+        int candidateCount = 0;
+        stack[top++] = nodeCount - 1;
+        while (top > 0) {
+            int node = nodesAt + stack[--top] * NODE_BYTES;
+            if (!contains(node, x, y)) {
+                continue;
+            }
+            int first = buffer.getInt(node + 16);
+            int count = buffer.getInt(node + 20);
+            if (buffer.getInt(node + 24) == 0) {
+                for (int i = 0; i < count; i++) {
+                    stack[top++] = first + i;
+                }
+                continue;
+            }
+            for (int i = 0; i < count; i++) {
+                int region = buffer.getInt(leavesAt + (first + i) * 4);
+                if (contains(regionsAt + region * REGION_BYTES + 12, x, y)) {
+                    if (candidateCount == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                    }
+                    candidates[candidateCount++] = region;
+                }
+            }
+        }
+
+        // 다각형 판정은 비싸므로 bbox 후보 중 세부 단계부터 (상위 구역은 꼭짓점이 훨씬 많음)
+        while (true) {
+            int next = -1;
+            for (int i = 0; i < candidateCount; i++) {
+                if (candidates[i] >= 0 && (next < 0 || level(candidates[i]) > level(candidates[next]))) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                return -1;
+            }
+            int region = candidates[next];
+            if (insidePolygon(regionsAt + region * REGION_BYTES, x, y)) {
+                return region;
+            }
+            candidates[next] = -1;
+        }
+    }
+
+    /**
+     * 구역 전체 이름 (상위 구역부터, 예: "서울특별시 중구 명동")
+     */
+    public String address(int region) {
+        StringBuilder address = new StringBuilder();
+        appendName(address, region, 0);
+        return address.toString();
+    }
+
+    public String name(int region) {
+        int record = regionsAt + region * REGION_BYTES;
+        byte[] bytes = new byte[buffer.getShort(record + 8) & 0xFFFF];
+        buffer.get(namesAt + buffer.getInt(record + 4), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public int level(int region) {
+        return buffer.get(regionsAt + region * REGION_BYTES + 10);
+    }
+
+    public int parent(int region) {
+        return buffer.getInt(regionsAt + region * REGION_BYTES);
+    }
+
+    public int size() {
+        return regionCount;
+    }
+
+    private void appendName(StringBuilder address, int region, int depth) {
+        int parent = parent(region);
+        if (parent >= 0 && depth < MAX_DEPTH) {
+            appendName(address, parent, depth + 1);
+            address.append(' ');
+        }
+        address.append(name(region));
+    }
+
+    /**
+     * bbox(minX, minY, maxX, maxY 순서로 at부터) 안인지
+     */
+    private boolean contains(int at, int x, int y) {
+        return x >= buffer.getInt(at) && y >= buffer.getInt(at + 4)
+                && x <= buffer.getInt(at + 8) && y <= buffer.getInt(at + 12);
+    }
+
+    /**
+     * 모든 고리에 대한 even-odd 판정 (여러 조각 + 구멍을 한 번에 처리)
+     */
+    private boolean insidePolygon(int record, int x, int y) {
+        int firstRing = buffer.getInt(record + 28);
+        int ringCount = buffer.getInt(record + 32);
+        boolean inside = false;
+        for (int r = 0; r < ringCount; r++) {
+            int ring = ringsAt + (firstRing + r) * RING_BYTES;
+            int start = verticesAt + buffer.getInt(ring) * VERTEX_BYTES;
+            int count = buffer.getInt(ring + 4);
+            long px = buffer.getInt(start + (count - 1) * VERTEX_BYTES);
+            long py = buffer.getInt(start + (count - 1) * VERTEX_BYTES + 4);
+            for (int i = 0; i < count; i++) {
+                long cx = buffer.getInt(start + i * VERTEX_BYTES);
+                long cy = buffer.getInt(start + i * VERTEX_BYTES + 4);
+                // 변이 y를 가로지르고 교점이 x보다 오른쪽이면 뒤집음 (정수 곱으로 비교)
+                if ((cy > y) != (py > y)) {
+                    long lhs = (x - cx) * (py - cy);
+                    long rhs = (px - cx) * (y - cy);
+                    if (py - cy > 0 ? lhs < rhs : lhs > rhs) {
+                        inside = !inside;
+                    }
+                }
+                px = cx;
+                py = cy;
+            }
+        }
+        return inside;
+    }
+}
@@ -0,0 +1,251 @@
+package com.guji3.ping.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 행정구역 경계 → RegionIndex 파일 (형식은 RegionIndex 참고)
+ * - 경계가 있는 구역은 모두 공간 색인에 넣음 (하위 구역 경계 밖이어도 상위 구역까지는 찾도록)
+ * - 경계 없는 상위 구역은 하위 구역의 parent로만 따라감
+ * - 색인은 bbox 중심의 Hilbert 순서로 정렬한 뒤 16개씩 묶어 아래에서 위로 쌓은 packed R-tree
+ */
+public final class RegionIndexWriter {
+
+    private final List<Region> regions = new ArrayList<>();
+
+    /**
+     * 구역 추가 (상위 구역을 먼저 추가해야 함)
+     *
+     * @param parent 상위 구역 번호 (add 반환값), 최상위면 -1
+     * @param rings  경계 고리 목록, 고리마다 [경도, 위도, 경도, 위도, ...] (도 단위, 섬/구멍 포함 가능)
+     *               하위 구역 경계로만 찾는 상위 구역이면 비워도 됨
+     * @return 구역 번호
+     */
+    public int add(String name, int level, int parent, List<double[]> rings) {
+        if (parent >= regions.size()) {
+            throw new IllegalArgumentException("상위 구역을 먼저 추가해야 합니다: " + name);
+        }
+        List<int[]> fixed = new ArrayList<>(rings.size());
+        for (double[] ring : rings) {
+            if (ring.length < 6 || ring.length % 2 != 0) {
+                throw new IllegalArgumentException("경계 고리는 점 3개 이상이어야 합니다: " + name);
+            }
+            int[] points = new int[ring.length];
+            for (int i = 0; i < ring.length; i++) {
+                points[i] = RegionIndex.toMicro(ring[i]);
+            }
+            fixed.add(points);
+        }
+        regions.add(new Region(name, level, parent, fixed));
+        return regions.size() - 1;
+    }
+
+    public int size() {
+        return regions.size();
+    }
+
+    public void write(Path target) throws IOException {
+        // 이름 테이블
+        byte[][] names = new byte[regions.size()][];
+        int stringBytes = 0;
+        for (int i = 0; i < regions.size(); i++) {
+            names[i] = regions.get(i).name.getBytes(StandardCharsets.UTF_8);
+            stringBytes += names[i].length;
+        }
+
+        int ringCount = 0;
+        int vertexCount = 0;
+        for (Region region : regions) {
+            ringCount += region.rings.size();
+            for (int[] ring : region.rings) {
+                vertexCount += ring.length / 2;
+            }
+        }
+
+        // 색인 대상: 경계가 있는 구역, Hilbert 순서
+        int[] bounds = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+        List<Integer> leaves = new ArrayList<>();
+        for (int i = 0; i < regions.size(); i++) {
+            Region region = regions.get(i);
+            // 경계 없이 하위 구역만 묶는 구역(시/도 등)은 색인/범위 계산에서 제외
+            if (region.rings.isEmpty()) {
+                continue;
+            }
+            bounds[0] = Math.min(bounds[0], region.minX);
+            bounds[1] = Math.min(bounds[1], region.minY);
+            bounds[2] = Math.max(bounds[2], region.maxX);
+            bounds[3] = Math.max(bounds[3], region.maxY);
+            leaves.add(i);
+        }
+        leaves.sort(Comparator.comparingLong(i -> hilbert(regions.get(i), bounds)));
+        List<int[]> nodes = buildTree(leaves);
+
+        long size = RegionIndex.HEADER_BYTES
+                + (long) regions.size() * RegionIndex.REGION_BYTES
+                + (long) ringCount * RegionIndex.RING_BYTES
+                + (long) vertexCount * RegionIndex.VERTEX_BYTES
+                + (long) leaves.size() * 4
+                + (long) nodes.size() * RegionIndex.NODE_BYTES
+                + stringBytes;
+        ByteBuffer out = ByteBuffer.allocate(Math.toIntExact(size));
+
+        out.putInt(RegionIndex.MAGIC).putInt(RegionIndex.VERSION)
+                .putInt(regions.size()).putInt(ringCount).putInt(vertexCount)
+                .putInt(leaves.size()).putInt(nodes.size()).putInt(stringBytes);
+
+        int nameOffset = 0;
+        int ringIndex = 0;
+        for (int i = 0; i < regions.size(); i++) {
+            Region region = regions.get(i);
+            out.putInt(region.parent).putInt(nameOffset).putShort((short) names[i].length)
+                    .put((byte) region.level).put((byte) 0)
+                    .putInt(region.minX).putInt(region.minY).putInt(region.maxX).putInt(region.maxY)
+                    .putInt(ringIndex).putInt(region.rings.size());
+            nameOffset += names[i].length;
+            ringIndex += region.rings.size();
+        }
+        int vertexIndex = 0;
+        for (Region region : regions) {
+            for (int[] ring : region.rings) {
+                out.putInt(vertexIndex).putInt(ring.length / 2);
+                vertexIndex += ring.length / 2;
+            }
+        }
+        for (Region region : regions) {
+            for (int[] ring : region.rings) {
+                for (int value : ring) {
+                    out.putInt(value);
+                }
+            }
+        }
+        for (int leaf : leaves) {
+            out.putInt(leaf);
+        }
+        for (int[] node : nodes) {
+            for (int value : node) {
+                out.putInt(value);
+            }
+        }
+        for (byte[] name : names) {
+            out.put(name);
+        }
+        out.flip();
+
+        // 읽는 쪽이 반쯤 쓴 파일을 보지 않도록 임시 파일에 쓰고 교체
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "region-index", ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 노드: [minX, minY, maxX, maxY, 첫 자식, 자식 수, 리프 여부] (마지막 노드가 루트)
+     */
+    private List<int[]> buildTree(List<Integer> leaves) {
+        List<int[]> nodes = new ArrayList<>();
+        List<int[]> level = new ArrayList<>();
+        for (int start = 0; start < leaves.size(); start += RegionIndex.NODE_FANOUT) {
+            int end = Math.min(leaves.size(), start + RegionIndex.NODE_FANOUT);
+            int[] node = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE, start, end - start, 1};
+            for (int i = start; i < end; i++) {
+                Region region = regions.get(leaves.get(i));
+                expand(node, region.minX, region.minY, region.maxX, region.maxY);
+            }
+            level.add(node);
+        }
+        int levelStart = 0;
+        nodes.addAll(level);
+        while (level.size() > 1) {
+            List<int[]> parents = new ArrayList<>();
+            for (int start = 0; start < level.size(); start += RegionIndex.NODE_FANOUT) {
+                int end = Math.min(level.size(), start + RegionIndex.NODE_FANOUT);
+                int[] node = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE,
+                        levelStart + start, end - start, 0};
+                for (int i = start; i < end; i++) {
+                    int[] child = level.get(i);
+                    expand(node, child[0], child[1], child[2], child[3]);
+                }
+                parents.add(node);
+            }
+            levelStart = nodes.size();
+            nodes.addAll(parents);
+            level = parents;
+        }
+        return nodes;
+    }
+
+    private static void expand(int[] node, int minX, int minY, int maxX, int maxY) {
+        node[0] = Math.min(node[0], minX);
+        node[1] = Math.min(node[1], minY);
+        node[2] = Math.max(node[2], maxX);
+        node[3] = Math.max(node[3], maxY);
+    }
+
+    /**
+     * bbox 중심의 Hilbert 곡선 순번 (전체 범위를 65536 x 65536 격자로)
+     */
+    private static long hilbert(Region region, int[] bounds) {
+        int n = 1 << 16;
+        long width = Math.max(1L, (long) bounds[2] - bounds[0]);
+        long height = Math.max(1L, (long) bounds[3] - bounds[1]);
+        int x = (int) Math.min(n - 1, ((long) region.minX / 2 + region.maxX / 2 - bounds[0]) * (n - 1) / width);
+        int y = (int) Math.min(n - 1, ((long) region.minY / 2 + region.maxY / 2 - bounds[1]) * (n - 1) / height);
+        long d = 0;
+        for (int s = n / 2; s > 0; s /= 2) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = n - 1 - x;
+                    y = n - 1 - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+
+    private static final class Region {
+
+        private final String name;
+        private final int level;
+        private final int parent;
+        private final List<int[]> rings;
+        private int minX = Integer.MAX_VALUE;
+        private int minY = Integer.MAX_VALUE;
+        private int maxX = Integer.MIN_VALUE;
+        private int maxY = Integer.MIN_VALUE;
+
+        private Region(String name, int level, int parent, List<int[]> rings) {
+            this.name = name;
+            this.level = level;
+            this.parent = parent;
+            this.rings = rings;
+            for (int[] ring : rings) {
+                for (int i = 0; i < ring.length; i += 2) {
+                    minX = Math.min(minX, ring[i]);
+                    maxX = Math.max(maxX, ring[i]);
+                    minY = Math.min(minY, ring[i + 1]);
+                    maxY = Math.max(maxY, ring[i + 1]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.guji3.ping.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 실시간으로 들어오는 PCM(16-bit 모노 little-endian)을 발화 단위 구간으로 나누는 분할기 (음성 스트리밍용)
+ * - WavPreprocessor와 같은 프레임 에너지 기준이지만, 전체를 볼 수 없으므로 배경 소음은
+ *   조용한 프레임에 빠르게 내려가고 천천히 올라가는 이동 추정치로 계산
+ * - 발화 후 end-silence-ms 동안 조용하면 구간 완료, max-segment-ms를 넘으면 그 자리에서 끊어 완료
+ * - 구간 앞에는 발화 직전 padding-ms를 붙여 첫 음절이 잘리지 않게 함
+ * - 스레드 안전하지 않음 (세션 하나에서 순서대로 호출)
+ */
+public final class SpeechSegmenter {
+
+    // 조용한 프레임마다 배경 소음 추정치를 올리는 폭 (20ms 프레임 기준 약 2.5dB/s)
+    private static final double FLOOR_RISE_DB = 0.05;
+
+    private final int sampleRate;
+    private final int frameBytes;
+    private final int endSilenceFrames;
+    private final int maxSegmentFrames;
+    private final int paddingFrames;
+    private final double marginDb;
+    private final double minSpeechDb;
+
+    private final byte[] frame;
+    private int frameFill;
+    private double noiseFloorDb;
+
+    private final ArrayDeque<byte[]> preroll = new ArrayDeque<>();
+    private ByteArrayOutputStream segment;
+    private int segmentFrames;
+    private int speechRun;
+    private int silenceRun;
+
+    /**
+     * @param sampleRate   입력 샘플링 레이트 (Hz)
+     * @param frameMs      음성 검출 프레임 길이
+     * @param endSilenceMs 발화 뒤 이만큼 조용하면 구간 완료
+     * @param maxSegmentMs 구간 최대 길이 (계속 말해도 이 길이마다 끊어서 인식)
+     * @param paddingMs    구간 앞에 붙일 발화 직전 소리
+     * @param marginDb     배경 소음보다 이만큼 크면 음성
+     * @param minSpeechDb  이보다 작은 프레임은 음성으로 보지 않음 (dBFS)
+     */
+    public SpeechSegmenter(int sampleRate, int frameMs, int endSilenceMs, int maxSegmentMs, int paddingMs,
+                           double marginDb, double minSpeechDb) {
+        this.sampleRate = sampleRate;
+        int frameSamples = Math.max(1, sampleRate * frameMs / 1000);
+        this.frameBytes = frameSamples * 2;
+        this.endSilenceFrames = Math.max(1, endSilenceMs / frameMs);
+        this.maxSegmentFrames = Math.max(1, maxSegmentMs / frameMs);
+        this.paddingFrames = paddingMs / frameMs;
+        this.marginDb = marginDb;
+        this.minSpeechDb = minSpeechDb;
+        this.frame = new byte[frameBytes];
+        this.noiseFloorDb = minSpeechDb - marginDb;
+    }
+
+    /**
+     * 받은 조각 처리 (프레임 경계와 맞지 않아도 됨)
+     *
+     * @return 이번 조각으로 완료된 구간 PCM 목록 (대부분 비어 있음)
+     */
+    public List<byte[]> accept(byte[] chunk, int offset, int length) {
+        List<byte[]> completed = new ArrayList<>(0);
+        int end = offset + length;
+        while (offset < end) {
+            int n = Math.min(frameBytes - frameFill, end - offset);
+            System.arraycopy(chunk, offset, frame, frameFill, n);
+            frameFill += n;
+            offset += n;
+            if (frameFill == frameBytes) {
+                byte[] completedSegment = onFrame(frame.clone());
+                if (completedSegment != null) {
+                    completed.add(completedSegment);
+                }
+                frameFill = 0;
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * 스트림 종료: 진행 중인 구간이 있으면 완료 처리
+     *
+     * @return 마지막 구간 PCM, 없으면 null
+     */
+    public byte[] flush() {
+        if (segment != null && frameFill > 0) {
+            segment.write(frame, 0, frameFill - frameFill % 2);
+        }
+        frameFill = 0;
+        return segment != null ? closeSegment(silenceRun) : null;
+    }
+
+    public int sampleRate() {
+        return sampleRate;
+    }
+
+    private byte[] onFrame(byte[] pcm) {
+        double db = energyDb(pcm);
+        double threshold = Math.max(minSpeechDb, noiseFloorDb + marginDb);
+        boolean loud = db >= threshold;
+        if (!loud) {
+            noiseFloorDb = db < noiseFloorDb ? (noiseFloorDb + db) / 2 : noiseFloorDb + FLOOR_RISE_DB;
+        }
+
+        if (segment == null) {
+            // 짧은 잡음(딸깍 소리 등)을 피하려고 3프레임 이상 이어질 때만 발화 시작
+            speechRun = loud ? speechRun + 1 : 0;
+            preroll.addLast(pcm);
+            if (speechRun >= 3) {
+                segment = new ByteArrayOutputStream();
+                preroll.forEach(segment::writeBytes);
+                segmentFrames = preroll.size();
+                preroll.clear();
+                silenceRun = 0;
+                speechRun = 0;
+            } else if (preroll.size() > paddingFrames + 3) {
+                preroll.removeFirst();
+            }
+            return null;
+        }
+
+        segment.writeBytes(pcm);
+        segmentFrames++;
+        silenceRun = loud ? 0 : silenceRun + 1;
+        if (silenceRun >= endSilenceFrames) {
+            return closeSegment(silenceRun);
+        }
+        if (segmentFrames >= maxSegmentFrames) {
+            return closeSegment(0);
+        }
+        return null;
+    }
+
+    /**
+     * 구간 완료 (끝의 무음은 padding 만큼만 남김)
+     */
+    private byte[] closeSegment(int trailingSilentFrames) {
+        byte[] pcm = segment.toByteArray();
+        int drop = Math.max(0, trailingSilentFrames - paddingFrames) * frameBytes;
+        segment = null;
+        segmentFrames = 0;
+        silenceRun = 0;
+        return drop > 0 ? Arrays.copyOf(pcm, Math.max(0, pcm.length - drop)) : pcm;
+    }
+
+    private static double energyDb(byte[] pcm) {
+        double sum = 0;
+        int samples = pcm.length / 2;
+        for (int i = 0; i < samples; i++) {
+            double s = (short) ((pcm[2 * i] & 0xFF) | (pcm[2 * i + 1] << 8)) / 32768.0;
+            sum += s * s;
+        }
+        return 10 * Math.log10(Math.max(sum / Math.max(1, samples), 1e-10));
+    }
+
+    /**
+     * PCM 구간 → WAV (44바이트 헤더, 16-bit 모노)
+     */
+    public static byte[] toWav(byte[] pcm, int sampleRate) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(44 + pcm.length);
+        writeAscii(out, "RIFF");
+        writeLe(out, 36 + pcm.length, 4);
+        writeAscii(out, "WAVEfmt ");
+        writeLe(out, 16, 4);
+        writeLe(out, 1, 2);
+        writeLe(out, 1, 2);
+        writeLe(out, sampleRate, 4);
+        writeLe(out, sampleRate * 2, 4);
+        writeLe(out, 2, 2);
+        writeLe(out, 16, 2);
+        writeAscii(out, "data");
+        writeLe(out, pcm.length, 4);
+        out.writeBytes(pcm);
+        return out.toByteArray();
+    }
+
+    private static void writeAscii(ByteArrayOutputStream out, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            out.write(s.charAt(i));
+        }
+    }
+
+    private static void writeLe(ByteArrayOutputStream out, int value, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            out.write(value >> (8 * i));
+        }
+    }
+}
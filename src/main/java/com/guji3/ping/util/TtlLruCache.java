@@ -0,0 +1,230 @@
+package com.guji3.ping.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 최대 개수(LRU) + TTL 캐시, 같은 키를 동시에 요청하면 loader는 한 번만 실행 (나머지는 결과 대기)
+ * - loader가 null을 돌려주거나 실패하면 캐시하지 않음 (기다리던 요청도 같은 결과)
+ * - 적중/미적중/대기 합류 수, 항목 수, 적중률을 메트릭으로 노출 ({prefix}.requests, .size, .hit_ratio)
+ */
+public final class TtlLruCache<V> {
+
+    private final int maxEntries;
+    private final long ttlMs;
+    private final Weigher<V> weigher;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final ConcurrentHashMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private volatile long weight;
+
+    /**
+     * @param weigher 항목 무게(추정 메모리 등) 계산, 필요 없으면 null
+     */
+    public TtlLruCache(int maxEntries, long ttlMs, Weigher<V> weigher, MeterRegistry meterRegistry, String metricPrefix) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMs = ttlMs;
+        this.weigher = weigher;
+        hits = Counter.builder(metricPrefix + ".requests").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder(metricPrefix + ".requests").tag("result", "miss").register(meterRegistry);
+        coalesced = Counter.builder(metricPrefix + ".requests").tag("result", "coalesced").register(meterRegistry);
+        Gauge.builder(metricPrefix + ".size", this, TtlLruCache::size)
+                .description("캐시 항목 수")
+                .register(meterRegistry);
+        Gauge.builder(metricPrefix + ".hit_ratio", this, TtlLruCache::hitRatio)
+                .description("원본 호출 없이 처리한 비율 (적중 + 대기 합류)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader 실행 (같은 키를 실행 중이면 그 결과를 기다림)
+     */
+    public V get(String key, Loader<V> loader) throws Exception {
+        V cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            // 먼저 간 요청이 실패했어도 다시 호출하지 않음 (몰린 요청이 한꺼번에 재시도하지 않도록)
+            coalesced.increment();
+            return join(running);
+        }
+
+        try {
+            // 선점 직전에 다른 요청이 끝냈을 수 있음
+            cached = lookup(key);
+            if (cached != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                cached = loader.load();
+                if (cached != null) {
+                    put(key, cached, System.currentTimeMillis() + ttlMs);
+                }
+            }
+            mine.complete(cached);
+            return cached;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 만료 시각을 정해 직접 넣음 (파일에서 읽은 항목 등)
+     */
+    public void put(String key, V value, long expiresAtMillis) {
+        Entry<V> entry = new Entry<>(value, expiresAtMillis, weigher != null ? weigher.weigh(key, value) : 0);
+        lock.lock();
+        try {
+            Entry<V> previous = entries.put(key, entry);
+            weight += entry.weight - (previous != null ? previous.weight : 0);
+
+            // 접근 순서 맵이라 맨 앞이 가장 오래 안 쓴 항목
+            Iterator<Entry<V>> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                weight -= eldest.next().weight;
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 정리한 만료 항목 수
+     */
+    public int sweep() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        lock.lock();
+        try {
+            Iterator<Entry<V>> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry<V> entry = it.next();
+                if (entry.isExpired(now)) {
+                    it.remove();
+                    weight -= entry.weight;
+                    removed++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return removed;
+    }
+
+    /**
+     * 현재 항목 복사본 (오래 안 쓴 순서)
+     */
+    public List<Stored<V>> snapshot() {
+        lock.lock();
+        try {
+            List<Stored<V>> stored = new ArrayList<>(entries.size());
+            for (Map.Entry<String, Entry<V>> entry : entries.entrySet()) {
+                stored.add(new Stored<>(entry.getKey(), entry.getValue().value, entry.getValue().expiresAtMillis));
+            }
+            return stored;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long weight() {
+        return weight;
+    }
+
+    /**
+     * 원본 호출 없이 처리한 요청 수 (적중 + 대기 합류)
+     */
+    public double saved() {
+        return hits.count() + coalesced.count();
+    }
+
+    public double hitRatio() {
+        double saved = saved();
+        double total = saved + misses.count();
+        return total == 0 ? 0 : saved / total;
+    }
+
+    private V lookup(String key) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(now)) {
+                entries.remove(key);
+                weight -= entry.weight;
+                return null;
+            }
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> running) throws Exception {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /**
+     * 캐시에 없을 때 실제 값을 구함, 캐시하지 않을 결과면 null
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Weigher<V> {
+        long weigh(String key, V value);
+    }
+
+    public record Stored<V>(String key, V value, long expiresAtMillis) {
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis, long weight) {
+
+        private boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.guji3.ping.util;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OpenAI / Google Maps 응답 전용 파서 (Gson 스트리밍 TypeAdapter)
+ * - 쓰는 필드만 읽고 나머지는 skipValue로 건너뛰므로 응답 전체를 Map 트리로 만들지 않음
+ * - 필드 이름으로 직접 분기하므로 리플렉션 없음
+ * - 필요한 필드가 없으면 null 대신 이유가 담긴 IllegalStateException (응답 형식이 바뀌었을 때 바로 드러나도록)
+ */
+public final class UpstreamJson {
+
+    private static final TypeAdapter<Transcription> TRANSCRIPTION = new ReadOnlyAdapter<>() {
+        @Override
+        public Transcription read(JsonReader in) throws IOException {
+            String text = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("text".equals(in.nextName())) {
+                    text = nextStringOrNull(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Transcription(text);
+        }
+    };
+
+    private static final TypeAdapter<String> CHAT_CONTENT = new ChoiceContentAdapter("message");
+
+    private static final TypeAdapter<String> CHUNK_CONTENT = new ChoiceContentAdapter("delta");
+
+    private static final TypeAdapter<Geocode> GEOCODE = new ReadOnlyAdapter<>() {
+        @Override
+        public Geocode read(JsonReader in) throws IOException {
+            String status = null;
+            String address = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status" -> status = nextStringOrNull(in);
+                    case "results" -> address = firstFormattedAddress(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Geocode(status, address);
+        }
+    };
+
+    private static final TypeAdapter<Map<String, String>> ANALYSIS = new ReadOnlyAdapter<>() {
+        @Override
+        public Map<String, String> read(JsonReader in) throws IOException {
+            return readFlatObject(in, null);
+        }
+    };
+
+    private static final TypeAdapter<List<BatchEntry>> BATCH_ENTRIES = new ReadOnlyAdapter<>() {
+        @Override
+        public List<BatchEntry> read(JsonReader in) throws IOException {
+            List<BatchEntry> entries = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                    in.skipValue();
+                    continue;
+                }
+                int[] id = {-1};
+                Map<String, String> fields = readFlatObject(in, id);
+                if (id[0] >= 0) {
+                    entries.add(new BatchEntry(id[0], fields));
+                }
+            }
+            in.endArray();
+            return entries;
+        }
+    };
+
+    private UpstreamJson() {
+    }
+
+    /**
+     * 음성 인식 응답 ({"text": "..."})
+     */
+    public static Transcription transcription(String json) {
+        return parse(TRANSCRIPTION, json, false, "음성 인식");
+    }
+
+    /**
+     * GPT 채팅 응답의 choices[0].message.content
+     */
+    public static String chatContent(String json) {
+        String content = parse(CHAT_CONTENT, json, false, "GPT");
+        if (content == null) {
+            throw new IllegalStateException("GPT 응답에 choices[0].message.content가 없습니다");
+        }
+        return content;
+    }
+
+    /**
+     * GPT 스트리밍 이벤트 한 건의 choices[0].delta.content (역할/종료 이벤트처럼 글자가 없으면 null)
+     */
+    public static String chunkContent(String json) {
+        return parse(CHUNK_CONTENT, json, false, "GPT 스트리밍");
+    }
+
+    /**
+     * 주소 변환 응답 (status + results[0].formatted_address)
+     */
+    public static Geocode geocode(String json) {
+        return parse(GEOCODE, json, false, "주소 변환");
+    }
+
+    /**
+     * GPT가 생성한 분석 결과 객체 → 필드별 문자열
+     * - 숫자/true 같은 값도 문자열로, null과 중첩 객체/배열은 제외
+     */
+    public static Map<String, String> analysis(String content) {
+        return parse(ANALYSIS, content, true, "GPT 분석 결과");
+    }
+
+    /**
+     * GPT 일괄 분석 결과 배열 ([{"id":1, ...}, ...]), id가 없는 항목은 제외
+     */
+    public static List<BatchEntry> batchEntries(String content) {
+        return parse(BATCH_ENTRIES, content, true, "GPT 일괄 분석 결과");
+    }
+
+    private static <T> T parse(TypeAdapter<T> adapter, String json, boolean lenient, String what) {
+        try {
+            JsonReader reader = new JsonReader(new StringReader(json));
+            // GPT가 만든 JSON은 작은따옴표/주석 등이 섞일 수 있어 너그럽게 읽음
+            reader.setLenient(lenient);
+            return adapter.read(reader);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException(what + " 응답 형식 오류: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 최상위 필드만 있는 객체 (idHolder가 있으면 "id"는 정수로 꺼내서 따로 보관)
+     */
+    private static Map<String, String> readFlatObject(JsonReader in, int[] idHolder) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            JsonToken token = in.peek();
+            if (idHolder != null && "id".equals(name)) {
+                if (token == JsonToken.NUMBER) {
+                    idHolder[0] = in.nextInt();
+                } else {
+                    in.skipValue();
+                }
+                continue;
+            }
+            switch (token) {
+                case STRING, NUMBER -> fields.put(name, in.nextString());
+                case BOOLEAN -> fields.put(name, String.valueOf(in.nextBoolean()));
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return fields;
+    }
+
+    private static String firstFormattedAddress(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            in.skipValue();
+            return null;
+        }
+        String address = null;
+        in.beginArray();
+        if (in.hasNext() && in.peek() == JsonToken.BEGIN_OBJECT) {
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("formatted_address".equals(in.nextName())) {
+                    address = nextStringOrNull(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+        }
+        while (in.hasNext()) {
+            in.skipValue();
+        }
+        in.endArray();
+        return address;
+    }
+
+    private static String nextStringOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    public record Transcription(String text) {
+    }
+
+    /**
+     * @param formattedAddress 첫 번째 결과의 주소 (결과가 없으면 null)
+     */
+    public record Geocode(String status, String formattedAddress) {
+
+        public boolean ok() {
+            return "OK".equals(status) && formattedAddress != null;
+        }
+    }
+
+    public record BatchEntry(int id, Map<String, String> fields) {
+    }
+
+    /**
+     * choices[0].{message|delta}.content
+     */
+    private static final class ChoiceContentAdapter extends ReadOnlyAdapter<String> {
+
+        private final String container;
+
+        private ChoiceContentAdapter(String container) {
+            this.container = container;
+        }
+
+        @Override
+        public String read(JsonReader in) throws IOException {
+            String content = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("choices".equals(in.nextName()) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                    content = firstChoiceContent(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return content;
+        }
+
+        private String firstChoiceContent(JsonReader in) throws IOException {
+            String content = null;
+            in.beginArray();
+            if (in.hasNext() && in.peek() == JsonToken.BEGIN_OBJECT) {
+                in.beginObject();
+                while (in.hasNext()) {
+                    if (container.equals(in.nextName()) && in.peek() == JsonToken.BEGIN_OBJECT) {
+                        in.beginObject();
+                        while (in.hasNext()) {
+                            if ("content".equals(in.nextName())) {
+                                content = nextStringOrNull(in);
+                            } else {
+                                in.skipValue();
+                            }
+                        }
+                        in.endObject();
+                    } else {
+                        in.skipValue();
+                    }
+                }
+                in.endObject();
+            }
+            while (in.hasNext()) {
+                in.skipValue();
+            }
+            in.endArray();
+            return content;
+        }
+    }
+
+    /**
+     * 응답 읽기 전용 (요청 본문 생성에는 쓰지 않음)
+     */
+    private abstract static class ReadOnlyAdapter<T> extends TypeAdapter<T> {
+
+        @Override
+        public void write(JsonWriter out, T value) {
+            throw new UnsupportedOperationException("읽기 전용");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.guji3.ping.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 가상 스레드 실행기 생성
+ * - 빌드 기준은 Java 17이므로 Java 21 이상에서 실행될 때만 리플렉션으로 사용
+ */
+public final class VirtualThreads {
+
+    private static final MethodHandle NEW_PER_TASK_EXECUTOR = lookupPerTaskExecutor();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 현재 JVM이 가상 스레드를 지원하는지 여부
+     */
+    public static boolean isSupported() {
+        return NEW_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * 작업마다 가상 스레드를 하나씩 만드는 실행기 (Executors.newVirtualThreadPerTaskExecutor)
+     *
+     * @throws UnsupportedOperationException Java 21 미만에서 호출한 경우
+     */
+    public static ExecutorService newPerTaskExecutor() {
+        if (NEW_PER_TASK_EXECUTOR == null) {
+            throw new UnsupportedOperationException(
+                    "가상 스레드는 Java 21 이상에서만 사용할 수 있습니다 (현재: " + Runtime.version().feature() + ")");
+        }
+        try {
+            return (ExecutorService) NEW_PER_TASK_EXECUTOR.invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("가상 스레드 실행기 생성 실패", e);
+        }
+    }
+
+    private static MethodHandle lookupPerTaskExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package com.guji3.ping.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * PCM WAV 음성 전처리 (음성 인식 전송 전)
+ * - 모노 변환 + 16kHz 이하로 다운샘플링 (구간 평균, 원본이 더 낮으면 그대로)
+ * - 20ms 프레임 에너지/영교차율로 음성 구간을 찾아 앞뒤 무음 제거 (중간 무음은 유지)
+ * - 두 번 읽는 방식: 1회차에 프레임별 에너지만 계산해 자를 구간을 정하고,
+ *   전송할 때 다시 열어 변환하면서 바로 내보냄 (임시 파일/전체 버퍼 없음)
+ * - WAV(PCM 8/16/24/32비트)가 아니면 원본 그대로 전송
+ */
+public final class WavPreprocessor {
+
+    private static final int HEADER_BYTES = 44;
+
+    private final int targetRate;
+    private final int frameMs;
+    private final int paddingMs;
+    private final double marginDb;
+    private final double minSpeechDb;
+    private final double onsetZcr;
+
+    /**
+     * @param targetRate  출력 최대 샘플링 레이트 (Hz)
+     * @param frameMs     음성 검출 프레임 길이
+     * @param paddingMs   음성 구간 앞뒤로 남길 여유
+     * @param marginDb    배경 소음(하위 10% 프레임)보다 이만큼 크면 음성
+     * @param minSpeechDb 이보다 작은 프레임은 음성으로 보지 않음 (dBFS)
+     * @param onsetZcr    음성 구간 경계에서 이 영교차율 이상이면 무성음(ㅅ, ㅊ 등)으로 보고 구간 확장
+     */
+    public WavPreprocessor(int targetRate, int frameMs, int paddingMs,
+                           double marginDb, double minSpeechDb, double onsetZcr) {
+        this.targetRate = targetRate;
+        this.frameMs = frameMs;
+        this.paddingMs = paddingMs;
+        this.marginDb = marginDb;
+        this.minSpeechDb = minSpeechDb;
+        this.onsetZcr = onsetZcr;
+    }
+
+    /**
+     * 전처리 계획 (원본을 한 번 읽어 자를 구간 결정)
+     *
+     * @return WAV가 아니면 null (원본 그대로 전송)
+     */
+    public Result prepare(MultipartBodyPublisher.StreamSource source, long originalBytes) throws IOException {
+        Format format;
+        float[] energiesDb;
+        float[] zcr;
+        int frameSamples;
+        long totalSamples;
+        try (Decoder decoder = Decoder.open(source, targetRate)) {
+            if (decoder == null) {
+                return null;
+            }
+            format = decoder.format;
+            frameSamples = Math.max(1, decoder.outputRate * frameMs / 1000);
+
+            FrameStats stats = new FrameStats();
+            short[] frame = new short[frameSamples];
+            int n;
+            while ((n = decoder.read(frame, 0, frameSamples)) > 0) {
+                stats.add(frame, n);
+            }
+            energiesDb = stats.energies();
+            zcr = stats.zcr();
+            totalSamples = stats.samples;
+        }
+
+        int outputRate = Math.min(format.sampleRate, targetRate);
+        int[] range = speechRange(energiesDb, zcr);
+        long start;
+        long end;
+        if (range == null) {
+            // 음성을 못 찾으면 자르지 않음 (작은 목소리를 놓치는 것보다 전체 전송이 안전)
+            start = 0;
+            end = totalSamples;
+        } else {
+            long padding = (long) outputRate * paddingMs / 1000;
+            start = Math.max(0, (long) range[0] * frameSamples - padding);
+            end = Math.min(totalSamples, (long) (range[1] + 1) * frameSamples + padding);
+        }
+
+        return new Result(source, outputRate, start, end, totalSamples, originalBytes, range != null);
+    }
+
+    /**
+     * 음성 프레임 구간 [첫 프레임, 마지막 프레임], 없으면 null
+     */
+    int[] speechRange(float[] energiesDb, float[] zcr) {
+        if (energiesDb.length == 0) {
+            return null;
+        }
+        float[] sorted = energiesDb.clone();
+        Arrays.sort(sorted);
+        double noiseFloor = sorted[sorted.length / 10];
+        double threshold = Math.max(minSpeechDb, noiseFloor + marginDb);
+
+        // 짧은 잡음(딸깍 소리 등)을 피하려고 3프레임(60ms) 이상 이어질 때만 음성
+        int first = -1;
+        int last = -1;
+        int run = 0;
+        for (int i = 0; i < energiesDb.length; i++) {
+            run = energiesDb[i] >= threshold ? run + 1 : 0;
+            if (run >= 3) {
+                if (first < 0) {
+                    first = i - 2;
+                }
+                last = i;
+            }
+        }
+        if (first < 0) {
+            return null;
+        }
+
+        // 경계의 무성 자음은 에너지가 낮고 영교차율이 높음
+        double weak = threshold - marginDb / 2;
+        while (first > 0 && energiesDb[first - 1] >= weak && zcr[first - 1] >= onsetZcr) {
+            first--;
+        }
+        while (last < energiesDb.length - 1 && energiesDb[last + 1] >= weak && zcr[last + 1] >= onsetZcr) {
+            last++;
+        }
+        return new int[]{first, last};
+    }
+
+    /**
+     * 전처리 결과 (전송할 때마다 원본을 다시 열어 변환)
+     */
+    public final class Result {
+
+        private final MultipartBodyPublisher.StreamSource original;
+        private final int sampleRate;
+        private final long startSample;
+        private final long endSample;
+        private final long decodedSamples;
+        private final long originalBytes;
+        private final boolean speechFound;
+
+        private Result(MultipartBodyPublisher.StreamSource original, int sampleRate, long startSample,
+                       long endSample, long decodedSamples, long originalBytes, boolean speechFound) {
+            this.original = original;
+            this.sampleRate = sampleRate;
+            this.startSample = startSample;
+            this.endSample = endSample;
+            this.decodedSamples = decodedSamples;
+            this.originalBytes = originalBytes;
+            this.speechFound = speechFound;
+        }
+
+        public MultipartBodyPublisher.StreamSource source() {
+            return () -> new TrimmedWavStream(Decoder.open(original, targetRate), sampleRate,
+                    startSample, endSample - startSample);
+        }
+
+        public long length() {
+            return HEADER_BYTES + (endSample - startSample) * 2;
+        }
+
+        public long originalBytes() {
+            return originalBytes;
+        }
+
+        public long trimmedMs() {
+            return (decodedSamples - (endSample - startSample)) * 1000 / sampleRate;
+        }
+
+        /**
+         * 앞쪽에서 잘라낸 길이
+         */
+        public long startMs() {
+            return startSample * 1000 / sampleRate;
+        }
+
+        public long durationMs() {
+            return (endSample - startSample) * 1000 / sampleRate;
+        }
+
+        public boolean speechFound() {
+            return speechFound;
+        }
+    }
+
+    private record Format(int channels, int sampleRate, int bitsPerSample, long dataBytes) {
+    }
+
+    /**
+     * 프레임별 에너지(dBFS) / 영교차율
+     */
+    private static final class FrameStats {
+
+        private float[] energies = new float[256];
+        private float[] zcr = new float[256];
+        private int frames;
+        private long samples;
+
+        private void add(short[] frame, int n) {
+            double sum = 0;
+            int crossings = 0;
+            for (int i = 0; i < n; i++) {
+                sum += (double) frame[i] * frame[i];
+                if (i > 0 && (frame[i] >= 0) != (frame[i - 1] >= 0)) {
+                    crossings++;
+                }
+            }
+            double rms = Math.sqrt(sum / n) / 32768.0;
+            if (frames == energies.length) {
+                energies = Arrays.copyOf(energies, frames * 2);
+                zcr = Arrays.copyOf(zcr, frames * 2);
+            }
+            energies[frames] = (float) (20 * Math.log10(Math.max(rms, 1e-9)));
+            zcr[frames] = n > 1 ? (float) crossings / (n - 1) : 0;
+            frames++;
+            samples += n;
+        }
+
+        private float[] energies() {
+            return Arrays.copyOf(energies, frames);
+        }
+
+        private float[] zcr() {
+            return Arrays.copyOf(zcr, frames);
+        }
+    }
+
+    /**
+     * WAV 디코더: 모노 16비트 샘플을 출력 레이트로 내보냄
+     */
+    private static final class Decoder implements AutoCloseable {
+
+        private final InputStream in;
+        private final Format format;
+        private final int outputRate;
+        private final int frameBytes;
+        private final byte[] frameBuffer;
+        private long remainingBytes;
+
+        // 다운샘플링: 출력 샘플 한 개 = 입력 step개 구간 평균
+        private final double step;
+        private double nextBoundary;
+        private long inputIndex;
+        private double accumulator;
+        private int accumulated;
+
+        private Decoder(InputStream in, Format format, int targetRate) {
+            this.in = in;
+            this.format = format;
+            this.outputRate = Math.min(format.sampleRate, targetRate);
+            this.frameBytes = format.channels * (format.bitsPerSample / 8);
+            this.frameBuffer = new byte[frameBytes];
+            this.remainingBytes = format.dataBytes;
+            this.step = (double) format.sampleRate / outputRate;
+            this.nextBoundary = step;
+        }
+
+        /**
+         * @return 지원하지 않는 형식이면 null (스트림은 닫음)
+         */
+        private static Decoder open(MultipartBodyPublisher.StreamSource source, int targetRate) throws IOException {
+            InputStream in = source.open();
+            try {
+                Format format = readHeader(in);
+                if (format == null) {
+                    in.close();
+                    return null;
+                }
+                return new Decoder(in, format, targetRate);
+            } catch (IOException | RuntimeException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        private int read(short[] out, int off, int len) throws IOException {
+            int produced = 0;
+            while (produced < len && remainingBytes >= frameBytes) {
+                // 길이를 0 / 최댓값으로 기록하는 녹음기도 있어 파일 끝을 만나면 거기까지만 사용
+                if (in.readNBytes(frameBuffer, 0, frameBytes) < frameBytes) {
+                    remainingBytes = 0;
+                    break;
+                }
+                remainingBytes -= frameBytes;
+
+                int mono = 0;
+                for (int ch = 0; ch < format.channels; ch++) {
+                    mono += sample(frameBuffer, ch * (format.bitsPerSample / 8), format.bitsPerSample);
+                }
+                accumulator += (double) mono / format.channels;
+                accumulated++;
+                inputIndex++;
+
+                if (inputIndex >= nextBoundary) {
+                    out[off + produced++] = (short) Math.round(accumulator / accumulated);
+                    accumulator = 0;
+                    accumulated = 0;
+                    nextBoundary += step;
+                }
+            }
+            return produced;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        /**
+         * 16비트 범위로 맞춘 샘플 값
+         */
+        private static int sample(byte[] b, int offset, int bits) {
+            return switch (bits) {
+                case 8 -> ((b[offset] & 0xFF) - 128) << 8;
+                case 16 -> (short) ((b[offset] & 0xFF) | (b[offset + 1] << 8));
+                case 24 -> (short) ((b[offset + 1] & 0xFF) | (b[offset + 2] << 8));
+                default -> (short) ((b[offset + 2] & 0xFF) | (b[offset + 3] << 8));
+            };
+        }
+
+        /**
+         * RIFF/WAVE 헤더를 읽고 data 청크 시작 위치에 멈춤
+         */
+        private static Format readHeader(InputStream in) throws IOException {
+            byte[] riff = new byte[12];
+            if (in.readNBytes(riff, 0, 12) < 12
+                    || !"RIFF".equals(ascii(riff, 0)) || !"WAVE".equals(ascii(riff, 8))) {
+                return null;
+            }
+
+            Format fmt = null;
+            byte[] chunkHeader = new byte[8];
+            while (in.readNBytes(chunkHeader, 0, 8) == 8) {
+                String id = ascii(chunkHeader, 0);
+                long size = le32(chunkHeader, 4) & 0xFFFFFFFFL;
+                if ("fmt ".equals(id)) {
+                    if (size < 16) {
+                        return null;
+                    }
+                    byte[] body = new byte[(int) Math.min(size, 64)];
+                    readFully(in, body, body.length);
+                    skipFully(in, size - body.length + (size & 1));
+                    int tag = le16(body, 0);
+                    int bits = le16(body, 14);
+                    if (tag == 0xFFFE && body.length >= 26) {
+                        tag = le16(body, 24); // WAVE_FORMAT_EXTENSIBLE의 서브포맷
+                    }
+                    if (tag != 1 || (bits != 8 && bits != 16 && bits != 24 && bits != 32)) {
+                        return null;
+                    }
+                    fmt = new Format(le16(body, 2), le32(body, 4), bits, 0);
+                } else if ("data".equals(id)) {
+                    if (fmt == null || fmt.channels < 1 || fmt.sampleRate < 1) {
+                        return null;
+                    }
+                    long dataBytes = size == 0 || size == 0xFFFFFFFFL ? Long.MAX_VALUE : size;
+                    return new Format(fmt.channels, fmt.sampleRate, fmt.bitsPerSample, dataBytes);
+                } else {
+                    skipFully(in, size + (size & 1));
+                }
+            }
+            return null;
+        }
+
+        private static String ascii(byte[] b, int offset) {
+            return new String(b, offset, 4, StandardCharsets.US_ASCII);
+        }
+
+        private static int le16(byte[] b, int offset) {
+            return (b[offset] & 0xFF) | (b[offset + 1] & 0xFF) << 8;
+        }
+
+        private static int le32(byte[] b, int offset) {
+            return le16(b, offset) | le16(b, offset + 2) << 16;
+        }
+
+        private static void readFully(InputStream in, byte[] b, int len) throws IOException {
+            if (in.readNBytes(b, 0, len) < len) {
+                throw new EOFException("WAV 데이터가 중간에 끝났습니다");
+            }
+        }
+
+        private static void skipFully(InputStream in, long n) throws IOException {
+            in.skipNBytes(n);
+        }
+    }
+
+    /**
+     * 자른 구간을 16비트 모노 WAV로 내보내는 스트림
+     */
+    private static final class TrimmedWavStream extends InputStream {
+
+        private final Decoder decoder;
+        private final byte[] header;
+        private final short[] samples = new short[4096];
+        private final byte[] bytes = new byte[samples.length * 2];
+        private long toSkip;
+        private long remaining;
+        private int headerPos;
+        private int bytePos;
+        private int byteLimit;
+
+        private TrimmedWavStream(Decoder decoder, int sampleRate, long startSample, long sampleCount) {
+            this.decoder = decoder;
+            this.header = header(sampleRate, sampleCount * 2);
+            this.toSkip = startSample;
+            this.remaining = sampleCount;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (headerPos < header.length) {
+                int n = Math.min(len, header.length - headerPos);
+                System.arraycopy(header, headerPos, b, off, n);
+                headerPos += n;
+                return n;
+            }
+            if (bytePos == byteLimit && !fill()) {
+                return -1;
+            }
+            int n = Math.min(len, byteLimit - bytePos);
+            System.arraycopy(bytes, bytePos, b, off, n);
+            bytePos += n;
+            return n;
+        }
+
+        private boolean fill() throws IOException {
+            while (toSkip > 0) {
+                int n = decoder.read(samples, 0, (int) Math.min(samples.length, toSkip));
+                if (n <= 0) {
+                    break;
+                }
+                toSkip -= n;
+            }
+            if (remaining <= 0) {
+                return false;
+            }
+            int n = decoder.read(samples, 0, (int) Math.min(samples.length, remaining));
+            if (n <= 0) {
+                // 1회차와 같은 데이터라 여기까지 오지 않지만, 선언한 길이는 맞춰서 끝냄
+                n = (int) Math.min(samples.length, remaining);
+                Arrays.fill(samples, 0, n, (short) 0);
+            }
+            for (int i = 0; i < n; i++) {
+                bytes[i * 2] = (byte) samples[i];
+                bytes[i * 2 + 1] = (byte) (samples[i] >> 8);
+            }
+            remaining -= n;
+            bytePos = 0;
+            byteLimit = n * 2;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            decoder.close();
+        }
+
+        private static byte[] header(int sampleRate, long dataBytes) {
+            byte[] h = new byte[HEADER_BYTES];
+            put(h, 0, "RIFF");
+            putInt(h, 4, 36 + dataBytes);
+            put(h, 8, "WAVE");
+            put(h, 12, "fmt ");
+            putInt(h, 16, 16);
+            putShort(h, 20, 1);              // PCM
+            putShort(h, 22, 1);              // 모노
+            putInt(h, 24, sampleRate);
+            putInt(h, 28, sampleRate * 2L);  // byte rate
+            putShort(h, 32, 2);              // block align
+            putShort(h, 34, 16);             // bits per sample
+            put(h, 36, "data");
+            putInt(h, 40, dataBytes);
+            return h;
+        }
+
+        private static void put(byte[] b, int offset, String ascii) {
+            for (int i = 0; i < 4; i++) {
+                b[offset + i] = (byte) ascii.charAt(i);
+            }
+        }
+
+        private static void putShort(byte[] b, int offset, int value) {
+            b[offset] = (byte) value;
+            b[offset + 1] = (byte) (value >> 8);
+        }
+
+        private static void putInt(byte[] b, int offset, long value) {
+            putShort(b, offset, (int) value);
+            putShort(b, offset + 2, (int) (value >> 16));
+        }
+    }
+}
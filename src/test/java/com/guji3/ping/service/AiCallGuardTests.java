@@ -0,0 +1,183 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.exception.custom.UpstreamUnavailableException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 스트리밍 호출 보호 검증
+ * - 본문이 멈추면 호출 시간 제한에 맞춰 스트림을 닫고 실패 처리
+ * - 읽는 쪽이 먼저 끝내면 남은 본문을 기다리지 않음
+ */
+class AiCallGuardTests {
+
+    private static final long TIMEOUT_MS = 500;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer server;
+    private AiCallGuard guard;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/stall-body", exchange -> respond(exchange, true));
+        server.createContext("/stall-headers", exchange -> {
+            requests.incrementAndGet();
+            await();
+            exchange.close();
+        });
+        server.createContext("/complete", exchange -> respond(exchange, false));
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        guard = new AiCallGuard(HttpClient.newHttpClient(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(guard, "transcriptionTimeoutMs", TIMEOUT_MS);
+        ReflectionTestUtils.setField(guard, "analysisTimeoutMs", TIMEOUT_MS);
+        ReflectionTestUtils.setField(guard, "analysisBatchTimeoutMs", TIMEOUT_MS);
+        ReflectionTestUtils.setField(guard, "breakerWindow", 20);
+        ReflectionTestUtils.setField(guard, "breakerMinCalls", 10);
+        ReflectionTestUtils.setField(guard, "breakerFailureRate", 0.5);
+        ReflectionTestUtils.setField(guard, "breakerOpenMs", 60_000L);
+        ReflectionTestUtils.setField(guard, "hedgeEnabled", false);
+        ReflectionTestUtils.setField(guard, "hedgePercentile", 0.95);
+        ReflectionTestUtils.setField(guard, "hedgeMinSamples", 20);
+        ReflectionTestUtils.setField(guard, "hedgeMinDelayMs", 300L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void completeBodyIsReturned() throws Exception {
+        List<String> lines = guard.stream(AiCallGuard.Call.ANALYSIS, request("/complete"), (status, it) -> {
+            List<String> read = new ArrayList<>();
+            it.forEachRemaining(read::add);
+            return read;
+        });
+
+        assertThat(lines).containsExactly("data: 1", "data: 2", "data: [DONE]");
+    }
+
+    @Test
+    void stalledBodyFailsAtDeadline() {
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> guard.stream(AiCallGuard.Call.ANALYSIS, request("/stall-body"), (status, it) -> {
+            while (it.hasNext()) {
+                it.next();
+            }
+            return null;
+        }))
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("본문 시간 초과");
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertThat(elapsedMs).isBetween(TIMEOUT_MS - 50, TIMEOUT_MS + 1500);
+    }
+
+    @Test
+    void readerStoppingEarlyDoesNotWaitForRestOfBody() throws Exception {
+        long start = System.nanoTime();
+
+        String first = guard.stream(AiCallGuard.Call.ANALYSIS, request("/stall-body"), (status, it) -> it.next());
+
+        assertThat(first).isEqualTo("data: 1");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(TIMEOUT_MS);
+    }
+
+    @Test
+    void stalledHeadersFailAtDeadline() {
+        long start = System.nanoTime();
+
+        // 대기 시간 초과와 HttpClient 요청 시간 제한 중 먼저 걸리는 쪽
+        assertThatThrownBy(() -> guard.stream(AiCallGuard.Call.ANALYSIS, request("/stall-headers"), (status, it) -> null))
+                .isInstanceOfAny(UpstreamUnavailableException.class, HttpTimeoutException.class);
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertThat(elapsedMs).isBetween(TIMEOUT_MS - 50, TIMEOUT_MS + 1500);
+    }
+
+    @Test
+    void stalledBodiesOpenBreaker() {
+        ReflectionTestUtils.setField(guard, "breakerWindow", 2);
+        ReflectionTestUtils.setField(guard, "breakerMinCalls", 2);
+        AiCallGuard.LineReader<Object> drain = (status, it) -> {
+            it.forEachRemaining(line -> {
+            });
+            return null;
+        };
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guard.stream(AiCallGuard.Call.ANALYSIS, request("/stall-body"), drain))
+                    .isInstanceOf(UpstreamUnavailableException.class);
+        }
+        int sent = requests.get();
+
+        assertThatThrownBy(() -> guard.stream(AiCallGuard.Call.ANALYSIS, request("/stall-body"), drain))
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("서킷 오픈");
+        assertThat(requests.get()).isEqualTo(sent);
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    /**
+     * SSE 응답 (stall이면 첫 줄만 보내고 테스트가 끝날 때까지 멈춤)
+     */
+    private void respond(HttpExchange exchange, boolean stall) throws IOException {
+        requests.incrementAndGet();
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write("data: 1\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            if (stall) {
+                await();
+                return;
+            }
+            out.write("data: 2\ndata: [DONE]\n".getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // 클라이언트가 먼저 닫음
+        }
+    }
+
+    private void await() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
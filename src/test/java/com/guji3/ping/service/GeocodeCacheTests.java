@@ -0,0 +1,117 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.util.Coordinate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주소 캐시 검증
+ * - 같은 격자 칸은 변환 한 번, 실패(null)는 캐시하지 않음
+ * - 파일에 남긴 결과를 재시작 후 다시 읽음
+ */
+class GeocodeCacheTests {
+
+    private static final Coordinate LATITUDE = Coordinate.valueOf("37.56650");
+    private static final Coordinate LONGITUDE = Coordinate.valueOf("126.97800");
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private Path dir;
+    private GeocodeCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("geocode-cache-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (cache != null) {
+            cache.close();
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void sameCellReusesAddress() throws Exception {
+        cache = cache(true, "");
+
+        assertThat(cache.get(LATITUDE, LONGITUDE, () -> lookup("서울 중구 세종대로 110"))).isEqualTo("서울 중구 세종대로 110");
+        assertThat(cache.get(Coordinate.valueOf("37.56651"), Coordinate.valueOf("126.97801"), () -> lookup("다른 주소")))
+                .isEqualTo("서울 중구 세종대로 110");
+        assertThat(cache.get(Coordinate.valueOf("37.57650"), LONGITUDE, () -> lookup("서울 종로구")))
+                .isEqualTo("서울 종로구");
+
+        assertThat(lookups.get()).isEqualTo(2);
+    }
+
+    @Test
+    void failedLookupIsNotCached() throws Exception {
+        cache = cache(true, "");
+
+        assertThat(cache.get(LATITUDE, LONGITUDE, () -> lookup(null))).isNull();
+        assertThat(cache.get(LATITUDE, LONGITUDE, () -> lookup("서울 중구"))).isEqualTo("서울 중구");
+
+        assertThat(lookups.get()).isEqualTo(2);
+    }
+
+    @Test
+    void disabledAlwaysLooksUp() throws Exception {
+        cache = cache(false, "");
+
+        cache.get(LATITUDE, LONGITUDE, () -> lookup("서울 중구"));
+        cache.get(LATITUDE, LONGITUDE, () -> lookup("서울 중구"));
+
+        assertThat(lookups.get()).isEqualTo(2);
+    }
+
+    @Test
+    void diskFileSurvivesRestart() throws Exception {
+        Path file = dir.resolve("geocode.tsv");
+        cache = cache(true, file.toString());
+        cache.get(LATITUDE, LONGITUDE, () -> lookup("서울 중구\t세종대로"));
+        cache.close();
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0)).endsWith("\t서울 중구 세종대로");
+
+        cache = cache(true, file.toString());
+        assertThat(cache.get(LATITUDE, LONGITUDE, () -> lookup("다시 호출"))).isEqualTo("서울 중구 세종대로");
+        assertThat(lookups.get()).isEqualTo(1);
+    }
+
+    private GeocodeCache cache(boolean enabled, String diskFile) {
+        GeocodeCache cache = new GeocodeCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", enabled);
+        ReflectionTestUtils.setField(cache, "precision", 8);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "diskFile", diskFile);
+        cache.init();
+        return cache;
+    }
+
+    private String lookup(String address) {
+        lookups.incrementAndGet();
+        return address;
+    }
+}
@@ -0,0 +1,182 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.entity.EmergencyLog.DangerLevel;
+import com.guji3.ping.entity.SafeZone;
+import com.guji3.ping.entity.User;
+import com.guji3.ping.repository.SafeZoneRepository;
+import com.guji3.ping.util.Coordinate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 등록 구역 판정 검증
+ * - 겹치는 구역 적용 순서와 예비 위험도 조정
+ * - 전체 적재 조회 도중 한 사용자를 다시 적재해도 오래된 조회 결과로 덮이지 않는지
+ */
+class GeofenceServiceTests {
+
+    private static final Long USER_ID = 1L;
+    private static final Coordinate LATITUDE = Coordinate.valueOf("37.5665");
+    private static final Coordinate LONGITUDE = Coordinate.valueOf("126.978");
+
+    private final User user = User.builder().userId(USER_ID).build();
+
+    private volatile Supplier<List<SafeZone>> allZones = List::of;
+    private volatile Supplier<List<SafeZone>> userZones = List::of;
+    private GeofenceService service;
+
+    @BeforeEach
+    void setUp() {
+        SafeZoneRepository repository = (SafeZoneRepository) Proxy.newProxyInstance(
+                SafeZoneRepository.class.getClassLoader(), new Class<?>[]{SafeZoneRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByIsActiveTrue" -> allZones.get();
+                    case "findByUser_UserIdAndIsActiveTrue" -> userZones.get();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        service = new GeofenceService(repository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "enabled", true);
+    }
+
+    @Test
+    void adjustsEstimateByZoneEffect() {
+        GeofenceService.Zone safe = zone(SafeZone.Effect.LOWER_PRIORITY);
+        GeofenceService.Zone caution = zone(SafeZone.Effect.RAISE_PRIORITY);
+        GeofenceService.Zone tag = zone(SafeZone.Effect.TAG_ONLY);
+
+        assertThat(GeofenceService.adjust(DangerLevel.MEDIUM, safe)).isEqualTo(DangerLevel.LOW);
+        assertThat(GeofenceService.adjust(DangerLevel.HIGH, safe)).isEqualTo(DangerLevel.HIGH);
+        assertThat(GeofenceService.adjust(DangerLevel.LOW, safe)).isEqualTo(DangerLevel.LOW);
+        assertThat(GeofenceService.adjust(DangerLevel.LOW, caution)).isEqualTo(DangerLevel.MEDIUM);
+        assertThat(GeofenceService.adjust(DangerLevel.MEDIUM, caution)).isEqualTo(DangerLevel.HIGH);
+        assertThat(GeofenceService.adjust(DangerLevel.HIGH, caution)).isEqualTo(DangerLevel.HIGH);
+        assertThat(GeofenceService.adjust(DangerLevel.MEDIUM, tag)).isEqualTo(DangerLevel.MEDIUM);
+        assertThat(GeofenceService.adjust(DangerLevel.MEDIUM, null)).isEqualTo(DangerLevel.MEDIUM);
+    }
+
+    @Test
+    void cautionBeatsSafeBeatsTag() {
+        SafeZone tag = circle(1L, SafeZone.Effect.TAG_ONLY, 1000);
+        SafeZone safe = circle(2L, SafeZone.Effect.LOWER_PRIORITY, 500);
+        SafeZone caution = circle(3L, SafeZone.Effect.RAISE_PRIORITY, 100);
+        userZones = () -> List.of(tag, safe, caution);
+
+        service.reload(USER_ID);
+
+        assertThat(service.locate(USER_ID, LATITUDE, LONGITUDE).effect()).isEqualTo(SafeZone.Effect.RAISE_PRIORITY);
+        assertThat(service.locate(USER_ID, north(300), LONGITUDE).effect()).isEqualTo(SafeZone.Effect.LOWER_PRIORITY);
+        assertThat(service.locate(USER_ID, north(800), LONGITUDE).effect()).isEqualTo(SafeZone.Effect.TAG_ONLY);
+        assertThat(service.locate(USER_ID, north(2000), LONGITUDE)).isNull();
+        assertThat(service.locate(2L, LATITUDE, LONGITUDE)).isNull();
+    }
+
+    @Test
+    void polygonZoneFromStoredVertices() {
+        SafeZone school = SafeZone.builder()
+                .zoneId(1L).user(user).name("학교").shape(SafeZone.Shape.POLYGON)
+                .vertices("[[37.56,126.97],[37.56,126.99],[37.57,126.99],[37.57,126.97]]")
+                .build();
+        SafeZone broken = SafeZone.builder()
+                .zoneId(2L).user(user).name("깨진 구역").shape(SafeZone.Shape.POLYGON)
+                .vertices("[[37.56,126.97]]")
+                .build();
+        userZones = () -> List.of(school, broken);
+
+        service.reload(USER_ID);
+
+        assertThat(service.locate(USER_ID, LATITUDE, LONGITUDE).name()).isEqualTo("학교");
+        assertThat(service.locate(USER_ID, north(2000), LONGITUDE)).isNull();
+    }
+
+    @Test
+    void reloadDuringFullReloadIsNotOverwritten() throws Exception {
+        SafeZone before = circle(1L, SafeZone.Effect.LOWER_PRIORITY, 100);
+        SafeZone after = circle(2L, SafeZone.Effect.RAISE_PRIORITY, 100);
+        CountDownLatch queried = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // 전체 적재 조회는 구역 변경 커밋 전 상태를 읽고 멈춤
+        allZones = () -> {
+            queried.countDown();
+            await(release);
+            return List.of(before);
+        };
+        userZones = () -> List.of(after);
+
+        CompletableFuture<Void> full = CompletableFuture.runAsync(service::reloadAll);
+        assertThat(queried.await(5, TimeUnit.SECONDS)).isTrue();
+        service.reload(USER_ID);
+        release.countDown();
+        full.get(5, TimeUnit.SECONDS);
+
+        assertThat(service.locate(USER_ID, LATITUDE, LONGITUDE).zoneId()).isEqualTo(2L);
+    }
+
+    @Test
+    void deletionDuringFullReloadIsNotResurrected() throws Exception {
+        CountDownLatch queried = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        userZones = () -> List.of(circle(1L, SafeZone.Effect.LOWER_PRIORITY, 100));
+        service.reload(USER_ID);
+
+        allZones = () -> {
+            queried.countDown();
+            await(release);
+            return List.of(circle(1L, SafeZone.Effect.LOWER_PRIORITY, 100));
+        };
+        userZones = List::of;
+
+        CompletableFuture<Void> full = CompletableFuture.runAsync(service::reloadAll);
+        assertThat(queried.await(5, TimeUnit.SECONDS)).isTrue();
+        service.reload(USER_ID);
+        release.countDown();
+        full.get(5, TimeUnit.SECONDS);
+
+        assertThat(service.locate(USER_ID, LATITUDE, LONGITUDE)).isNull();
+    }
+
+    @Test
+    void fullReloadDropsUsersWithoutZones() {
+        userZones = () -> List.of(circle(1L, SafeZone.Effect.LOWER_PRIORITY, 100));
+        service.reload(USER_ID);
+        assertThat(service.locate(USER_ID, LATITUDE, LONGITUDE)).isNotNull();
+
+        allZones = List::of;
+        service.reloadAll();
+
+        assertThat(service.locate(USER_ID, LATITUDE, LONGITUDE)).isNull();
+    }
+
+    private SafeZone circle(Long zoneId, SafeZone.Effect effect, int radiusMeters) {
+        return SafeZone.builder()
+                .zoneId(zoneId).user(user).name("구역 " + zoneId).shape(SafeZone.Shape.CIRCLE).effect(effect)
+                .centerLatitude(LATITUDE).centerLongitude(LONGITUDE).radiusMeters(radiusMeters)
+                .build();
+    }
+
+    private static GeofenceService.Zone zone(SafeZone.Effect effect) {
+        return new GeofenceService.Zone(1L, effect.getDescription(), effect);
+    }
+
+    private static Coordinate north(double meters) {
+        return Coordinate.ofDegrees(LATITUDE.degrees() + meters / 111_000);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.guji3.ping.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 멱등성 키 생성과 캐시 만료 검증
+ */
+class IdempotencyCacheTests {
+
+    private final IdempotencyCache cache = new IdempotencyCache();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "ttlMs", 50L);
+        ReflectionTestUtils.setField(cache, "waitMs", 100L);
+    }
+
+    @Test
+    void scopesHeaderKeyOrSequenceToDevice() {
+        assertThat(IdempotencyCache.scopedKey("PING-1", " abc ", 7L)).isEqualTo("PING-1:abc");
+        assertThat(IdempotencyCache.scopedKey("PING-1", " ", 7L)).isEqualTo("PING-1:seq-7");
+        assertThat(IdempotencyCache.scopedKey("PING-1", null, null)).isNull();
+    }
+
+    @Test
+    void scopedKeyFitsColumnForLongestSerial() {
+        String serial = "S".repeat(100);
+
+        String key = IdempotencyCache.scopedKey(serial, "K".repeat(99), null);
+
+        assertThat(key.length()).isLessThanOrEqualTo(200);
+        assertThatThrownBy(() -> IdempotencyCache.scopedKey(serial, "K".repeat(100), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+        assertThatThrownBy(() -> IdempotencyCache.scopedKey("PING-1", "K".repeat(101), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void duplicateWaitsForFirstLogId() {
+        IdempotencyCache.Claim first = cache.claim("PING-1:abc");
+        IdempotencyCache.Claim duplicate = cache.claim("PING-1:abc");
+
+        cache.complete("PING-1:abc", first, 42L);
+
+        assertThat(first.owner()).isTrue();
+        assertThat(duplicate.owner()).isFalse();
+        assertThat(cache.await(duplicate)).isEqualTo(42L);
+    }
+
+    @Test
+    void releasedKeyCanBeClaimedAgain() {
+        IdempotencyCache.Claim first = cache.claim("PING-1:abc");
+        IdempotencyCache.Claim duplicate = cache.claim("PING-1:abc");
+
+        cache.release("PING-1:abc", first);
+
+        assertThat(cache.await(duplicate)).isNull();
+        assertThat(cache.claim("PING-1:abc").owner()).isTrue();
+    }
+
+    @Test
+    void completedKeyExpiresAfterTtl() throws InterruptedException {
+        cache.complete("PING-1:abc", cache.claim("PING-1:abc"), 42L);
+        assertThat(cache.claim("PING-1:abc").owner()).isFalse();
+
+        Thread.sleep(100);
+
+        assertThat(cache.claim("PING-1:abc").owner()).isTrue();
+    }
+
+    @Test
+    void inFlightKeyNeverExpires() throws InterruptedException {
+        IdempotencyCache.Claim first = cache.claim("PING-1:abc");
+
+        Thread.sleep(100);
+        cache.sweep();
+
+        assertThat(cache.claim("PING-1:abc").owner()).isFalse();
+        cache.complete("PING-1:abc", first, 42L);
+    }
+}
@@ -0,0 +1,126 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.util.Coordinate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기기별 긴급 신호 병합 창 검증
+ * - 처리 중 반복 입력은 최신 하나만 남고, 처리가 끝난 뒤 입력은 새 사건으로 열림
+ */
+class IncidentCoalescerTests {
+
+    private static final String DEVICE = "PING-0001";
+
+    private final IncidentCoalescer coalescer = new IncidentCoalescer();
+    private Path spool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(coalescer, "windowMs", 60_000L);
+        ReflectionTestUtils.setField(coalescer, "bindTimeoutMs", 100L);
+        spool = Files.createTempDirectory("coalescer");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(spool)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void keepsOnlyNewestPendingPress() throws IOException {
+        IncidentCoalescer.Admission first = coalescer.admit(DEVICE, press("first"));
+        coalescer.bind(first, 1L);
+
+        Path older = spool.resolve("second");
+        IncidentCoalescer.Admission second = coalescer.admit(DEVICE, press("second"));
+        IncidentCoalescer.Admission third = coalescer.admit(DEVICE, press("third"));
+
+        assertThat(first.isNew()).isTrue();
+        assertThat(second.isNew()).isFalse();
+        assertThat(coalescer.awaitLogId(third)).isEqualTo(1L);
+        assertThat(third.pressCount()).isEqualTo(3);
+        // 밀려난 입력의 음성은 지움
+        assertThat(Files.exists(older)).isFalse();
+
+        IncidentCoalescer.Drained drained = coalescer.drainPending(DEVICE, 1L);
+        assertThat(drained.latest().audioPath()).isEqualTo(spool.resolve("third"));
+        assertThat(drained.pressCount()).isEqualTo(3);
+        assertThat(coalescer.drainPending(DEVICE, 1L).latest()).isNull();
+    }
+
+    @Test
+    void finishDiscardsUndrainedPress() throws IOException {
+        coalescer.bind(coalescer.admit(DEVICE, press("first")), 1L);
+        coalescer.admit(DEVICE, press("late"));
+
+        coalescer.finish(DEVICE, 1L);
+
+        assertThat(Files.exists(spool.resolve("late"))).isFalse();
+    }
+
+    @Test
+    void pressAfterFinishOpensNewIncident() throws IOException {
+        IncidentCoalescer.Admission first = coalescer.admit(DEVICE, press("first"));
+        coalescer.bind(first, 1L);
+        coalescer.finish(DEVICE, 1L);
+
+        IncidentCoalescer.Admission next = coalescer.admit(DEVICE, press("after"));
+
+        assertThat(next.isNew()).isTrue();
+        assertThat(next.pressCount()).isEqualTo(1);
+        assertThat(next.logId()).isNotSameAs(first.logId());
+        // 새 사건 파이프라인이 쓰도록 음성은 남겨 둠
+        assertThat(Files.exists(spool.resolve("after"))).isTrue();
+    }
+
+    @Test
+    void abandonedIncidentIsNotJoined() throws IOException {
+        IncidentCoalescer.Admission first = coalescer.admit(DEVICE, press("first"));
+        coalescer.abandon(DEVICE, first);
+
+        assertThat(coalescer.awaitLogId(first)).isNull();
+        assertThat(coalescer.admit(DEVICE, press("retry")).isNew()).isTrue();
+    }
+
+    @Test
+    void sweepRemovesOnlyExpiredFinishedIncidents() throws Exception {
+        ReflectionTestUtils.setField(coalescer, "windowMs", 50L);
+        coalescer.bind(coalescer.admit(DEVICE, press("first")), 1L);
+        coalescer.admit(DEVICE, press("second"));
+        Thread.sleep(100);
+
+        // 창은 지났지만 아직 처리 중이면 남김
+        coalescer.sweep();
+        assertThat(coalescer.drainPending(DEVICE, 1L).pressCount()).isEqualTo(2);
+
+        coalescer.finish(DEVICE, 1L);
+        coalescer.sweep();
+        assertThat(coalescer.drainPending(DEVICE, 1L).pressCount()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledWindowAlwaysOpensNewIncident() throws IOException {
+        ReflectionTestUtils.setField(coalescer, "windowMs", 0L);
+
+        assertThat(coalescer.admit(DEVICE, press("first")).isNew()).isTrue();
+        assertThat(coalescer.admit(DEVICE, press("second")).isNew()).isTrue();
+    }
+
+    private IncidentCoalescer.Press press(String name) throws IOException {
+        Path audio = Files.createFile(spool.resolve(name));
+        return new IncidentCoalescer.Press(Coordinate.valueOf("37.5665"), Coordinate.valueOf("126.978"), audio);
+    }
+}
@@ -0,0 +1,83 @@
+package com.guji3.ping.service;
+
+import com.guji3.ping.entity.EmergencyLog.DangerLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 키워드 1차 판정 검증
+ * - 실제 신고 문장은 해당 상황/위험도로 잡히고
+ * - 일상 문장(칼국수, 경찰서 앞 등)은 HIGH로 잡히지 않는지 확인
+ */
+class KeywordTriageTests {
+
+    private final KeywordTriage triage = new KeywordTriage();
+
+    @Test
+    void detectsEmergencyPhrases() {
+        List<String[]> corpus = List.of(
+                new String[]{"살려 주세요", "구조 요청"},
+                new String[]{"누가 칼 들고 쫓아와요", "흉기 위협"},
+                new String[]{"칼로 찔렸어요 피가 나요", "흉기 위협"},
+                new String[]{"그만 때려 제발", "폭행"},
+                new String[]{"경찰 불러 주세요", "구조 요청"},
+                new String[]{"도와주세요 누가 잡혀가요", "납치"},
+                new String[]{"불이야 불났어요", "화재"},
+                new String[]{"사람이 쓰러졌어요 숨을 못 쉬어요", "응급 의료"},
+                new String[]{"모르는 사람이 계속 따라와요", "스토킹"},
+                new String[]{"112에 신고해 주세요", "구조 요청"});
+
+        for (String[] sample : corpus) {
+            KeywordTriage.Triage result = triage.classify(sample[0]);
+            assertThat(result.dangerLevel()).as("%s", sample[0]).isEqualTo(DangerLevel.HIGH);
+            assertThat(result.situations()).as("%s", sample[0]).contains(sample[1]);
+        }
+    }
+
+    @Test
+    void ignoresEverydayPhrases() {
+        List<String> corpus = List.of(
+                "칼국수 먹으러 가자",
+                "칼로리 계산해야 해",
+                "네 말이 맞았어",
+                "내가 도와줄게",
+                "도와줘서 고마워",
+                "신고서 작성했어",
+                "경찰서 앞에서 만나",
+                "버스 타고 있어",
+                "연기가 정말 자연스럽다",
+                "심장이 두근두근해",
+                "약속이 잡혀 있어",
+                "따라오세요 이쪽이에요");
+
+        for (String sentence : corpus) {
+            KeywordTriage.Triage result = triage.classify(sentence);
+            assertThat(result.dangerLevel()).as("%s", sentence).isNotEqualTo(DangerLevel.HIGH);
+        }
+    }
+
+    @Test
+    void exclusionOnlyCoversKeywordInsideIt() {
+        // 같은 문장에 부정 문맥과 진짜 요청이 함께 있으면 요청은 살아 있음
+        KeywordTriage.Triage result = triage.classify("도와줘서 고마웠는데 지금 또 도와주세요");
+
+        assertThat(result.situation()).isEqualTo("구조 요청");
+    }
+
+    @Test
+    void highestDangerWinsAndLowNeedsNoOtherHit() {
+        assertThat(triage.classify("실수로 눌렀어요").dangerLevel()).isEqualTo(DangerLevel.LOW);
+        assertThat(triage.classify("실수로 넘어졌어요").dangerLevel()).isEqualTo(DangerLevel.MEDIUM);
+        assertThat(triage.classify("넘어졌는데 누가 칼 들고 있어요").situation()).isEqualTo("흉기 위협");
+    }
+
+    @Test
+    void noMatchReturnsNone() {
+        assertThat(triage.classify(null)).isSameAs(KeywordTriage.Triage.NONE);
+        assertThat(triage.classify("  ").matched()).isFalse();
+        assertThat(triage.classify("오늘 날씨 좋다").matched()).isFalse();
+    }
+}
@@ -0,0 +1,104 @@
+package com.guji3.ping.util;
+
+import com.guji3.ping.entity.CoordinateConverter;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 십진 좌표 파서 검증
+ * - 결과가 BigDecimal(scale 8, HALF_UP)로 읽은 값과 같은지, DB 변환을 오가도 그대로인지 확인
+ */
+class CoordinateTests {
+
+    @Test
+    void parsesPlainDecimals() {
+        assertThat(Coordinate.valueOf("37.5665").e8()).isEqualTo(3_756_650_000L);
+        assertThat(Coordinate.valueOf("-126.97801234").e8()).isEqualTo(-12_697_801_234L);
+        assertThat(Coordinate.valueOf("+127").e8()).isEqualTo(12_700_000_000L);
+        assertThat(Coordinate.valueOf(" .5 ").e8()).isEqualTo(50_000_000L);
+        assertThat(Coordinate.valueOf("180.").e8()).isEqualTo(18_000_000_000L);
+        assertThat(Coordinate.valueOf(null)).isNull();
+    }
+
+    @Test
+    void roundsNinthDigitHalfUp() {
+        assertThat(Coordinate.valueOf("0.123456784").e8()).isEqualTo(12_345_678L);
+        assertThat(Coordinate.valueOf("0.123456785").e8()).isEqualTo(12_345_679L);
+        assertThat(Coordinate.valueOf("0.1234567849999").e8()).isEqualTo(12_345_678L);
+        assertThat(Coordinate.valueOf("37.999999995").e8()).isEqualTo(3_800_000_000L);
+        assertThat(Coordinate.valueOf("-37.123456785").e8()).isEqualTo(-3_712_345_679L);
+        // HALF_UP은 0에서 먼 쪽으로 올림
+        assertThat(Coordinate.valueOf("-0.000000005").e8()).isEqualTo(-1L);
+        assertThat(Coordinate.valueOf("-0.000000004").e8()).isZero();
+    }
+
+    @Test
+    void parsesExponentNotation() {
+        assertThat(Coordinate.valueOf("3.75E1").e8()).isEqualTo(3_750_000_000L);
+        assertThat(Coordinate.valueOf("-1.2345e-3").e8()).isEqualTo(-123_450L);
+        assertThat(Coordinate.valueOf("5e-9").e8()).isEqualTo(1L);
+        assertThat(Coordinate.valueOf("5e-10").e8()).isZero();
+        assertThat(Coordinate.valueOf("1e-999999999").e8()).isZero();
+    }
+
+    @Test
+    void rejectsGarbageAndOverflow() {
+        for (String text : List.of("", " ", "-", "+", ".", "abc", "1.2.3", "1,5", "+-1", "0x10", "1e", "37.5N",
+                "1234567890", "1e10", "1e999999999", "NaN", "Infinity")) {
+            assertThatThrownBy(() -> Coordinate.valueOf(text))
+                    .as("%s", text)
+                    .isInstanceOf(NumberFormatException.class);
+        }
+    }
+
+    @Test
+    void matchesBigDecimalHalfUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            String text = randomDecimal(random);
+            long expected = new BigDecimal(text).setScale(Coordinate.SCALE, RoundingMode.HALF_UP)
+                    .unscaledValue().longValueExact();
+
+            assertThat(Coordinate.valueOf(text).e8()).as("%s", text).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void roundTripsThroughConverter() {
+        CoordinateConverter converter = new CoordinateConverter();
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            Coordinate coordinate = Coordinate.valueOf(randomDecimal(random));
+            BigDecimal column = converter.convertToDatabaseColumn(coordinate);
+
+            assertThat(column.scale()).isEqualTo(Coordinate.SCALE);
+            assertThat(converter.convertToEntityAttribute(column)).isEqualTo(coordinate);
+            assertThat(Coordinate.valueOf(coordinate.toString())).isEqualTo(coordinate);
+        }
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    private static String randomDecimal(Random random) {
+        StringBuilder text = new StringBuilder();
+        if (random.nextBoolean()) {
+            text.append(random.nextBoolean() ? '-' : '+');
+        }
+        text.append(random.nextInt(181));
+        int fractionDigits = random.nextInt(13);
+        if (fractionDigits > 0) {
+            text.append('.');
+            for (int d = 0; d < fractionDigits; d++) {
+                text.append((char) ('0' + random.nextInt(10)));
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,150 @@
+package com.guji3.ping.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 구역 색인 판정 검증
+ * - 원: 무작위 점을 haversine 거리와 비교 (경계 근처 평면 근사 오차 범위는 제외)
+ * - 다각형: 오목한 모양, 구멍(한 고리로 이은 안쪽 고리), 맞닿은 변
+ * - 겹치면 rank가 큰 구역
+ */
+class GeofenceIndexTests {
+
+    private static final Coordinate CENTER_LATITUDE = Coordinate.valueOf("37.5665");
+    private static final Coordinate CENTER_LONGITUDE = Coordinate.valueOf("126.978");
+
+    @Test
+    void circleMatchesHaversineDistance() {
+        Random random = new Random(42);
+        for (double radius : new double[]{50, 500, 5000}) {
+            GeofenceIndex<String> index = GeofenceIndex.<String>builder()
+                    .addCircle("home", 0, CENTER_LATITUDE, CENTER_LONGITUDE, radius)
+                    .build();
+            double margin = Math.max(1, radius * 1e-3);
+            double spread = radius * 2 / 111_000;
+
+            int checked = 0;
+            for (int i = 0; i < 20_000; i++) {
+                Coordinate latitude = Coordinate.ofDegrees(
+                        CENTER_LATITUDE.degrees() + (random.nextDouble() * 2 - 1) * spread);
+                Coordinate longitude = Coordinate.ofDegrees(
+                        CENTER_LONGITUDE.degrees() + (random.nextDouble() * 2 - 1) * spread * 1.3);
+                double distance = Coordinate.distanceMeters(CENTER_LATITUDE, CENTER_LONGITUDE, latitude, longitude);
+                if (Math.abs(distance - radius) < margin) {
+                    continue;
+                }
+                checked++;
+                assertThat(index.find(latitude, longitude))
+                        .as("반지름 %.0fm, 거리 %.2fm", radius, distance)
+                        .isEqualTo(distance < radius ? "home" : null);
+            }
+            assertThat(checked).isGreaterThan(19_000);
+        }
+    }
+
+    @Test
+    void concavePolygon() {
+        // U자 모양 (북쪽이 트임): 가운데 홈은 바깥
+        GeofenceIndex<String> index = GeofenceIndex.<String>builder()
+                .addPolygon("school", 0, degrees(37.0, 37.0, 37.3, 37.3, 37.1, 37.1, 37.3, 37.3),
+                        degrees(127.0, 127.3, 127.3, 127.2, 127.2, 127.1, 127.1, 127.0))
+                .build();
+
+        assertThat(find(index, 37.05, 127.15)).isEqualTo("school");
+        assertThat(find(index, 37.25, 127.05)).isEqualTo("school");
+        assertThat(find(index, 37.25, 127.25)).isEqualTo("school");
+        assertThat(find(index, 37.2, 127.15)).isNull();
+        assertThat(find(index, 37.35, 127.15)).isNull();
+    }
+
+    @Test
+    void polygonWithHole() {
+        // 바깥 고리 → 다리 → 안쪽 고리(반대 방향) → 다리로 돌아오는 한 고리 (even-odd로 안쪽은 바깥 취급)
+        GeofenceIndex<String> index = GeofenceIndex.<String>builder()
+                .addPolygon("park", 0,
+                        degrees(37.0, 37.0, 37.4, 37.4, 37.0, 37.1, 37.3, 37.3, 37.1, 37.1),
+                        degrees(127.0, 127.4, 127.4, 127.0, 127.0, 127.1, 127.1, 127.3, 127.3, 127.1))
+                .build();
+
+        assertThat(find(index, 37.05, 127.2)).isEqualTo("park");
+        assertThat(find(index, 37.35, 127.2)).isEqualTo("park");
+        assertThat(find(index, 37.2, 127.2)).isNull();
+        assertThat(find(index, 37.5, 127.2)).isNull();
+    }
+
+    @Test
+    void sharedEdgeBelongsToExactlyOneSide() {
+        GeofenceIndex<String> west = GeofenceIndex.<String>builder()
+                .addPolygon("west", 0, degrees(37.0, 37.0, 37.1, 37.1), degrees(127.0, 127.1, 127.1, 127.0))
+                .build();
+        GeofenceIndex<String> east = GeofenceIndex.<String>builder()
+                .addPolygon("east", 0, degrees(37.0, 37.0, 37.1, 37.1), degrees(127.1, 127.2, 127.2, 127.1))
+                .build();
+
+        // 맞닿은 변 위의 점은 두 구역 중 정확히 한쪽에만 속함
+        for (int i = 1; i < 10; i++) {
+            double latitude = 37.0 + i / 100.0;
+            boolean inWest = find(west, latitude, 127.1) != null;
+            boolean inEast = find(east, latitude, 127.1) != null;
+            assertThat(inWest != inEast).as("%.2f", latitude).isTrue();
+        }
+        // 가로 변도 마찬가지 (아래 구역과 위 구역)
+        GeofenceIndex<String> north = GeofenceIndex.<String>builder()
+                .addPolygon("north", 0, degrees(37.1, 37.1, 37.2, 37.2), degrees(127.0, 127.1, 127.1, 127.0))
+                .build();
+        for (int i = 1; i < 10; i++) {
+            double longitude = 127.0 + i / 100.0;
+            boolean inWest = find(west, 37.1, longitude) != null;
+            boolean inNorth = find(north, 37.1, longitude) != null;
+            assertThat(inWest != inNorth).as("%.2f", longitude).isTrue();
+        }
+    }
+
+    @Test
+    void higherRankWinsWhenZonesOverlap() {
+        GeofenceIndex<String> index = GeofenceIndex.<String>builder()
+                .addCircle("tag", 0, CENTER_LATITUDE, CENTER_LONGITUDE, 1000)
+                .addCircle("caution", 2, CENTER_LATITUDE, CENTER_LONGITUDE, 100)
+                .addCircle("safe", 1, CENTER_LATITUDE, CENTER_LONGITUDE, 300)
+                .addCircle("safe-later", 1, CENTER_LATITUDE, CENTER_LONGITUDE, 300)
+                .build();
+
+        assertThat(index.find(CENTER_LATITUDE, CENTER_LONGITUDE)).isEqualTo("caution");
+        assertThat(find(index, 37.5665 + 200 / 111_000.0, 126.978)).isEqualTo("safe");
+        assertThat(find(index, 37.5665 + 600 / 111_000.0, 126.978)).isEqualTo("tag");
+        assertThat(find(index, 37.5665 + 2000 / 111_000.0, 126.978)).isNull();
+    }
+
+    @Test
+    void emptyAndInvalidZones() {
+        GeofenceIndex<String> empty = GeofenceIndex.<String>builder().build();
+
+        assertThat(empty.size()).isZero();
+        assertThat(empty.find(CENTER_LATITUDE, CENTER_LONGITUDE)).isNull();
+        assertThatThrownBy(() -> GeofenceIndex.<String>builder()
+                .addCircle("x", 0, CENTER_LATITUDE, CENTER_LONGITUDE, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeofenceIndex.<String>builder()
+                .addPolygon("x", 0, degrees(37.0, 37.1), degrees(127.0, 127.1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String find(GeofenceIndex<String> index, double latitude, double longitude) {
+        return index.find(Coordinate.ofDegrees(latitude), Coordinate.ofDegrees(longitude));
+    }
+
+    private static List<Coordinate> degrees(double... values) {
+        List<Coordinate> coordinates = new ArrayList<>(values.length);
+        for (double value : values) {
+            coordinates.add(Coordinate.ofDegrees(value));
+        }
+        return coordinates;
+    }
+}
@@ -0,0 +1,45 @@
+package com.guji3.ping.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * geohash 인코딩 검증 (참조 구현의 알려진 값)
+ */
+class GeohashTests {
+
+    @Test
+    void matchesReferenceVectors() {
+        assertThat(Geohash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(Geohash.encode(42.6, -5.6, 5)).isEqualTo("ezs42");
+        assertThat(Geohash.encode(0, 0, 1)).isEqualTo("s");
+        assertThat(Geohash.encode(-90, -180, 4)).isEqualTo("0000");
+    }
+
+    @Test
+    void shorterHashIsPrefixOfLonger() {
+        String full = Geohash.encode(37.5665, 126.978, Geohash.MAX_PRECISION);
+
+        for (int precision = 1; precision < Geohash.MAX_PRECISION; precision++) {
+            assertThat(full).startsWith(Geohash.encode(37.5665, 126.978, precision));
+        }
+    }
+
+    @Test
+    void nearbyPointsShareCell() {
+        // 8자리 칸(약 38m x 19m) 안쪽 두 점과 칸 밖의 점
+        String cell = Geohash.encode(37.56650, 126.97800, 8);
+
+        assertThat(Geohash.encode(37.56651, 126.97801, 8)).isEqualTo(cell);
+        assertThat(Geohash.encode(37.56750, 126.97800, 8)).isNotEqualTo(cell);
+    }
+
+    @Test
+    void rejectsPrecisionOutOfRange() {
+        assertThatThrownBy(() -> Geohash.encode(37.5, 127.0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Geohash.encode(37.5, 127.0, Geohash.MAX_PRECISION + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,123 @@
+package com.guji3.ping.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스트리밍 JSON 필드 파서 검증
+ * - 같은 응답을 모든 위치에서 두 조각으로 나눠 넣어도 (이스케이프/\\uXXXX 중간 포함) 결과가 같은지 확인
+ */
+class JsonFieldStreamParserTests {
+
+    private static final String RESPONSE = """
+            ```json
+            {
+              "situation": "흉기 \\"위협\\"\\n(추정)",
+              "dangerLevel": "HIGH",
+              "emoji": "\\ud83d\\udea8 \\uAC00",
+              "path": "a\\\\b\\/c",
+              "score": 0.93,
+              "confirmed": true,
+              "note": null,
+              "details": {"who": "모르는 사람", "items": ["칼", {"x": "}]\\""}], "n": null},
+              "tags": ["a", "b"]
+            }
+            ```""";
+
+    private static final Map<String, String> EXPECTED = expected();
+
+    @Test
+    void parsesWholeResponse() {
+        Parsed parsed = parse(List.of(RESPONSE));
+
+        assertThat(parsed.fields).isEqualTo(EXPECTED);
+        assertThat(parsed.complete).isTrue();
+    }
+
+    @Test
+    void sameFieldsForEverySplitPoint() {
+        for (int i = 0; i <= RESPONSE.length(); i++) {
+            Parsed parsed = parse(List.of(RESPONSE.substring(0, i), RESPONSE.substring(i)));
+
+            assertThat(parsed.fields).as("%d번째 글자에서 나눔", i).isEqualTo(EXPECTED);
+        }
+    }
+
+    @Test
+    void sameFieldsCharByChar() {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < RESPONSE.length(); i++) {
+            chunks.add(RESPONSE.substring(i, i + 1));
+        }
+
+        assertThat(parse(chunks).fields).isEqualTo(EXPECTED);
+    }
+
+    @Test
+    void emitsFieldsAsSoonAsTheyComplete() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        JsonFieldStreamParser parser = new JsonFieldStreamParser(fields::put);
+
+        parser.feed("{\"situation\": \"화재\", \"dangerLevel\": \"HI");
+        assertThat(fields).containsEntry("situation", "화재");
+        assertThat(fields).hasSize(1);
+
+        parser.feed("GH\", \"score\": 12");
+        assertThat(fields).containsEntry("dangerLevel", "HIGH");
+        assertThat(fields).hasSize(2);
+        assertThat(parser.isComplete()).isFalse();
+
+        parser.feed("}");
+        assertThat(fields).containsEntry("score", "12");
+        assertThat(parser.isComplete()).isTrue();
+    }
+
+    @Test
+    void incompleteObjectIsNotComplete() {
+        Parsed parsed = parse(List.of("```json\n{\"situation\": \"납치\", \"analysis\": \"차에 태"));
+
+        assertThat(parsed.complete).isFalse();
+        assertThat(parsed.fields).containsEntry("situation", "납치");
+        assertThat(parsed.fields).hasSize(1);
+    }
+
+    @Test
+    void emptyObject() {
+        Parsed parsed = parse(List.of("{ }"));
+
+        assertThat(parsed.complete).isTrue();
+        assertThat(parsed.fields).isEmpty();
+    }
+
+    private static Parsed parse(List<String> chunks) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        JsonFieldStreamParser parser = new JsonFieldStreamParser(fields::put);
+        for (String chunk : chunks) {
+            parser.feed(chunk);
+        }
+        return new Parsed(fields, parser.isComplete());
+    }
+
+    private static Map<String, String> expected() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("situation", "흉기 \"위협\"\n(추정)");
+        fields.put("dangerLevel", "HIGH");
+        fields.put("emoji", "🚨 가");
+        fields.put("path", "a\\b/c");
+        fields.put("score", "0.93");
+        fields.put("confirmed", "true");
+        fields.put("note", null);
+        fields.put("details", "{\"who\": \"모르는 사람\", \"items\": [\"칼\", {\"x\": \"}]\\\"\"}], \"n\": null}");
+        fields.put("tags", "[\"a\", \"b\"]");
+        return fields;
+    }
+
+    private record Parsed(Map<String, String> fields, boolean complete) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.guji3.ping.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 요청 묶음 처리 검증
+ * - max-items가 차면 max-wait 전에 바로 처리, 혼자면 처리하지 않고 null
+ * - 결과가 빠진 항목과 일괄 처리 실패는 해당 요청(실패면 전부)에 예외로 전달
+ */
+class MicroBatcherTests {
+
+    private static final long LONG_WAIT_MS = 10_000;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fullBatchRunsWithoutWaiting() throws Exception {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(3, LONG_WAIT_MS, this::echo);
+        long start = System.nanoTime();
+
+        List<Future<String>> results = submitAll(batcher, 1, 2, 3);
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo("결과 " + (i + 1));
+        }
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(LONG_WAIT_MS / 2);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsOnly(1, 2, 3);
+    }
+
+    @Test
+    void leaderAloneReturnsNullAfterMaxWait() throws Exception {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(3, 50, this::echo);
+        long start = System.nanoTime();
+
+        assertThat(batcher.submit(1, LONG_WAIT_MS)).isNull();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(45L);
+        assertThat(batches).isEmpty();
+        // 다음 요청은 새 묶음을 엶
+        assertThat(batcher.submit(2, LONG_WAIT_MS)).isNull();
+    }
+
+    @Test
+    void missingResultFailsOnlyThatRequest() throws Exception {
+        // 홀수는 결과 자리가 null
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(2, LONG_WAIT_MS, items -> {
+            List<String> results = new ArrayList<>();
+            for (Integer item : items) {
+                results.add(item % 2 == 0 ? "결과 " + item : null);
+            }
+            return results;
+        });
+
+        List<Future<String>> results = submitAll(batcher, 1, 2);
+
+        assertMissing(results.get(0));
+        assertThat(results.get(1).get(5, TimeUnit.SECONDS)).isEqualTo("결과 2");
+    }
+
+    @Test
+    void shortResultListFailsRemainingRequests() throws Exception {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(2, LONG_WAIT_MS, items -> List.of());
+
+        for (Future<String> result : submitAll(batcher, 1, 2)) {
+            assertMissing(result);
+        }
+    }
+
+    @Test
+    void handlerFailureReachesEveryWaiter() throws Exception {
+        IOException failure = new IOException("upstream");
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>(3, LONG_WAIT_MS, items -> {
+            batches.add(items);
+            throw failure;
+        });
+
+        List<Future<String>> results = submitAll(batcher, 1, 2, 3);
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IOException.class);
+        }
+        assertThat(batches).hasSize(1);
+    }
+
+    private List<Future<String>> submitAll(MicroBatcher<Integer, String> batcher, Integer... items) {
+        List<Future<String>> results = new ArrayList<>();
+        for (Integer item : items) {
+            results.add(executor.submit(() -> batcher.submit(item, LONG_WAIT_MS)));
+        }
+        return results;
+    }
+
+    private static void assertMissing(Future<String> result) {
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private List<String> echo(List<Integer> items) {
+        batches.add(items);
+        List<String> results = new ArrayList<>();
+        for (Integer item : items) {
+            results.add("결과 " + item);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,294 @@
+package com.guji3.ping.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 음성 업로드 스트리밍 검증
+ * - 구독자가 받은 만큼만 음성 파일을 읽는지 (먼저 읽어 쌓아 두는 양이 버퍼 몇 개를 넘지 않는지) 직접 확인
+ * - 로컬 서버로 보내 본문 내용/Content-Length가 맞는지 확인
+ */
+class MultipartBodyPublisherTests {
+
+    private static final long MB = 1024 * 1024;
+
+    // HttpClient 입력 스트림 버퍼 몇 개 분량 (본문을 통째로 읽으면 파일 크기만큼 앞서 나감)
+    private static final long MAX_READ_AHEAD = 64 * 1024;
+
+    private final AtomicReference<Received> received = new AtomicReference<>();
+
+    private HttpServer server;
+    private HttpClient client;
+    private long expectedSize;
+
+    @BeforeEach
+    void startSink() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/transcriptions", this::receive);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void stopSink() {
+        server.stop(0);
+    }
+
+    @Test
+    void readsAudioOnlyAsFastAsSubscriberDemands() throws Exception {
+        long size = 8 * MB;
+        AtomicLong sourceRead = new AtomicLong();
+        MultipartBodyPublisher body = new MultipartBodyPublisher()
+                .addFile("file", "audio.mp3", "audio/mpeg",
+                        () -> new CountingInputStream(new PatternInputStream(size), sourceRead), size)
+                .addField("model", "whisper-1");
+
+        DemandSubscriber subscriber = new DemandSubscriber(sourceRead);
+        body.build().subscribe(subscriber);
+
+        // 일부만 요청하고 멈추면 그 이상 읽지 않음
+        subscriber.request(64);
+        Thread.sleep(50);
+        assertThat(sourceRead.get() - subscriber.delivered)
+                .as("요청을 멈춘 뒤 먼저 읽은 바이트")
+                .isLessThanOrEqualTo(MAX_READ_AHEAD);
+        assertThat(sourceRead.get()).isLessThan(size);
+
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.done.get(10, TimeUnit.SECONDS);
+
+        assertThat(sourceRead.get()).isEqualTo(size);
+        assertThat(subscriber.delivered).isEqualTo(body.contentLength());
+        assertThat(subscriber.maxReadAhead)
+                .as("전송 중 가장 많이 앞서 읽은 바이트")
+                .isLessThanOrEqualTo(MAX_READ_AHEAD);
+    }
+
+    @Test
+    void uploadsMultipartBody() throws Exception {
+        long size = MB + 123;
+        Received result = upload(size);
+
+        assertThat(result.fileBytes).isEqualTo(size);
+        assertThat(result.fileCrc).isEqualTo(expectedCrc(size));
+        assertThat(result.contentLength).isEqualTo(result.totalBytes);
+        assertThat(result.trailer)
+                .contains("name=\"model\"\r\n\r\nwhisper-1\r\n")
+                .contains("name=\"language\"\r\n\r\nko\r\n")
+                .endsWith("--\r\n");
+    }
+
+    private Received upload(long size) throws Exception {
+        expectedSize = size;
+        received.set(null);
+
+        MultipartBodyPublisher body = new MultipartBodyPublisher()
+                .addFile("file", "audio.mp3", "audio/mpeg", () -> new PatternInputStream(size), size)
+                .addField("model", "whisper-1")
+                .addField("language", "ko");
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/transcriptions"))
+                .header("Content-Type", body.contentType())
+                .POST(body.build())
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(body.contentLength()).isGreaterThan(size);
+        return received.get();
+    }
+
+    /**
+     * 가짜 Whisper 엔드포인트: 파일 파트 헤더를 건너뛰고 음성 바이트는 CRC만 계산하며 흘려보냄
+     */
+    private void receive(HttpExchange exchange) throws IOException {
+        long contentLength = Long.parseLong(exchange.getRequestHeaders().getFirst("Content-Length"));
+        try (InputStream in = exchange.getRequestBody()) {
+            long total = skipPartHeader(in);
+
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[64 * 1024];
+            long fileBytes = 0;
+            while (fileBytes < expectedSize) {
+                int n = in.read(buffer, 0, (int) Math.min(buffer.length, expectedSize - fileBytes));
+                if (n < 0) {
+                    break;
+                }
+                crc.update(buffer, 0, n);
+                fileBytes += n;
+            }
+            total += fileBytes;
+
+            byte[] trailer = in.readAllBytes();
+            total += trailer.length;
+
+            received.set(new Received(fileBytes, crc.getValue(), contentLength, total,
+                    new String(trailer, StandardCharsets.UTF_8)));
+        }
+        exchange.sendResponseHeaders(200, -1);
+        exchange.close();
+    }
+
+    /**
+     * 첫 번째 빈 줄(\r\n\r\n)까지 읽고 읽은 바이트 수 반환
+     */
+    private static long skipPartHeader(InputStream in) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) >= 0) {
+            header.write(b);
+            String text = header.toString(StandardCharsets.UTF_8);
+            if (text.endsWith("\r\n\r\n")) {
+                assertThat(text).contains("name=\"file\"; filename=\"audio.mp3\"");
+                break;
+            }
+        }
+        return header.size();
+    }
+
+    private static long expectedCrc(long size) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new PatternInputStream(size)) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, n);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private record Received(long fileBytes, long fileCrc, long contentLength, long totalBytes, String trailer) {
+    }
+
+    /**
+     * 요청한 만큼만 받는 구독자 (받을 때마다 원본에서 먼저 읽어 둔 양을 기록)
+     */
+    private static final class DemandSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+        private final AtomicLong sourceRead;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+        private volatile long delivered;
+        private volatile long maxReadAhead;
+
+        DemandSubscriber(AtomicLong sourceRead) {
+            this.sourceRead = sourceRead;
+        }
+
+        void request(long n) {
+            subscription.join().request(n);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            subscription.complete(s);
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            delivered += item.remaining();
+            maxReadAhead = Math.max(maxReadAhead, sourceRead.get() - delivered);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+    }
+
+    /**
+     * 원본에서 읽힌 바이트 수 기록
+     */
+    private static final class CountingInputStream extends InputStream {
+
+        private final InputStream in;
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            this.in = in;
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count.addAndGet(n);
+            }
+            return n;
+        }
+    }
+
+    /**
+     * 메모리에 올리지 않고 만들어내는 가짜 음성 데이터
+     */
+    private static final class PatternInputStream extends InputStream {
+
+        private final long size;
+        private long position;
+
+        PatternInputStream(long size) {
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            return position < size ? valueAt(position++) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= size) {
+                return -1;
+            }
+            int n = (int) Math.min(len, size - position);
+            for (int i = 0; i < n; i++) {
+                b[off + i] = (byte) valueAt(position++);
+            }
+            return n;
+        }
+
+        private static int valueAt(long position) {
+            return (int) ((position * 31 + (position >>> 13)) & 0xFF);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.guji3.ping.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * LRU + TTL 캐시 검증
+ * - 적중/미적중, 같은 키 동시 요청은 loader 한 번 (실패/null도 함께 받음, 캐시하지 않음)
+ * - 만료, 가장 오래 안 쓴 항목부터 제거, 무게 합계
+ */
+class TtlLruCacheTests {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void missThenHit() throws Exception {
+        TtlLruCache<String> cache = cache(10, 60_000);
+
+        assertThat(cache.get("a", () -> load("A"))).isEqualTo("A");
+        assertThat(cache.get("a", () -> load("other"))).isEqualTo("A");
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.saved()).isEqualTo(1.0);
+        assertThat(cache.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void concurrentRequestsShareOneLoad() throws Exception {
+        TtlLruCache<String> cache = cache(10, 60_000);
+        CountDownLatch release = new CountDownLatch(1);
+        int waiters = 8;
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> getQuietly(cache, () -> {
+            await(release);
+            return load("A");
+        }));
+        List<CompletableFuture<String>> followers = new ArrayList<>();
+        for (int i = 0; i < waiters; i++) {
+            followers.add(CompletableFuture.supplyAsync(() -> getQuietly(cache, () -> load("other"))));
+        }
+        // 모두 선점한 요청에 합류한 뒤 결과를 냄
+        awaitSaved(cache, waiters);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("A");
+        for (CompletableFuture<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("A");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void failureReachesWaitersAndIsNotCached() throws Exception {
+        TtlLruCache<String> cache = cache(10, 60_000);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> leader = CompletableFuture.runAsync(() -> assertThatThrownBy(() -> cache.get("a", () -> {
+            await(release);
+            loads.incrementAndGet();
+            throw new IOException("upstream");
+        })).isInstanceOf(IOException.class));
+        CompletableFuture<Void> follower = CompletableFuture.runAsync(() ->
+                assertThatThrownBy(() -> cache.get("a", () -> load("other"))).isInstanceOf(IOException.class));
+        awaitSaved(cache, 1);
+        release.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+        follower.get(5, TimeUnit.SECONDS);
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("a", () -> load("A"))).isEqualTo("A");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void nullIsNotCached() throws Exception {
+        TtlLruCache<String> cache = cache(10, 60_000);
+
+        assertThat(cache.get("a", () -> load(null))).isNull();
+        assertThat(cache.get("a", () -> load("A"))).isEqualTo("A");
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void expiresAfterTtl() throws Exception {
+        TtlLruCache<String> cache = cache(10, 50);
+        cache.get("a", () -> load("A"));
+        cache.put("b", "B", System.currentTimeMillis() + 60_000);
+
+        Thread.sleep(100);
+
+        assertThat(cache.sweep()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("a", () -> load("A2"))).isEqualTo("A2");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAndTracksWeight() throws Exception {
+        TtlLruCache<String> cache = new TtlLruCache<>(2, 60_000, (key, value) -> value.length(),
+                new SimpleMeterRegistry(), "ping.test.cache");
+        cache.get("a", () -> load("AAAA"));
+        cache.get("b", () -> load("BB"));
+        cache.get("a", () -> load("unused"));
+
+        cache.get("c", () -> load("C"));
+
+        List<String> keys = new ArrayList<>();
+        cache.snapshot().forEach(stored -> keys.add(stored.key()));
+        assertThat(keys).containsExactly("a", "c");
+        assertThat(cache.weight()).isEqualTo(5L);
+
+        cache.put("a", "A", System.currentTimeMillis() + 60_000);
+        assertThat(cache.weight()).isEqualTo(2L);
+    }
+
+    private TtlLruCache<String> cache(int maxEntries, long ttlMs) {
+        return new TtlLruCache<>(maxEntries, ttlMs, null, new SimpleMeterRegistry(), "ping.test.cache");
+    }
+
+    private String load(String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+
+    private static String getQuietly(TtlLruCache<String> cache, TtlLruCache.Loader<String> loader) {
+        try {
+            return cache.get("a", loader);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitSaved(TtlLruCache<String> cache, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.saved() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(cache.saved()).isEqualTo((double) count);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}